@@ -0,0 +1,43 @@
+package pl.derleta.authorization.config.audit;
+
+/**
+ * Types of authentication events recorded in the audit log. Each type is stored as its one-byte code,
+ * so codes of existing types must never change.
+ */
+public enum AuditEventType {
+
+    LOGIN_SUCCEEDED(1),
+    LOGIN_FAILED(2),
+    ACCESS_REFRESHED(3),
+    REFRESH_FAILED(4),
+    PASSWORD_CHANGED(5),
+    PASSWORD_RESET(6),
+    ACCOUNT_UNLOCKED(7);
+
+    private static final AuditEventType[] BY_CODE = new AuditEventType[128];
+
+    static {
+        for (AuditEventType type : values()) BY_CODE[type.code] = type;
+    }
+
+    private final byte code;
+
+    AuditEventType(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * Resolves the type stored under the given code.
+     *
+     * @param code the stored code
+     * @return the type, or null if the code is unknown
+     */
+    public static AuditEventType of(byte code) {
+        return code > 0 ? BY_CODE[code] : null;
+    }
+
+}
@@ -0,0 +1,184 @@
+package pl.derleta.authorization.config.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only audit trail of authentication events, kept outside the database.
+ * <p>
+ * {@link #record(AuditEventType, long, String)} encodes the event into a lock-free {@link AuditRingBuffer} and
+ * returns; it neither allocates nor blocks. A single platform thread drains the buffer into memory-mapped
+ * segment files ({@link AuditSegmentWriter}), forcing them to disk every {@code app.audit.flush-ms}. If the writer
+ * falls behind by {@code app.audit.buffer-size} events, further events are dropped and counted rather than
+ * delaying requests. Segments are converted to JSON with {@link AuditSegmentReader}.
+ * <p>
+ * Segments are written to {@code app.audit.directory}, rotated every {@code app.audit.segment-size-mb} and kept
+ * for {@code app.audit.retention-days}, within a total of {@code app.audit.max-total-mb}. The log is turned on
+ * with {@code app.audit.enabled=true} and then requires an absolute directory; if the directory is not absolute or
+ * the segments cannot be opened, the failure is logged and the log stays disabled rather than failing startup.
+ * While the log is disabled, recording is a no-op.
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditLog.class);
+    private static final int DRAIN_BATCH = 4096;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private volatile boolean enabled;
+    private final AuditRingBuffer buffer;
+    private final Path directory;
+    private final long segmentSize;
+    private final Duration retention;
+    private final long maxTotalBytes;
+    private final long flushNanos;
+    private final Clock clock;
+    private AuditSegmentWriter writer;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @Autowired
+    public AuditLog(@Value("${app.audit.enabled:false}") boolean enabled,
+                    @Value("${app.audit.directory:}") String directory,
+                    @Value("${app.audit.buffer-size:65536}") int bufferSize,
+                    @Value("${app.audit.segment-size-mb:64}") int segmentSizeMb,
+                    @Value("${app.audit.retention-days:90}") int retentionDays,
+                    @Value("${app.audit.max-total-mb:4096}") long maxTotalMb,
+                    @Value("${app.audit.flush-ms:1000}") long flushMillis) {
+        this(enabled, Path.of(directory), bufferSize, segmentSizeMb * 1024L * 1024L, Duration.ofDays(retentionDays),
+                maxTotalMb * 1024L * 1024L, Duration.ofMillis(flushMillis), Clock.systemUTC());
+    }
+
+    AuditLog(boolean enabled, Path directory, int bufferSize, long segmentSize, Duration retention,
+             long maxTotalBytes, Duration flushInterval, Clock clock) {
+        this.enabled = enabled;
+        this.buffer = new AuditRingBuffer(enabled ? bufferSize : 2);
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.retention = retention;
+        this.maxTotalBytes = maxTotalBytes;
+        this.flushNanos = flushInterval.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Creates an audit log that records nothing. Components use it until the shared log is injected.
+     *
+     * @return the disabled audit log
+     */
+    public static AuditLog disabled() {
+        return new AuditLog(false, Path.of("."), 2, 0, Duration.ZERO, 0, Duration.ZERO, Clock.systemUTC());
+    }
+
+    /**
+     * Records an authentication event. Safe to call from any thread.
+     *
+     * @param type    the type of the event
+     * @param userId  the id of the user, or 0 if unknown
+     * @param subject the login, email or token id the event refers to; may be null, and is truncated
+     *                to {@value AuditRecord#SUBJECT_CAPACITY} bytes
+     * @return true if the event was buffered, false if the log is disabled or the event was dropped
+     */
+    public boolean record(AuditEventType type, long userId, String subject) {
+        return enabled && buffer.offer(type, clock.millis(), userId, subject);
+    }
+
+    /**
+     * Retrieves the number of events dropped because the writer fell behind.
+     *
+     * @return the number of dropped events
+     */
+    public long dropped() {
+        return buffer.dropped();
+    }
+
+    /**
+     * Checks whether events are recorded.
+     *
+     * @return true if the log is enabled and has not been disabled by a failed start
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Opens the first segment and starts the writer thread. If the directory is not absolute or the segment cannot
+     * be created, the log is disabled instead.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled || running) return;
+        if (!directory.isAbsolute()) {
+            LOGGER.error("Audit log disabled: app.audit.directory must be an absolute path, was '{}'", directory);
+            enabled = false;
+            return;
+        }
+        try {
+            writer = new AuditSegmentWriter(directory, segmentSize, retention, maxTotalBytes, clock);
+        } catch (IOException e) {
+            LOGGER.error("Audit log disabled: cannot open segments in {}", directory, e);
+            enabled = false;
+            return;
+        }
+        running = true;
+        writerThread = Thread.ofPlatform().daemon().name("audit-writer").start(this::run);
+    }
+
+    /**
+     * Stops the writer thread after it has written all buffered events, and closes the current segment.
+     */
+    @PreDestroy
+    public void stop() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long lastFlush = System.nanoTime();
+        try (AuditSegmentWriter segments = writer) {
+            boolean stopping = false;
+            while (true) {
+                int drained = buffer.drain(this::append, DRAIN_BATCH);
+                long now = System.nanoTime();
+                if (now - lastFlush >= flushNanos) {
+                    segments.force();
+                    lastFlush = now;
+                }
+                if (drained > 0) continue;
+                if (stopping) break;
+                if (!running) stopping = true;
+                else LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.error("Audit writer stopped, further events are dropped", e);
+        }
+    }
+
+    private void append(byte[] records, int offset) {
+        try {
+            writer.append(records, offset);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package pl.derleta.authorization.config.audit;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * A single audit event as read back from a segment file.
+ * <p>
+ * Records are stored in a fixed layout of {@value #SIZE} little-endian bytes:
+ * <pre>
+ *  0  long   sequence, starting at 1; 0 marks the unused end of a segment
+ *  8  long   event time in epoch milliseconds
+ * 16  long   user id, 0 if unknown
+ * 24  byte   event type code
+ * 25  byte   subject length in bytes
+ * 26  byte[] subject, UTF-8, truncated to {@value #SUBJECT_CAPACITY} bytes
+ * </pre>
+ *
+ * @param sequence  the position of the event in the stream of its process, starting at 1
+ * @param timestamp the time of the event
+ * @param type      the type of the event, or null if its code is unknown to this version
+ * @param userId    the id of the user, or 0 if unknown
+ * @param subject   the login, email or token id the event refers to; may be empty
+ */
+public record AuditRecord(long sequence, Instant timestamp, AuditEventType type, long userId, String subject) {
+
+    public static final int SIZE = 64;
+    public static final int SUBJECT_CAPACITY = 38;
+
+    static final int SEQUENCE_OFFSET = 0;
+    static final int TIMESTAMP_OFFSET = 8;
+    static final int USER_ID_OFFSET = 16;
+    static final int TYPE_OFFSET = 24;
+    static final int SUBJECT_LENGTH_OFFSET = 25;
+    static final int SUBJECT_OFFSET = 26;
+
+    /**
+     * Decodes the record stored at the given offset.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the offset of the record
+     * @return the record, or null if the slot is unused
+     */
+    static AuditRecord read(ByteBuffer buffer, int offset) {
+        ByteBuffer view = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        long sequence = view.getLong(offset + SEQUENCE_OFFSET);
+        if (sequence == 0) return null;
+        int length = Math.min(view.get(offset + SUBJECT_LENGTH_OFFSET) & 0xFF, SUBJECT_CAPACITY);
+        byte[] subject = new byte[length];
+        view.get(offset + SUBJECT_OFFSET, subject);
+        return new AuditRecord(sequence,
+                Instant.ofEpochMilli(view.getLong(offset + TIMESTAMP_OFFSET)),
+                AuditEventType.of(view.get(offset + TYPE_OFFSET)),
+                view.getLong(offset + USER_ID_OFFSET),
+                new String(subject, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Renders the record as a single-line JSON object.
+     *
+     * @return the JSON representation
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(128)
+                .append("{\"sequence\":").append(sequence)
+                .append(",\"timestamp\":\"").append(timestamp).append('"')
+                .append(",\"type\":");
+        if (type == null) json.append("null");
+        else json.append('"').append(type.name()).append('"');
+        json.append(",\"userId\":").append(userId).append(",\"subject\":\"");
+        for (int i = 0; i < subject.length(); i++) {
+            char c = subject.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) json.append("\\u%04x".formatted((int) c));
+                    else json.append(c);
+                }
+            }
+        }
+        return json.append("\"}").toString();
+    }
+
+}
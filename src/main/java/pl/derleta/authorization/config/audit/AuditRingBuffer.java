@@ -0,0 +1,165 @@
+package pl.derleta.authorization.config.audit;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, lock-free ring buffer of audit records with many producers and a single consumer.
+ * <p>
+ * Records are encoded in the {@link AuditRecord} layout straight into a preallocated byte array, so recording
+ * an event allocates nothing. Each slot carries a sequence number: a producer claims the slot at the tail with
+ * one compare-and-set, writes the record and publishes it by advancing the slot's sequence, and the consumer
+ * frees the slot the same way once the record is copied out. When the consumer falls behind by the full
+ * capacity, new records are dropped and counted rather than blocking the request thread.
+ */
+public final class AuditRingBuffer {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Receiver of drained records.
+     */
+    @FunctionalInterface
+    public interface Sink {
+
+        /**
+         * Consumes the record of {@link AuditRecord#SIZE} bytes at the given offset. The bytes may be
+         * overwritten once this method returns.
+         *
+         * @param buffer the buffer holding the record
+         * @param offset the offset of the record
+         */
+        void accept(byte[] buffer, int offset);
+
+    }
+
+    private final byte[] slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final int capacity;
+    private final int mask;
+    private long head;
+
+    /**
+     * Creates a ring buffer of the given number of records.
+     *
+     * @param capacity the number of records; a power of two of at least 2
+     */
+    public AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("Audit buffer capacity must be a power of two of at least 2");
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slots = new byte[capacity * AuditRecord.SIZE];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) sequences.set(i, i);
+    }
+
+    /**
+     * Appends an event unless the buffer is full. Safe to call from any number of threads.
+     *
+     * @param type        the type of the event
+     * @param epochMillis the time of the event
+     * @param userId      the id of the user, or 0 if unknown
+     * @param subject     the login, email or token id the event refers to; may be null
+     * @return true if the event was buffered, false if it was dropped
+     */
+    public boolean offer(AuditEventType type, long epochMillis, long userId, CharSequence subject) {
+        long position = tail.get();
+        int slot;
+        for (; ; ) {
+            slot = (int) (position & mask);
+            long difference = sequences.getAcquire(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) break;
+                position = tail.get();
+            } else if (difference < 0) {
+                dropped.increment();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        int offset = slot * AuditRecord.SIZE;
+        LONGS.set(slots, offset + AuditRecord.SEQUENCE_OFFSET, position + 1);
+        LONGS.set(slots, offset + AuditRecord.TIMESTAMP_OFFSET, epochMillis);
+        LONGS.set(slots, offset + AuditRecord.USER_ID_OFFSET, userId);
+        slots[offset + AuditRecord.TYPE_OFFSET] = type.code();
+        int length = encode(subject, offset + AuditRecord.SUBJECT_OFFSET);
+        slots[offset + AuditRecord.SUBJECT_LENGTH_OFFSET] = (byte) length;
+        Arrays.fill(slots, offset + AuditRecord.SUBJECT_OFFSET + length, offset + AuditRecord.SIZE, (byte) 0);
+        sequences.setRelease(slot, position + 1);
+        return true;
+    }
+
+    /**
+     * Passes published records to the sink in order and frees their slots. Must only be called from
+     * a single consumer thread.
+     *
+     * @param sink       the receiver of the records
+     * @param maxRecords the maximum number of records to drain
+     * @return the number of drained records
+     */
+    public int drain(Sink sink, int maxRecords) {
+        int drained = 0;
+        while (drained < maxRecords) {
+            int slot = (int) (head & mask);
+            if (sequences.getAcquire(slot) != head + 1) break;
+            sink.accept(slots, slot * AuditRecord.SIZE);
+            sequences.setRelease(slot, head + capacity);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Retrieves the number of events dropped because the buffer was full.
+     *
+     * @return the number of dropped events
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Encodes the subject as UTF-8 into the slot, truncated at a character boundary. Unpaired surrogates
+     * and characters outside the Basic Multilingual Plane are stored as {@code ?}.
+     */
+    private int encode(CharSequence subject, int offset) {
+        if (subject == null) return 0;
+        int length = 0;
+        for (int i = 0; i < subject.length(); i++) {
+            char c = subject.charAt(i);
+            if (c < 0x80) {
+                if (length + 1 > AuditRecord.SUBJECT_CAPACITY) break;
+                slots[offset + length++] = (byte) c;
+            } else if (c < 0x800) {
+                if (length + 2 > AuditRecord.SUBJECT_CAPACITY) break;
+                slots[offset + length++] = (byte) (0xC0 | c >> 6);
+                slots[offset + length++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                if (length + 1 > AuditRecord.SUBJECT_CAPACITY) break;
+                slots[offset + length++] = '?';
+                if (Character.isHighSurrogate(c) && i + 1 < subject.length() && Character.isLowSurrogate(subject.charAt(i + 1))) i++;
+            } else {
+                if (length + 3 > AuditRecord.SUBJECT_CAPACITY) break;
+                slots[offset + length++] = (byte) (0xE0 | c >> 12);
+                slots[offset + length++] = (byte) (0x80 | c >> 6 & 0x3F);
+                slots[offset + length++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return length;
+    }
+
+}
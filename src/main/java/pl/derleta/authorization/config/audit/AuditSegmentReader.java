@@ -0,0 +1,88 @@
+package pl.derleta.authorization.config.audit;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reader of audit segment files, also usable from the command line to convert segments to JSON:
+ * <pre>
+ * java -cp &lt;application classpath&gt; pl.derleta.authorization.config.audit.AuditSegmentReader &lt;segment or directory&gt;...
+ * </pre>
+ * Every record is printed as one JSON object per line (NDJSON); directories are read segment by segment in the
+ * order the segments were written. Segments still open by a running application can be read as well, as
+ * reading stops at the first unused record.
+ */
+public final class AuditSegmentReader {
+
+    private AuditSegmentReader() {
+    }
+
+    /**
+     * Converts the given segments, or all segments of the given directories, to JSON lines on standard output.
+     *
+     * @param args the paths of segments or directories of segments
+     * @throws IOException if a segment cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: AuditSegmentReader <segment or directory>...");
+            System.exit(2);
+        }
+        PrintStream out = new PrintStream(System.out, false, StandardCharsets.UTF_8);
+        for (String arg : args) {
+            Path path = Path.of(arg);
+            List<Path> segments = Files.isDirectory(path) ? AuditSegmentWriter.segments(path) : List.of(path);
+            for (Path segment : segments) read(segment, record -> out.println(record.toJson()));
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads all records of a segment.
+     *
+     * @param segment the segment file
+     * @return the records in the order they were written
+     * @throws IOException if the file cannot be read or is not an audit segment
+     */
+    public static List<AuditRecord> read(Path segment) throws IOException {
+        List<AuditRecord> records = new ArrayList<>();
+        read(segment, records::add);
+        return records;
+    }
+
+    /**
+     * Passes the records of a segment to the consumer in the order they were written.
+     *
+     * @param segment  the segment file
+     * @param consumer the receiver of the records
+     * @throws IOException if the file cannot be read or is not an audit segment
+     */
+    public static void read(Path segment, Consumer<AuditRecord> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < AuditRecord.SIZE) throw new IOException("Not an audit segment: " + segment);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt(0) != AuditSegmentWriter.MAGIC)
+                throw new IOException("Not an audit segment: " + segment);
+            if (mapped.getShort(4) != AuditSegmentWriter.VERSION || mapped.getShort(6) != AuditRecord.SIZE)
+                throw new IOException("Unsupported audit segment format: " + segment);
+            for (long offset = AuditRecord.SIZE; offset + AuditRecord.SIZE <= size; offset += AuditRecord.SIZE) {
+                AuditRecord record = AuditRecord.read(mapped, (int) offset);
+                if (record == null) break;
+                consumer.accept(record);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+package pl.derleta.authorization.config.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Appends audit records to rotating, memory-mapped segment files. Used by a single writer thread only.
+ * <p>
+ * Each segment is created with its full size and mapped once, so appending a record is a copy into the page
+ * cache without a system call. A segment starts with a header record ({@link #MAGIC}, format version, record
+ * size and creation time) followed by records in the {@link AuditRecord} layout; when it is full or closed it
+ * is forced to disk and truncated to the written length. Segments are named {@code audit-<index>.seg} with
+ * a zero-padded, increasing index, so their names sort in the order they were written.
+ * <p>
+ * The retention policy runs whenever a segment is opened: segments last modified before the retention period
+ * are deleted, and then the oldest segments are deleted until the total size is within the configured limit.
+ */
+public final class AuditSegmentWriter implements Closeable {
+
+    public static final int MAGIC = 0x54445541;
+    public static final short VERSION = 1;
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration retention;
+    private final long maxTotalBytes;
+    private final Clock clock;
+    private long nextIndex;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private int position;
+
+    /**
+     * Opens a new segment in the given directory, after the segments already present.
+     *
+     * @param directory     the directory of the segments; created if missing
+     * @param segmentSize   the size of a segment in bytes, rounded down to whole records
+     * @param retention     how long closed segments are kept
+     * @param maxTotalBytes the maximum total size of all segments, including the open one
+     * @param clock         the clock stamping segment headers and applying the retention period
+     * @throws IOException if the directory or the segment cannot be created
+     */
+    public AuditSegmentWriter(Path directory, long segmentSize, Duration retention, long maxTotalBytes, Clock clock) throws IOException {
+        if (segmentSize < 2L * AuditRecord.SIZE || segmentSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Audit segment size must hold at least one record and fit in a mapping");
+        this.directory = directory;
+        this.segmentSize = (int) (segmentSize - segmentSize % AuditRecord.SIZE);
+        this.retention = retention;
+        this.maxTotalBytes = maxTotalBytes;
+        this.clock = clock;
+        Files.createDirectories(directory);
+        List<Path> segments = segments(directory);
+        nextIndex = segments.isEmpty() ? 1 : indexOf(segments.get(segments.size() - 1)) + 1;
+        open();
+    }
+
+    /**
+     * Appends a record, rotating to a new segment when the current one is full.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the offset of the record of {@link AuditRecord#SIZE} bytes
+     * @throws IOException if a new segment cannot be created
+     */
+    public void append(byte[] buffer, int offset) throws IOException {
+        if (position + AuditRecord.SIZE > segmentSize) {
+            finish();
+            open();
+        }
+        mapped.put(position, buffer, offset, AuditRecord.SIZE);
+        position += AuditRecord.SIZE;
+    }
+
+    /**
+     * Forces the records appended so far to the storage device.
+     */
+    public void force() {
+        mapped.force(0, position);
+    }
+
+    /**
+     * Forces and closes the current segment, truncating it to the records written.
+     *
+     * @throws IOException if the segment cannot be truncated or closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) finish();
+    }
+
+    /**
+     * Lists the segment files of the given directory in the order they were written.
+     *
+     * @param directory the directory of the segments
+     * @return the paths of the segments
+     * @throws IOException if the directory cannot be listed
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(AuditSegmentWriter::isSegment).sorted().toList();
+        }
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void open() throws IOException {
+        applyRetention();
+        Path path = directory.resolve("%s%019d%s".formatted(PREFIX, nextIndex++, SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        mapped.order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(0, MAGIC)
+                .putShort(4, VERSION)
+                .putShort(6, (short) AuditRecord.SIZE)
+                .putLong(8, clock.millis());
+        position = AuditRecord.SIZE;
+    }
+
+    private void finish() throws IOException {
+        try {
+            mapped.force(0, position);
+            channel.truncate(position);
+        } finally {
+            channel.close();
+            channel = null;
+            mapped = null;
+        }
+    }
+
+    private void applyRetention() throws IOException {
+        Instant cutoff = clock.instant().minus(retention);
+        List<Path> kept = new ArrayList<>();
+        long total = segmentSize;
+        for (Path segment : segments(directory)) {
+            if (Files.getLastModifiedTime(segment).toInstant().isBefore(cutoff)) {
+                Files.deleteIfExists(segment);
+            } else {
+                kept.add(segment);
+                total += Files.size(segment);
+            }
+        }
+        for (int i = 0; i < kept.size() && total > maxTotalBytes; i++) {
+            total -= Files.size(kept.get(i));
+            Files.deleteIfExists(kept.get(i));
+        }
+    }
+
+}
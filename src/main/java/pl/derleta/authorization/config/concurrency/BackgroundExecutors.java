@@ -0,0 +1,79 @@
+package pl.derleta.authorization.config.concurrency;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factory for the application's background executors, honouring the configured execution mode.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} every executor starts a new named virtual thread per task.
+ * Otherwise a fixed pool of named platform threads of the requested size is created. Executors created here
+ * are shut down together with the application context. Blocking I/O work belongs here; CPU-bound work
+ * should use a bounded platform pool instead, like {@link ExecutionConfig#PASSWORD_HASHING_EXECUTOR}.
+ */
+@Component
+public class BackgroundExecutors {
+
+    private final boolean virtualThreads;
+    private final List<ExecutorService> executors = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs the factory for the given execution mode.
+     *
+     * @param virtualThreads whether background tasks should run on virtual threads
+     */
+    @Autowired
+    public BackgroundExecutors(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Creates a new executor for blocking background work.
+     *
+     * @param name            the thread name prefix
+     * @param platformThreads the pool size used when virtual threads are disabled
+     * @return the executor service
+     */
+    public ExecutorService create(String name, int platformThreads) {
+        ExecutorService executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory())
+                : Executors.newFixedThreadPool(platformThreads, Thread.ofPlatform().daemon().name(name + "-", 0).factory());
+        executors.add(executor);
+        return executor;
+    }
+
+    /**
+     * Indicates whether background executors use virtual threads.
+     *
+     * @return true if virtual threads are enabled
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Shuts down all executors created by this factory, waiting briefly for running tasks to finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executors.forEach(ExecutorService::shutdown);
+        for (ExecutorService executor : executors) {
+            try {
+                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) executor.shutdownNow();
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        executors.clear();
+    }
+
+}
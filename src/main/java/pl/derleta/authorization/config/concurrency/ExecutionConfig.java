@@ -0,0 +1,63 @@
+package pl.derleta.authorization.config.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration of the application's thread execution model.
+ * <p>
+ * The execution mode is controlled by {@code spring.threads.virtual.enabled}. When enabled, Spring Boot runs
+ * embedded Tomcat request handling, {@code @Async} methods and {@code @Scheduled} tasks on virtual threads,
+ * and {@link BackgroundExecutors} creates virtual-thread executors for the application's own background work.
+ * When disabled, the regular platform thread pools are used.
+ * <p>
+ * CPU-bound password hashing always runs on a dedicated, bounded pool of platform threads
+ * ({@link #PASSWORD_HASHING_EXECUTOR}), so BCrypt work never occupies virtual-thread carriers. Bulk user imports
+ * hash on a separate fork-join pool ({@link #USER_IMPORT_HASHING_EXECUTOR}), so a large import cannot starve
+ * the hashing of interactive logins and registrations.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class ExecutionConfig {
+
+    public static final String PASSWORD_HASHING_EXECUTOR = "passwordHashingExecutor";
+    public static final String USER_IMPORT_HASHING_EXECUTOR = "userImportHashingExecutor";
+
+    /**
+     * Creates the bounded platform thread pool used for CPU-bound password hashing.
+     *
+     * @param poolSize the number of hashing threads; values lower than 1 default to the number of available processors
+     * @return the executor service for password hashing
+     */
+    @Bean(name = PASSWORD_HASHING_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService passwordHashingExecutor(@Value("${app.threads.hashing.pool-size:0}") int poolSize) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads, Thread.ofPlatform().daemon().name("password-hash-", 0).factory());
+    }
+
+    /**
+     * Creates the fork-join pool used to hash the passwords of bulk user imports.
+     *
+     * @param parallelism the number of hashing threads; values lower than 1 default to the number of available processors
+     * @return the executor service for bulk import hashing
+     */
+    @Bean(name = USER_IMPORT_HASHING_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService userImportHashingExecutor(@Value("${app.users.import.hashing-parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads, pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("user-import-hash-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+}
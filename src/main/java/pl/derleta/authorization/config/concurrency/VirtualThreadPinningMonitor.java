@@ -0,0 +1,137 @@
+package pl.derleta.authorization.config.concurrency;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Diagnostic component reporting virtual threads pinned to their carrier threads.
+ * <p>
+ * It subscribes to the JDK Flight Recorder {@code jdk.VirtualThreadPinned} event, which is emitted when a virtual
+ * thread blocks while pinned (inside a {@code synchronized} block or a native frame) for longer than the configured
+ * threshold. Every pinning site, identified by the first application frame of the stack, is logged with its stack
+ * trace the first time it is seen, and all occurrences are counted per site.
+ * <p>
+ * Enabled with {@code app.threads.pinning.diagnostics=true}; the threshold is set with
+ * {@code app.threads.pinning.threshold-ms}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.threads.pinning.diagnostics", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "pl.derleta.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Duration threshold;
+    private final Map<String, LongAdder> pinnedSites = new ConcurrentHashMap<>();
+    private final LongAdder pinnedCount = new LongAdder();
+    private RecordingStream stream;
+
+    /**
+     * Constructs the monitor with the given reporting threshold.
+     *
+     * @param thresholdMs the minimum pinned blocking time in milliseconds to be reported
+     */
+    @Autowired
+    public VirtualThreadPinningMonitor(@Value("${app.threads.pinning.threshold-ms:20}") long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    /**
+     * Starts the event stream in the background.
+     */
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        LOGGER.info("Virtual thread pinning diagnostics enabled with threshold {} ms", threshold.toMillis());
+    }
+
+    /**
+     * Stops the event stream.
+     */
+    @PreDestroy
+    public void stop() {
+        if (stream != null) stream.close();
+    }
+
+    /**
+     * Retrieves the total number of reported pinning events.
+     *
+     * @return the number of pinning events
+     */
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    /**
+     * Retrieves the number of reported pinning events per pinning site.
+     *
+     * @return an immutable snapshot of event counts keyed by the pinning site
+     */
+    public Map<String, Long> getPinnedSites() {
+        return pinnedSites.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().sum()));
+    }
+
+    void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String site = site(frames);
+        pinnedCount.increment();
+        LongAdder siteCount = pinnedSites.computeIfAbsent(site, key -> new LongAdder());
+        boolean firstOccurrence = siteCount.sum() == 0;
+        siteCount.increment();
+        if (firstOccurrence) {
+            LOGGER.warn("Virtual thread pinned for {} ms at {}{}", event.getDuration().toMillis(), site, format(frames));
+        } else if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace == null ? List.of() : stackTrace.getFrames();
+    }
+
+    private static String site(List<RecordedFrame> frames) {
+        RecordedFrame top = null;
+        for (RecordedFrame frame : frames) {
+            if (!frame.isJavaFrame()) continue;
+            if (top == null) top = frame;
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) return describe(frame);
+        }
+        return top == null ? "unknown" : describe(top);
+    }
+
+    private static String format(List<RecordedFrame> frames) {
+        StringBuilder builder = new StringBuilder();
+        frames.stream().filter(RecordedFrame::isJavaFrame).limit(LOGGED_FRAMES)
+                .forEach(frame -> builder.append(System.lineSeparator()).append("\tat ").append(describe(frame)));
+        return builder.toString();
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+}
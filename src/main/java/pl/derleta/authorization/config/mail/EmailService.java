@@ -1,10 +1,12 @@
 package pl.derleta.authorization.config.mail;
 
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import pl.derleta.authorization.config.metrics.AuthMetrics;
 
 
 /**
@@ -18,28 +20,43 @@ public class EmailService {
     private String username;
 
     private final JavaMailSender javaMailSender;
+    private AuthMetrics metrics = AuthMetrics.noop();
 
     @Autowired
     public EmailService(JavaMailSender javaMailSender) {
         this.javaMailSender = javaMailSender;
     }
 
+    @Autowired
+    public void setMetrics(AuthMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     /**
      * Sends an email using the provided recipient address, subject, and content.
+     * The duration is recorded as a success, as a failure for invalid parameters, or as an error if sending fails.
      *
      * @param to      the email address of the recipient
      * @param subject the subject of the email
      * @param text    the body content of the email
      */
     public void sendEmail(String to, String subject, String text) {
-        validateEmailParameters(to, subject, text);
+        Timer.Sample sample = Timer.start();
+        AuthMetrics.Outcome outcome = AuthMetrics.Outcome.FAILURE;
+        try {
+            validateEmailParameters(to, subject, text);
+            outcome = AuthMetrics.Outcome.ERROR;
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(username);
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(text);
-        javaMailSender.send(message);
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(username);
+            message.setTo(to);
+            message.setSubject(subject);
+            message.setText(text);
+            javaMailSender.send(message);
+            outcome = AuthMetrics.Outcome.SUCCESS;
+        } finally {
+            sample.stop(metrics.mail(outcome));
+        }
     }
 
     /**
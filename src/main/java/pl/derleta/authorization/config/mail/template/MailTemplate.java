@@ -0,0 +1,130 @@
+package pl.derleta.authorization.config.mail.template;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled, immutable mail template. The template source is parsed once into arrays of literal
+ * and placeholder segments for the subject and body, so rendering only appends segments to a
+ * per-thread buffer without any further parsing or intermediate string concatenation.
+ * <p>
+ * The source format consists of a {@code Subject:} header line, a single blank line and the body.
+ * Placeholders use the {@code ${name}} syntax and may appear in both the subject and the body.
+ * A single trailing line break at the end of the body is ignored, so template files may end with a newline.
+ * Placeholder values rendered into the {@link MailTemplateVariant#HTML} variant are HTML-escaped.
+ */
+public final class MailTemplate {
+
+    private static final String SUBJECT_HEADER = "Subject:";
+    private static final int MAX_RETAINED_BUFFER = 8192;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    private final MailTemplateVariant variant;
+    private final Segment[] subject;
+    private final Segment[] body;
+
+    private MailTemplate(MailTemplateVariant variant, Segment[] subject, Segment[] body) {
+        this.variant = variant;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    /**
+     * Compiles the provided template source into a reusable template instance.
+     *
+     * @param source  the raw template source including the subject header
+     * @param variant the content variant of the template
+     * @return the compiled template
+     * @throws IllegalArgumentException if the source does not start with a subject header followed by a blank line,
+     *                                  or if it contains an unterminated or empty placeholder
+     */
+    public static MailTemplate compile(String source, MailTemplateVariant variant) {
+        String normalized = source.replace("\r\n", "\n");
+        if (normalized.startsWith("\uFEFF")) normalized = normalized.substring(1);
+        if (!normalized.startsWith(SUBJECT_HEADER))
+            throw new IllegalArgumentException("Mail template must start with a '" + SUBJECT_HEADER + "' header");
+        int headerEnd = normalized.indexOf('\n');
+        if (headerEnd < 0 || headerEnd + 1 >= normalized.length() || normalized.charAt(headerEnd + 1) != '\n')
+            throw new IllegalArgumentException("Mail template subject header must be followed by a blank line");
+
+        String subjectSource = normalized.substring(SUBJECT_HEADER.length(), headerEnd).trim();
+        String bodySource = normalized.substring(headerEnd + 2);
+        if (bodySource.endsWith("\n")) bodySource = bodySource.substring(0, bodySource.length() - 1);
+        return new MailTemplate(variant, parse(subjectSource), parse(bodySource));
+    }
+
+    /**
+     * Renders the subject and body of this template using the provided placeholder values.
+     *
+     * @param values the placeholder values keyed by placeholder name
+     * @return the rendered mail
+     * @throws IllegalArgumentException if a placeholder used by the template has no entry in the values map
+     */
+    public RenderedMail render(Map<String, ?> values) {
+        return new RenderedMail(render(subject, values, false), render(body, values, variant == MailTemplateVariant.HTML));
+    }
+
+    /**
+     * Retrieves the content variant of this template.
+     *
+     * @return the template variant
+     */
+    public MailTemplateVariant getVariant() {
+        return variant;
+    }
+
+    private static String render(Segment[] segments, Map<String, ?> values, boolean escape) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        for (Segment segment : segments) {
+            switch (segment) {
+                case Literal literal -> buffer.append(literal.text());
+                case Placeholder placeholder -> {
+                    if (!values.containsKey(placeholder.name()))
+                        throw new IllegalArgumentException("Missing value for mail template placeholder: " + placeholder.name());
+                    Object value = values.get(placeholder.name());
+                    String text = value == null ? "" : value.toString();
+                    buffer.append(escape ? HtmlUtils.htmlEscape(text) : text);
+                }
+            }
+        }
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) BUFFER.remove();
+        return result;
+    }
+
+    private static Segment[] parse(String source) {
+        List<Segment> segments = new ArrayList<>();
+        int position = 0;
+        while (position < source.length()) {
+            int start = source.indexOf("${", position);
+            if (start < 0) {
+                segments.add(new Literal(source.substring(position)));
+                break;
+            }
+            if (start > position) segments.add(new Literal(source.substring(position, start)));
+            int end = source.indexOf('}', start + 2);
+            if (end < 0)
+                throw new IllegalArgumentException("Unterminated mail template placeholder at index " + start);
+            String name = source.substring(start + 2, end).trim();
+            if (name.isEmpty())
+                throw new IllegalArgumentException("Empty mail template placeholder at index " + start);
+            segments.add(new Placeholder(name));
+            position = end + 1;
+        }
+        return segments.toArray(Segment[]::new);
+    }
+
+    private sealed interface Segment permits Literal, Placeholder {
+    }
+
+    private record Literal(String text) implements Segment {
+    }
+
+    private record Placeholder(String name) implements Segment {
+    }
+
+}
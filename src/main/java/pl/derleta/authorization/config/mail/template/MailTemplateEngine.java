@@ -0,0 +1,272 @@
+package pl.derleta.authorization.config.mail.template;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Engine responsible for loading, compiling and rendering localized mail templates.
+ * <p>
+ * Templates are read once at startup from {@code classpath:mail/templates} and, optionally, from an external
+ * directory configured with {@code mail.templates.location}, whose files override the classpath ones.
+ * Template files are named {@code <name>[_<locale>].<txt|html>}, e.g. {@code verification.txt}
+ * or {@code verification_pl.html}. Lookups fall back from the requested locale through its language and
+ * the configured default locale down to the template without a locale suffix. Resolved lookups are cached
+ * per locale tag that has a template, so a render performs a single hash lookup followed by appending
+ * precompiled segments, and arbitrary caller locales cannot grow the cache.
+ * <p>
+ * When {@code mail.templates.hot-reload} is enabled and an external directory is configured, the directory
+ * is checked for modifications at most once per second and all templates are recompiled after a change.
+ * This is intended for development only.
+ */
+@Component
+public class MailTemplateEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MailTemplateEngine.class);
+
+    private static final String CLASSPATH_PATTERN = "classpath*:mail/templates/*.*";
+    private static final long RELOAD_CHECK_INTERVAL_MS = 1000L;
+
+    private final Path directory;
+    private final boolean hotReload;
+    private final Locale defaultLocale;
+
+    private volatile Snapshot snapshot;
+    private volatile long nextReloadCheck;
+
+    /**
+     * Constructs the engine and compiles all available templates.
+     *
+     * @param location      an optional filesystem directory with templates overriding the classpath ones;
+     *                      blank to use classpath templates only
+     * @param hotReload     whether templates from the external directory should be recompiled after modification
+     * @param defaultLocale the language tag of the locale used when no template matches the requested locale
+     */
+    @Autowired
+    public MailTemplateEngine(@Value("${mail.templates.location:}") String location,
+                              @Value("${mail.templates.hot-reload:false}") boolean hotReload,
+                              @Value("${mail.templates.default-locale:en}") String defaultLocale) {
+        this.directory = location == null || location.isBlank() ? null : Path.of(location.trim());
+        this.hotReload = hotReload && this.directory != null;
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale);
+        this.snapshot = load();
+        this.nextReloadCheck = System.currentTimeMillis() + RELOAD_CHECK_INTERVAL_MS;
+    }
+
+    /**
+     * Retrieves a shared engine instance backed by classpath templates only. Intended for components
+     * created outside the application context.
+     *
+     * @return the shared classpath-backed engine
+     */
+    public static MailTemplateEngine classpath() {
+        return ClasspathHolder.INSTANCE;
+    }
+
+    /**
+     * Renders the template with the given name for the requested locale and variant.
+     *
+     * @param name    the template name without locale suffix and extension
+     * @param locale  the preferred locale, or null to use the default locale
+     * @param variant the content variant to render
+     * @param values  the placeholder values keyed by placeholder name
+     * @return the rendered subject and body
+     * @throws IllegalStateException    if no template matches the given name and variant
+     * @throws IllegalArgumentException if a placeholder value is missing
+     */
+    public RenderedMail render(String name, Locale locale, MailTemplateVariant variant, Map<String, ?> values) {
+        return find(name, locale, variant)
+                .orElseThrow(() -> new IllegalStateException("Mail template not found: " + name + "." + variant.getExtension()))
+                .render(values);
+    }
+
+    /**
+     * Finds the best matching compiled template for the requested locale and variant.
+     *
+     * @param name    the template name without locale suffix and extension
+     * @param locale  the preferred locale, or null to use the default locale
+     * @param variant the content variant
+     * @return an Optional containing the matching template, or empty if none exists
+     */
+    public Optional<MailTemplate> find(String name, Locale locale, MailTemplateVariant variant) {
+        reloadIfModified();
+        Snapshot current = snapshot;
+        Locale requested = locale == null ? defaultLocale : locale;
+        LookupKey key = new LookupKey(name, knownTag(current, requested), variant);
+        return Optional.ofNullable(current.resolved.computeIfAbsent(key, lookupKey -> resolve(current, lookupKey)));
+    }
+
+    /**
+     * Retrieves the locale used when no template matches the requested locale.
+     *
+     * @return the default locale
+     */
+    public Locale getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    int cachedLookups() {
+        return snapshot.resolved.size();
+    }
+
+    private MailTemplate resolve(Snapshot current, LookupKey key) {
+        Map<TemplateKey, MailTemplate> templates = current.templates;
+        for (String tag : candidateTags(key.localeTag())) {
+            MailTemplate template = templates.get(new TemplateKey(key.name(), tag, key.variant()));
+            if (template != null) return template;
+        }
+        return null;
+    }
+
+    /**
+     * Maps the requested locale to its most specific tag for which any template exists, so that lookups
+     * are cached per known tag rather than per caller locale. Locales without a template map to the empty tag.
+     */
+    private static String knownTag(Snapshot current, Locale locale) {
+        String language = locale.getLanguage();
+        if (!locale.getCountry().isEmpty()) {
+            String tag = language + "_" + locale.getCountry();
+            if (current.localeTags.contains(tag)) return tag;
+        }
+        return current.localeTags.contains(language) ? language : "";
+    }
+
+    private List<String> candidateTags(String localeTag) {
+        List<String> tags = new ArrayList<>(5);
+        if (!localeTag.isEmpty()) {
+            tags.add(localeTag);
+            int separator = localeTag.indexOf('_');
+            if (separator > 0) tags.add(localeTag.substring(0, separator));
+        }
+        addLocaleTags(tags, defaultLocale);
+        tags.add("");
+        return tags;
+    }
+
+    private static void addLocaleTags(List<String> tags, Locale locale) {
+        if (!locale.getCountry().isEmpty()) addUnique(tags, locale.getLanguage() + "_" + locale.getCountry());
+        if (!locale.getLanguage().isEmpty()) addUnique(tags, locale.getLanguage());
+    }
+
+    private static void addUnique(List<String> tags, String tag) {
+        if (!tags.contains(tag)) tags.add(tag);
+    }
+
+    private void reloadIfModified() {
+        if (!hotReload) return;
+        long now = System.currentTimeMillis();
+        if (now < nextReloadCheck) return;
+        synchronized (this) {
+            if (now < nextReloadCheck) return;
+            nextReloadCheck = now + RELOAD_CHECK_INTERVAL_MS;
+            if (directoryStamp() != snapshot.directoryStamp) {
+                snapshot = load();
+                LOGGER.info("Mail templates reloaded from {}", directory);
+            }
+        }
+    }
+
+    private Snapshot load() {
+        Map<TemplateKey, MailTemplate> templates = new HashMap<>();
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver(MailTemplateEngine.class.getClassLoader())
+                    .getResources(CLASSPATH_PATTERN);
+            for (Resource resource : resources) {
+                try (InputStream stream = resource.getInputStream()) {
+                    register(templates, resource.getFilename(), new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+            if (directory != null && Files.isDirectory(directory)) {
+                try (Stream<Path> files = Files.list(directory)) {
+                    for (Path file : files.filter(Files::isRegularFile).toList()) {
+                        register(templates, file.getFileName().toString(), Files.readString(file, StandardCharsets.UTF_8));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load mail templates", e);
+        }
+        return new Snapshot(Map.copyOf(templates), directoryStamp());
+    }
+
+    private static void register(Map<TemplateKey, MailTemplate> templates, String filename, String source) {
+        if (filename == null) return;
+        int dot = filename.lastIndexOf('.');
+        if (dot <= 0) return;
+        MailTemplateVariant variant = MailTemplateVariant.fromExtension(filename.substring(dot + 1));
+        if (variant == null) return;
+        String baseName = filename.substring(0, dot);
+        int separator = baseName.indexOf('_');
+        String name = separator < 0 ? baseName : baseName.substring(0, separator);
+        String tag = separator < 0 ? "" : normalizeTag(baseName.substring(separator + 1));
+        try {
+            templates.put(new TemplateKey(name, tag, variant), MailTemplate.compile(source, variant));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid mail template " + filename + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String normalizeTag(String tag) {
+        Locale locale = Locale.forLanguageTag(tag.replace('_', '-'));
+        return locale.getCountry().isEmpty() ? locale.getLanguage() : locale.getLanguage() + "_" + locale.getCountry();
+    }
+
+    private long directoryStamp() {
+        if (directory == null || !Files.isDirectory(directory)) return 0L;
+        try (Stream<Path> files = Files.list(directory)) {
+            long stamp = 0L;
+            for (Path file : files.sorted().toList()) {
+                stamp = 31 * stamp + file.getFileName().hashCode();
+                stamp = 31 * stamp + Files.getLastModifiedTime(file).toMillis();
+            }
+            return stamp;
+        } catch (IOException e) {
+            LOGGER.warn("Unable to check mail templates directory {}: {}", directory, e.getMessage());
+            return snapshot == null ? 0L : snapshot.directoryStamp;
+        }
+    }
+
+    private record TemplateKey(String name, String localeTag, MailTemplateVariant variant) {
+    }
+
+    private record LookupKey(String name, String localeTag, MailTemplateVariant variant) {
+    }
+
+    private record Snapshot(Map<TemplateKey, MailTemplate> templates, long directoryStamp,
+                            Set<String> localeTags, Map<LookupKey, MailTemplate> resolved) {
+
+        Snapshot(Map<TemplateKey, MailTemplate> templates, long directoryStamp) {
+            this(templates, directoryStamp, templates.keySet().stream()
+                    .map(TemplateKey::localeTag)
+                    .filter(tag -> !tag.isEmpty())
+                    .collect(Collectors.toUnmodifiableSet()), new ConcurrentHashMap<>());
+        }
+
+    }
+
+    private static final class ClasspathHolder {
+        private static final MailTemplateEngine INSTANCE = new MailTemplateEngine(null, false, "en");
+    }
+
+}
@@ -0,0 +1,41 @@
+package pl.derleta.authorization.config.mail.template;
+
+/**
+ * Enumeration of the supported mail template content variants.
+ * Each variant is bound to the file extension used by template files on the classpath
+ * or in the external template directory.
+ */
+public enum MailTemplateVariant {
+
+    TEXT("txt"),
+    HTML("html");
+
+    private final String extension;
+
+    MailTemplateVariant(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Retrieves the file extension associated with this variant.
+     *
+     * @return the file extension without a leading dot
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolves the variant matching the provided file extension.
+     *
+     * @param extension the file extension without a leading dot
+     * @return the matching variant, or null if the extension is not supported
+     */
+    public static MailTemplateVariant fromExtension(String extension) {
+        for (MailTemplateVariant variant : values()) {
+            if (variant.extension.equalsIgnoreCase(extension)) return variant;
+        }
+        return null;
+    }
+
+}
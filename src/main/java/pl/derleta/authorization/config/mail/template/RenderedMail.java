@@ -0,0 +1,10 @@
+package pl.derleta.authorization.config.mail.template;
+
+/**
+ * Immutable result of rendering a mail template, holding the resolved subject line and body content.
+ *
+ * @param subject the rendered subject of the mail
+ * @param body    the rendered body of the mail
+ */
+public record RenderedMail(String subject, String body) {
+}
@@ -0,0 +1,117 @@
+package pl.derleta.authorization.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Timers of the authentication hot paths, exported through the actuator Prometheus endpoint.
+ * <p>
+ * Every timer publishes a percentile histogram, so latency quantiles can be aggregated across instances on the
+ * dashboards, and its count doubles as the counter of the operation per outcome. The meters are registered once
+ * and held in enum maps, so recording does not look up meters by tag on the request thread.
+ * <ul>
+ * <li>{@code auth.login} – the whole login by {@code outcome}, and {@code auth.login.stage} – each stage of it
+ * by {@code stage}: user lookup, password verification, access and refresh token signing, each token persist
+ * and cookie building.</li>
+ * <li>{@code auth.jwt.verification} – token verification in the request filter, by {@code outcome}.</li>
+ * <li>{@code auth.access_token.update} – reissuing an access token after a role or status change.</li>
+ * <li>{@code mail.send} – every email sent, by {@code outcome}.</li>
+ * </ul>
+ */
+@Component
+public class AuthMetrics {
+
+    /**
+     * Stages of a login, timed separately.
+     */
+    public enum LoginStage {
+        USER_LOOKUP, PASSWORD_VERIFY, ACCESS_TOKEN_SIGN, REFRESH_TOKEN_SIGN, ACCESS_TOKEN_PERSIST, REFRESH_TOKEN_PERSIST, COOKIES
+    }
+
+    /**
+     * Outcomes of a timed operation.
+     */
+    public enum Outcome {
+        SUCCESS, FAILURE, ERROR
+    }
+
+    /**
+     * Outcomes of verifying the token of a request.
+     */
+    public enum VerificationOutcome {
+        NO_TOKEN, INVALID, REVOKED, AUTHENTICATED
+    }
+
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(1_000);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+
+    private final Map<LoginStage, Timer> loginStages = new EnumMap<>(LoginStage.class);
+    private final Map<Outcome, Timer> logins = new EnumMap<>(Outcome.class);
+    private final Map<VerificationOutcome, Timer> verifications = new EnumMap<>(VerificationOutcome.class);
+    private final Map<Outcome, Timer> accessTokenUpdates = new EnumMap<>(Outcome.class);
+    private final Map<Outcome, Timer> mails = new EnumMap<>(Outcome.class);
+
+    @Autowired
+    public AuthMetrics(MeterRegistry registry) {
+        for (LoginStage stage : LoginStage.values()) {
+            loginStages.put(stage, timer(registry, "auth.login.stage", "Duration of a login stage", "stage", stage));
+        }
+        for (Outcome outcome : Outcome.values()) {
+            logins.put(outcome, timer(registry, "auth.login", "Duration of logins", "outcome", outcome));
+            accessTokenUpdates.put(outcome, timer(registry, "auth.access_token.update", "Duration of access token reissues", "outcome", outcome));
+            mails.put(outcome, timer(registry, "mail.send", "Duration of sending an email", "outcome", outcome));
+        }
+        for (VerificationOutcome outcome : VerificationOutcome.values()) {
+            verifications.put(outcome, timer(registry, "auth.jwt.verification", "Duration of request token verification", "outcome", outcome));
+        }
+    }
+
+    /**
+     * Creates metrics backed by an empty registry, which record nothing. Components use them until the shared
+     * metrics are injected.
+     *
+     * @return the no-op metrics
+     */
+    public static AuthMetrics noop() {
+        return new AuthMetrics(new CompositeMeterRegistry());
+    }
+
+    public Timer loginStage(LoginStage stage) {
+        return loginStages.get(stage);
+    }
+
+    public Timer login(Outcome outcome) {
+        return logins.get(outcome);
+    }
+
+    public Timer verification(VerificationOutcome outcome) {
+        return verifications.get(outcome);
+    }
+
+    public Timer accessTokenUpdate(Outcome outcome) {
+        return accessTokenUpdates.get(outcome);
+    }
+
+    public Timer mail(Outcome outcome) {
+        return mails.get(outcome);
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String description, String tag, Enum<?> value) {
+        return Timer.builder(name)
+                .description(description)
+                .tag(tag, value.name().toLowerCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(registry);
+    }
+
+}
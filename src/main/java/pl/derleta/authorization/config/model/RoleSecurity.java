@@ -1,19 +1,24 @@
 package pl.derleta.authorization.config.model;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
 import java.util.Objects;
 
 public class RoleSecurity {
 
-    private int id;
+    private final int id;
     private final String name;
+    private final GrantedAuthority authority;
 
     public RoleSecurity(String name) {
-        this.name = name;
+        this(0, name);
     }
 
     public RoleSecurity(int id, String name) {
         this.id = id;
         this.name = name;
+        this.authority = name != null ? new SimpleGrantedAuthority(name) : null;
     }
 
     public int getId() {
@@ -24,6 +29,16 @@ public class RoleSecurity {
         return name;
     }
 
+    /**
+     * Retrieves the authority granted by this role, created once with the role.
+     * Not exposed as a bean property, so it is not serialized into token claims.
+     *
+     * @return the granted authority named after the role
+     */
+    public GrantedAuthority authority() {
+        return authority;
+    }
+
     @Override
     public String toString() {
         return name;
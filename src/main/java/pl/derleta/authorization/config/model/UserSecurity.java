@@ -1,11 +1,10 @@
 package pl.derleta.authorization.config.model;
 
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import pl.derleta.authorization.config.security.method.AppRole;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * The UserSecurity class implements the UserDetails interface from the Spring Security framework.
@@ -18,8 +17,11 @@ public class UserSecurity implements UserDetails {
     private String name;
     private String email;
     private String password;
+    private long securityStamp;
 
     private Set<RoleSecurity> roles = new HashSet<>();
+    private List<GrantedAuthority> authorities;
+    private long roleMask = -1;
 
     public UserSecurity() {
     }
@@ -34,17 +36,38 @@ public class UserSecurity implements UserDetails {
 
     /**
      * Retrieves the authorities granted to the user based on their roles.
-     * Each role is mapped to a {@code SimpleGrantedAuthority}, ensuring
-     * uniqueness by filtering out duplicate authorities.
+     * Each role contributes its precomputed authority, with duplicate authorities filtered out.
+     * The immutable list is built once and reused until the roles are changed through
+     * {@link #addRole(RoleSecurity)} or {@link #setRoles(Set)}.
      *
      * @return a collection of granted authorities derived from the user's roles
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return roles.stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName()))
-                .distinct()
-                .collect(Collectors.toList());
+        List<GrantedAuthority> result = authorities;
+        if (result == null) {
+            Set<GrantedAuthority> distinct = new LinkedHashSet<>();
+            for (RoleSecurity role : roles) {
+                if (role.authority() != null) distinct.add(role.authority());
+            }
+            result = List.copyOf(distinct);
+            authorities = result;
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the role mask of the user, built once from the authorities and reused like them.
+     *
+     * @return the mask of the {@link AppRole} bits granted to the user
+     */
+    public long roleMask() {
+        long result = roleMask;
+        if (result < 0) {
+            result = AppRole.maskOf(getAuthorities());
+            roleMask = result;
+        }
+        return result;
     }
 
     @Override
@@ -74,6 +97,8 @@ public class UserSecurity implements UserDetails {
 
     public void addRole(RoleSecurity roleSecurity) {
         this.roles.add(roleSecurity);
+        this.authorities = null;
+        this.roleMask = -1;
     }
 
     public long getId() {
@@ -109,12 +134,28 @@ public class UserSecurity implements UserDetails {
         this.password = password;
     }
 
+    /**
+     * Retrieves the security stamp the user details were loaded with. It is embedded in issued tokens
+     * and compared with the stored stamp to detect password, status or role changes.
+     *
+     * @return the security stamp
+     */
+    public long getSecurityStamp() {
+        return securityStamp;
+    }
+
+    public void setSecurityStamp(long securityStamp) {
+        this.securityStamp = securityStamp;
+    }
+
     public Set<RoleSecurity> getRoles() {
         return roles;
     }
 
     public void setRoles(Set<RoleSecurity> roles) {
         this.roles = roles;
+        this.authorities = null;
+        this.roleMask = -1;
     }
 
     @Override
@@ -26,11 +26,13 @@ public class UserSecurityMapper {
      */
     public static UserSecurity toUserSecurity(final UserEntity user, final Set<RoleEntity> roles) {
         Set<RoleSecurity> roleSecuritySet = toRolesSecurity(roles);
-        return new UserSecurity(
+        UserSecurity userSecurity = new UserSecurity(
                 user.getUserId(),
                 user.getUsername(), user.getEmail(), user.getPassword(),
                 roleSecuritySet
         );
+        userSecurity.setSecurityStamp(user.getSecurityStamp());
+        return userSecurity;
     }
 
     /**
@@ -119,6 +119,7 @@ public class TokensGeneratorRepository {
             String email = resultSet.getString("u.email");
             String password = resultSet.getString("u.password");
             UserEntity userEntity = new UserEntity(userId, username, email, password);
+            userEntity.setSecurityStamp(resultSet.getLong("u.security_stamp"));
 
             int roleId = resultSet.getInt("role_id");
             String roleName = resultSet.getString("role_name");
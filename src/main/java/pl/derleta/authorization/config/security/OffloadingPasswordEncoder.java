@@ -0,0 +1,60 @@
+package pl.derleta.authorization.config.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * PasswordEncoder decorator that keeps CPU-bound hashing off virtual-thread carriers.
+ * <p>
+ * When called from a virtual thread, {@link #encode(CharSequence)} and {@link #matches(CharSequence, String)}
+ * are executed on the provided platform thread pool while the calling virtual thread parks and releases its
+ * carrier. Calls from platform threads run inline, so the platform-thread execution mode behaves exactly
+ * like the wrapped encoder.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Executor executor;
+
+    /**
+     * Constructs an encoder delegating to the given encoder.
+     *
+     * @param delegate the encoder performing the hashing
+     * @param executor the platform thread pool used when called from virtual threads
+     */
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return offload(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T offload(Supplier<T> task) {
+        if (!Thread.currentThread().isVirtual()) return task.get();
+        try {
+            return CompletableFuture.supplyAsync(task, executor).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+}
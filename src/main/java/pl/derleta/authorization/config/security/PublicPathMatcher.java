@@ -0,0 +1,93 @@
+package pl.derleta.authorization.config.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Matcher of the public endpoints, shared by the {@code permitAll()} rule of {@link SecurityConfig} and by the
+ * {@code JwtTokenFilter}, which skips token extraction and verification for them.
+ * <p>
+ * Patterns are compiled once into exact paths, subtree prefixes ({@code /path/**}) and segment prefixes
+ * ({@code /path**}), so a request is matched with one hash lookup and a few {@code startsWith} checks on the
+ * path within the application, without tokenizing it. Other wildcard forms are rejected at construction.
+ */
+@Component
+public class PublicPathMatcher implements RequestMatcher {
+
+    /**
+     * Paths accessible without authentication.
+     */
+    public static final String[] PUBLIC_PATTERNS = {
+            "/api/v1/public/**", "/api/v2/public/**",
+            "/api/v3/public/**", "/api/v3/auth/login",
+            "/api/v1/auth/login", "/auth/login", "/api/v1/auth/login**",
+            "/api/v1/auth/email", "/auth/email", "/api/v1/auth/email**",
+            "/api/v1/auth/refresh-access"
+    };
+
+    private final Set<String> exactPaths = new HashSet<>();
+    private final List<String> subtreePrefixes = new ArrayList<>();
+    private final List<String> segmentPrefixes = new ArrayList<>();
+
+    public PublicPathMatcher() {
+        this(PUBLIC_PATTERNS);
+    }
+
+    public PublicPathMatcher(String... patterns) {
+        for (String pattern : patterns) {
+            if (pattern.endsWith("/**")) {
+                subtreePrefixes.add(literal(pattern, pattern.substring(0, pattern.length() - 3)));
+            } else if (pattern.endsWith("**")) {
+                segmentPrefixes.add(literal(pattern, pattern.substring(0, pattern.length() - 2)));
+            } else {
+                exactPaths.add(literal(pattern, pattern));
+            }
+        }
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return matches(pathWithinApplication(request));
+    }
+
+    /**
+     * Checks whether the given path within the application is public.
+     *
+     * @param path the request path without the context path
+     * @return true if the path matches one of the public patterns, false otherwise
+     */
+    public boolean matches(String path) {
+        if (exactPaths.contains(path)) return true;
+        for (String prefix : subtreePrefixes) {
+            if (path.startsWith(prefix) && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return true;
+            }
+        }
+        for (String prefix : segmentPrefixes) {
+            if (path.startsWith(prefix) && path.indexOf('/', prefix.length()) < 0) return true;
+        }
+        return false;
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return contextPath != null && !contextPath.isEmpty() && uri.startsWith(contextPath)
+                ? uri.substring(contextPath.length())
+                : uri;
+    }
+
+    private static String literal(String pattern, String path) {
+        if (!path.startsWith("/") || path.indexOf('*') >= 0 || path.indexOf('?') >= 0 || path.indexOf('{') >= 0) {
+            throw new IllegalArgumentException("Unsupported public path pattern: " + pattern);
+        }
+        return path;
+    }
+
+}
@@ -0,0 +1,89 @@
+package pl.derleta.authorization.config.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import pl.derleta.authorization.config.model.RoleSecurity;
+import pl.derleta.authorization.domain.entity.RoleEntity;
+import pl.derleta.authorization.repository.TableVersions;
+import pl.derleta.authorization.repository.impl.RoleRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registry of interned {@link RoleSecurity} instances, one per row of the "roles" table, so that
+ * principals built for every request share role objects and their precomputed authorities instead
+ * of allocating new ones.
+ * <p>
+ * The registry is loaded lazily from {@link RoleRepository} and reloaded on the first lookup after
+ * the roles table version in {@link TableVersions} changed. Roles unknown to the registry, e.g. roles
+ * renamed after a token was issued, are returned as new, non-interned instances.
+ */
+@Component
+public class RoleSecurityRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoleSecurityRegistry.class);
+
+    private final RoleRepository repository;
+    private final TableVersions tableVersions;
+    private final Object reloadLock = new Object();
+    private volatile Snapshot snapshot = new Snapshot(-1, Map.of());
+
+    @Autowired
+    public RoleSecurityRegistry(RoleRepository repository, TableVersions tableVersions) {
+        this.repository = repository;
+        this.tableVersions = tableVersions;
+    }
+
+    /**
+     * Retrieves the interned role with the given ID and name.
+     *
+     * @param id   the ID of the role
+     * @param name the name of the role
+     * @return the interned instance if the role exists with this name, or a new instance otherwise
+     */
+    public RoleSecurity intern(final int id, final String name) {
+        RoleSecurity role = current().roles().get(id);
+        if (role != null && role.getName().equals(name)) return role;
+        return new RoleSecurity(id, name);
+    }
+
+    /**
+     * Retrieves the number of interned roles.
+     *
+     * @return the number of roles loaded by the last reload
+     */
+    public int size() {
+        return current().roles().size();
+    }
+
+    private Snapshot current() {
+        long version = tableVersions.version(TableVersions.Table.ROLES);
+        Snapshot current = snapshot;
+        if (current.version() == version) return current;
+        synchronized (reloadLock) {
+            current = snapshot;
+            if (current.version() == version) return current;
+            Map<Integer, RoleSecurity> roles = new HashMap<>();
+            try {
+                for (RoleEntity entity : repository.findAll("")) {
+                    RoleSecurity previous = current.roles().get(entity.getRoleId());
+                    boolean unchanged = previous != null && previous.getName().equals(entity.getRoleName());
+                    roles.put(entity.getRoleId(), unchanged ? previous : new RoleSecurity(entity.getRoleId(), entity.getRoleName()));
+                }
+            } catch (DataAccessException e) {
+                LOGGER.warn("Roles not reloaded, keeping {} interned roles: {}", current.roles().size(), e.getMessage());
+                roles = current.roles();
+            }
+            snapshot = new Snapshot(version, Map.copyOf(roles));
+            return snapshot;
+        }
+    }
+
+    private record Snapshot(long version, Map<Integer, RoleSecurity> roles) {
+    }
+
+}
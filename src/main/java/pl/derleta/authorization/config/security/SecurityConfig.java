@@ -1,11 +1,19 @@
 package pl.derleta.authorization.config.security;
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.aop.Advisor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -18,11 +26,17 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import pl.derleta.authorization.config.concurrency.ExecutionConfig;
+import pl.derleta.authorization.config.metrics.AuthMetrics;
 import pl.derleta.authorization.config.model.UserSecurity;
 import pl.derleta.authorization.config.repository.TokensGeneratorRepository;
 import pl.derleta.authorization.config.security.jwt.JwtTokenFilter;
+import pl.derleta.authorization.config.security.method.AppRole;
+import pl.derleta.authorization.config.security.method.RequireRoles;
+import pl.derleta.authorization.config.security.method.RoleMaskAuthorizationManager;
 
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 /**
  * SecurityConfig is a configuration class that defines the security setup
@@ -41,6 +55,7 @@ public class SecurityConfig {
 
     private TokensGeneratorRepository userRepo;
     private JwtTokenFilter jwtTokenFilter;
+    private PublicPathMatcher publicPaths;
 
     @Autowired
     public void setUserRepo(TokensGeneratorRepository userRepo) {
@@ -52,6 +67,25 @@ public class SecurityConfig {
         this.jwtTokenFilter = jwtTokenFilter;
     }
 
+    @Autowired
+    public void setPublicPaths(PublicPathMatcher publicPaths) {
+        this.publicPaths = publicPaths;
+    }
+
+    private AuthMetrics metrics = AuthMetrics.noop();
+
+    @Autowired
+    public void setMetrics(AuthMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    private ExecutorService passwordHashingExecutor;
+
+    @Autowired
+    public void setPasswordHashingExecutor(@Qualifier(ExecutionConfig.PASSWORD_HASHING_EXECUTOR) ExecutorService passwordHashingExecutor) {
+        this.passwordHashingExecutor = passwordHashingExecutor;
+    }
+
     /**
      * Configures and provides a {@link DaoAuthenticationProvider} bean for the application's
      * authentication system. This provider is responsible for handling user authentication by
@@ -65,8 +99,10 @@ public class SecurityConfig {
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        UserDetailsService userDetailsService = userDetailsService();
+        Timer userLookup = metrics.loginStage(AuthMetrics.LoginStage.USER_LOOKUP);
+        authProvider.setUserDetailsService(username -> userLookup.record(() -> userDetailsService.loadUserByUsername(username)));
+        authProvider.setPasswordEncoder(timedMatches(passwordEncoder(), metrics.loginStage(AuthMetrics.LoginStage.PASSWORD_VERIFY)));
         return authProvider;
     }
 
@@ -89,13 +125,56 @@ public class SecurityConfig {
 
     /**
      * Provides a bean of the PasswordEncoder used for encoding and verifying passwords
-     * in the application's authentication system.
+     * in the application's authentication system. Hashing requested from virtual threads
+     * is executed on the dedicated password hashing pool, so it never occupies carrier threads.
      *
-     * @return an instance of BCryptPasswordEncoder for secure password hashing
+     * @return a BCrypt based PasswordEncoder for secure password hashing
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new OffloadingPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor);
+    }
+
+    /**
+     * Provides the method security advisor enforcing {@link RequireRoles} annotations with a
+     * {@link RoleMaskAuthorizationManager}. It runs in the same position as {@code @PreAuthorize} checks
+     * and, like them, denies access with an {@code AccessDeniedException}.
+     *
+     * @return the advisor applying role mask checks to annotated methods
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor requireRolesAuthorization() {
+        RoleMaskAuthorizationManager manager = new RoleMaskAuthorizationManager();
+        AuthorizationManagerBeforeMethodInterceptor interceptor = new AuthorizationManagerBeforeMethodInterceptor(manager.pointcut(), manager);
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return interceptor;
+    }
+
+    /**
+     * Wraps the encoder so that password verification during login is timed as its own stage.
+     *
+     * @param encoder the encoder to delegate to
+     * @param timer   the timer of the password verification stage
+     * @return the timed encoder
+     */
+    private static PasswordEncoder timedMatches(PasswordEncoder encoder, Timer timer) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return encoder.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return Boolean.TRUE.equals(timer.record(() -> encoder.matches(rawPassword, encodedPassword)));
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return encoder.upgradeEncoding(encodedPassword);
+            }
+        };
     }
 
     /**
@@ -118,7 +197,8 @@ public class SecurityConfig {
      * <p>
      * The SecurityFilterChain is configured with the following:
      * - CSRF is disabled.
-     * - Public endpoint patterns are permitted.
+     * - Public endpoints, matched by the {@link PublicPathMatcher} shared with the JWT token filter, are permitted.
+     * - The actuator health endpoint is permitted, and the Prometheus endpoint requires the admin role.
      * - Any other requests require authentication.
      * - Stateless session management is enforced.
      * - A custom JWT token filter is added before the UsernamePasswordAuthenticationFilter.
@@ -135,11 +215,9 @@ public class SecurityConfig {
 //                .cors(AbstractHttpConfigurer::disable)
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authorize -> authorize
-                        .requestMatchers("/api/v1/public/**", "/api/v2/public/**",
-                                "/api/v3/public/**", "/api/v3/auth/login",
-                                "/api/v1/auth/login", "/auth/login", "/api/v1/auth/login**",
-                                "/api/v1/auth/email", "/auth/email", "/api/v1/auth/email**",
-                                "/api/v1/auth/refresh-access").permitAll()
+                        .requestMatchers(publicPaths).permitAll()
+                        .requestMatchers(EndpointRequest.to("health")).permitAll()
+                        .requestMatchers(EndpointRequest.to("prometheus")).hasAuthority(AppRole.ADMIN.authority())
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -0,0 +1,116 @@
+package pl.derleta.authorization.config.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate-limited logging of security events such as rejected tokens.
+ * <p>
+ * Every event is counted per {@link Category} in a lock-free counter, and the counts are logged as one summary per
+ * period ({@code app.security.events.summary-ms}). Individual events are logged only as a sample of at most
+ * {@code app.security.events.samples-per-second} events per second, without stack traces and with the exception
+ * details in structured key-value fields, so a flood of invalid tokens cannot turn log I/O into the bottleneck.
+ */
+@Component
+public class SecurityEventLog {
+
+    /**
+     * Categories of recorded security events.
+     */
+    public enum Category {
+        EXPIRED_TOKEN, EMPTY_TOKEN, MALFORMED_TOKEN, UNSUPPORTED_TOKEN
+    }
+
+    public static final int DEFAULT_SAMPLES_PER_SECOND = 5;
+    private static final Logger LOGGER = LoggerFactory.getLogger(SecurityEventLog.class);
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<Category, LongAdder> counts = new EnumMap<>(Category.class);
+    private final LongAdder sampled = new LongAdder();
+    private final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicInteger samplesInWindow = new AtomicInteger();
+    private final int samplesPerSecond;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public SecurityEventLog(@Value("${app.security.events.samples-per-second:" + DEFAULT_SAMPLES_PER_SECOND + "}") int samplesPerSecond) {
+        this(samplesPerSecond, System::nanoTime);
+    }
+
+    SecurityEventLog(int samplesPerSecond, LongSupplier nanoClock) {
+        if (samplesPerSecond < 0) throw new IllegalArgumentException("Samples per second must not be negative");
+        this.samplesPerSecond = samplesPerSecond;
+        this.nanoClock = nanoClock;
+        for (Category category : Category.values()) counts.put(category, new LongAdder());
+    }
+
+    /**
+     * Records a security event and logs it individually if the sample limit of the current second allows.
+     *
+     * @param category the category of the event
+     * @param cause    the exception describing the event
+     * @return true if the event was logged individually, false if it was only counted
+     */
+    public boolean record(Category category, Exception cause) {
+        counts.get(category).increment();
+        if (!trySample()) return false;
+        sampled.increment();
+        LOGGER.atWarn()
+                .addKeyValue("category", category)
+                .addKeyValue("exception", cause.getClass().getName())
+                .addKeyValue("reason", cause.getMessage())
+                .log("Security event {}", category);
+        return true;
+    }
+
+    /**
+     * Retrieves the number of events of the given category recorded since the last summary.
+     *
+     * @param category the category of events
+     * @return the number of recorded events
+     */
+    public long count(Category category) {
+        return counts.get(category).sum();
+    }
+
+    /**
+     * Logs the number of events recorded per category since the previous summary and resets the counters.
+     * Nothing is logged for a period without events.
+     */
+    @Scheduled(fixedDelayString = "${app.security.events.summary-ms:60000}")
+    public void summarize() {
+        LoggingEventBuilder summary = LOGGER.atWarn();
+        long total = 0;
+        for (Map.Entry<Category, LongAdder> entry : counts.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            summary = summary.addKeyValue(entry.getKey().name(), count);
+            total += count;
+        }
+        long logged = sampled.sumThenReset();
+        if (total == 0) return;
+        summary.addKeyValue("total", total)
+                .addKeyValue("sampled", logged)
+                .log("Security events since last summary: {} recorded, {} logged individually", total, logged);
+    }
+
+    private boolean trySample() {
+        long current = nanoClock.getAsLong() / WINDOW_NANOS;
+        long previous = window.get();
+        if (current != previous && window.compareAndSet(previous, current)) samplesInWindow.set(0);
+        return samplesInWindow.incrementAndGet() <= samplesPerSecond;
+    }
+
+}
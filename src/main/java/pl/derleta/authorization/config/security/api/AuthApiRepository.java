@@ -1,7 +1,6 @@
 package pl.derleta.authorization.config.security.api;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -12,6 +11,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Optional;
 
+import static pl.derleta.authorization.repository.JdbcLookups.findFirst;
+
 /**
  * Repository class for managing operations on JWT tokens in the database.
  * This class interacts with the database using JdbcTemplate to perform CRUD operations
@@ -67,13 +68,7 @@ public class AuthApiRepository {
                 FROM access_tokens jt
                 WHERE token_id = ?;
                 """;
-        try {
-            return Optional.ofNullable(
-                    jdbcTemplate.queryForObject(sql, new JwtTokenMapper(), tokenId)
-            );
-        } catch (EmptyResultDataAccessException e) {
-            return Optional.empty();
-        }
+        return findFirst(jdbcTemplate, sql, new JwtTokenMapper(), tokenId);
     }
 
     /**
@@ -91,13 +86,7 @@ public class AuthApiRepository {
                 FROM refresh_tokens jt
                 WHERE token_id = ?;
                 """;
-        try {
-            return Optional.ofNullable(
-                    jdbcTemplate.queryForObject(sql, new JwtTokenMapper(), tokenId)
-            );
-        } catch (EmptyResultDataAccessException e) {
-            return Optional.empty();
-        }
+        return findFirst(jdbcTemplate, sql, new JwtTokenMapper(), tokenId);
     }
 
     /**
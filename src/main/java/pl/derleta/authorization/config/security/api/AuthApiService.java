@@ -1,10 +1,14 @@
 package pl.derleta.authorization.config.security.api;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import pl.derleta.authorization.config.metrics.AuthMetrics;
 import pl.derleta.authorization.config.model.UserSecurity;
 import pl.derleta.authorization.config.model.UserSecurityMapper;
 import pl.derleta.authorization.config.security.jwt.JwtTokenUtil;
+import pl.derleta.authorization.config.security.jwt.TokenRevocationRegistry;
 import pl.derleta.authorization.domain.entity.RoleEntity;
 import pl.derleta.authorization.domain.entity.UserEntity;
 import pl.derleta.authorization.repository.impl.UserRepository;
@@ -27,6 +31,9 @@ public class AuthApiService {
     private UserRolesRepository userRolesRepository;
 
     private AuthApiRepository repository;
+    private RefreshRequestCoalescer refreshCoalescer = new RefreshRequestCoalescer(RefreshRequestCoalescer.DEFAULT_WINDOW_MILLIS);
+    private TokenRevocationRegistry revocations;
+    private AuthMetrics metrics = AuthMetrics.noop();
 
     @Autowired
     public void setRepository(AuthApiRepository repository, JwtTokenUtil jwtTokenUtil, UserRepository userRepository, UserRolesRepository userRolesRepository) {
@@ -36,6 +43,21 @@ public class AuthApiService {
         this.userRolesRepository = userRolesRepository;
     }
 
+    @Autowired
+    public void setRefreshCoalescer(RefreshRequestCoalescer refreshCoalescer) {
+        this.refreshCoalescer = refreshCoalescer;
+    }
+
+    @Autowired
+    public void setRevocations(TokenRevocationRegistry revocations) {
+        this.revocations = revocations;
+    }
+
+    @Autowired
+    public void setMetrics(AuthMetrics metrics) {
+        this.metrics = metrics;
+    }
+
 
     /**
      * Saves an access token for a specified user with an associated expiration date.
@@ -107,13 +129,45 @@ public class AuthApiService {
         return found.equalsIgnoreCase(expected);
     }
 
+    /**
+     * Issues a new access token for the user a refresh token was issued for.
+     * <p>
+     * When the security stamp embedded in the refresh token still equals the stamp stored for the user,
+     * the user's ID, email and roles have not changed since the token was issued, so the access token
+     * is minted directly from the refresh token claims after a single primary-key lookup of the stamp.
+     * Otherwise the user and roles are reloaded as in {@link #updateAccessToken(Long)}.
+     * <p>
+     * Concurrent refreshes with the same refresh token, e.g. from several browser tabs waking up at once,
+     * are coalesced by the {@link RefreshRequestCoalescer} and receive the same access token.
+     * Refresh tokens revoked by the {@link TokenRevocationRegistry} are rejected before coalescing.
+     *
+     * @param refreshToken a refresh token that was already validated
+     * @return the newly generated access token, or {@code null} if the user no longer exists or the refresh token was revoked
+     */
+    public String refreshAccessToken(final String refreshToken) {
+        Claims claims = jwtTokenUtil.parseClaims(refreshToken);
+        UserSecurity tokenUser = jwtTokenUtil.getUserSecurity(claims);
+        if (revocations.isRevoked(tokenUser.getId(), claims)) return null;
+        return refreshCoalescer.coalesce(refreshToken, () -> mintAccessToken(claims, tokenUser));
+    }
+
+    private String mintAccessToken(final Claims claims, final UserSecurity tokenUser) {
+        Long currentStamp = userRepository.findSecurityStamp(tokenUser.getId());
+        if (currentStamp == null) return null;
+        Long tokenStamp = jwtTokenUtil.getSecurityStamp(claims);
+        if (currentStamp.equals(tokenStamp)) {
+            return issueAccessToken(tokenUser);
+        }
+        return reloadAccessToken(tokenUser.getId(), currentStamp);
+    }
+
     /**
      * Updates the access token for a given user by generating a new JWT and saving it to the database.
      * <p>
      * This method performs the following steps:
      * <ul>
      *   <li>Validates the user ID is not null.</li>
-     *   <li>Fetches the user entity from the database.</li>
+     *   <li>Fetches the current security stamp and the user entity from the database.</li>
      *   <li>Retrieves the user's roles and maps them to a {@link UserSecurity} object.</li>
      *   <li>Generates a new access token using the {@link JwtTokenUtil}.</li>
      *   <li>Retrieves the token expiration date.</li>
@@ -125,14 +179,36 @@ public class AuthApiService {
      */
     public String updateAccessToken(final Long userId) {
         if (userId == null) return null;
+        Timer.Sample sample = Timer.start();
+        AuthMetrics.Outcome outcome = AuthMetrics.Outcome.ERROR;
+        try {
+            Long stamp = userRepository.findSecurityStamp(userId);
+            String accessToken = reloadAccessToken(userId, stamp == null ? 0 : stamp);
+            outcome = AuthMetrics.Outcome.SUCCESS;
+            return accessToken;
+        } finally {
+            sample.stop(metrics.accessTokenUpdate(outcome));
+        }
+    }
+
+    /**
+     * Loads the user and roles and issues an access token carrying the given security stamp.
+     * The stamp must be read before the user data, so a concurrent change can only leave the token
+     * with an older stamp, which sends the next refresh through this path again.
+     */
+    private String reloadAccessToken(final long userId, final long securityStamp) {
         UserEntity userEntity = userRepository.findById(userId);
         List<RoleEntity> roles = userRolesRepository.getRoles(userId);
         UserSecurity userSecurity = UserSecurityMapper.toUserSecurity(userEntity, new HashSet<>(roles));
+        userSecurity.setSecurityStamp(securityStamp);
+        return issueAccessToken(userSecurity);
+    }
 
+    private String issueAccessToken(final UserSecurity userSecurity) {
         String accessToken = jwtTokenUtil.generateAccessToken(userSecurity);
         Date expirationDate = jwtTokenUtil.getTokenExpiration(accessToken);
         long nextTokenId = repository.getAccessTokenNextId();
-        repository.saveAccessToken(nextTokenId, userId, accessToken, expirationDate);
+        repository.saveAccessToken(nextTokenId, userSecurity.getId(), accessToken, expirationDate);
         return accessToken;
     }
 
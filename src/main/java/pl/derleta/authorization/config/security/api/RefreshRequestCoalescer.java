@@ -0,0 +1,116 @@
+package pl.derleta.authorization.config.security.api;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of access token refreshes, keyed by the SHA-256 digest of the refresh token.
+ * <p>
+ * Concurrent refreshes with the same refresh token share one in-flight computation, and its result is
+ * reused by refreshes arriving within the reuse window after it completed. Failed computations are not
+ * reused. Refresh tokens themselves are never kept in memory, only their digests.
+ */
+@Component
+public class RefreshRequestCoalescer {
+
+    public static final long DEFAULT_WINDOW_MILLIS = 2_000;
+    private static final int SWEEP_THRESHOLD = 1_024;
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final long windowNanos;
+
+    @Autowired
+    public RefreshRequestCoalescer(@Value("${app.auth.refresh.coalesce-window-ms:" + DEFAULT_WINDOW_MILLIS + "}") long windowMillis) {
+        this(windowMillis, System::nanoTime);
+    }
+
+    RefreshRequestCoalescer(long windowMillis, LongSupplier nanoClock) {
+        if (windowMillis < 0) throw new IllegalArgumentException("Window must not be negative");
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the access token minted for the given refresh token, joining a refresh that is in flight
+     * or was completed within the reuse window, or running {@code mint} otherwise.
+     *
+     * @param refreshToken the refresh token presented by the client
+     * @param mint         the computation issuing a new access token
+     * @return the access token produced by the shared computation; may be {@code null}
+     */
+    public String coalesce(String refreshToken, Supplier<String> mint) {
+        String key = digest(refreshToken);
+        long now = nanoClock.getAsLong();
+        Flight candidate = new Flight();
+        Flight flight = flights.compute(key, (k, existing) -> existing != null && existing.isReusable(now, windowNanos) ? existing : candidate);
+        if (flight == candidate) {
+            run(key, candidate, mint);
+            if (flights.size() > SWEEP_THRESHOLD) sweep(now);
+        }
+        try {
+            return flight.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves the number of tracked refresh flights, including completed ones not yet swept.
+     *
+     * @return the number of tracked flights
+     */
+    public int size() {
+        return flights.size();
+    }
+
+    private void run(String key, Flight flight, Supplier<String> mint) {
+        try {
+            String accessToken = mint.get();
+            flight.completedAt = nanoClock.getAsLong();
+            flight.result.complete(accessToken);
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.result.completeExceptionally(e);
+        }
+    }
+
+    private void sweep(long now) {
+        flights.values().removeIf(flight -> flight.result.isDone() && !flight.isReusable(now, windowNanos));
+    }
+
+    private static String digest(String refreshToken) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Flight {
+
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        private boolean isReusable(long now, long windowNanos) {
+            if (!result.isDone()) return true;
+            return !result.isCompletedExceptionally() && now - completedAt <= windowNanos;
+        }
+    }
+
+}
@@ -4,6 +4,9 @@ import jakarta.servlet.*;
 import jakarta.servlet.http.HttpFilter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -15,9 +18,16 @@ import java.io.IOException;
  * application's access permissions based on predefined allowed applications.
  * <p>
  * This filter checks for the presence of the "X-Requesting-App" header in the
- * HTTP request and compares its value against a list of allowed applications
- * defined in the application configuration. Requests originating from
- * unauthorized applications will be denied access.
+ * HTTP request and looks its value up in an {@link ApplicationRegistry} built once
+ * from the application configuration. Requests originating from unauthorized
+ * applications will be denied access.
+ * <p>
+ * Every registered application may be limited with a request quota and a
+ * concurrency cap ({@code app.filter.*} properties). Requests over either limit
+ * are rejected with a 429 response, so a misbehaving client application is
+ * throttled without degrading service for the others. Admitted and rejected
+ * requests and their processing time are counted per application and published
+ * as meters tagged with the application id.
  * <p>
  * The filter executes as the first filter in the chain due to its ordering
  * being set to 1. If the requesting application is allowed, it passes the
@@ -26,18 +36,28 @@ import java.io.IOException;
  */
 @Component
 @Order(1)
-public class AppFilter extends HttpFilter {
+public class AppFilter extends HttpFilter implements MeterBinder {
+
+    private final ApplicationRegistry registry;
 
-    @Value("${allowed.applications}")
-    private String allowedApplications;
+    @Autowired
+    public AppFilter(@Value("${allowed.applications}") String allowedApplications,
+                     @Value("${app.filter.limits:}") String limitOverrides,
+                     @Value("${app.filter.default-rate:0}") double defaultRate,
+                     @Value("${app.filter.default-burst:0}") int defaultBurst,
+                     @Value("${app.filter.default-concurrency:0}") int defaultConcurrency) {
+        ApplicationLimits defaults = new ApplicationLimits(defaultRate, defaultBurst, defaultConcurrency);
+        this.registry = ApplicationRegistry.of(allowedApplications, limitOverrides, defaults);
+    }
 
     /**
      * Filters incoming HTTP requests to validate if the requesting application has access permissions.
      * Checks for the presence of the "X-Requesting-App" header in the HTTP request, and processes or blocks
-     * the request based on whether the application is allowed.
+     * the request based on whether the application is allowed and within its limits.
      * <p>
      * If the application is authorized, the filter passes the request to the next filter in the chain.
      * If the application is unauthorized, the filter returns a 403 response with an error message.
+     * If the application exceeds its quota or concurrency cap, the filter returns a 429 response.
      *
      * @param request  the HTTP request containing the "X-Requesting-App" header
      * @param response the HTTP response to be sent to the client
@@ -47,34 +67,48 @@ public class AppFilter extends HttpFilter {
      */
     @Override
     public void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws IOException, ServletException {
-        String requestingApp = request.getHeader("X-Requesting-App");
-        if (isApplicationAllowed(requestingApp)) {
-            chain.doFilter(request, response);
-        } else {
+        RegisteredApplication application = registry.find(request.getHeader("X-Requesting-App"));
+        if (application == null) {
             response.getWriter().write("Access denied for the application");
             response.setContentType("application/json");
             response.setStatus(403);
+            return;
+        }
+        RegisteredApplication.Admission admission = application.tryAdmit();
+        if (admission != RegisteredApplication.Admission.ADMITTED) {
+            if (admission == RegisteredApplication.Admission.THROTTLED) {
+                response.setHeader("Retry-After", Long.toString(application.retryAfterSeconds()));
+            }
+            response.getWriter().write("Too many requests for the application");
+            response.setContentType("application/json");
+            response.setStatus(429);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            application.release(System.nanoTime() - start);
         }
     }
 
     /**
-     * Determines if the provided application is allowed to access the system.
-     * The method checks the provided application name against a list of allowed applications
-     * configured in the application settings.
+     * Retrieves the registry of allowed applications.
      *
-     * @param requestingApp the name of the application requesting access
-     * @return true if the requesting application is in the list of allowed applications; false otherwise
+     * @return the application registry
      */
-    private boolean isApplicationAllowed(String requestingApp) {
-        if (allowedApplications != null && requestingApp != null) {
-            String[] allowedAppsArray = allowedApplications.split(",");
-            for (String allowedApp : allowedAppsArray) {
-                if (requestingApp.trim().equals(allowedApp.trim())) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    public ApplicationRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Registers the traffic meters of the allowed applications.
+     *
+     * @param meterRegistry the registry to add the meters to
+     */
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        registry.bindTo(meterRegistry);
     }
 
 }
@@ -0,0 +1,44 @@
+package pl.derleta.authorization.config.security.filter;
+
+/**
+ * Request limits of a single client application.
+ *
+ * @param ratePerSecond the sustained number of requests per second; 0 disables the quota
+ * @param burst         the capacity of the token bucket, i.e. the most requests admitted at once after an idle
+ *                      period; 0 defaults to the rate rounded up
+ * @param maxConcurrent the maximum number of requests processed at once; 0 disables the cap
+ */
+public record ApplicationLimits(double ratePerSecond, int burst, int maxConcurrent) {
+
+    public static final ApplicationLimits UNLIMITED = new ApplicationLimits(0, 0, 0);
+
+    public ApplicationLimits {
+        if (ratePerSecond < 0 || burst < 0 || maxConcurrent < 0) {
+            throw new IllegalArgumentException("Application limits must not be negative");
+        }
+    }
+
+    /**
+     * Parses limits written as {@code rate/burst/concurrency}; trailing parts may be omitted.
+     *
+     * @param value the limits definition, e.g. {@code 100/200/50}
+     * @return the parsed limits
+     */
+    public static ApplicationLimits parse(String value) {
+        String[] parts = value.trim().split("/", -1);
+        if (parts.length > 3) throw new IllegalArgumentException("Invalid application limits: " + value);
+        try {
+            double rate = parts[0].isBlank() ? 0 : Double.parseDouble(parts[0].trim());
+            int burst = parts.length < 2 || parts[1].isBlank() ? 0 : Integer.parseInt(parts[1].trim());
+            int concurrent = parts.length < 3 || parts[2].isBlank() ? 0 : Integer.parseInt(parts[2].trim());
+            return new ApplicationLimits(rate, burst, concurrent);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid application limits: " + value, e);
+        }
+    }
+
+    int effectiveBurst() {
+        return burst > 0 ? burst : Math.max(1, (int) Math.ceil(ratePerSecond));
+    }
+
+}
@@ -0,0 +1,97 @@
+package pl.derleta.authorization.config.security.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable registry of the client applications allowed to call the server, built once from configuration.
+ * <p>
+ * Application ids come from the comma-separated {@code allowed.applications} list. Limits are taken from the
+ * {@code app.filter.limits} overrides, written as {@code id=rate/burst/concurrency} entries separated by commas,
+ * and fall back to the default limits.
+ * <p>
+ * The traffic counters of the applications are published as meters through {@link #bindTo(MeterRegistry)}.
+ */
+public final class ApplicationRegistry implements MeterBinder {
+
+    static final ApplicationRegistry EMPTY = new ApplicationRegistry(Map.of());
+
+    private final Map<String, RegisteredApplication> applications;
+
+    private ApplicationRegistry(Map<String, RegisteredApplication> applications) {
+        this.applications = applications;
+    }
+
+    /**
+     * Builds the registry from configuration values.
+     *
+     * @param allowedApplications the comma-separated application ids; may be null
+     * @param limitOverrides      the comma-separated {@code id=rate/burst/concurrency} entries; may be null
+     * @param defaultLimits       the limits of applications without an override
+     * @return the registry
+     */
+    public static ApplicationRegistry of(String allowedApplications, String limitOverrides, ApplicationLimits defaultLimits) {
+        if (allowedApplications == null || allowedApplications.isBlank()) return EMPTY;
+        Map<String, ApplicationLimits> overrides = parseOverrides(limitOverrides);
+        Map<String, RegisteredApplication> applications = new LinkedHashMap<>();
+        for (String entry : allowedApplications.split(",")) {
+            String id = entry.trim();
+            if (id.isEmpty()) continue;
+            applications.putIfAbsent(id, new RegisteredApplication(id, overrides.getOrDefault(id, defaultLimits)));
+        }
+        return new ApplicationRegistry(Map.copyOf(applications));
+    }
+
+    /**
+     * Finds a registered application.
+     *
+     * @param applicationId the value of the requesting application header; may be null
+     * @return the application, or null if it is not registered
+     */
+    public RegisteredApplication find(String applicationId) {
+        if (applicationId == null) return null;
+        RegisteredApplication application = applications.get(applicationId);
+        return application != null ? application : applications.get(applicationId.trim());
+    }
+
+    public Collection<RegisteredApplication> getApplications() {
+        return applications.values();
+    }
+
+    /**
+     * Takes a snapshot of the counters of all registered applications.
+     *
+     * @return the statistics per application
+     */
+    public List<ApplicationStatistics> statistics() {
+        return applications.values().stream().map(RegisteredApplication::statistics).toList();
+    }
+
+    /**
+     * Registers the traffic meters of all registered applications.
+     *
+     * @param meterRegistry the registry to add the meters to
+     */
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        for (RegisteredApplication application : applications.values()) application.bindTo(meterRegistry);
+    }
+
+    private static Map<String, ApplicationLimits> parseOverrides(String limitOverrides) {
+        if (limitOverrides == null || limitOverrides.isBlank()) return Map.of();
+        Map<String, ApplicationLimits> overrides = new LinkedHashMap<>();
+        for (String entry : limitOverrides.split(",")) {
+            if (entry.isBlank()) continue;
+            int separator = entry.indexOf('=');
+            if (separator < 1) throw new IllegalArgumentException("Invalid application limits entry: " + entry);
+            overrides.put(entry.substring(0, separator).trim(), ApplicationLimits.parse(entry.substring(separator + 1)));
+        }
+        return overrides;
+    }
+
+}
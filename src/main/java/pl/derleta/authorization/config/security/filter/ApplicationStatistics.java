@@ -0,0 +1,16 @@
+package pl.derleta.authorization.config.security.filter;
+
+/**
+ * Snapshot of the traffic counters of a registered client application.
+ *
+ * @param applicationId     the application identifier
+ * @param requests          the number of admitted requests
+ * @param throttled         the number of requests rejected by the rate quota
+ * @param saturated         the number of requests rejected by the concurrency cap
+ * @param inFlight          the number of requests currently processed
+ * @param completed         the number of completed requests
+ * @param totalLatencyNanos the summed processing time of completed requests in nanoseconds
+ */
+public record ApplicationStatistics(String applicationId, long requests, long throttled, long saturated, int inFlight,
+                                    long completed, long totalLatencyNanos) {
+}
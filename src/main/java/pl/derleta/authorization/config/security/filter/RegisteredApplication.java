@@ -0,0 +1,134 @@
+package pl.derleta.authorization.config.security.filter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client application allowed by {@link AppFilter}, together with its limits and traffic counters.
+ * <p>
+ * The request quota is enforced with a {@link TokenBucket} and the number of concurrently processed
+ * requests with a non-blocking semaphore; either limit is disabled when not configured.
+ */
+public final class RegisteredApplication {
+
+    private final String id;
+    private final ApplicationLimits limits;
+    private final TokenBucket quota;
+    private final Semaphore concurrency;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder saturated = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+
+    RegisteredApplication(String id, ApplicationLimits limits) {
+        this.id = id;
+        this.limits = limits;
+        this.quota = limits.ratePerSecond() > 0 ? new TokenBucket(limits.ratePerSecond(), limits.effectiveBurst()) : null;
+        this.concurrency = limits.maxConcurrent() > 0 ? new Semaphore(limits.maxConcurrent()) : null;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public ApplicationLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Admits a request if it fits in both the rate quota and the concurrency cap.
+     * An admitted request must be completed with {@link #release(long)}.
+     *
+     * @return the admission decision
+     */
+    public Admission tryAdmit() {
+        if (quota != null && !quota.tryAcquire()) {
+            throttled.increment();
+            return Admission.THROTTLED;
+        }
+        if (concurrency != null && !concurrency.tryAcquire()) {
+            saturated.increment();
+            return Admission.SATURATED;
+        }
+        requests.increment();
+        return Admission.ADMITTED;
+    }
+
+    /**
+     * Completes an admitted request, freeing its concurrency slot and recording its latency.
+     *
+     * @param elapsedNanos the request processing time in nanoseconds
+     */
+    public void release(long elapsedNanos) {
+        if (concurrency != null) concurrency.release();
+        completed.increment();
+        latencyNanos.add(elapsedNanos);
+    }
+
+    /**
+     * Calculates the Retry-After value for a throttled request.
+     *
+     * @return the number of seconds until the quota allows another request
+     */
+    public long retryAfterSeconds() {
+        return quota == null ? 1 : quota.secondsUntilNextToken();
+    }
+
+    /**
+     * Takes a snapshot of the traffic counters.
+     *
+     * @return the current application statistics
+     */
+    public ApplicationStatistics statistics() {
+        long admitted = requests.sum();
+        return new ApplicationStatistics(id, admitted, throttled.sum(), saturated.sum(), inFlight(),
+                completed.sum(), latencyNanos.sum());
+    }
+
+    /**
+     * Registers meters reading the traffic counters, tagged with the application id: {@code app.filter.requests}
+     * by {@code outcome} (admitted, throttled, saturated), {@code app.filter.in_flight} and
+     * {@code app.filter.latency} of completed requests.
+     *
+     * @param meterRegistry the registry to add the meters to
+     */
+    void bindTo(MeterRegistry meterRegistry) {
+        requestCounter(meterRegistry, "admitted", requests);
+        requestCounter(meterRegistry, "throttled", throttled);
+        requestCounter(meterRegistry, "saturated", saturated);
+        Gauge.builder("app.filter.in_flight", this, RegisteredApplication::inFlight)
+                .description("Requests of the application currently processed")
+                .tag("application", id)
+                .register(meterRegistry);
+        FunctionTimer.builder("app.filter.latency", this, a -> a.completed.sum(), a -> a.latencyNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Processing time of the application's requests")
+                .tag("application", id)
+                .register(meterRegistry);
+    }
+
+    private void requestCounter(MeterRegistry meterRegistry, String outcome, LongAdder counter) {
+        FunctionCounter.builder("app.filter.requests", counter, LongAdder::sum)
+                .description("Requests of the application by admission outcome")
+                .tags("application", id, "outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private int inFlight() {
+        return concurrency == null ? 0 : limits.maxConcurrent() - concurrency.availablePermits();
+    }
+
+    /**
+     * Outcome of {@link #tryAdmit()}.
+     */
+    public enum Admission {
+        ADMITTED, THROTTLED, SATURATED
+    }
+
+}
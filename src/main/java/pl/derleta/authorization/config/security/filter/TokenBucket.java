@@ -0,0 +1,64 @@
+package pl.derleta.authorization.config.security.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter refilled continuously at a fixed rate up to its burst capacity.
+ * <p>
+ * The bucket starts full. Each permitted request takes one token; requests arriving at an empty
+ * bucket are rejected without waiting.
+ */
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Constructs a bucket using the system nano clock.
+     *
+     * @param ratePerSecond the number of tokens added per second
+     * @param burst         the maximum number of stored tokens
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0) throw new IllegalArgumentException("Rate must be positive");
+        if (burst < 1) throw new IllegalArgumentException("Burst must be at least 1");
+        this.capacity = burst;
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.nanoClock = nanoClock;
+        this.tokens = burst;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return true if the request is within the quota; false otherwise
+     */
+    public synchronized boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+        if (tokens < 1) return false;
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Calculates how long a rejected caller should wait for the next token.
+     *
+     * @return the number of whole seconds until a token becomes available, at least 1
+     */
+    public synchronized long secondsUntilNextToken() {
+        double missing = Math.max(0, 1 - tokens);
+        return Math.max(1, (long) Math.ceil(missing / tokensPerNano / TimeUnit.SECONDS.toNanos(1)));
+    }
+
+}
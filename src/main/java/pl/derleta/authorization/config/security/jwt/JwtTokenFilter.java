@@ -1,6 +1,7 @@
 package pl.derleta.authorization.config.security.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -14,33 +15,67 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
-import pl.derleta.authorization.config.model.RoleSecurity;
+import pl.derleta.authorization.config.metrics.AuthMetrics;
 import pl.derleta.authorization.config.model.UserSecurity;
+import pl.derleta.authorization.config.security.PublicPathMatcher;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 
 /**
  * JwtTokenFilter is a filter that intercepts HTTP requests to enable JWT-based authentication.
  * It extends OncePerRequestFilter and processes each request to extract and validate JWT tokens.
  * If a valid token is found, it sets the authentication context in the SecurityContextHolder.
+ * Requests to public endpoints, matched by the {@link PublicPathMatcher} also used to permit them,
+ * bypass the filter, so a stale token sent along with them is neither extracted nor verified.
  */
 @Component
 public class JwtTokenFilter extends OncePerRequestFilter {
 
     private JwtTokenUtil jwtUtil;
+    private TokenRevocationRegistry revocations;
+    private PublicPathMatcher publicPaths;
+    private AuthMetrics metrics = AuthMetrics.noop();
 
     @Autowired
     public void setJwtUtil(JwtTokenUtil jwtUtil) {
         this.jwtUtil = jwtUtil;
     }
 
+    @Autowired
+    public void setRevocations(TokenRevocationRegistry revocations) {
+        this.revocations = revocations;
+    }
+
+    @Autowired
+    public void setPublicPaths(PublicPathMatcher publicPaths) {
+        this.publicPaths = publicPaths;
+    }
+
+    @Autowired
+    public void setMetrics(AuthMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Skips the filter for public endpoints, which are permitted without authentication.
+     *
+     * @param request the current HTTP request
+     * @return true if the request targets a public endpoint, false otherwise
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicPaths.matches(request);
+    }
+
 
     /**
      * Processes the HTTP request and applies the JWT authentication filter logic.
      * This method attempts to extract a JWT token from the request, validates it,
-     * and sets the authentication context if the token is valid. If no token is provided
-     * or the token is invalid, the method allows the request to proceed without setting
+     * and sets the authentication context if the token is valid and was not revoked by
+     * the {@link TokenRevocationRegistry}. If no token is provided or the token is invalid
+     * or revoked, the method allows the request to proceed without setting
      * the authentication context.
      *
      * @param request     the HttpServletRequest object containing client request information.
@@ -52,15 +87,32 @@ public class JwtTokenFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
         String token = getTokenFromRequest(request);
         if (token == null || !jwtUtil.validateJWTToken(token)) {
+            record(token == null ? AuthMetrics.VerificationOutcome.NO_TOKEN : AuthMetrics.VerificationOutcome.INVALID, start);
             filterChain.doFilter(request, response);
             return;
         }
-        setAuthenticationContext(token, request);
+        Claims claims = jwtUtil.parseClaims(token);
+        UserSecurity userDetails = jwtUtil.getUserSecurity(claims);
+        if (revocations.isRevoked(userDetails.getId(), claims)) {
+            record(AuthMetrics.VerificationOutcome.REVOKED, start);
+        } else {
+            setAuthenticationContext(userDetails, request);
+            record(AuthMetrics.VerificationOutcome.AUTHENTICATED, start);
+        }
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Records the verification time of the current request under the given outcome.
+     */
+    private void record(AuthMetrics.VerificationOutcome outcome, long start) {
+        Timer timer = metrics.verification(outcome);
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Extracts the token from an HTTP request.
      * The method first checks the "Authorization" header for a token in the format "Bearer <token>"
@@ -88,15 +140,13 @@ public class JwtTokenFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Sets the authentication context in the security context using the provided JWT token.
-     * This method uses the token to retrieve user details, builds an authentication object,
-     * and sets it in the SecurityContext for the current request.
+     * Sets the authentication context in the security context using the user details read from the JWT token.
+     * This method builds an authentication object and sets it in the SecurityContext for the current request.
      *
-     * @param token   the JWT token used to authenticate the user.
-     * @param request the HTTP request containing additional details about the user context.
+     * @param userDetails the user details extracted from the JWT token.
+     * @param request     the HTTP request containing additional details about the user context.
      */
-    private void setAuthenticationContext(String token, HttpServletRequest request) {
-        UserDetails userDetails = getUserDetails(token);
+    private void setAuthenticationContext(UserDetails userDetails, HttpServletRequest request) {
         UsernamePasswordAuthenticationToken
                 authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
         authentication.setDetails(
@@ -104,30 +154,4 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
-    /**
-     * Extracts and constructs user details from the provided JWT token.
-     * The method decodes the token to retrieve user information and assigns
-     * corresponding roles to the user instance.
-     *
-     * @param token the JWT token containing user details and roles.
-     * @return an instance of UserDetails populated with user ID, email, and roles.
-     */
-    private UserDetails getUserDetails(String token) {
-        UserSecurity userDetails = new UserSecurity();
-        Claims claims = jwtUtil.parseClaims(token);
-        String subject = (String) claims.get(Claims.SUBJECT);
-        String roles = claims.get("roles").toString();
-        roles = roles.replace("[", "").replace("]", "");
-        String[] roleNames = roles.split("},");
-        for (String item : roleNames) {
-            int startIndex = item.indexOf("name=") + 5;
-            String roleName = item.substring(startIndex).trim().replace("}", "");
-            userDetails.addRole(new RoleSecurity(roleName));
-        }
-        String[] jwtSubject = subject.split(",");
-        userDetails.setId(Long.parseLong(jwtSubject[0]));
-        userDetails.setEmail(jwtSubject[1]);
-        return userDetails;
-    }
-
 }
\ No newline at end of file
@@ -3,14 +3,17 @@ package pl.derleta.authorization.config.security.jwt;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import pl.derleta.authorization.config.model.UserSecurity;
+import pl.derleta.authorization.config.security.RoleSecurityRegistry;
+import pl.derleta.authorization.config.security.SecurityEventLog;
 
 import javax.crypto.SecretKey;
 import java.sql.Date;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Utility class for handling JSON Web Tokens (JWT) in the application.
@@ -20,7 +23,10 @@ import java.sql.Date;
 @Component
 public class JwtTokenUtil {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(JwtTokenUtil.class);
+    /**
+     * Name of the claim carrying the security stamp of the user the token was issued for.
+     */
+    public static final String SECURITY_STAMP_CLAIM = "sst";
 
     @Value("${app.jwt.secret}")
     private String SECRET_KEY;
@@ -31,10 +37,23 @@ public class JwtTokenUtil {
     @Value("${app.jwt.expiration.refresh}")
     public Long JWT_REFRESH_EXPIRATION;
 
+    private RoleSecurityRegistry roleRegistry;
+    private SecurityEventLog securityEvents = new SecurityEventLog(SecurityEventLog.DEFAULT_SAMPLES_PER_SECOND);
+
+    @Autowired
+    public void setRoleRegistry(RoleSecurityRegistry roleRegistry) {
+        this.roleRegistry = roleRegistry;
+    }
+
+    @Autowired
+    public void setSecurityEvents(SecurityEventLog securityEvents) {
+        this.securityEvents = securityEvents;
+    }
+
     /**
      * Generates an access token for the given user based on their security attributes.
-     * The token is constructed with the user's ID and email, includes their roles as a claim,
-     * and is signed using a secret key.
+     * The token is constructed with the user's ID and email, includes their roles and security stamp
+     * as claims, and is signed using a secret key.
      *
      * @param user the user for whom the access token is generated. This object contains
      *             the user's ID, email, and roles required to populate the token.
@@ -45,6 +64,7 @@ public class JwtTokenUtil {
                 .subject(String.format("%s,%s", user.getId(), user.getEmail()))
                 .issuer("DbConnectionApp")
                 .claim("roles", user.getRoles())
+                .claim(SECURITY_STAMP_CLAIM, user.getSecurityStamp())
                 .issuedAt(new java.util.Date())
                 .expiration(new java.util.Date(System.currentTimeMillis() + JWT_ACCESS_EXPIRATION))
                 .signWith(getPublicSigningKey())
@@ -53,7 +73,7 @@ public class JwtTokenUtil {
 
     /**
      * Generates a refresh token for the specified user. The token is constructed
-     * with the user's ID and email as the subject, their roles as a claim, and
+     * with the user's ID and email as the subject, their roles and security stamp as claims, and
      * includes the issuer, issue date, expiration date, and signature.
      *
      * @param user the user for whom the refresh token is being generated. This
@@ -67,6 +87,7 @@ public class JwtTokenUtil {
                 .subject(String.format("%s,%s", user.getId(), user.getEmail()))
                 .issuer("DbConnectionApp")
                 .claim("roles", user.getRoles())
+                .claim(SECURITY_STAMP_CLAIM, user.getSecurityStamp())
                 .issuedAt(new java.util.Date())
                 .expiration(new java.util.Date(System.currentTimeMillis() + JWT_REFRESH_EXPIRATION))
                 .signWith(getPublicSigningKey())
@@ -76,7 +97,7 @@ public class JwtTokenUtil {
     /**
      * Validates the given JSON Web Token (JWT) to ensure it is properly formed, unexpired,
      * and signed with a valid key. This method checks the token's signature, format, and
-     * expiration status and logs an error message for any detected issues.
+     * expiration status and records any detected issue in the {@link SecurityEventLog}.
      *
      * @param token the JWT as a string to be validated
      * @return true if the token is valid, false if the token is invalid, expired, null, or improperly formatted
@@ -90,13 +111,13 @@ public class JwtTokenUtil {
                     .getPayload();
             return true;
         } catch (ExpiredJwtException ex) {
-            LOGGER.error("JWT expired : {}", ex.getMessage());
+            securityEvents.record(SecurityEventLog.Category.EXPIRED_TOKEN, ex);
         } catch (IllegalArgumentException ex) {
-            LOGGER.error("Token is null, empty or only whitespace : {}", ex.getMessage());
+            securityEvents.record(SecurityEventLog.Category.EMPTY_TOKEN, ex);
         } catch (MalformedJwtException ex) {
-            LOGGER.error("JWT is invalid", ex);
+            securityEvents.record(SecurityEventLog.Category.MALFORMED_TOKEN, ex);
         } catch (UnsupportedJwtException ex) {
-            LOGGER.error("JWT is not supported", ex);
+            securityEvents.record(SecurityEventLog.Category.UNSUPPORTED_TOKEN, ex);
         }
         return false;
     }
@@ -155,6 +176,44 @@ public class JwtTokenUtil {
         return Long.valueOf(claims.getSubject().split(",")[0]);
     }
 
+    /**
+     * Extracts the security stamp embedded in the given claims.
+     *
+     * @param claims the verified claims of a token
+     * @return the security stamp, or {@code null} for tokens issued without one
+     */
+    public Long getSecurityStamp(Claims claims) {
+        Object stamp = claims.get(SECURITY_STAMP_CLAIM);
+        return stamp instanceof Number number ? number.longValue() : null;
+    }
+
+    /**
+     * Rebuilds the user a token was issued for from its claims: the ID and email from the subject,
+     * the roles with their IDs and names, and the security stamp. Usernames and passwords are
+     * not part of tokens and are left empty. Roles are taken from the {@link RoleSecurityRegistry},
+     * so no role objects are allocated for roles that still exist under the same name.
+     *
+     * @param claims the verified claims of a token
+     * @return the user described by the claims
+     */
+    public UserSecurity getUserSecurity(Claims claims) {
+        String[] subject = claims.getSubject().split(",", 2);
+        UserSecurity user = new UserSecurity();
+        user.setId(Long.parseLong(subject[0]));
+        user.setEmail(subject.length > 1 ? subject[1] : null);
+        if (claims.get("roles") instanceof Collection<?> roles) {
+            for (Object role : roles) {
+                if (role instanceof Map<?, ?> values && values.get("name") instanceof String name) {
+                    int id = values.get("id") instanceof Number number ? number.intValue() : 0;
+                    user.addRole(roleRegistry.intern(id, name));
+                }
+            }
+        }
+        Long stamp = getSecurityStamp(claims);
+        if (stamp != null) user.setSecurityStamp(stamp);
+        return user;
+    }
+
     /**
      * Extracts all claims from a given JWT token.
      *
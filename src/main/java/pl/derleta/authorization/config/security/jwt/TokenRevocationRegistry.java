@@ -0,0 +1,128 @@
+package pl.derleta.authorization.config.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pl.derleta.authorization.repository.impl.token.TokenRevocationRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of the per-user token revocation watermarks, used to reject already issued JWTs
+ * of users whose sessions were revoked everywhere.
+ * <p>
+ * A token is revoked when it was issued before the watermark of its user. Revoking all tokens of a user
+ * is a single upsert, applied to this instance immediately and picked up by other instances on their
+ * next poll. Watermarks older than the refresh token lifetime are dropped, since every token they could
+ * reject has already expired.
+ * <p>
+ * Watermarks are taken from the application clock, the source of the {@code iat} claim, and compared at the
+ * claim's precision of one second: a revocation moves the watermark to the start of the current second and
+ * rejects only tokens issued in earlier seconds. A user logging in again right after the revocation therefore
+ * always gets a valid token, at the price of also accepting tokens issued earlier within the same second.
+ * Watermarks written by other instances are polled with an overlap covering clock skew between the instances.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(5);
+
+    private final Map<Long, Long> validAfterMillis = new ConcurrentHashMap<>();
+    private final TokenRevocationRepository repository;
+    private final Duration retention;
+    private final Clock clock;
+    private volatile Instant cursor;
+
+    @Autowired
+    public TokenRevocationRegistry(TokenRevocationRepository repository,
+                                   @Value("${app.jwt.expiration.refresh}") long refreshExpirationMillis) {
+        this(repository, Duration.ofMillis(refreshExpirationMillis), Clock.systemUTC());
+    }
+
+    TokenRevocationRegistry(TokenRevocationRepository repository, Duration retention, Clock clock) {
+        this.repository = repository;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    /**
+     * Revokes every token issued to the given user so far.
+     *
+     * @param userId the ID of the user
+     * @return the new watermark of the user
+     */
+    public Instant revokeAll(final long userId) {
+        Instant validAfter = repository.revokeAll(userId, clock.instant().truncatedTo(ChronoUnit.SECONDS));
+        validAfterMillis.merge(userId, watermark(validAfter), Math::max);
+        return validAfter;
+    }
+
+    /**
+     * Checks whether the token described by the given claims was issued before the watermark of its user.
+     *
+     * @param userId the ID of the user the token was issued to
+     * @param claims the verified claims of the token
+     * @return true if the token is revoked, false otherwise
+     */
+    public boolean isRevoked(final long userId, final Claims claims) {
+        Long validAfter = validAfterMillis.get(userId);
+        if (validAfter == null) return false;
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null || issuedAt.getTime() < validAfter;
+    }
+
+    /**
+     * Loads watermarks set since the previous poll, including those written by other instances,
+     * and drops watermarks that can no longer reject an unexpired token. The first poll loads all
+     * watermarks within the refresh token lifetime.
+     */
+    @Scheduled(fixedDelayString = "${app.auth.revocation.poll-ms:5000}")
+    public void poll() {
+        Instant horizon = clock.instant().minus(retention);
+        Instant since = cursor == null ? horizon : cursor.minus(POLL_OVERLAP);
+        Map<Long, Instant> changed;
+        try {
+            changed = repository.findChangedSince(since.isBefore(horizon) ? horizon : since);
+        } catch (DataAccessException e) {
+            LOGGER.warn("Token revocation watermarks not refreshed: {}", e.getMessage());
+            return;
+        }
+        Instant latest = cursor == null ? horizon : cursor;
+        for (Map.Entry<Long, Instant> entry : changed.entrySet()) {
+            validAfterMillis.merge(entry.getKey(), watermark(entry.getValue()), Math::max);
+            if (entry.getValue().isAfter(latest)) latest = entry.getValue();
+        }
+        cursor = latest;
+        long expired = horizon.toEpochMilli();
+        validAfterMillis.values().removeIf(validAfter -> validAfter < expired);
+    }
+
+    /**
+     * Truncates a stored watermark to the precision of the {@code iat} claim.
+     */
+    private static long watermark(final Instant validAfter) {
+        return validAfter.truncatedTo(ChronoUnit.SECONDS).toEpochMilli();
+    }
+
+    /**
+     * Retrieves the number of watermarks currently held in memory.
+     *
+     * @return the number of users with revoked tokens within the refresh token lifetime
+     */
+    public int size() {
+        return validAfterMillis.size();
+    }
+
+}
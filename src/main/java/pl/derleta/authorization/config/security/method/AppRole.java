@@ -0,0 +1,77 @@
+package pl.derleta.authorization.config.security.method;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Roles checked by {@link RequireRoles}. Each role owns one bit of a role mask, so a set of roles
+ * is a single {@code long} and checking a principal against the roles of a method is one AND.
+ */
+public enum AppRole {
+
+    ADMIN("ROLE_ADMIN"),
+    MODERATOR("ROLE_MODERATOR"),
+    TESTER("ROLE_TESTER"),
+    USER("ROLE_USER");
+
+    private static final Map<String, AppRole> BY_AUTHORITY = new HashMap<>();
+
+    static {
+        for (AppRole role : values()) BY_AUTHORITY.put(role.authority, role);
+    }
+
+    private final String authority;
+
+    AppRole(String authority) {
+        this.authority = authority;
+    }
+
+    /**
+     * Retrieves the name of the authority granted by this role, as stored in the "roles" table.
+     *
+     * @return the authority name
+     */
+    public String authority() {
+        return authority;
+    }
+
+    /**
+     * Retrieves the bit of this role in a role mask.
+     *
+     * @return the role bit
+     */
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Builds the role mask of the given roles.
+     *
+     * @param roles the roles
+     * @return the mask with the bits of all given roles set
+     */
+    public static long maskOf(AppRole... roles) {
+        long mask = 0;
+        for (AppRole role : roles) mask |= role.bit();
+        return mask;
+    }
+
+    /**
+     * Builds the role mask of the given authorities. Authorities other than the roles of this enum are ignored.
+     *
+     * @param authorities the granted authorities
+     * @return the mask with the bits of all recognized roles set
+     */
+    public static long maskOf(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            AppRole role = authority.getAuthority() != null ? BY_AUTHORITY.get(authority.getAuthority()) : null;
+            if (role != null) mask |= role.bit();
+        }
+        return mask;
+    }
+
+}
@@ -0,0 +1,26 @@
+package pl.derleta.authorization.config.security.method;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a controller method, or every method of a class, to principals holding at least one of the listed roles.
+ * <p>
+ * It is the typed equivalent of {@code @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER')")}: the roles are
+ * compiled once to a role mask by {@link RoleMaskAuthorizationManager}, so no expression is parsed or evaluated per call.
+ * An annotation on a method takes precedence over one on its class.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequireRoles {
+
+    /**
+     * The roles granting access; any one of them is sufficient.
+     */
+    AppRole[] value();
+
+}
@@ -0,0 +1,78 @@
+package pl.derleta.authorization.config.security.method;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import pl.derleta.authorization.config.model.UserSecurity;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * {@link AuthorizationManager} for methods annotated with {@link RequireRoles}.
+ * <p>
+ * The roles of each annotated method are compiled to a role mask while the {@link #pointcut()} is matched against
+ * the beans at startup. A call is granted when the role mask of the principal shares at least one bit with the
+ * mask of the method, so an annotation listing no roles denies every call. Principals of type {@link UserSecurity} provide their mask precomputed; for other principals
+ * it is built from the granted authorities.
+ */
+public class RoleMaskAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private final Map<MethodClassKey, Long> requiredMasks = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the pointcut matching methods annotated with {@link RequireRoles}, directly or on their class.
+     * Matching a method compiles and caches its role mask.
+     *
+     * @return the pointcut of the methods checked by this manager
+     */
+    public Pointcut pointcut() {
+        return new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return requiredMask(method, targetClass) != null;
+            }
+        };
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : invocation.getMethod().getDeclaringClass();
+        Long required = requiredMask(invocation.getMethod(), targetClass);
+        if (required == null) return null;
+        return new AuthorizationDecision((roleMask(authentication.get()) & required) != 0);
+    }
+
+    private Long requiredMask(Method method, Class<?> targetClass) {
+        MethodClassKey key = new MethodClassKey(method, targetClass);
+        Long mask = requiredMasks.get(key);
+        if (mask == null) {
+            mask = compile(method, targetClass);
+            if (mask != null) requiredMasks.put(key, mask);
+        }
+        return mask;
+    }
+
+    private static Long compile(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        RequireRoles annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod, RequireRoles.class);
+        if (annotation == null) annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequireRoles.class);
+        return annotation != null ? AppRole.maskOf(annotation.value()) : null;
+    }
+
+    private static long roleMask(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) return 0L;
+        if (authentication.getPrincipal() instanceof UserSecurity user) return user.roleMask();
+        return AppRole.maskOf(authentication.getAuthorities());
+    }
+
+}
@@ -7,9 +7,10 @@ import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import pl.derleta.authorization.AndromedaAuthorizationServerApplication;
+import pl.derleta.authorization.config.security.method.AppRole;
+import pl.derleta.authorization.config.security.method.RequireRoles;
 import pl.derleta.authorization.controller.assembler.AccessTokenModelAssembler;
 import pl.derleta.authorization.domain.model.AccessToken;
 import pl.derleta.authorization.domain.request.TokenRequest;
@@ -51,7 +52,7 @@ public class AccessTokenController {
      * @param emailFilter    an optional filter for matching by email, defaults to an empty string
      * @return a ResponseEntity containing the paginated model of access token responses
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.TESTER})
     @GetMapping(value = "/" + DEFAULT_PATH, produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<PagedModel<AccessTokenResponse>> getPage(@RequestParam(defaultValue = "0") int page,
                                                                    @RequestParam(defaultValue = "" + AndromedaAuthorizationServerApplication.DEFAULT_PAGE_SIZE) int size,
@@ -73,7 +74,7 @@ public class AccessTokenController {
      * @param sortOrder the order of sorting, either "asc" for ascending or "desc" for descending. Defaults to "asc" if not provided.
      * @return a ResponseEntity containing a PagedModel of AccessTokenResponse objects representing the valid access tokens.
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.TESTER})
     @GetMapping(value = "/" + DEFAULT_PATH + "/valid", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<PagedModel<AccessTokenResponse>> getValid(@RequestParam(defaultValue = "0") int page,
                                                                     @RequestParam(defaultValue = "" + AndromedaAuthorizationServerApplication.DEFAULT_PAGE_SIZE) int size,
@@ -93,7 +94,7 @@ public class AccessTokenController {
      * @param id the identifier of the access token to retrieve
      * @return a {@link ResponseEntity} containing the access token response and the HTTP status
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.TESTER})
     @GetMapping(value = "/" + DEFAULT_PATH + "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<AccessTokenResponse> get(@PathVariable Integer id) {
         AccessToken accessToken = service.get(id);
@@ -112,7 +113,7 @@ public class AccessTokenController {
      * @return A ResponseEntity containing the created AccessTokenResponse and an HTTP CREATED status,
      * or an HTTP NOT FOUND status if the access token could not be created.
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER') or hasRole('ROLE_MODERATOR')")
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER})
     @PostMapping("/" + DEFAULT_PATH + "/{userId}")
     public ResponseEntity<AccessTokenResponse> add(@PathVariable Long userId, @RequestBody TokenRequest request) {
         String token = request.getToken();
@@ -136,7 +137,7 @@ public class AccessTokenController {
      * {@code HttpStatus.OK} if the deletion was successful,
      * {@code HttpStatus.NOT_FOUND} if the token or user was not found
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @RequireRoles(AppRole.ADMIN)
     @DeleteMapping("/" + DEFAULT_PATH + "/{tokenId}/{userId}")
     public ResponseEntity<Void> delete(@PathVariable Long tokenId, @PathVariable Long userId) {
         boolean success = service.delete(tokenId, userId);
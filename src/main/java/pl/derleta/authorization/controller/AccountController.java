@@ -4,8 +4,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import pl.derleta.authorization.config.security.method.AppRole;
+import pl.derleta.authorization.config.security.method.RequireRoles;
 import pl.derleta.authorization.controller.assembler.UserRolesModelAssembler;
 import pl.derleta.authorization.domain.request.*;
 import pl.derleta.authorization.domain.response.AccountResponse;
@@ -127,7 +128,7 @@ public class AccountController {
      * @param changePasswordRequest the request object containing current and new password details
      * @return a ResponseEntity containing an AccountResponse object, which indicates the success or failure of the operation
      */
-    @PreAuthorize("hasRole('ROLE_USER') or hasRole('ROLE_TESTER') or hasRole('ROLE_MODERATOR') or hasRole('ROLE_ADMIN')")
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER, AppRole.USER})
     @PostMapping(value = "/" + SECOND_PATH + "/change-password", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<AccountResponse> updatePassword(@RequestBody ChangePasswordRequest changePasswordRequest) {
         var response = service.updatePassword(changePasswordRequest);
@@ -1,5 +1,6 @@
 package pl.derleta.authorization.controller;
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
@@ -12,6 +13,9 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import pl.derleta.authorization.config.audit.AuditEventType;
+import pl.derleta.authorization.config.audit.AuditLog;
+import pl.derleta.authorization.config.metrics.AuthMetrics;
 import pl.derleta.authorization.config.model.UserSecurity;
 import pl.derleta.authorization.config.security.api.AuthApiService;
 import pl.derleta.authorization.config.security.api.AuthLoginRequest;
@@ -40,6 +44,8 @@ public class AuthController {
     private final AuthenticationManager authManager;
     private final JwtTokenUtil jwtUtil;
     private final AuthApiService authApiService;
+    private AuditLog auditLog = AuditLog.disabled();
+    private AuthMetrics metrics = AuthMetrics.noop();
 
     @Autowired
     public AuthController(AuthenticationManager authManager, JwtTokenUtil jwtUtil, AuthApiService authApiService) {
@@ -48,6 +54,16 @@ public class AuthController {
         this.authApiService = authApiService;
     }
 
+    @Autowired
+    public void setAuditLog(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Autowired
+    public void setMetrics(AuthMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     /**
      * Authenticates a user using the provided login credentials and returns an appropriate response.
      * On successful authentication, builds a success response.
@@ -59,13 +75,21 @@ public class AuthController {
      */
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody @Valid AuthLoginRequest request, HttpServletResponse response) {
+        Timer.Sample sample = Timer.start();
+        AuthMetrics.Outcome outcome = AuthMetrics.Outcome.ERROR;
         try {
             Authentication authentication = authManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getLogin(), request.getPassword())
             );
-            return buildSuccessResponse(authentication, response);
+            ResponseEntity<?> result = buildSuccessResponse(authentication, response);
+            if (result.getStatusCode().is2xxSuccessful()) outcome = AuthMetrics.Outcome.SUCCESS;
+            return result;
         } catch (BadCredentialsException ex) {
+            outcome = AuthMetrics.Outcome.FAILURE;
+            auditLog.record(AuditEventType.LOGIN_FAILED, 0, request.getLogin());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid login credentials");
+        } finally {
+            sample.stop(metrics.login(outcome));
         }
     }
 
@@ -75,7 +99,7 @@ public class AuthController {
      * access token and refresh token to the response cookies.
      * <p>
      * If the refresh token is valid, a new access token is generated and returned in the cookies;
-     * otherwise, an "Unauthorized" response is returned.
+     * otherwise, or when the user no longer exists, an "Unauthorized" response is returned.
      *
      * @param refreshToken the refresh token retrieved from the request cookies
      * @param response     the HTTP response to which the new tokens will be added as cookies
@@ -86,15 +110,18 @@ public class AuthController {
     @PostMapping("/refresh-access")
     public ResponseEntity<?> refreshAccess(@CookieValue("refreshToken") String refreshToken, HttpServletResponse response) {
         if (jwtUtil.validateJWTToken(refreshToken)) {
-            Long userId = jwtUtil.getUserId(refreshToken);
-            var accessToken = authApiService.updateAccessToken(userId);
-            addCookiesToResponse(response, accessToken, refreshToken);
-            AccessResponse responseBody = new AccessResponse(true, AccessResponseType.ACCESS_REFRESHED);
-            return ResponseEntity.ok(responseBody);
-        } else {
-            AccessResponse responseBody = new AccessResponse(false, AccessResponseType.ACCESS_NOT_REFRESHED);
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(responseBody);
+            var accessToken = authApiService.refreshAccessToken(refreshToken);
+            if (accessToken != null) {
+                Long userId = jwtUtil.getUserId(refreshToken);
+                auditLog.record(AuditEventType.ACCESS_REFRESHED, userId == null ? 0 : userId, null);
+                addCookiesToResponse(response, accessToken, refreshToken);
+                AccessResponse responseBody = new AccessResponse(true, AccessResponseType.ACCESS_REFRESHED);
+                return ResponseEntity.ok(responseBody);
+            }
         }
+        auditLog.record(AuditEventType.REFRESH_FAILED, 0, null);
+        AccessResponse responseBody = new AccessResponse(false, AccessResponseType.ACCESS_NOT_REFRESHED);
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(responseBody);
     }
 
     /**
@@ -114,14 +141,22 @@ public class AuthController {
         if (Objects.isNull(user)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid login credentials");
         }
-        final String accessToken = jwtUtil.generateAccessToken(user);
-        final String refreshToken = jwtUtil.generateRefreshToken(user);
-        addCookiesToResponse(httpServletResponse, accessToken, refreshToken);
-        var accessResult = this.authApiService.saveAccessToken(user.getId(), accessToken, jwtUtil.getTokenExpiration(accessToken));
-        var refreshResult = this.authApiService.saveRefreshToken(user.getId(), refreshToken, jwtUtil.getTokenExpiration(refreshToken));
+        final String accessToken = metrics.loginStage(AuthMetrics.LoginStage.ACCESS_TOKEN_SIGN)
+                .record(() -> jwtUtil.generateAccessToken(user));
+        final String refreshToken = metrics.loginStage(AuthMetrics.LoginStage.REFRESH_TOKEN_SIGN)
+                .record(() -> jwtUtil.generateRefreshToken(user));
+        metrics.loginStage(AuthMetrics.LoginStage.COOKIES)
+                .record(() -> addCookiesToResponse(httpServletResponse, accessToken, refreshToken));
+        boolean accessResult = Boolean.TRUE.equals(metrics.loginStage(AuthMetrics.LoginStage.ACCESS_TOKEN_PERSIST)
+                .record(() -> authApiService.saveAccessToken(user.getId(), accessToken, jwtUtil.getTokenExpiration(accessToken))));
+        boolean refreshResult = Boolean.TRUE.equals(metrics.loginStage(AuthMetrics.LoginStage.REFRESH_TOKEN_PERSIST)
+                .record(() -> authApiService.saveRefreshToken(user.getId(), refreshToken, jwtUtil.getTokenExpiration(refreshToken))));
         AuthResponse response = new AuthResponse(user.getUsername(), user.getEmail());
-        if (accessResult && refreshResult) return ResponseEntity.ok(response);
-        else return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal server error");
+        if (accessResult && refreshResult) {
+            auditLog.record(AuditEventType.LOGIN_SUCCEEDED, user.getId(), user.getUsername());
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Internal server error");
     }
 
     /**
@@ -7,9 +7,10 @@ import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import pl.derleta.authorization.AndromedaAuthorizationServerApplication;
+import pl.derleta.authorization.config.security.method.AppRole;
+import pl.derleta.authorization.config.security.method.RequireRoles;
 import pl.derleta.authorization.controller.assembler.ConfirmationTokenModelAssembler;
 import pl.derleta.authorization.domain.model.ConfirmationToken;
 import pl.derleta.authorization.domain.request.TokenRequest;
@@ -49,7 +50,7 @@ public class ConfirmationTokenController {
      * @param emailFilter    an optional filter to narrow results by email, defaults to an empty string
      * @return a {@code ResponseEntity} containing a paginated model of {@code ConfirmationTokenResponse} objects
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.TESTER})
     @GetMapping(value = "/" + DEFAULT_PATH, produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<PagedModel<ConfirmationTokenResponse>> getPage(@RequestParam(defaultValue = "0") int page,
                                                                          @RequestParam(defaultValue = "" + AndromedaAuthorizationServerApplication.DEFAULT_PAGE_SIZE) int size,
@@ -71,7 +72,7 @@ public class ConfirmationTokenController {
      * @param sortOrder the order of sorting, either "asc" for ascending or "desc" for descending, default is "asc"
      * @return a ResponseEntity containing the paginated and assembled resources of valid confirmation tokens
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.TESTER})
     @GetMapping(value = "/" + DEFAULT_PATH + "/valid", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<PagedModel<ConfirmationTokenResponse>> getValid(@RequestParam(defaultValue = "0") int page,
                                                                           @RequestParam(defaultValue = "" + AndromedaAuthorizationServerApplication.DEFAULT_PAGE_SIZE) int size,
@@ -91,7 +92,7 @@ public class ConfirmationTokenController {
      * @param id the identifier of the confirmation token to be retrieved
      * @return a ResponseEntity containing the confirmation token response and HTTP status OK
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.TESTER})
     @GetMapping(value = "/" + DEFAULT_PATH + "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<ConfirmationTokenResponse> get(@PathVariable Integer id) {
         ConfirmationToken confirmationToken = service.get(id);
@@ -111,7 +112,7 @@ public class ConfirmationTokenController {
      * HTTP status 400 (Bad Request) if the token is null or blank,
      * or HTTP status 404 (Not Found) if the operation fails
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER') or hasRole('ROLE_MODERATOR')")
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER})
     @PostMapping("/" + DEFAULT_PATH + "/{userId}")
     public ResponseEntity<ConfirmationTokenResponse> add(@PathVariable Long userId, @RequestBody TokenRequest request) {
         String token = request.getToken();
@@ -134,7 +135,7 @@ public class ConfirmationTokenController {
      * @return a ResponseEntity with HTTP status OK if the deletion is successful,
      * or HTTP status NOT_FOUND if the token does not exist
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @RequireRoles(AppRole.ADMIN)
     @DeleteMapping("/" + DEFAULT_PATH + "/{tokenId}/{userId}")
     public ResponseEntity<Void> delete(@PathVariable Long tokenId, @PathVariable Long userId) {
         boolean success = service.delete(tokenId, userId);
@@ -7,9 +7,10 @@ import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import pl.derleta.authorization.AndromedaAuthorizationServerApplication;
+import pl.derleta.authorization.config.security.method.AppRole;
+import pl.derleta.authorization.config.security.method.RequireRoles;
 import pl.derleta.authorization.controller.assembler.RefreshTokenModelAssembler;
 import pl.derleta.authorization.domain.model.RefreshToken;
 import pl.derleta.authorization.domain.request.TokenRequest;
@@ -50,7 +51,7 @@ public class RefreshTokenController {
      * @param emailFilter    a filter applied to the email field, default is an empty string (no filtering)
      * @return a {@link ResponseEntity} containing a {@link PagedModel} of {@link RefreshTokenResponse}
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.TESTER})
     @GetMapping(value = "/" + DEFAULT_PATH, produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<PagedModel<RefreshTokenResponse>> getPage(@RequestParam(defaultValue = "0") int page,
                                                                     @RequestParam(defaultValue = "" + AndromedaAuthorizationServerApplication.DEFAULT_PAGE_SIZE) int size,
@@ -72,7 +73,7 @@ public class RefreshTokenController {
      * @param sortOrder the order to sort the results in; either "asc" for ascending or "desc" for descending; default is "asc".
      * @return a ResponseEntity containing a PagedModel of RefreshTokenResponse representing the paginated and sorted valid refresh tokens.
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.TESTER})
     @GetMapping(value = "/" + DEFAULT_PATH + "/valid", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<PagedModel<RefreshTokenResponse>> getValid(@RequestParam(defaultValue = "0") int page,
                                                                      @RequestParam(defaultValue = "" + AndromedaAuthorizationServerApplication.DEFAULT_PAGE_SIZE) int size,
@@ -92,7 +93,7 @@ public class RefreshTokenController {
      * @param id the unique identifier of the refresh token to retrieve
      * @return a {@link ResponseEntity} containing the refresh token response and an HTTP status code
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.TESTER})
     @GetMapping(value = "/" + DEFAULT_PATH + "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<RefreshTokenResponse> get(@PathVariable Integer id) {
         RefreshToken refreshToken = service.get(id);
@@ -113,7 +114,7 @@ public class RefreshTokenController {
      * HTTP status 400 BAD REQUEST if the token is invalid or null;
      * HTTP status 404 NOT FOUND if the token could not be saved
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER') or hasRole('ROLE_MODERATOR')")
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER})
     @PostMapping("/" + DEFAULT_PATH + "/{userId}")
     public ResponseEntity<RefreshTokenResponse> add(@PathVariable Long userId, @RequestBody TokenRequest request) {
         String token = request.getToken();
@@ -137,7 +138,7 @@ public class RefreshTokenController {
      * @return a {@code ResponseEntity} with status {@code HttpStatus.OK} if the deletion
      * is successful, or {@code HttpStatus.NOT_FOUND} if the token is not found
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @RequireRoles(AppRole.ADMIN)
     @DeleteMapping("/" + DEFAULT_PATH + "/{tokenId}/{userId}")
     public ResponseEntity<Void> delete(@PathVariable Long tokenId, @PathVariable Long userId) {
         boolean success = service.delete(tokenId, userId);
@@ -9,14 +9,15 @@ import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import pl.derleta.authorization.AndromedaAuthorizationServerApplication;
+import pl.derleta.authorization.config.security.method.AppRole;
+import pl.derleta.authorization.config.security.method.RequireRoles;
 import pl.derleta.authorization.controller.assembler.RoleModelAssembler;
-import pl.derleta.authorization.domain.model.AccessToken;
 import pl.derleta.authorization.domain.model.Role;
-import pl.derleta.authorization.domain.response.AccessTokenResponse;
 import pl.derleta.authorization.domain.response.RoleResponse;
+import pl.derleta.authorization.repository.TableVersions;
 import pl.derleta.authorization.service.RoleService;
 
 import java.util.List;
@@ -31,7 +32,9 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
  * retrieve roles using SQL filters with pagination.
  * <p>
  * This controller uses HAL-compliant responses and supports role-based access control
- * for different endpoints.
+ * for different endpoints. Read endpoints return strong ETags derived from the shared version of the
+ * "roles" table and answer matching {@code If-None-Match} requests with 304 after reading only that
+ * version, without querying the roles.
  */
 @RestController
 @RequestMapping("/api/v1")
@@ -42,6 +45,7 @@ public class RoleController {
     private final RoleService service;
     private final RoleModelAssembler roleModelAssembler;
     private final PagedResourcesAssembler<Role> pagedResourcesAssembler;
+    private TableVersions tableVersions;
 
     @Autowired
     public RoleController(RoleService service, RoleModelAssembler roleModelAssembler, PagedResourcesAssembler<Role> pagedResourcesAssembler) {
@@ -50,22 +54,34 @@ public class RoleController {
         this.pagedResourcesAssembler = pagedResourcesAssembler;
     }
 
+    @Autowired
+    public void setTableVersions(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
 
     /**
      * Retrieves a list of roles filtered by the provided role name filter.
      * This endpoint is accessible to users with admin, tester, moderator, or user roles.
      *
      * @param roleNameFilter a string to filter roles by name; defaults to an empty string if not provided
-     * @return a ResponseEntity containing a CollectionModel of RoleResponse objects representing the roles
+     * @param request        the current request, used to evaluate {@code If-None-Match}
+     * @return a ResponseEntity containing a CollectionModel of RoleResponse objects representing the roles,
+     * or null when the response was completed with 304 Not Modified
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER') or hasRole('ROLE_MODERATOR') or hasRole('ROLE_USER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER, AppRole.USER})
     @GetMapping(value = "/" + DEFAULT_PATH + "/list", produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<CollectionModel<RoleResponse>> getList(@RequestParam(defaultValue = "") String roleNameFilter) {
+    public ResponseEntity<CollectionModel<RoleResponse>> getList(@RequestParam(defaultValue = "") String roleNameFilter,
+                                                                 WebRequest request) {
+        String etag = tableVersions.etag(TableVersions.Table.ROLES);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         Set<Role> rolesList = service.getList(roleNameFilter);
         List<RoleResponse> collection = rolesList.stream().map(roleModelAssembler::toModel).collect(Collectors.toList());
         Link link = linkTo(RoleController.class).slash(DEFAULT_PATH + "/list").withSelfRel();
         CollectionModel<RoleResponse> result = CollectionModel.of(collection, link);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok().eTag(etag).body(result);
     }
 
     /**
@@ -76,36 +92,49 @@ public class RoleController {
      * @param sortBy         the field by which the results should be sorted, default is "roleId"
      * @param sortOrder      the sorting order, either "asc" for ascending or "desc" for descending, default is "asc"
      * @param roleNameFilter the optional filter to apply on role names, default is an empty string (no filter)
-     * @return a {@link ResponseEntity} containing a {@link PagedModel} of {@link RoleResponse} objects
+     * @param request        the current request, used to evaluate {@code If-None-Match}
+     * @return a {@link ResponseEntity} containing a {@link PagedModel} of {@link RoleResponse} objects,
+     * or null when the response was completed with 304 Not Modified
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER') or hasRole('ROLE_MODERATOR') or hasRole('ROLE_USER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER, AppRole.USER})
     @GetMapping(value = "/" + DEFAULT_PATH, produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<PagedModel<RoleResponse>> getPage(@RequestParam(defaultValue = "0") int page,
                                                             @RequestParam(defaultValue = "" + AndromedaAuthorizationServerApplication.DEFAULT_PAGE_SIZE) int size,
                                                             @RequestParam(defaultValue = "roleId") String sortBy,
                                                             @RequestParam(defaultValue = "asc") String sortOrder,
-                                                            @RequestParam(defaultValue = "") String roleNameFilter) {
+                                                            @RequestParam(defaultValue = "") String roleNameFilter,
+                                                            WebRequest request) {
+        String etag = tableVersions.etag(TableVersions.Table.ROLES);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         Page<Role> rolesPage = service.getPage(page, size, sortBy, sortOrder, roleNameFilter);
-        return ResponseEntity.ok(pagedResourcesAssembler.toModel(rolesPage, roleModelAssembler));
+        return ResponseEntity.ok().eTag(etag).body(pagedResourcesAssembler.toModel(rolesPage, roleModelAssembler));
     }
 
 
     /**
      * Retrieves a role by its unique identifier.
      *
-     * @param id the unique identifier of the role to retrieve
+     * @param id      the unique identifier of the role to retrieve
+     * @param request the current request, used to evaluate {@code If-None-Match}
      * @return a {@link ResponseEntity} containing the role details as a {@link RoleResponse}
-     *         object with an HTTP status of OK if found, or an HTTP status of NOT FOUND if the role does not exist
+     *         object with an HTTP status of OK if found, or an HTTP status of NOT FOUND if the role does not exist,
+     *         or null when the response was completed with 304 Not Modified
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER') or hasRole('ROLE_MODERATOR') or hasRole('ROLE_USER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER, AppRole.USER})
     @GetMapping(value = "/" + DEFAULT_PATH + "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<RoleResponse> get(@PathVariable Integer id) {
+    public ResponseEntity<RoleResponse> get(@PathVariable Integer id, WebRequest request) {
+        String etag = tableVersions.etag(TableVersions.Table.ROLES);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         Role role = service.get(id);
         if (role == null) {
             return ResponseEntity.notFound().build();
         }
         RoleResponse response = roleModelAssembler.toModel(role);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(etag).body(response);
     }
 
     /**
@@ -114,7 +143,7 @@ public class RoleController {
      * @param role The Role object to be added.
      * @return A ResponseEntity containing the RoleResponse object along with the HTTP status CREATED.
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @RequireRoles(AppRole.ADMIN)
     @PostMapping("/" + DEFAULT_PATH)
     public ResponseEntity<RoleResponse> add(@RequestBody Role role) {
         RoleResponse response = roleModelAssembler.toModel(
@@ -130,7 +159,7 @@ public class RoleController {
      * @param role the updated details of the role
      * @return a ResponseEntity containing the updated RoleResponse and HttpStatus.OK
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @RequireRoles(AppRole.ADMIN)
     @PutMapping("/" + DEFAULT_PATH + "/{id}")
     public ResponseEntity<RoleResponse> update(@PathVariable Integer id, @RequestBody Role role) {
         Role updatedRole = service.update(id, role);
@@ -149,7 +178,7 @@ public class RoleController {
      * @return a ResponseEntity containing a status of OK if the resource was successfully deleted,
      * or NOT_FOUND if the resource does not exist
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @RequireRoles(AppRole.ADMIN)
     @DeleteMapping("/" + DEFAULT_PATH + "/{id}")
     public ResponseEntity<Void> delete(@PathVariable Integer id) {
         boolean success = service.delete(id);
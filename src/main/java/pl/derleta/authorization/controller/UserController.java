@@ -1,20 +1,37 @@
 package pl.derleta.authorization.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import pl.derleta.authorization.AndromedaAuthorizationServerApplication;
+import pl.derleta.authorization.config.security.method.AppRole;
+import pl.derleta.authorization.config.security.method.RequireRoles;
 import pl.derleta.authorization.controller.assembler.UserModelAssembler;
 import pl.derleta.authorization.domain.model.User;
+import pl.derleta.authorization.domain.request.UserLookupRequest;
+import pl.derleta.authorization.domain.response.UserImportResponse;
+import pl.derleta.authorization.domain.response.UserLookupResponse;
 import pl.derleta.authorization.domain.response.UserResponse;
+import pl.derleta.authorization.service.UserImportFormat;
+import pl.derleta.authorization.service.UserImportService;
 import pl.derleta.authorization.service.UserService;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 /**
  * Controller responsible for managing user-related operations,
  * such as retrieving, creating, updating, and deleting users.
@@ -28,9 +45,12 @@ import pl.derleta.authorization.service.UserService;
 public class UserController {
 
     public static final String DEFAULT_PATH = "table/users";
+    public static final int DEFAULT_MAX_LOOKUP_SIZE = 500;
     private final UserService service;
     private final UserModelAssembler userModelAssembler;
     private final PagedResourcesAssembler<User> pagedResourcesAssembler;
+    private int maxLookupSize = DEFAULT_MAX_LOOKUP_SIZE;
+    private UserImportService importService;
 
     @Autowired
     public UserController(UserService service, UserModelAssembler userModelAssembler, PagedResourcesAssembler<User> pagedResourcesAssembler) {
@@ -39,6 +59,16 @@ public class UserController {
         this.pagedResourcesAssembler = pagedResourcesAssembler;
     }
 
+    @Autowired
+    public void setMaxLookupSize(@Value("${app.users.lookup.max-size:" + DEFAULT_MAX_LOOKUP_SIZE + "}") int maxLookupSize) {
+        this.maxLookupSize = maxLookupSize;
+    }
+
+    @Autowired
+    public void setImportService(UserImportService importService) {
+        this.importService = importService;
+    }
+
     /**
      * Retrieves a paginated list of users with optional filtering and sorting.
      *
@@ -50,7 +80,7 @@ public class UserController {
      * @param emailFilter    an optional filter for users by email (default is an empty string, meaning no filter)
      * @return a ResponseEntity containing a PagedModel of UserResponse objects representing the fetched page of users
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER') or hasRole('ROLE_MODERATOR') or hasRole('ROLE_USER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER, AppRole.USER})
     @GetMapping(value = "/" + DEFAULT_PATH, produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<PagedModel<UserResponse>> getPage(@RequestParam(defaultValue = "0") int page,
                                                             @RequestParam(defaultValue = "" + AndromedaAuthorizationServerApplication.DEFAULT_PAGE_SIZE) int size,
@@ -68,7 +98,7 @@ public class UserController {
      * @param id the unique identifier of the user to be retrieved
      * @return a ResponseEntity containing the user resource wrapped in a UserResponse object and an HTTP status code
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER') or hasRole('ROLE_MODERATOR') or hasRole('ROLE_USER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER, AppRole.USER})
     @GetMapping(value = "/" + DEFAULT_PATH + "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<UserResponse> get(@PathVariable Integer id) {
         User user = service.get(id);
@@ -79,6 +109,57 @@ public class UserController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Resolves many users at once by their IDs and/or email addresses, using a single database query.
+     * Intended for services that would otherwise call {@link #get(Integer)} once per user; the response
+     * is plain JSON without HAL links.
+     *
+     * @param request the IDs and email addresses to resolve
+     * @return a ResponseEntity containing the found users and the values that did not match any user,
+     * 400 (BAD REQUEST) when no values are given, or 413 (PAYLOAD TOO LARGE) above the configured limit
+     */
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER, AppRole.USER})
+    @PostMapping(value = "/" + DEFAULT_PATH + "/lookup", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserLookupResponse> lookup(@RequestBody UserLookupRequest request) {
+        List<Long> ids = request.ids() == null ? List.of() : request.ids();
+        List<String> emails = request.emails() == null ? List.of() : request.emails();
+        if (ids.isEmpty() && emails.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (ids.size() + emails.size() > maxLookupSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        List<User> users = service.getAll(ids, emails);
+        return ResponseEntity.ok(new UserLookupResponse(ids, emails, users));
+    }
+
+    /**
+     * Imports users in bulk from the request body, streamed as CSV ({@code username,email,password}) or NDJSON
+     * lines. Rows that cannot be imported are skipped and reported, so one bad row does not fail the import.
+     * This operation is only allowed for users with the "ROLE_ADMIN" role.
+     *
+     * @param contentType the content type of the body, selecting its format; the charset defaults to UTF-8
+     * @param body        the users to import, one per line
+     * @return a ResponseEntity containing the numbers of imported and rejected rows and the first rejected rows,
+     * or 415 (UNSUPPORTED MEDIA TYPE) for other formats
+     * @throws IOException if the body cannot be read
+     */
+    @RequireRoles(AppRole.ADMIN)
+    @PostMapping(value = "/" + DEFAULT_PATH + "/import", consumes = {"text/csv", "application/x-ndjson"},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserImportResponse> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                          InputStream body) throws IOException {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        UserImportFormat format = UserImportFormat.of(mediaType);
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+        }
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset))) {
+            return ResponseEntity.ok(importService.importUsers(reader, format));
+        }
+    }
+
     /**
      * Adds a new user to the system. The user details are provided in the request body.
      * This operation can be performed by users with the roles "ROLE_ADMIN", "ROLE_MODERATOR", "ROLE_TESTER", or "ROLE_USER".
@@ -86,7 +167,7 @@ public class UserController {
      * @param user the details of the user to be added
      * @return a {@code ResponseEntity} containing the created {@code UserResponse} and a status of {@code HttpStatus.CREATED}
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER') or hasRole('ROLE_MODERATOR') or hasRole('ROLE_USER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER, AppRole.USER})
     @PostMapping("/" + DEFAULT_PATH)
     public ResponseEntity<UserResponse> add(@RequestBody User user) {
         UserResponse response = userModelAssembler.toModel(
@@ -103,7 +184,7 @@ public class UserController {
      * @param user the new details of the user to update
      * @return a {@code ResponseEntity} containing the updated user details wrapped in {@code UserResponse} and a status of {@code HttpStatus.OK}
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_MODERATOR')")
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR})
     @PutMapping("/" + DEFAULT_PATH + "/{id}")
     public ResponseEntity<UserResponse> update(@PathVariable Long id, @RequestBody User user) {
         User existingUser = service.update(id, user);
@@ -114,6 +195,22 @@ public class UserController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Revokes every access and refresh token issued so far to the user with the specified ID,
+     * signing the user out of all sessions at the cost of a single write.
+     * This operation is only allowed for users with the "ROLE_ADMIN" role.
+     *
+     * @param id the ID of the user whose tokens are revoked
+     * @return a {@code ResponseEntity} with {@code HttpStatus.NO_CONTENT} if the tokens were revoked,
+     * or {@code HttpStatus.NOT_FOUND} if the user was not found
+     */
+    @RequireRoles(AppRole.ADMIN)
+    @PostMapping("/" + DEFAULT_PATH + "/{id}/revoke-tokens")
+    public ResponseEntity<Void> revokeTokens(@PathVariable Long id) {
+        return service.revokeTokens(id) != null ? new ResponseEntity<>(HttpStatus.NO_CONTENT)
+                : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
     /**
      * Deletes a user with the specified ID.
      * This operation is only allowed for users with the "ROLE_ADMIN" role.
@@ -122,7 +219,7 @@ public class UserController {
      * @return a {@code ResponseEntity} with {@code HttpStatus.OK} if the user was successfully deleted,
      * or {@code HttpStatus.NOT_FOUND} if the user was not found
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @RequireRoles(AppRole.ADMIN)
     @DeleteMapping("/" + DEFAULT_PATH + "/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         boolean success = service.delete(id);
@@ -1,20 +1,27 @@
 package pl.derleta.authorization.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import pl.derleta.authorization.AndromedaAuthorizationServerApplication;
+import pl.derleta.authorization.config.security.method.AppRole;
+import pl.derleta.authorization.config.security.method.RequireRoles;
 import pl.derleta.authorization.controller.assembler.UserRoleModelAssembler;
 import pl.derleta.authorization.domain.model.UserRole;
+import pl.derleta.authorization.domain.model.UserRoleBulkResult;
+import pl.derleta.authorization.domain.request.UserRoleAssignmentRequest;
+import pl.derleta.authorization.domain.response.UserRoleBulkResponse;
 import pl.derleta.authorization.domain.response.UserRoleResponse;
 import pl.derleta.authorization.service.UserRoleService;
 
+import java.util.List;
+
 /**
  * The UserRoleController class provides REST endpoints for managing user-role associations.
  * It allows retrieving, creating, and deleting user-role mappings while enforcing role-based access control.
@@ -24,10 +31,12 @@ import pl.derleta.authorization.service.UserRoleService;
 public class UserRoleController {
 
     public static final String DEFAULT_PATH = "table/user-role";
+    public static final int DEFAULT_MAX_BULK_SIZE = 10_000;
 
     private final UserRoleService service;
     private final UserRoleModelAssembler userRoleModelAssembler;
     private final PagedResourcesAssembler<UserRole> pagedResourcesAssembler;
+    private int maxBulkSize = DEFAULT_MAX_BULK_SIZE;
 
     @Autowired
     public UserRoleController(UserRoleService service, UserRoleModelAssembler userRoleModelAssembler, PagedResourcesAssembler<UserRole> pagedResourcesAssembler) {
@@ -36,6 +45,11 @@ public class UserRoleController {
         this.pagedResourcesAssembler = pagedResourcesAssembler;
     }
 
+    @Autowired
+    public void setMaxBulkSize(@Value("${app.user-roles.bulk.max-size:" + DEFAULT_MAX_BULK_SIZE + "}") int maxBulkSize) {
+        this.maxBulkSize = maxBulkSize;
+    }
+
     /**
      * Retrieves a paginated list of user roles based on the provided filtering, sorting, and pagination parameters.
      *
@@ -48,7 +62,7 @@ public class UserRoleController {
      * @param roleNameFilter an optional filter for the role name field. Defaults to an empty string if not specified.
      * @return a ResponseEntity containing a PagedModel of UserRoleResponse objects.
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER') or hasRole('ROLE_MODERATOR') or hasRole('ROLE_USER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER, AppRole.USER})
     @GetMapping(value = "/" + DEFAULT_PATH, produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<PagedModel<UserRoleResponse>> getPage(@RequestParam(defaultValue = "0") int page,
                                                                 @RequestParam(defaultValue = "" + AndromedaAuthorizationServerApplication.DEFAULT_PAGE_SIZE) int size,
@@ -67,7 +81,7 @@ public class UserRoleController {
      * @param id the unique identifier of the user role to retrieve
      * @return ResponseEntity containing the user role data if found, or a 404 status if not found
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER') or hasRole('ROLE_MODERATOR') or hasRole('ROLE_USER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER, AppRole.USER})
     @GetMapping(value = "/" + DEFAULT_PATH + "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<UserRoleResponse> get(@PathVariable Integer id) {
         UserRole userRole = service.get(id);
@@ -86,7 +100,7 @@ public class UserRoleController {
      * @param roleId the ID of the role to be associated with the user
      * @return a {@link ResponseEntity} containing the created {@link UserRoleResponse} and a status code of 201 (CREATED)
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @RequireRoles(AppRole.ADMIN)
     @PostMapping("/" + DEFAULT_PATH + "/{userId}/{roleId}")
     public ResponseEntity<UserRoleResponse> add(@PathVariable Long userId, @PathVariable Integer roleId) {
         UserRole userRole = service.save(userId, roleId);
@@ -106,7 +120,7 @@ public class UserRoleController {
      * @return a {@link ResponseEntity} with status code 200 (OK) if the deletion was successful,
      * or 404 (NOT FOUND) if no such association exists
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @RequireRoles(AppRole.ADMIN)
     @DeleteMapping("/" + DEFAULT_PATH + "/{userId}/{roleId}")
     public ResponseEntity<Void> delete(@PathVariable Long userId, @PathVariable Integer roleId) {
         boolean success = service.delete(userId, roleId);
@@ -114,4 +128,54 @@ public class UserRoleController {
                 : new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Assigns roles to users in bulk. Every pair is validated and reported individually, so a single
+     * invalid pair does not prevent the others from being assigned.
+     * Only accessible by users with the "ROLE_ADMIN" role.
+     *
+     * @param assignments the user and role pairs to assign
+     * @return a {@link ResponseEntity} with status code 200 (OK) and the per-pair results,
+     * 400 (BAD REQUEST) for an empty list, or 413 (PAYLOAD TOO LARGE) above the configured batch size
+     */
+    @RequireRoles(AppRole.ADMIN)
+    @PostMapping("/" + DEFAULT_PATH + "/bulk")
+    public ResponseEntity<UserRoleBulkResponse> addAll(@RequestBody List<UserRoleAssignmentRequest> assignments) {
+        ResponseEntity<UserRoleBulkResponse> rejected = rejectBulk(assignments);
+        if (rejected != null) {
+            return rejected;
+        }
+        List<UserRoleBulkResult> results = service.saveAll(assignments);
+        return ResponseEntity.ok(new UserRoleBulkResponse(results));
+    }
+
+    /**
+     * Revokes roles from users in bulk. Pairs that are not assigned are reported individually
+     * and do not prevent the others from being revoked.
+     * Only accessible by users with the "ROLE_ADMIN" role.
+     *
+     * @param assignments the user and role pairs to revoke
+     * @return a {@link ResponseEntity} with status code 200 (OK) and the per-pair results,
+     * 400 (BAD REQUEST) for an empty list, or 413 (PAYLOAD TOO LARGE) above the configured batch size
+     */
+    @RequireRoles(AppRole.ADMIN)
+    @DeleteMapping("/" + DEFAULT_PATH + "/bulk")
+    public ResponseEntity<UserRoleBulkResponse> deleteAll(@RequestBody List<UserRoleAssignmentRequest> assignments) {
+        ResponseEntity<UserRoleBulkResponse> rejected = rejectBulk(assignments);
+        if (rejected != null) {
+            return rejected;
+        }
+        List<UserRoleBulkResult> results = service.deleteAll(assignments);
+        return ResponseEntity.ok(new UserRoleBulkResponse(results));
+    }
+
+    private ResponseEntity<UserRoleBulkResponse> rejectBulk(List<UserRoleAssignmentRequest> assignments) {
+        if (assignments == null || assignments.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (assignments.size() > maxBulkSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return null;
+    }
+
 }
@@ -2,19 +2,25 @@ package pl.derleta.authorization.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.MediaTypes;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import pl.derleta.authorization.config.security.method.AppRole;
+import pl.derleta.authorization.config.security.method.RequireRoles;
 import pl.derleta.authorization.controller.assembler.UserRolesModelAssembler;
 import pl.derleta.authorization.domain.model.UserRoles;
 import pl.derleta.authorization.domain.response.UserRolesResponse;
+import pl.derleta.authorization.repository.TableVersions;
 import pl.derleta.authorization.service.UserRolesService;
 
 /**
  * REST controller for managing and retrieving user roles.
  * This controller provides an API endpoint to retrieve roles associated with a specific user,
  * with optional filtering and sorting capabilities.
+ * <p>
+ * Responses carry strong ETags derived from the security stamp of the requested user, which changes with the
+ * user's details and roles only, so writes to other users do not invalidate cached responses. Requests with
+ * a matching {@code If-None-Match} are answered with 304 after a single primary key lookup.
  */
 @RestController
 @RequestMapping("/api/v1")
@@ -23,6 +29,7 @@ public class UserRolesController {
     public static final String DEFAULT_PATH = "table/user-roles";
     private final UserRolesService service;
     private final UserRolesModelAssembler userRolesModelAssembler;
+    private TableVersions tableVersions;
 
     @Autowired
     public UserRolesController(UserRolesService service, UserRolesModelAssembler userRolesModelAssembler) {
@@ -30,6 +37,11 @@ public class UserRolesController {
         this.userRolesModelAssembler = userRolesModelAssembler;
     }
 
+    @Autowired
+    public void setTableVersions(TableVersions tableVersions) {
+        this.tableVersions = tableVersions;
+    }
+
     /**
      * Retrieves the user roles for the specified user with optional sorting and filtering parameters.
      *
@@ -37,20 +49,27 @@ public class UserRolesController {
      * @param roleNameFilter an optional filter string used to filter roles by name; defaults to an empty string
      * @param sortBy         the attribute by which the roles should be sorted; defaults to "roleId"
      * @param sortOrder      the order in which roles should be sorted, either "asc" for ascending or "desc" for descending; defaults to "asc"
-     * @return a {@link ResponseEntity} containing a {@link UserRolesResponse} with the user's roles data
+     * @param request        the current request, used to evaluate {@code If-None-Match}
+     * @return a {@link ResponseEntity} containing a {@link UserRolesResponse} with the user's roles data,
+     * or null when the response was completed with 304 Not Modified
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER') or hasRole('ROLE_MODERATOR') or hasRole('ROLE_USER')")
+    @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER, AppRole.USER})
     @GetMapping(value = "/" + DEFAULT_PATH + "/{userId}", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<UserRolesResponse> get(@PathVariable Long userId,
                                                  @RequestParam(defaultValue = "") String roleNameFilter,
                                                  @RequestParam(defaultValue = "roleId") String sortBy,
-                                                 @RequestParam(defaultValue = "asc") String sortOrder) {
+                                                 @RequestParam(defaultValue = "asc") String sortOrder,
+                                                 WebRequest request) {
+        String etag = tableVersions.userEtag(userId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         UserRoles userRoles = service.get(userId, sortBy, sortOrder, roleNameFilter);
         if (userRoles == null) {
             return ResponseEntity.notFound().build();
         }
         UserRolesResponse response = userRolesModelAssembler.toModel(userRoles);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(etag).body(response);
     }
 
 }
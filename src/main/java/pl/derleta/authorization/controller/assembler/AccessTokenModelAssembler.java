@@ -1,6 +1,5 @@
 package pl.derleta.authorization.controller.assembler;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.stereotype.Component;
@@ -20,6 +19,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 @Component
 public class AccessTokenModelAssembler extends RepresentationModelAssemblerSupport<AccessToken, AccessTokenResponse> {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(AccessTokenController.class, AccessTokenController.DEFAULT_PATH);
+
     public AccessTokenModelAssembler() {
         super(AccessTokenController.class, AccessTokenResponse.class);
     }
@@ -35,11 +36,9 @@ public class AccessTokenModelAssembler extends RepresentationModelAssemblerSuppo
      */
     @Override
     public AccessTokenResponse toModel(AccessToken item) {
-        AccessTokenResponse model = new AccessTokenResponse();
-        BeanUtils.copyProperties(item, model);
+        AccessTokenResponse model = toTokenModel(item);
         model.setUser(UserApiMapper.toUserResponse(item.user()));
-        Link selfLink = linkTo(AccessTokenController.class).slash(AccessTokenController.DEFAULT_PATH).slash(model.getTokenId()).withSelfRel();
-        model.add(selfLink);
+        model.add(SELF_LINK.self(model.getTokenId()));
         return model;
     }
 
@@ -54,11 +53,24 @@ public class AccessTokenModelAssembler extends RepresentationModelAssemblerSuppo
      */
     @Deprecated
     public AccessTokenResponse toModel(AccessToken item, String path) {
-        AccessTokenResponse model = new AccessTokenResponse();
-        BeanUtils.copyProperties(item, model);
+        AccessTokenResponse model = toTokenModel(item);
         Link selfLink = linkTo(AccessTokenController.class).slash(path).slash(model.getTokenId()).withSelfRel();
         model.add(selfLink);
         return model;
     }
 
+    /**
+     * Maps the fields of an {@code AccessToken} entity, without the user, onto a new {@code AccessTokenResponse} model.
+     *
+     * @param item the {@code AccessToken} entity to be converted
+     * @return the {@code AccessTokenResponse} model without links
+     */
+    private static AccessTokenResponse toTokenModel(AccessToken item) {
+        AccessTokenResponse model = new AccessTokenResponse();
+        model.setTokenId(item.tokenId());
+        model.setToken(item.token());
+        model.setExpirationDate(item.expirationDate());
+        return model;
+    }
+
 }
@@ -1,6 +1,5 @@
 package pl.derleta.authorization.controller.assembler;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.stereotype.Component;
@@ -29,12 +28,14 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
  * - Details of the associated user
  * - A self-referential link for the token resource
  * <p>
- * The HATEOAS links are generated using Spring's {@code linkTo} and {@code slash} methods, enabling
- * seamless navigation to resource endpoints.
+ * The default self-link is expanded from a precompiled {@link LinkTemplate}, while links with a custom
+ * base path are generated using Spring's {@code linkTo} and {@code slash} methods.
  */
 @Component
 public class ConfirmationTokenModelAssembler extends RepresentationModelAssemblerSupport<ConfirmationToken, ConfirmationTokenResponse> {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ConfirmationTokenController.class, ConfirmationTokenController.DEFAULT_PATH);
+
     public ConfirmationTokenModelAssembler() {
         super(ConfirmationTokenController.class, ConfirmationTokenResponse.class);
     }
@@ -49,11 +50,9 @@ public class ConfirmationTokenModelAssembler extends RepresentationModelAssemble
      */
     @Override
     public ConfirmationTokenResponse toModel(ConfirmationToken item) {
-        ConfirmationTokenResponse model = new ConfirmationTokenResponse();
-        BeanUtils.copyProperties(item, model);
+        ConfirmationTokenResponse model = toTokenModel(item);
         model.setUser(UserApiMapper.toUserResponse(item.user()));
-        Link selfLink = linkTo(ConfirmationTokenController.class).slash(ConfirmationTokenController.DEFAULT_PATH).slash(model.getTokenId()).withSelfRel();
-        model.add(selfLink);
+        model.add(SELF_LINK.self(model.getTokenId()));
         return model;
     }
 
@@ -67,11 +66,24 @@ public class ConfirmationTokenModelAssembler extends RepresentationModelAssemble
      */
     @Deprecated
     public ConfirmationTokenResponse toModel(ConfirmationToken item, String path) {
-        ConfirmationTokenResponse model = new ConfirmationTokenResponse();
-        BeanUtils.copyProperties(item, model);
+        ConfirmationTokenResponse model = toTokenModel(item);
         Link selfLink = linkTo(ConfirmationTokenController.class).slash(path).slash(model.getTokenId()).withSelfRel();
         model.add(selfLink);
         return model;
     }
 
+    /**
+     * Maps the fields of a {@code ConfirmationToken} entity, without the user, onto a new {@code ConfirmationTokenResponse} model.
+     *
+     * @param item the {@code ConfirmationToken} entity to be converted
+     * @return the {@code ConfirmationTokenResponse} model without links
+     */
+    private static ConfirmationTokenResponse toTokenModel(ConfirmationToken item) {
+        ConfirmationTokenResponse model = new ConfirmationTokenResponse();
+        model.setTokenId(item.tokenId());
+        model.setToken(item.token());
+        model.setExpirationDate(item.expirationDate());
+        return model;
+    }
+
 }
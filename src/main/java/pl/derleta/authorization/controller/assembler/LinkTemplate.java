@@ -0,0 +1,95 @@
+package pl.derleta.authorization.controller.assembler;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Precompiled self-link template of a resource exposed as {@code <controller mapping>/<path>/<id>}.
+ * <p>
+ * The controller mapping is resolved once when the template is created, and the base URI of the current
+ * request (scheme, host, port and servlet mapping) once per request, so expanding a link for a single item
+ * is a string concatenation. The produced links are equal to those built with
+ * {@code linkTo(controller).slash(path).slash(id).withSelfRel()}.
+ */
+public final class LinkTemplate {
+
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplate.class.getName() + ".BASE_URI";
+
+    private final String prefix;
+
+    private LinkTemplate(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Compiles a template for resources of the given controller.
+     *
+     * @param controller the controller class annotated with {@link RequestMapping}
+     * @param path       the resource path relative to the controller mapping
+     * @return the link template
+     */
+    public static LinkTemplate of(Class<?> controller, String path) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class);
+        String controllerPath = mapping == null || mapping.path().length == 0 ? "" : trimSlashes(mapping.path()[0]);
+        String resourcePath = trimSlashes(path);
+        StringBuilder prefix = new StringBuilder();
+        if (!controllerPath.isEmpty()) prefix.append('/').append(controllerPath);
+        if (!resourcePath.isEmpty()) prefix.append('/').append(resourcePath);
+        return new LinkTemplate(prefix.append('/').toString());
+    }
+
+    /**
+     * Expands the self link of a resource against the base URI of the current request.
+     *
+     * @param id the resource identifier
+     * @return the self link
+     */
+    public Link self(Object id) {
+        return self(currentBaseUri(), id);
+    }
+
+    /**
+     * Expands the self link of a resource against a previously resolved base URI.
+     *
+     * @param baseUri the base URI, as returned by {@link #currentBaseUri()}
+     * @param id      the resource identifier
+     * @return the self link
+     */
+    public Link self(String baseUri, Object id) {
+        return Link.of(baseUri + prefix + id, IanaLinkRelations.SELF);
+    }
+
+    /**
+     * Resolves the base URI of the current request, caching it in the request attributes.
+     * Outside a request the base URI is empty and links are relative.
+     *
+     * @return the base URI without a trailing slash
+     */
+    public static String currentBaseUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return "";
+        Object cached = attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof String baseUri) return baseUri;
+        String baseUri = trimTrailingSlash(ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString());
+        attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        return baseUri;
+    }
+
+    private static String trimSlashes(String path) {
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') start++;
+        while (end > start && path.charAt(end - 1) == '/') end--;
+        return path.substring(start, end);
+    }
+
+    private static String trimTrailingSlash(String uri) {
+        return uri.endsWith("/") ? uri.substring(0, uri.length() - 1) : uri;
+    }
+
+}
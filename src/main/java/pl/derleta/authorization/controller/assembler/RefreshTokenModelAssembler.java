@@ -1,6 +1,5 @@
 package pl.derleta.authorization.controller.assembler;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.stereotype.Component;
@@ -22,6 +21,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 @Component
 public class RefreshTokenModelAssembler extends RepresentationModelAssemblerSupport<RefreshToken, RefreshTokenResponse> {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(RefreshTokenController.class, RefreshTokenController.DEFAULT_PATH);
+
     public RefreshTokenModelAssembler() {
         super(RefreshTokenController.class, RefreshTokenResponse.class);
     }
@@ -37,11 +38,9 @@ public class RefreshTokenModelAssembler extends RepresentationModelAssemblerSupp
      */
     @Override
     public RefreshTokenResponse toModel(RefreshToken item) {
-        RefreshTokenResponse model = new RefreshTokenResponse();
-        BeanUtils.copyProperties(item, model);
+        RefreshTokenResponse model = toTokenModel(item);
         model.setUser(UserApiMapper.toUserResponse(item.user()));
-        Link selfLink = linkTo(RefreshTokenController.class).slash(RefreshTokenController.DEFAULT_PATH).slash(model.getTokenId()).withSelfRel();
-        model.add(selfLink);
+        model.add(SELF_LINK.self(model.getTokenId()));
         return model;
     }
 
@@ -55,11 +54,24 @@ public class RefreshTokenModelAssembler extends RepresentationModelAssemblerSupp
      */
     @Deprecated
     public RefreshTokenResponse toModel(RefreshToken item, String path) {
-        RefreshTokenResponse model = new RefreshTokenResponse();
-        BeanUtils.copyProperties(item, model);
+        RefreshTokenResponse model = toTokenModel(item);
         Link selfLink = linkTo(RefreshTokenController.class).slash(path).slash(model.getTokenId()).withSelfRel();
         model.add(selfLink);
         return model;
     }
 
+    /**
+     * Maps the fields of a {@code RefreshToken} entity, without the user, onto a new {@code RefreshTokenResponse} model.
+     *
+     * @param item the {@code RefreshToken} entity to be converted
+     * @return the {@code RefreshTokenResponse} model without links
+     */
+    private static RefreshTokenResponse toTokenModel(RefreshToken item) {
+        RefreshTokenResponse model = new RefreshTokenResponse();
+        model.setTokenId(item.tokenId());
+        model.setToken(item.token());
+        model.setExpirationDate(item.expirationDate());
+        return model;
+    }
+
 }
@@ -1,6 +1,5 @@
 package pl.derleta.authorization.controller.assembler;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.stereotype.Component;
@@ -20,6 +19,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 @Component
 public class RoleModelAssembler extends RepresentationModelAssemblerSupport<Role, RoleResponse> {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(RoleController.class, RoleController.DEFAULT_PATH);
+
     public RoleModelAssembler() {
         super(RoleController.class, RoleResponse.class);
     }
@@ -33,10 +34,8 @@ public class RoleModelAssembler extends RepresentationModelAssemblerSupport<Role
      */
     @Override
     public RoleResponse toModel(Role entity) {
-        RoleResponse model = new RoleResponse();
-        BeanUtils.copyProperties(entity, model);
-        Link selfLink = linkTo(RoleController.class).slash(RoleController.DEFAULT_PATH).slash(model.getRoleId()).withSelfRel();
-        model.add(selfLink);
+        RoleResponse model = new RoleResponse(entity.roleId(), entity.roleName());
+        model.add(SELF_LINK.self(model.getRoleId()));
         return model;
     }
 
@@ -49,8 +48,7 @@ public class RoleModelAssembler extends RepresentationModelAssemblerSupport<Role
      * @return the {@link RoleResponse} model with copied properties and an added self-referential link
      */
     public RoleResponse toModel(Role entity, String path) {
-        RoleResponse model = new RoleResponse();
-        BeanUtils.copyProperties(entity, model);
+        RoleResponse model = new RoleResponse(entity.roleId(), entity.roleName());
         Link selfLink = linkTo(RoleController.class).slash(path).slash(model.getRoleId()).withSelfRel();
         model.add(selfLink);
         return model;
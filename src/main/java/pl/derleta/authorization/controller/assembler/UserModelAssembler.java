@@ -1,6 +1,5 @@
 package pl.derleta.authorization.controller.assembler;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.stereotype.Component;
@@ -19,6 +18,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 @Component
 public class UserModelAssembler extends RepresentationModelAssemblerSupport<User, UserResponse> {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(UserController.class, UserController.DEFAULT_PATH);
+
     public UserModelAssembler() {
         super(UserController.class, UserResponse.class);
     }
@@ -32,10 +33,8 @@ public class UserModelAssembler extends RepresentationModelAssemblerSupport<User
      */
     @Override
     public UserResponse toModel(User entity) {
-        UserResponse model = new UserResponse();
-        BeanUtils.copyProperties(entity, model);
-        Link selfLink = linkTo(UserController.class).slash(UserController.DEFAULT_PATH).slash(model.getUserId()).withSelfRel();
-        model.add(selfLink);
+        UserResponse model = new UserResponse(entity.userId(), entity.username(), entity.email());
+        model.add(SELF_LINK.self(model.getUserId()));
         return model;
     }
 
@@ -50,8 +49,7 @@ public class UserModelAssembler extends RepresentationModelAssemblerSupport<User
      */
     @Deprecated
     public UserResponse toModel(User entity, String path) {
-        UserResponse model = new UserResponse();
-        BeanUtils.copyProperties(entity, model);
+        UserResponse model = new UserResponse(entity.userId(), entity.username(), entity.email());
         Link selfLink = linkTo(UserController.class).slash(path).slash(model.getUserId()).withSelfRel();
         model.add(selfLink);
         return model;
@@ -1,6 +1,5 @@
 package pl.derleta.authorization.controller.assembler;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.stereotype.Component;
@@ -20,6 +19,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 @Component
 public class UserRoleModelAssembler extends RepresentationModelAssemblerSupport<UserRole, UserRoleResponse> {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(UserRoleController.class, UserRoleController.DEFAULT_PATH);
+
     private final UserModelAssembler userModelAssembler;
     private final RoleModelAssembler roleModelAssembler;
 
@@ -39,8 +40,7 @@ public class UserRoleModelAssembler extends RepresentationModelAssemblerSupport<
     @Override
     public UserRoleResponse toModel(UserRole entity) {
         UserRoleResponse model = toUserRolesModel(entity);
-        Link selfLink = linkTo(UserRoleController.class).slash(UserRoleController.DEFAULT_PATH).slash(model.getUserRoleId()).withSelfRel();
-        model.add(selfLink);
+        model.add(SELF_LINK.self(model.getUserRoleId()));
         return model;
     }
 
@@ -68,7 +68,7 @@ public class UserRoleModelAssembler extends RepresentationModelAssemblerSupport<
      */
     private UserRoleResponse toUserRolesModel(UserRole entity) {
         UserRoleResponse model = new UserRoleResponse();
-        BeanUtils.copyProperties(entity, model);
+        model.setUserRoleId(entity.userRoleId());
         UserResponse userResponse = userModelAssembler.toModel(entity.user());
         model.setUser(userResponse);
         RoleResponse roleResponse = roleModelAssembler.toModel(entity.role());
@@ -1,6 +1,5 @@
 package pl.derleta.authorization.controller.assembler;
 
-import org.springframework.beans.BeanUtils;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.mvc.RepresentationModelAssemblerSupport;
 import org.springframework.stereotype.Component;
@@ -25,6 +24,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 @Component
 public class UserRolesModelAssembler extends RepresentationModelAssemblerSupport<UserRoles, UserRolesResponse> {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(UserRolesController.class, UserRolesController.DEFAULT_PATH);
+
     private final UserModelAssembler userModelAssembler;
     private final RoleModelAssembler roleModelAssembler;
 
@@ -44,8 +45,7 @@ public class UserRolesModelAssembler extends RepresentationModelAssemblerSupport
     @Override
     public UserRolesResponse toModel(UserRoles entity) {
         UserRolesResponse model = toUserRolesModel(entity);
-        Link selfLink = linkTo(UserRolesController.class).slash(UserRolesController.DEFAULT_PATH).slash(model.getUser().getUserId()).withSelfRel();
-        model.add(selfLink);
+        model.add(SELF_LINK.self(model.getUser().getUserId()));
         return model;
     }
 
@@ -66,18 +66,16 @@ public class UserRolesModelAssembler extends RepresentationModelAssemblerSupport
     }
 
     /**
-     * Converts a {@code UserRoles} entity into a {@code UserRolesResponse} model by copying properties
-     * and mapping nested entities.
+     * Converts a {@code UserRoles} entity into a {@code UserRolesResponse} model by mapping nested entities.
      *
      * @param entity the {@code UserRoles} entity to convert
      * @return a {@code UserRolesResponse} model containing the entity's data and additional nested mappings
      */
     private UserRolesResponse toUserRolesModel(UserRoles entity) {
         UserRolesResponse model = new UserRolesResponse();
-        BeanUtils.copyProperties(entity, model);
         UserResponse userResponse = userModelAssembler.toModel(entity.user());
         model.setUser(userResponse);
-        Set<RoleResponse> roleResponseSet = new HashSet<>();
+        Set<RoleResponse> roleResponseSet = HashSet.newHashSet(entity.roles().size());
         for (var item : entity.roles()) {
             roleResponseSet.add(
                     roleModelAssembler.toModel(item)
@@ -0,0 +1,26 @@
+package pl.derleta.authorization.domain.entity;
+
+/**
+ * Projection of the user row consulted by account workflows: identity, password hash and status flags,
+ * loaded with a single query so a workflow does not read the same row field by field.
+ *
+ * @param userId   the unique identifier of the user
+ * @param username the username of the user
+ * @param email    the email address of the user
+ * @param password the password hash of the user
+ * @param verified whether the account is verified
+ * @param blocked  whether the account is blocked
+ */
+public record AccountSnapshot(long userId, String username, String email, String password, boolean verified,
+                              boolean blocked) {
+
+    /**
+     * Creates a user entity with the identity and password hash of this snapshot.
+     *
+     * @return the user entity
+     */
+    public UserEntity toUserEntity() {
+        return new UserEntity(userId, username, email, password);
+    }
+
+}
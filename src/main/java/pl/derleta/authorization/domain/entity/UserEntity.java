@@ -8,6 +8,7 @@ public class UserEntity {
     private String username;
     private String email;
     private String password;
+    private long securityStamp;
 
     public UserEntity(long userId, String name, String email, String password) {
         this.userId = userId;
@@ -51,6 +52,14 @@ public class UserEntity {
         this.password = password;
     }
 
+    public long getSecurityStamp() {
+        return securityStamp;
+    }
+
+    public void setSecurityStamp(long securityStamp) {
+        this.securityStamp = securityStamp;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
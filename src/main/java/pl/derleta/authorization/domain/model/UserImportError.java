@@ -0,0 +1,9 @@
+package pl.derleta.authorization.domain.model;
+
+import pl.derleta.authorization.domain.types.UserImportStatus;
+
+import java.io.Serializable;
+
+public record UserImportError(long line, String username, String email, UserImportStatus status) implements Serializable {
+
+}
@@ -0,0 +1,9 @@
+package pl.derleta.authorization.domain.model;
+
+import pl.derleta.authorization.domain.types.UserRoleBulkStatus;
+
+import java.io.Serializable;
+
+public record UserRoleBulkResult(Long userId, Integer roleId, Long userRoleId, UserRoleBulkStatus status) implements Serializable {
+
+}
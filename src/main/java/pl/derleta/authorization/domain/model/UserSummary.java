@@ -0,0 +1,7 @@
+package pl.derleta.authorization.domain.model;
+
+import java.io.Serializable;
+
+public record UserSummary(long userId, String username, String email) implements Serializable {
+
+}
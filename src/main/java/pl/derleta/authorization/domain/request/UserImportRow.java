@@ -0,0 +1,5 @@
+package pl.derleta.authorization.domain.request;
+
+public record UserImportRow(long line, String username, String email, String password) implements Request {
+
+}
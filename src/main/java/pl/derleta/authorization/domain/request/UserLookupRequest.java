@@ -0,0 +1,7 @@
+package pl.derleta.authorization.domain.request;
+
+import java.util.List;
+
+public record UserLookupRequest(List<Long> ids, List<String> emails) implements Request {
+
+}
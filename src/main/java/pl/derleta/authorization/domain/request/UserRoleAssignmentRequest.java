@@ -0,0 +1,5 @@
+package pl.derleta.authorization.domain.request;
+
+public record UserRoleAssignmentRequest(Long userId, Integer roleId) implements Request {
+
+}
@@ -0,0 +1,36 @@
+package pl.derleta.authorization.domain.response;
+
+import pl.derleta.authorization.domain.model.UserImportError;
+
+import java.util.List;
+
+/**
+ * Result of a bulk user import: the number of imported and rejected rows, and the rejected rows with their
+ * reasons. Only the first rejected rows are listed, so {@code failed} may exceed the number of listed errors.
+ */
+public class UserImportResponse {
+
+    long imported;
+
+    long failed;
+
+    List<UserImportError> errors;
+
+    public UserImportResponse(long imported, long failed, List<UserImportError> errors) {
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<UserImportError> getErrors() {
+        return errors;
+    }
+}
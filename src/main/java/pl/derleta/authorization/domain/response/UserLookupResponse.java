@@ -0,0 +1,72 @@
+package pl.derleta.authorization.domain.response;
+
+import pl.derleta.authorization.domain.model.User;
+import pl.derleta.authorization.domain.model.UserSummary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact result of a batch user lookup. Users are keyed by their ID, and every requested email
+ * address that matched a user is mapped to that ID, so callers can resolve both kinds of keys
+ * without repeating user data. Values that did not match any user are listed as missing.
+ */
+public class UserLookupResponse {
+
+    Map<Long, UserSummary> users;
+
+    Map<String, Long> emails;
+
+    List<Long> missingIds;
+
+    List<String> missingEmails;
+
+    public UserLookupResponse(List<Long> requestedIds, List<String> requestedEmails, List<User> found) {
+        this.users = new LinkedHashMap<>();
+        Map<String, Long> idsByEmail = new HashMap<>();
+        for (User user : found) {
+            users.put(user.userId(), new UserSummary(user.userId(), user.username(), user.email()));
+            if (user.email() != null) idsByEmail.put(user.email().toLowerCase(Locale.ROOT), user.userId());
+        }
+        this.emails = new LinkedHashMap<>();
+        Set<Long> missingIdSet = new LinkedHashSet<>();
+        Set<String> missingEmailSet = new LinkedHashSet<>();
+        if (requestedIds != null) {
+            for (Long id : requestedIds) {
+                if (id != null && !users.containsKey(id)) missingIdSet.add(id);
+            }
+        }
+        if (requestedEmails != null) {
+            for (String email : requestedEmails) {
+                if (email == null) continue;
+                Long userId = idsByEmail.get(email.toLowerCase(Locale.ROOT));
+                if (userId != null) emails.put(email, userId);
+                else missingEmailSet.add(email);
+            }
+        }
+        this.missingIds = new ArrayList<>(missingIdSet);
+        this.missingEmails = new ArrayList<>(missingEmailSet);
+    }
+
+    public Map<Long, UserSummary> getUsers() {
+        return users;
+    }
+
+    public Map<String, Long> getEmails() {
+        return emails;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public List<String> getMissingEmails() {
+        return missingEmails;
+    }
+}
@@ -0,0 +1,32 @@
+package pl.derleta.authorization.domain.response;
+
+import pl.derleta.authorization.domain.model.UserRoleBulkResult;
+
+import java.util.List;
+
+public class UserRoleBulkResponse {
+
+    int applied;
+
+    int skipped;
+
+    List<UserRoleBulkResult> results;
+
+    public UserRoleBulkResponse(List<UserRoleBulkResult> results) {
+        this.results = results;
+        this.applied = (int) results.stream().filter(result -> result.status().isApplied()).count();
+        this.skipped = results.size() - applied;
+    }
+
+    public int getApplied() {
+        return applied;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public List<UserRoleBulkResult> getResults() {
+        return results;
+    }
+}
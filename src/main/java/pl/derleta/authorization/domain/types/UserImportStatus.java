@@ -0,0 +1,19 @@
+package pl.derleta.authorization.domain.types;
+
+/**
+ * Reasons a row of a bulk user import was not imported.
+ */
+public enum UserImportStatus {
+
+    /** The line could not be parsed in the format of the import. */
+    MALFORMED,
+    /** A field is missing or blank, or the email address is not valid. */
+    INVALID,
+    /** The username or email repeats an earlier row of the same chunk. */
+    DUPLICATE,
+    /** The username is already taken, possibly by a row of an earlier chunk. */
+    USERNAME_EXISTS,
+    /** The email address is already taken, possibly by a row of an earlier chunk. */
+    EMAIL_EXISTS
+
+}
@@ -0,0 +1,30 @@
+package pl.derleta.authorization.domain.types;
+
+/**
+ * Outcome of a single item of a bulk user-role assignment or revocation.
+ * <p>
+ * ASSIGNED and REVOKED mark items that changed the database; every other status
+ * describes why an item was skipped.
+ */
+public enum UserRoleBulkStatus {
+
+    ASSIGNED(true),
+    REVOKED(true),
+    ALREADY_ASSIGNED(false),
+    NOT_ASSIGNED(false),
+    USER_NOT_FOUND(false),
+    ROLE_NOT_FOUND(false),
+    DUPLICATE(false),
+    INVALID(false);
+
+    private final boolean applied;
+
+    UserRoleBulkStatus(boolean applied) {
+        this.applied = applied;
+    }
+
+    public boolean isApplied() {
+        return applied;
+    }
+
+}
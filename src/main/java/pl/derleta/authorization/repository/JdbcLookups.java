@@ -0,0 +1,57 @@
+package pl.derleta.authorization.repository;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+
+import java.util.Optional;
+
+/**
+ * Single-row lookups that report a missing row as an empty {@code Optional} instead of an exception.
+ * <p>
+ * {@code JdbcTemplate.queryForObject} signals a miss with an {@code EmptyResultDataAccessException}, whose stack
+ * trace is built on every miss. These lookups run a plain {@code query} limited to one row by the statement's
+ * {@code maxRows} and map at most that row, so a miss costs no more than a hit. When a query matches several rows,
+ * the first one is returned.
+ */
+public final class JdbcLookups {
+
+    private JdbcLookups() {
+    }
+
+    /**
+     * Retrieves the first row returned by the query, mapped with the given row mapper.
+     *
+     * @param jdbcTemplate the template executing the query
+     * @param sql          the query
+     * @param rowMapper    the mapper of the row
+     * @param args         the arguments bound to the query
+     * @param <T>          the type of the mapped row
+     * @return an {@code Optional} containing the mapped row, or an empty {@code Optional} if the query returned no rows
+     * or the row was mapped to {@code null}
+     */
+    public static <T> Optional<T> findFirst(final JdbcTemplate jdbcTemplate, final String sql, final RowMapper<T> rowMapper, final Object... args) {
+        ArgumentPreparedStatementSetter arguments = new ArgumentPreparedStatementSetter(args);
+        return jdbcTemplate.query(sql, ps -> {
+            ps.setMaxRows(1);
+            arguments.setValues(ps);
+        }, rs -> rs.next() ? Optional.ofNullable(rowMapper.mapRow(rs, 0)) : Optional.<T>empty());
+    }
+
+    /**
+     * Retrieves the single column of the first row returned by the query.
+     *
+     * @param jdbcTemplate the template executing the query
+     * @param sql          the query selecting one column
+     * @param requiredType the type of the column value
+     * @param args         the arguments bound to the query
+     * @param <T>          the type of the column value
+     * @return an {@code Optional} containing the value, or an empty {@code Optional} if the query returned no rows
+     * or the value is {@code null}
+     */
+    public static <T> Optional<T> findFirst(final JdbcTemplate jdbcTemplate, final String sql, final Class<T> requiredType, final Object... args) {
+        return findFirst(jdbcTemplate, sql, SingleColumnRowMapper.newInstance(requiredType), args);
+    }
+
+}
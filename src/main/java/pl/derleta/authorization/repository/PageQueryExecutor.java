@@ -0,0 +1,112 @@
+package pl.derleta.authorization.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import pl.derleta.authorization.config.concurrency.BackgroundExecutors;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Executor of the two queries behind a page of a table: the query of the page content and the {@code COUNT} query
+ * of all matching rows.
+ * <p>
+ * Both queries are started at once on the {@code page-query} background executor, so each runs on its own pooled
+ * connection and the latency of a page is the maximum of the two queries instead of their sum. Both must complete
+ * within the deadline ({@code app.pages.query.deadline-ms}). When the deadline passes or either query fails, the
+ * other query is cancelled and the caller gets a {@code DataAccessException}.
+ */
+@Component
+public class PageQueryExecutor {
+
+    public static final long DEFAULT_DEADLINE_MS = 5000;
+
+    private final Executor executor;
+    private final Duration deadline;
+
+    /**
+     * Constructs the executor running the queries on a dedicated background executor.
+     *
+     * @param executors       the factory of background executors
+     * @param deadlineMs      the time within which both queries must complete, in milliseconds
+     * @param platformThreads the pool size used when virtual threads are disabled
+     */
+    @Autowired
+    public PageQueryExecutor(BackgroundExecutors executors,
+                             @Value("${app.pages.query.deadline-ms:" + DEFAULT_DEADLINE_MS + "}") long deadlineMs,
+                             @Value("${app.pages.query.pool-size:16}") int platformThreads) {
+        this(executors.create("page-query", platformThreads), Duration.ofMillis(deadlineMs));
+    }
+
+    PageQueryExecutor(Executor executor, Duration deadline) {
+        if (deadline.isNegative() || deadline.isZero()) throw new IllegalArgumentException("Deadline must be positive");
+        this.executor = executor;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Creates an executor running both queries one after the other on the calling thread.
+     * Services use it until the shared executor is injected.
+     *
+     * @return the sequential executor
+     */
+    public static PageQueryExecutor sequential() {
+        return new PageQueryExecutor(Runnable::run, Duration.ofMillis(DEFAULT_DEADLINE_MS));
+    }
+
+    /**
+     * Runs the content and the count query of a page concurrently and assembles the page.
+     *
+     * @param pageable the requested page
+     * @param content  the query of the page content
+     * @param total    the query of the number of all matching rows
+     * @param <T>      the type of the page elements
+     * @return the page with its content and total number of elements
+     * @throws QueryTimeoutException        if the queries did not complete within the deadline
+     * @throws DataRetrievalFailureException if the calling thread was interrupted while waiting
+     */
+    public <T> Page<T> getPage(final Pageable pageable, final Supplier<List<T>> content, final LongSupplier total) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        FutureTask<List<T>> contentQuery = new FutureTask<>(content::get);
+        FutureTask<Long> totalQuery = new FutureTask<>(total::getAsLong);
+        try {
+            executor.execute(contentQuery);
+            executor.execute(totalQuery);
+            List<T> rows = await(contentQuery, deadlineNanos);
+            long count = await(totalQuery, deadlineNanos);
+            return PageableExecutionUtils.getPage(rows, pageable, () -> count);
+        } finally {
+            contentQuery.cancel(true);
+            totalQuery.cancel(true);
+        }
+    }
+
+    private <V> V await(final FutureTask<V> query, final long deadlineNanos) {
+        try {
+            return query.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Page query did not complete within " + deadline.toMillis() + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataRetrievalFailureException("Interrupted while waiting for the page query", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new DataRetrievalFailureException("Page query failed", e.getCause());
+        }
+    }
+
+}
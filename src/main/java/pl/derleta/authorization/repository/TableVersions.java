@@ -0,0 +1,141 @@
+package pl.derleta.authorization.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static pl.derleta.authorization.repository.JdbcLookups.findFirst;
+
+/**
+ * Version counters of database tables, used to derive strong ETags for read endpoints.
+ * <p>
+ * Repositories call {@link #bump(Table)} after every write to a table. The shared version is kept in the
+ * "table_versions" table ({@code table_name VARCHAR PRIMARY KEY, version BIGINT NOT NULL}) and incremented
+ * by the same connection, so inside a transaction it commits or rolls back together with the write, and
+ * writes made through any application instance change the ETags served by all of them. Readers must take
+ * the ETag <em>before</em> querying the data.
+ * <p>
+ * Each instance additionally keeps a local counter of the writes made through it, see {@link #version(Table)},
+ * for in-process caches that must not query the database on every lookup.
+ */
+@Component
+public class TableVersions {
+
+    /**
+     * Tables with tracked versions.
+     */
+    public enum Table {
+        ROLES("roles");
+
+        private final String tableName;
+
+        Table(String tableName) {
+            this.tableName = tableName;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Table, AtomicLong> localVersions = new EnumMap<>(Table.class);
+
+    @Autowired
+    public TableVersions(DataSource dataSource) {
+        this(new JdbcTemplate(dataSource));
+    }
+
+    TableVersions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (Table table : Table.values()) localVersions.put(table, new AtomicLong());
+    }
+
+    /**
+     * Records a write to the given table.
+     *
+     * @param table the modified table
+     */
+    public void bump(Table table) {
+        String sql = """
+                INSERT INTO table_versions (table_name, version)
+                VALUES (?, 1)
+                ON DUPLICATE KEY UPDATE version = version + 1;
+                """;
+        jdbcTemplate.update(sql, table.tableName);
+        AtomicLong version = localVersions.get(table);
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Retrieves the local version of the given table. The local version changes after every write made through
+     * this instance, including once more after the enclosing transaction completes, and is not affected by writes
+     * made through other instances; callers may only use it to refresh caches for which a stale entry is harmless.
+     *
+     * @param table the table
+     * @return the number of writes recorded by this instance since it started
+     */
+    public long version(Table table) {
+        return localVersions.get(table).get();
+    }
+
+    /**
+     * Builds a strong ETag for a resource assembled from the given tables, from their shared versions.
+     *
+     * @param tables the tables the resource is read from
+     * @return the quoted entity tag
+     */
+    public String etag(Table... tables) {
+        String sql = "SELECT table_name, version FROM table_versions WHERE table_name IN (%s);"
+                .formatted(String.join(", ", Collections.nCopies(tables.length, "?")));
+        Object[] names = new Object[tables.length];
+        for (int i = 0; i < tables.length; i++) names[i] = tables[i].tableName;
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            versions.put(rs.getString("table_name"), rs.getLong("version"));
+        }, names);
+        StringBuilder etag = new StringBuilder(32).append('"');
+        for (int i = 0; i < tables.length; i++) {
+            if (i > 0) etag.append('-');
+            etag.append(versions.getOrDefault(tables[i].tableName, 0L));
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Builds a strong ETag for the data of a single user and their roles. The tag is taken from the user's
+     * creation time and security stamp, which is incremented whenever the user's details, status or roles
+     * change, including renames and deletions of the roles they hold, so writes to other users do not
+     * invalidate it.
+     *
+     * @param userId the ID of the user
+     * @return the quoted entity tag, or null if no user exists with the given ID
+     */
+    public String userEtag(long userId) {
+        String sql = """
+                SELECT created_at, security_stamp
+                FROM users
+                WHERE user_id = ?;
+                """;
+        return findFirst(jdbcTemplate, sql, (rs, rowNum) -> {
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            long created = createdAt == null ? 0L : createdAt.getTime();
+            return "\"u" + Long.toString(created, 36) + "-" + rs.getLong("security_stamp") + '"';
+        }, userId).orElse(null);
+    }
+
+}
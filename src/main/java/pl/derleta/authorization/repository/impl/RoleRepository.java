@@ -2,22 +2,25 @@ package pl.derleta.authorization.repository.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DuplicateKeyException;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import pl.derleta.authorization.domain.entity.RoleEntity;
 import pl.derleta.authorization.domain.model.Role;
 import pl.derleta.authorization.repository.RepositoryClass;
+import pl.derleta.authorization.repository.TableVersions;
 import pl.derleta.authorization.repository.mapper.RoleMapper;
 import pl.derleta.authorization.repository.sort.SortParameters;
 import pl.derleta.authorization.utils.ValidatorUtils;
 
 import javax.sql.DataSource;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 
+import static pl.derleta.authorization.repository.JdbcLookups.findFirst;
+
 /**
  * RoleRepository is responsible for managing CRUD operations and queries related to roles in the "roles" table.
  * It provides methods to interact with the database, including retrieving, saving, updating,
@@ -29,19 +32,23 @@ public class RoleRepository implements RepositoryClass {
 
     private static final Set<String> ALLOWED_SORT_COLUMNS = Set.of("role_id", "role_name");
     private static final Set<String> ALLOWED_SORT_ORDERS = Set.of("ASC", "DESC");
+    private static final int STAMP_BATCH_SIZE = 1000;
 
 
     private final JdbcTemplate jdbcTemplate;
+    private final TableVersions tableVersions;
 
     /**
      * Initializes the RoleRepository with a given DataSource.
      * Creates a JdbcTemplate instance using the provided DataSource to enable interaction with the database.
      *
      * @param dataSource the DataSource object used to configure the JdbcTemplate for database operations
+     * @param tableVersions the table version counters bumped on every write
      */
     @Autowired
-    public RoleRepository(DataSource dataSource) {
+    public RoleRepository(DataSource dataSource, TableVersions tableVersions) {
         jdbcTemplate = new JdbcTemplate(dataSource);
+        this.tableVersions = tableVersions;
     }
 
     /**
@@ -102,11 +109,7 @@ public class RoleRepository implements RepositoryClass {
                   FROM roles
                   WHERE role_id = ?;
                 """;
-        try {
-            return jdbcTemplate.queryForObject(sql, new RoleMapper(), roleId);
-        } catch (EmptyResultDataAccessException e) {
-            return null;
-        }
+        return findFirst(jdbcTemplate, sql, new RoleMapper(), roleId).orElse(null);
     }
 
     /**
@@ -126,9 +129,9 @@ public class RoleRepository implements RepositoryClass {
                     VALUES (?, ?);
                 """;
         try {
-            return jdbcTemplate.update(sql,
+            return written(jdbcTemplate.update(sql,
                     role_id,
-                    role.roleName());
+                    role.roleName()));
         } catch (DuplicateKeyException e) {
             return 0;
         }
@@ -136,7 +139,8 @@ public class RoleRepository implements RepositoryClass {
 
     /**
      * Updates the details of a role in the database based on the given role ID.
-     * The method updates the role name for the specified role ID in the "roles" table.
+     * The method updates the role name for the specified role ID in the "roles" table
+     * and then increments the security stamp of every user holding the role.
      *
      * @param roleId the ID of the role to be updated
      * @param role   the Role object containing the updated details of the role
@@ -148,23 +152,45 @@ public class RoleRepository implements RepositoryClass {
                   role_name = ?
                   WHERE role_id = ?;
                 """;
-        return jdbcTemplate.update(sql,
+        int rows = written(jdbcTemplate.update(sql,
                 role.roleName(),
-                roleId);
+                roleId));
+        if (rows > 0) {
+            String stampSql = """
+                      UPDATE users u
+                      JOIN user_roles ur ON u.user_id = ur.user_id
+                      SET u.security_stamp = u.security_stamp + 1
+                      WHERE ur.role_id = ?;
+                    """;
+            jdbcTemplate.update(stampSql, roleId);
+        }
+        return rows;
     }
 
     /**
      * Deletes a role from the "roles" table based on the provided role ID.
+     * The security stamps of users that held the role are incremented after the delete,
+     * so a token minted in between can never pair the new stamp with the removed role.
      *
      * @param roleId the ID of the role to be deleted
      * @return the number of rows affected by the delete operation
      */
     public int deleteById(final int roleId) {
+        List<Long> holders = jdbcTemplate.queryForList("SELECT user_id FROM user_roles WHERE role_id = ?;", Long.class, roleId);
         String sql = """ 
                     DELETE FROM roles
                     WHERE role_id = ?;
                 """;
-        return jdbcTemplate.update(sql, roleId);
+        int rows = written(jdbcTemplate.update(sql, roleId));
+        if (rows > 0) {
+            for (int from = 0; from < holders.size(); from += STAMP_BATCH_SIZE) {
+                List<Long> chunk = holders.subList(from, Math.min(from + STAMP_BATCH_SIZE, holders.size()));
+                String stampSql = "UPDATE users SET security_stamp = security_stamp + 1 WHERE user_id IN (%s);"
+                        .formatted(String.join(", ", Collections.nCopies(chunk.size(), "?")));
+                jdbcTemplate.update(stampSql, chunk.toArray());
+            }
+        }
+        return rows;
     }
 
 
@@ -237,4 +263,17 @@ public class RoleRepository implements RepositoryClass {
         return jdbcTemplate.queryForObject(sql, Integer.class, roleNameParam);
     }
 
+    /**
+     * Records a write to the "roles" table when any row was affected.
+     *
+     * @param rows the number of affected rows
+     * @return the number of affected rows
+     */
+    private int written(final int rows) {
+        if (rows > 0) {
+            tableVersions.bump(TableVersions.Table.ROLES);
+        }
+        return rows;
+    }
+
 }
@@ -2,10 +2,10 @@ package pl.derleta.authorization.repository.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DuplicateKeyException;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import pl.derleta.authorization.domain.entity.AccountSnapshot;
 import pl.derleta.authorization.domain.entity.UserEntity;
 import pl.derleta.authorization.domain.model.User;
 import pl.derleta.authorization.repository.RepositoryClass;
@@ -15,10 +15,17 @@ import pl.derleta.authorization.utils.ValidatorUtils;
 import javax.sql.DataSource;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 
+import static pl.derleta.authorization.repository.JdbcLookups.findFirst;
+
 /**
  * Responsible for interacting with the `users` table in the database to perform CRUD operations.
  * Provides methods for accessing and manipulating user data, such as retrieving paginated user lists,
@@ -85,11 +92,7 @@ public class UserRepository implements RepositoryClass {
                   FROM users
                   WHERE user_id = ?;
                 """;
-        try {
-            return jdbcTemplate.queryForObject(sql, new UserMapper(), userId);
-        } catch (EmptyResultDataAccessException e) {
-            return null;
-        }
+        return findFirst(jdbcTemplate, sql, new UserMapper(), userId).orElse(null);
     }
 
 
@@ -105,13 +108,57 @@ public class UserRepository implements RepositoryClass {
                   FROM users
                   WHERE email = ?;
                 """;
-        try {
-            return jdbcTemplate.queryForObject(sql, new UserMapper(), email);
-        } catch (EmptyResultDataAccessException e) {
-            return null;
+        return findFirst(jdbcTemplate, sql, new UserMapper(), email).orElse(null);
+    }
+
+
+    /**
+     * Retrieves the users matching any of the given IDs or email addresses with a single {@code IN} query.
+     * Callers are expected to bound the number of values, as every value becomes a bind parameter.
+     *
+     * @param userIds the IDs of the users to retrieve; may be empty
+     * @param emails  the email addresses of the users to retrieve; may be empty
+     * @return the matching user entities in no particular order, each at most once
+     */
+    public List<UserEntity> findByIdsOrEmails(final Collection<Long> userIds, final Collection<String> emails) {
+        if (userIds.isEmpty() && emails.isEmpty()) return List.of();
+        List<String> conditions = new ArrayList<>(2);
+        List<Object> params = new ArrayList<>(userIds.size() + emails.size());
+        if (!userIds.isEmpty()) {
+            conditions.add("user_id IN (" + placeholders(userIds.size()) + ")");
+            params.addAll(userIds);
+        }
+        if (!emails.isEmpty()) {
+            conditions.add("email IN (" + placeholders(emails.size()) + ")");
+            params.addAll(emails);
         }
+        String sql = """
+                  SELECT user_id, username, password, email
+                  FROM users
+                  WHERE %s;
+                """.formatted(String.join(" OR ", conditions));
+        return jdbcTemplate.query(sql, new UserMapper(), params.toArray());
     }
 
+    private static String placeholders(final int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Retrieves the security stamp of a user. The stamp is incremented whenever the user's password,
+     * status or roles change, so tokens carrying an equal stamp still describe the current user.
+     *
+     * @param userId the unique identifier of the user
+     * @return the current security stamp, or {@code null} if no user exists with the given ID
+     */
+    public Long findSecurityStamp(final long userId) {
+        String sql = """
+                  SELECT security_stamp
+                  FROM users
+                  WHERE user_id = ?;
+                """;
+        return findFirst(jdbcTemplate, sql, Long.class, userId).orElse(null);
+    }
 
     /**
      * Checks if a user with the specified user ID is blocked.
@@ -127,11 +174,7 @@ public class UserRepository implements RepositoryClass {
                   FROM users
                   WHERE user_id = ?;
                 """;
-        try {
-            return jdbcTemplate.queryForObject(sql, Boolean.class, userId);
-        } catch (EmptyResultDataAccessException e) {
-            return null;
-        }
+        return findFirst(jdbcTemplate, sql, Boolean.class, userId).orElse(null);
     }
 
 
@@ -149,11 +192,39 @@ public class UserRepository implements RepositoryClass {
                   FROM users
                   WHERE user_id = ?;
                 """;
-        try {
-            return jdbcTemplate.queryForObject(sql, Boolean.class, userId);
-        } catch (EmptyResultDataAccessException e) {
-            return null;
-        }
+        return findFirst(jdbcTemplate, sql, Boolean.class, userId).orElse(null);
+    }
+
+    /**
+     * Retrieves the account snapshot of the user with the given ID: identity, password hash
+     * and the verified and blocked flags, read with a single query.
+     *
+     * @param userId the unique identifier of the user
+     * @return the account snapshot, or {@code null} if no user exists with the given ID
+     */
+    public AccountSnapshot findAccountById(final long userId) {
+        String sql = """
+                  SELECT user_id, username, password, email, verified, blocked
+                  FROM users
+                  WHERE user_id = ?;
+                """;
+        return findFirst(jdbcTemplate, sql, new AccountSnapshotMapper(), userId).orElse(null);
+    }
+
+    /**
+     * Retrieves the account snapshot of the user with the given email address: identity, password hash
+     * and the verified and blocked flags, read with a single query.
+     *
+     * @param email the email address of the user
+     * @return the account snapshot, or {@code null} if no user exists with the given email
+     */
+    public AccountSnapshot findAccountByEmail(final String email) {
+        String sql = """
+                  SELECT user_id, username, password, email, verified, blocked
+                  FROM users
+                  WHERE email = ?;
+                """;
+        return findFirst(jdbcTemplate, sql, new AccountSnapshotMapper(), email).orElse(null);
     }
 
 
@@ -181,10 +252,69 @@ public class UserRepository implements RepositoryClass {
     }
 
 
+    /**
+     * Persists new users with batched inserts, assigning consecutive identifiers starting from
+     * {@code firstUserId} in list order. Unlike {@link #save(long, User)}, a duplicate key fails the whole call,
+     * so callers are expected to have checked the usernames and emails beforehand.
+     *
+     * @param firstUserId the identifier of the first inserted user
+     * @param users       the users to insert, with encoded passwords
+     * @return the number of inserted users
+     */
+    public int saveAll(final long firstUserId, final List<User> users) {
+        if (users.isEmpty()) return 0;
+        String sql = """
+                    INSERT INTO users (user_id, username, password, email, created_at, updated_at, verified, blocked)
+                    VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, false, false);
+                """;
+        List<Object[]> batchArgs = new ArrayList<>(users.size());
+        long userId = firstUserId;
+        for (User user : users) {
+            batchArgs.add(new Object[]{userId++, user.username(), user.password(), user.email()});
+        }
+        int rows = 0;
+        for (int count : jdbcTemplate.batchUpdate(sql, batchArgs)) {
+            rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return rows;
+    }
+
+    /**
+     * Retrieves which of the given usernames are already taken, with a single {@code IN} query.
+     * Callers are expected to bound the number of values, as every value becomes a bind parameter.
+     *
+     * @param usernames the usernames to check; may be empty
+     * @return the taken usernames, lower-cased
+     */
+    public Set<String> findExistingUsernames(final Collection<String> usernames) {
+        return findExisting("username", usernames);
+    }
+
+    /**
+     * Retrieves which of the given email addresses are already taken, with a single {@code IN} query.
+     * Callers are expected to bound the number of values, as every value becomes a bind parameter.
+     *
+     * @param emails the email addresses to check; may be empty
+     * @return the taken email addresses, lower-cased
+     */
+    public Set<String> findExistingEmails(final Collection<String> emails) {
+        return findExisting("email", emails);
+    }
+
+    private Set<String> findExisting(final String column, final Collection<String> values) {
+        if (values.isEmpty()) return Set.of();
+        String sql = "SELECT %1$s FROM users WHERE %1$s IN (%2$s);".formatted(column, placeholders(values.size()));
+        Set<String> existing = new HashSet<>();
+        for (String value : jdbcTemplate.queryForList(sql, String.class, values.toArray())) {
+            existing.add(value.toLowerCase(Locale.ROOT));
+        }
+        return existing;
+    }
+
     /**
      * Updates the information of an existing user in the database.
      * The user's username, email, and password are updated based on the provided data,
-     * and the updated_at field is set to the current timestamp.
+     * and the updated_at field is set to the current timestamp. The security stamp is incremented.
      *
      * @param userId the unique identifier of the user to be updated
      * @param user   the {@code User} object containing the updated username, email, and password
@@ -194,7 +324,7 @@ public class UserRepository implements RepositoryClass {
         String sql = """
                   UPDATE users
                   SET username = ?, email = ?,
-                  password = ?, updated_at = CURRENT_TIMESTAMP
+                  password = ?, security_stamp = security_stamp + 1, updated_at = CURRENT_TIMESTAMP
                   WHERE user_id = ?;
                 """;
         return jdbcTemplate.update(sql,
@@ -347,23 +477,41 @@ public class UserRepository implements RepositoryClass {
     /**
      * Unlocks a user by updating their status in the database.
      * This method sets the `verified` column to true, `blocked` column to false,
-     * and updates the `updated_at` timestamp to the current time.
+     * updates the `updated_at` timestamp to the current time and increments the security stamp.
      *
      * @param userId the unique identifier of the user to be unlocked
      */
     public void unlock(final long userId) {
         String sql = """
                 UPDATE users
-                SET verified = true, blocked = false, updated_at = CURRENT_TIMESTAMP
+                SET verified = true, blocked = false, security_stamp = security_stamp + 1, updated_at = CURRENT_TIMESTAMP
                 WHERE user_id = ?;
                 """;
         jdbcTemplate.update(sql, userId);
     }
 
+    /**
+     * Unlocks and verifies the user only if the security stamp still has the given value. The stamp is incremented,
+     * so of several updates with the same stamp exactly one succeeds.
+     *
+     * @param userId        the unique identifier of the user
+     * @param securityStamp the expected security stamp of the user
+     * @return 1 if the user was unlocked, 0 if the user does not exist or the stamp has changed
+     */
+    public int unlockIfSecurityStamp(final long userId, final long securityStamp) {
+        String sql = """
+                UPDATE users
+                SET verified = true, blocked = false, security_stamp = security_stamp + 1, updated_at = CURRENT_TIMESTAMP
+                WHERE user_id = ? AND security_stamp = ?;
+                """;
+        return jdbcTemplate.update(sql, userId, securityStamp);
+    }
+
     /**
      * Updates the status of a user in the database identified by the specified userId.
-     * This method updates the `verified` and `blocked` columns for the user and
-     * sets the `updated_at` timestamp to the current time.
+     * This method updates the `verified` and `blocked` columns for the user,
+     * sets the `updated_at` timestamp to the current time and increments the security stamp if the status changes,
+     * so repeating an update does not invalidate sessions and links bound to the current stamp.
      *
      * @param userId   the unique identifier of the user whose status is to be updated
      * @param verified the new verified status to be set for the user
@@ -372,15 +520,17 @@ public class UserRepository implements RepositoryClass {
     public void updateStatus(final long userId, final boolean verified, final boolean blocked) {
         String sql = """
                 UPDATE users
-                SET verified = ?, blocked = ?, updated_at = CURRENT_TIMESTAMP
+                SET security_stamp = security_stamp + (verified <> ? OR blocked <> ?), verified = ?, blocked = ?,
+                    updated_at = CURRENT_TIMESTAMP
                 WHERE user_id = ?;
                 """;
-        jdbcTemplate.update(sql, verified, blocked, userId);
+        jdbcTemplate.update(sql, verified, blocked, verified, blocked, userId);
     }
 
     /**
      * Updates the password of a user identified by userId in the database.
-     * This method sets the password to the specified encryptedPassword and updates the updated_at timestamp.
+     * This method sets the password to the specified encryptedPassword, updates the updated_at timestamp
+     * and increments the security stamp.
      *
      * @param userId            the unique identifier of the user whose password is to be updated
      * @param encryptedPassword the new encrypted password to be set for the user
@@ -388,7 +538,7 @@ public class UserRepository implements RepositoryClass {
     public void updatePassword(final long userId, final String encryptedPassword) {
         String sql = """
                 UPDATE users
-                SET password = ?, updated_at = CURRENT_TIMESTAMP
+                SET password = ?, security_stamp = security_stamp + 1, updated_at = CURRENT_TIMESTAMP
                 WHERE user_id = ?;
                 """;
         jdbcTemplate.update(sql, encryptedPassword, userId);
@@ -418,4 +568,18 @@ public class UserRepository implements RepositoryClass {
         }
     }
 
+    static class AccountSnapshotMapper implements RowMapper<AccountSnapshot> {
+        @Override
+        public AccountSnapshot mapRow(ResultSet resultSet, int i) throws SQLException {
+            return new AccountSnapshot(
+                    resultSet.getLong("user_id"),
+                    resultSet.getString("username"),
+                    resultSet.getString("email"),
+                    resultSet.getString("password"),
+                    resultSet.getBoolean("verified"),
+                    resultSet.getBoolean("blocked")
+            );
+        }
+    }
+
 }
@@ -4,16 +4,27 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import pl.derleta.authorization.domain.entity.UserRoleEntity;
+import pl.derleta.authorization.domain.request.UserRoleAssignmentRequest;
 import pl.derleta.authorization.repository.RepositoryClass;
 import pl.derleta.authorization.repository.mapper.UserRoleMapper;
 import pl.derleta.authorization.repository.sort.SortParameters;
 import pl.derleta.authorization.utils.ValidatorUtils;
 
 import javax.sql.DataSource;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
+import static pl.derleta.authorization.repository.JdbcLookups.findFirst;
+
 /**
  * Repository class responsible for managing database operations related
  * to user-role mappings in the "andromeda" schema. This includes fetching,
@@ -29,6 +40,7 @@ public class UserRoleRepository implements RepositoryClass {
 
     private static final Set<String> ALLOWED_SORT_COLUMNS = Set.of("u.user_id", "u.username", "u.email", "r.role_id", "r.role_name");
     private static final Set<String> ALLOWED_SORT_ORDERS = Set.of("ASC", "DESC");
+    private static final int BATCH_SIZE = 1000;
 
     private final JdbcTemplate jdbcTemplate;
 
@@ -84,7 +96,7 @@ public class UserRoleRepository implements RepositoryClass {
      * @param userId the unique identifier for the user
      * @param roleId the unique identifier for the role
      * @return a UserRoleEntity object containing user, role, and user-role details;
-     * throws an exception if no matching record is found
+     * or null if no matching record is found
      */
     public UserRoleEntity findByIds(final long userId, final int roleId) {
         String sql = """
@@ -95,7 +107,7 @@ public class UserRoleRepository implements RepositoryClass {
                   WHERE u.user_id = ?
                   AND r.role_id = ?;
                 """;
-        return jdbcTemplate.queryForObject(sql, new UserRoleMapper(), userId, roleId);
+        return findFirst(jdbcTemplate, sql, new UserRoleMapper(), userId, roleId).orElse(null);
     }
 
     /**
@@ -105,7 +117,7 @@ public class UserRoleRepository implements RepositoryClass {
      *
      * @param userRoleId the unique identifier for the user-role mapping to be retrieved
      * @return a UserRoleEntity object containing user, role, and user-role details;
-     * or throws an exception if no matching record is found
+     * or null if no matching record is found
      */
     public UserRoleEntity findById(final long userRoleId) {
         String sql = """
@@ -115,11 +127,11 @@ public class UserRoleRepository implements RepositoryClass {
                   JOIN roles r ON ur.role_id = r.role_id
                   WHERE user_role_id = ?;
                 """;
-        return jdbcTemplate.queryForObject(sql, new UserRoleMapper(), userRoleId);
+        return findFirst(jdbcTemplate, sql, new UserRoleMapper(), userRoleId).orElse(null);
     }
 
     /**
-     * Persists a mapping of user roles into the database.
+     * Persists a mapping of user roles into the database and increments the user's security stamp.
      *
      * @param userRoleId the unique identifier for the user-role mapping
      * @param userId     the identifier of the user
@@ -130,10 +142,12 @@ public class UserRoleRepository implements RepositoryClass {
                     INSERT INTO user_roles (user_role_id, user_id, role_id)
                     VALUES (?, ?, ?);
                 """;
-        jdbcTemplate.update(sql,
+        if (jdbcTemplate.update(sql,
                 userRoleId,
                 userId,
-                roleId);
+                roleId) > 0) {
+            bumpSecurityStamps(List.of(userId));
+        }
     }
 
     /**
@@ -148,7 +162,8 @@ public class UserRoleRepository implements RepositoryClass {
     }
 
     /**
-     * Deletes a user-role mapping from the database for the specified user and role IDs.
+     * Deletes a user-role mapping from the database for the specified user and role IDs
+     * and increments the user's security stamp.
      *
      * @param userId the ID of the user whose user-role mapping is to be deleted
      * @param roleId the ID of the role whose user-role mapping is to be deleted
@@ -158,7 +173,146 @@ public class UserRoleRepository implements RepositoryClass {
                     DELETE FROM user_roles
                     WHERE user_id = ? AND role_id = ?;
                 """;
-        jdbcTemplate.update(sql, userId, roleId);
+        if (jdbcTemplate.update(sql, userId, roleId) > 0) {
+            bumpSecurityStamps(List.of(userId));
+        }
+    }
+
+    /**
+     * Retrieves the role IDs currently assigned to each of the given users. Users that exist but have
+     * no roles are mapped to an empty set; users that do not exist are absent from the result.
+     * The IDs are queried in chunks of {@value #BATCH_SIZE}, so the number of statements grows with
+     * the number of distinct users, not with the number of requested pairs.
+     *
+     * @param userIds the IDs of the users to look up
+     * @return a map of existing user IDs to the role IDs assigned to them
+     */
+    public Map<Long, Set<Integer>> findRoleIdsByUserIds(final Collection<Long> userIds) {
+        Map<Long, Set<Integer>> result = new HashMap<>();
+        for (List<Long> chunk : chunks(userIds)) {
+            String sql = """
+                    SELECT u.user_id, ur.role_id
+                    FROM users u
+                    LEFT JOIN user_roles ur ON u.user_id = ur.user_id
+                    WHERE u.user_id IN (%s);
+                    """.formatted(placeholders(chunk.size()));
+            jdbcTemplate.query(sql, rs -> {
+                Set<Integer> roleIds = result.computeIfAbsent(rs.getLong("user_id"), id -> new HashSet<>());
+                int roleId = rs.getInt("role_id");
+                if (!rs.wasNull()) roleIds.add(roleId);
+            }, chunk.toArray());
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves those of the given role IDs that exist in the roles table.
+     *
+     * @param roleIds the IDs of the roles to look up
+     * @return the subset of the given IDs that belong to existing roles
+     */
+    public Set<Integer> findExistingRoleIds(final Collection<Integer> roleIds) {
+        Set<Integer> result = new HashSet<>();
+        for (List<Integer> chunk : chunks(roleIds)) {
+            String sql = "SELECT role_id FROM roles WHERE role_id IN (%s);".formatted(placeholders(chunk.size()));
+            result.addAll(jdbcTemplate.queryForList(sql, Integer.class, chunk.toArray()));
+        }
+        return result;
+    }
+
+    /**
+     * Persists the given user-role mappings with batched inserts, assigning consecutive identifiers
+     * starting from {@code firstUserRoleId} in list order, and increments the security stamps of the users.
+     *
+     * @param firstUserRoleId the identifier of the first inserted mapping
+     * @param assignments     the user and role pairs to insert
+     * @return the number of inserted mappings
+     */
+    public int saveAll(final long firstUserRoleId, final List<UserRoleAssignmentRequest> assignments) {
+        String sql = """
+                    INSERT INTO user_roles (user_role_id, user_id, role_id)
+                    VALUES (?, ?, ?);
+                """;
+        List<Object[]> batchArgs = new ArrayList<>(assignments.size());
+        long userRoleId = firstUserRoleId;
+        for (UserRoleAssignmentRequest assignment : assignments) {
+            batchArgs.add(new Object[]{userRoleId++, assignment.userId(), assignment.roleId()});
+        }
+        int rows = executeBatch(sql, batchArgs);
+        bumpSecurityStamps(userIdsOf(assignments));
+        return rows;
+    }
+
+    /**
+     * Deletes the given user-role mappings with batched deletes and increments the security stamps of the users.
+     *
+     * @param assignments the user and role pairs to delete
+     * @return the number of deleted mappings
+     */
+    public int deleteAll(final List<UserRoleAssignmentRequest> assignments) {
+        String sql = """
+                    DELETE FROM user_roles
+                    WHERE user_id = ? AND role_id = ?;
+                """;
+        List<Object[]> batchArgs = new ArrayList<>(assignments.size());
+        for (UserRoleAssignmentRequest assignment : assignments) {
+            batchArgs.add(new Object[]{assignment.userId(), assignment.roleId()});
+        }
+        int rows = executeBatch(sql, batchArgs);
+        bumpSecurityStamps(userIdsOf(assignments));
+        return rows;
+    }
+
+    /**
+     * Increments the security stamps of the given users, invalidating the role claims of their tokens.
+     * Called after the role mappings are written, so a token minted in between carries the old stamp.
+     *
+     * @param userIds the IDs of the users whose roles changed
+     */
+    private void bumpSecurityStamps(final Collection<Long> userIds) {
+        for (List<Long> chunk : chunks(userIds)) {
+            String sql = "UPDATE users SET security_stamp = security_stamp + 1 WHERE user_id IN (%s);"
+                    .formatted(placeholders(chunk.size()));
+            jdbcTemplate.update(sql, chunk.toArray());
+        }
+    }
+
+    private static Set<Long> userIdsOf(final List<UserRoleAssignmentRequest> assignments) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (UserRoleAssignmentRequest assignment : assignments) userIds.add(assignment.userId());
+        return userIds;
+    }
+
+    /**
+     * Executes a statement as JDBC batches of at most {@value #BATCH_SIZE} rows. Drivers that report
+     * {@link Statement#SUCCESS_NO_INFO} for rewritten batches are counted as one affected row per item.
+     *
+     * @param sql       the statement to execute
+     * @param batchArgs the arguments of every batch item
+     * @return the number of affected rows
+     */
+    private int executeBatch(final String sql, final List<Object[]> batchArgs) {
+        if (batchArgs.isEmpty()) return 0;
+        int rows = 0;
+        for (int[] counts : jdbcTemplate.batchUpdate(sql, batchArgs, BATCH_SIZE, (ps, args) -> {
+            for (int i = 0; i < args.length; i++) ps.setObject(i + 1, args[i]);
+        })) {
+            for (int count : counts) rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return rows;
+    }
+
+    private static <T> List<List<T>> chunks(final Collection<T> values) {
+        List<T> list = List.copyOf(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += BATCH_SIZE) {
+            chunks.add(list.subList(from, Math.min(from + BATCH_SIZE, list.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(final int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
     }
 
     /**
@@ -11,10 +11,13 @@ import pl.derleta.authorization.repository.sort.SortParameters;
 import pl.derleta.authorization.utils.ValidatorUtils;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 
+import static pl.derleta.authorization.repository.JdbcLookups.findFirst;
+
 
 /**
  * The ConfirmationTokenRepository class provides access to and management of confirmation token data
@@ -151,6 +154,26 @@ public class ConfirmationTokenRepository extends TokenRepository {
         }
     }
 
+    /**
+     * Retrieves the user's confirmation token that expires last, provided it stays valid for at least
+     * the given time, so it can be sent again instead of issuing a new one.
+     *
+     * @param userId       the unique identifier of the user
+     * @param minRemaining the minimum time the token must remain valid
+     * @return an {@link Optional} containing the outstanding token, or an empty {@link Optional} if the user
+     * has no token valid for long enough
+     */
+    public Optional<TokenEntity> findOutstanding(final long userId, final Duration minRemaining) {
+        String sql = """
+                SELECT u.*, t.*
+                FROM users u
+                JOIN confirmation_tokens t ON u.user_id = t.user_id
+                WHERE t.user_id = ? AND t.expiration_date > NOW() + INTERVAL ? SECOND
+                ORDER BY t.expiration_date DESC
+                """;
+        return findFirst(jdbcTemplate, sql, new TokenMapper(), userId, minRemaining.toSeconds());
+    }
+
     /**
      * Saves a new confirmation token into the database with a specified expiration time.
      * If a token with the same token ID or user ID already exists, the insertion will fail,
@@ -305,4 +328,37 @@ public class ConfirmationTokenRepository extends TokenRepository {
         return jdbcTemplate.update(sql, tokenId);
     }
 
+    /**
+     * Validates and consumes a confirmation token in a single conditional update. The token is expired
+     * only if it exists, carries the given value and has not expired yet, so of several concurrent
+     * attempts with the same token exactly one succeeds.
+     *
+     * @param tokenId the unique identifier of the confirmation token
+     * @param token   the token value presented by the user
+     * @return 1 if the token was valid and has been consumed, 0 if it does not exist, does not match or has expired
+     */
+    public int consume(final long tokenId, final String token) {
+        String sql = """
+                UPDATE confirmation_tokens
+                SET expiration_date = NOW()
+                WHERE token_id = ? AND token = ? AND expiration_date > NOW();
+                """;
+        return jdbcTemplate.update(sql, tokenId, token);
+    }
+
+    /**
+     * Retrieves the id of the user a confirmation token was issued to.
+     *
+     * @param tokenId the unique identifier of the confirmation token
+     * @return the id of the token's user, or {@code null} if no token exists with the given ID
+     */
+    public Long findUserId(final long tokenId) {
+        String sql = """
+                SELECT user_id
+                FROM confirmation_tokens
+                WHERE token_id = ?;
+                """;
+        return findFirst(jdbcTemplate, sql, Long.class, tokenId).orElse(null);
+    }
+
 }
@@ -0,0 +1,88 @@
+package pl.derleta.authorization.repository.impl.token;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static pl.derleta.authorization.repository.JdbcLookups.findFirst;
+
+/**
+ * Repository class responsible for the per-user token revocation watermarks stored in the
+ * "token_revocations" table.
+ * <p>
+ * Each row holds the instant before which every token issued to the user is considered revoked.
+ * Watermarks are supplied by the application, from the same clock that sets the {@code iat} claim of the
+ * tokens they are compared with, and only ever move forward.
+ */
+@Repository
+public class TokenRevocationRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new instance of TokenRevocationRepository and initializes the JDBC template
+     * with the provided data source.
+     *
+     * @param dataSource the data source used to configure the JDBC template for database operations
+     */
+    @Autowired
+    public TokenRevocationRepository(DataSource dataSource) {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Moves the revocation watermark of the given user to the given instant.
+     * An existing watermark is never moved backwards.
+     *
+     * @param userId     the ID of the user whose tokens are revoked
+     * @param validAfter the instant before which the user's tokens are revoked
+     * @return the watermark stored for the user after the update
+     */
+    public Instant revokeAll(final long userId, final Instant validAfter) {
+        String sql = """
+                INSERT INTO token_revocations (user_id, tokens_valid_after)
+                VALUES (?, ?)
+                ON DUPLICATE KEY UPDATE tokens_valid_after = GREATEST(tokens_valid_after, VALUES(tokens_valid_after));
+                """;
+        jdbcTemplate.update(sql, userId, Timestamp.from(validAfter));
+        return findByUserId(userId).orElseThrow();
+    }
+
+    /**
+     * Retrieves the revocation watermark of the given user.
+     *
+     * @param userId the ID of the user
+     * @return an {@code Optional} containing the watermark, or an empty {@code Optional} if the user's tokens were never revoked
+     */
+    public Optional<Instant> findByUserId(final long userId) {
+        String sql = """
+                SELECT tokens_valid_after FROM token_revocations WHERE user_id = ?;
+                """;
+        return findFirst(jdbcTemplate, sql, Timestamp.class, userId).map(Timestamp::toInstant);
+    }
+
+    /**
+     * Retrieves all watermarks set after the given instant.
+     *
+     * @param since the exclusive lower bound of the returned watermarks
+     * @return the watermarks keyed by user ID
+     */
+    public Map<Long, Instant> findChangedSince(final Instant since) {
+        String sql = """
+                SELECT user_id, tokens_valid_after FROM token_revocations WHERE tokens_valid_after > ?;
+                """;
+        Map<Long, Instant> result = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            result.put(rs.getLong("user_id"), rs.getTimestamp("tokens_valid_after").toInstant());
+        }, Timestamp.from(since));
+        return result;
+    }
+
+}
@@ -0,0 +1,48 @@
+package pl.derleta.authorization.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Runs transactions that insert rows under a range of identifiers reserved with {@code MAX(id) + 1}.
+ * <p>
+ * The reservation takes no lock, so a concurrent insert, e.g. a single registration or assignment, may claim
+ * identifiers of the range before the transaction writes them. The insert then fails with a
+ * {@link DuplicateKeyException}, the whole transaction rolls back, and it is run again: the new attempt reserves
+ * a fresh range and validates its rows against the data committed in the meantime, so rows that became taken are
+ * rejected instead of failing the batch. Callbacks must therefore report their results through their return value
+ * and not through side effects.
+ */
+final class IdRangeTransactions {
+
+    static final int MAX_ATTEMPTS = 5;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdRangeTransactions.class);
+
+    private IdRangeTransactions() {
+    }
+
+    /**
+     * Executes the callback in a transaction, repeating it in a new transaction when it fails with a duplicate key.
+     *
+     * @param transactions the transaction operations
+     * @param action       the callback reserving identifiers and inserting rows
+     * @param <T>          the type of the result
+     * @return the result of the first attempt that committed
+     * @throws DuplicateKeyException if every one of {@value #MAX_ATTEMPTS} attempts failed with a duplicate key
+     */
+    static <T> T execute(final TransactionOperations transactions, final TransactionCallback<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactions.execute(action);
+            } catch (DuplicateKeyException e) {
+                if (attempt >= MAX_ATTEMPTS) throw e;
+                LOGGER.debug("Reserved identifiers taken concurrently, retrying (attempt {}): {}", attempt, e.getMessage());
+            }
+        }
+    }
+
+}
@@ -5,11 +5,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import pl.derleta.authorization.controller.mapper.RoleApiMapper;
 import pl.derleta.authorization.domain.entity.RoleEntity;
 import pl.derleta.authorization.domain.model.Role;
+import pl.derleta.authorization.repository.PageQueryExecutor;
 import pl.derleta.authorization.repository.impl.RoleRepository;
 
 import java.util.HashSet;
@@ -24,12 +24,18 @@ import java.util.Set;
 public class RoleService {
 
     private RoleRepository repository;
+    private PageQueryExecutor pageQueries = PageQueryExecutor.sequential();
 
     @Autowired
     public void setRepository(RoleRepository repository) {
         this.repository = repository;
     }
 
+    @Autowired
+    public void setPageQueries(PageQueryExecutor pageQueries) {
+        this.pageQueries = pageQueries;
+    }
+
     /**
      * Retrieves a set of roles filtered by the specified role name criteria using a SQL-based filter.
      *
@@ -57,11 +63,12 @@ public class RoleService {
         int offset = page * size;
         String sortByParam = getSortByParam(sortBy);
         String sortOrderParam = sortOrder.equalsIgnoreCase("desc") ? "DESC" : "ASC";
-        Set<Role> collection = RoleApiMapper.toRoles(
-                repository.getSortedPageWithFilters(offset, size, sortByParam, sortOrderParam, roleNameFilter)
+        return pageQueries.getPage(pageable,
+                () -> RoleApiMapper.toRoles(
+                        repository.getSortedPageWithFilters(offset, size, sortByParam, sortOrderParam, roleNameFilter)
+                ).stream().toList(),
+                () -> repository.getFiltersCount(roleNameFilter)
         );
-        int filteredColSize = repository.getFiltersCount(roleNameFilter);
-        return PageableExecutionUtils.getPage(collection.stream().toList(), pageable, () -> filteredColSize);
     }
 
     /**
@@ -0,0 +1,128 @@
+package pl.derleta.authorization.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import pl.derleta.authorization.domain.request.UserImportRow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Line formats accepted by the bulk user import. Every line describes one user; blank lines are skipped.
+ * <ul>
+ * <li>{@link #CSV} ({@code text/csv}): {@code username,email,password}, with an optional header line of these
+ * column names. Fields may be quoted, with quotes inside quoted fields doubled.</li>
+ * <li>{@link #NDJSON} ({@code application/x-ndjson}): one JSON object per line with the {@code username},
+ * {@code email} and {@code password} fields.</li>
+ * </ul>
+ */
+public enum UserImportFormat {
+
+    CSV("text/csv") {
+        @Override
+        public boolean isHeader(String line) {
+            return line.trim().toLowerCase(Locale.ROOT).startsWith("username");
+        }
+
+        @Override
+        public UserImportRow parse(long lineNumber, String line) {
+            List<String> fields = splitCsv(line);
+            if (fields == null || fields.size() != 3) return null;
+            return new UserImportRow(lineNumber, fields.get(0), fields.get(1), fields.get(2));
+        }
+    },
+
+    NDJSON("application/x-ndjson") {
+        @Override
+        public boolean isHeader(String line) {
+            return false;
+        }
+
+        @Override
+        public UserImportRow parse(long lineNumber, String line) {
+            try {
+                JsonNode node = OBJECT_MAPPER.readTree(line);
+                if (node == null || !node.isObject()) return null;
+                return new UserImportRow(lineNumber, text(node, "username"), text(node, "email"), text(node, "password"));
+            } catch (JsonProcessingException e) {
+                return null;
+            }
+        }
+    };
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final MediaType mediaType;
+
+    UserImportFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Indicates whether the first line of the input is a header line to be skipped.
+     *
+     * @param line the first line
+     * @return true if the line is a header
+     */
+    public abstract boolean isHeader(String line);
+
+    /**
+     * Parses a line into an import row without validating its values.
+     *
+     * @param lineNumber the 1-based number of the line in the input
+     * @param line       the line
+     * @return the row, or null if the line is malformed
+     */
+    public abstract UserImportRow parse(long lineNumber, String line);
+
+    /**
+     * Resolves the format of the given content type, ignoring its parameters such as the charset.
+     *
+     * @param contentType the content type of the input
+     * @return the format, or null if the content type is not supported
+     */
+    public static UserImportFormat of(MediaType contentType) {
+        if (contentType == null) return null;
+        for (UserImportFormat format : values()) {
+            if (format.mediaType.equalsTypeAndSubtype(contentType)) return format;
+        }
+        return null;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') field.append(c);
+                else if (i + 1 < line.length() && line.charAt(i + 1) == '"') field.append(line.charAt(++i));
+                else quoted = false;
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        if (quoted) return null;
+        fields.add(field.toString());
+        return fields;
+    }
+
+}
@@ -0,0 +1,253 @@
+package pl.derleta.authorization.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import pl.derleta.authorization.config.concurrency.ExecutionConfig;
+import pl.derleta.authorization.domain.model.User;
+import pl.derleta.authorization.domain.model.UserImportError;
+import pl.derleta.authorization.domain.request.UserImportRow;
+import pl.derleta.authorization.domain.request.UserRoleAssignmentRequest;
+import pl.derleta.authorization.domain.response.UserImportResponse;
+import pl.derleta.authorization.domain.types.UserImportStatus;
+import pl.derleta.authorization.repository.impl.UserRepository;
+import pl.derleta.authorization.repository.impl.UserRoleRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Service importing users in bulk from a stream of CSV or NDJSON lines.
+ * <p>
+ * The input is read in chunks of {@code app.users.import.chunk-size} rows. The passwords of a chunk are hashed
+ * in parallel on the {@link ExecutionConfig#USER_IMPORT_HASHING_EXECUTOR} pool while the previous chunk is
+ * written, and every chunk is written in its own transaction: one query each for taken usernames and emails,
+ * then batched inserts of the users and of their default role mappings. An import of many users is therefore
+ * bounded by hashing rather than by database round trips. A chunk whose reserved identifiers are taken by a
+ * concurrent registration is rolled back and written again with a fresh range.
+ * <p>
+ * Rejected rows do not stop the import; they are counted and reported with their line numbers. Chunks already
+ * written stay imported if a later chunk fails.
+ */
+@Service
+public class UserImportService {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    public static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int DEFAULT_ROLE_ID = 1;
+
+    private UserRepository userRepository;
+    private UserRoleRepository userRoleRepository;
+    private PasswordEncoder passwordEncoder;
+    private ExecutorService hashingExecutor;
+    private TransactionOperations transactions = TransactionOperations.withoutTransaction();
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    @Autowired
+    public void setUserRepository(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Autowired
+    public void setUserRoleRepository(UserRoleRepository userRoleRepository) {
+        this.userRoleRepository = userRoleRepository;
+    }
+
+    @Autowired
+    public void setPasswordEncoder(PasswordEncoder passwordEncoder) {
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Autowired
+    public void setHashingExecutor(@Qualifier(ExecutionConfig.USER_IMPORT_HASHING_EXECUTOR) ExecutorService hashingExecutor) {
+        this.hashingExecutor = hashingExecutor;
+    }
+
+    @Autowired
+    public void setTransactions(TransactionOperations transactions) {
+        this.transactions = transactions;
+    }
+
+    @Autowired
+    public void setChunkSize(@Value("${app.users.import.chunk-size:" + DEFAULT_CHUNK_SIZE + "}") int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("Import chunk size must be positive");
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports the users read from the given input. Imported users are neither verified nor blocked
+     * and are assigned the default user role.
+     *
+     * @param reader the input, one user per line
+     * @param format the format of the lines
+     * @return the numbers of imported and rejected rows, with the first {@value #MAX_REPORTED_ERRORS} rejected rows
+     * @throws IOException if the input cannot be read
+     */
+    public UserImportResponse importUsers(final BufferedReader reader, final UserImportFormat format) throws IOException {
+        Progress progress = new Progress();
+        List<UserImportRow> rows = new ArrayList<>(chunkSize);
+        Chunk pending = null;
+        try {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || lineNumber == 1 && format.isHeader(line)) continue;
+                UserImportRow row = format.parse(lineNumber, line);
+                if (row == null) {
+                    progress.reject(new UserImportRow(lineNumber, null, null, null), UserImportStatus.MALFORMED);
+                    continue;
+                }
+                rows.add(row);
+                if (rows.size() == chunkSize) {
+                    Chunk previous = pending;
+                    pending = hash(rows, progress);
+                    if (previous != null) write(previous, progress);
+                    rows = new ArrayList<>(chunkSize);
+                }
+            }
+            Chunk previous = pending;
+            pending = hash(rows, progress);
+            if (previous != null) write(previous, progress);
+            write(pending, progress);
+        } catch (IOException | RuntimeException e) {
+            if (pending != null) pending.cancel();
+            throw e;
+        }
+        return progress.toResponse();
+    }
+
+    /**
+     * Validates the rows of a chunk and submits the hashing of their passwords.
+     * Rows repeating a username or email of an earlier row of the chunk are rejected as duplicates.
+     */
+    private Chunk hash(final List<UserImportRow> rows, final Progress progress) {
+        List<UserImportRow> accepted = new ArrayList<>(rows.size());
+        List<CompletableFuture<String>> hashes = new ArrayList<>(rows.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (UserImportRow row : rows) {
+            UserImportRow normalized = normalize(row);
+            if (normalized == null) {
+                progress.reject(row, UserImportStatus.INVALID);
+            } else if (!usernames.add(key(normalized.username())) | !emails.add(key(normalized.email()))) {
+                progress.reject(row, UserImportStatus.DUPLICATE);
+            } else {
+                accepted.add(normalized);
+                String password = normalized.password();
+                hashes.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), hashingExecutor));
+            }
+        }
+        return new Chunk(accepted, hashes);
+    }
+
+    /**
+     * Writes the rows of a chunk that are not taken yet, within a single transaction that is repeated
+     * when a concurrent insert takes one of the reserved identifiers, see {@link IdRangeTransactions}.
+     */
+    private void write(final Chunk chunk, final Progress progress) {
+        if (chunk.rows().isEmpty()) return;
+        List<String> hashes = chunk.join();
+        progress.add(IdRangeTransactions.execute(transactions, status -> {
+            Progress written = new Progress();
+            Set<String> takenUsernames = userRepository.findExistingUsernames(chunk.rows().stream().map(UserImportRow::username).toList());
+            Set<String> takenEmails = userRepository.findExistingEmails(chunk.rows().stream().map(UserImportRow::email).toList());
+            List<User> users = new ArrayList<>(chunk.rows().size());
+            for (int i = 0; i < chunk.rows().size(); i++) {
+                UserImportRow row = chunk.rows().get(i);
+                if (takenUsernames.contains(key(row.username()))) {
+                    written.reject(row, UserImportStatus.USERNAME_EXISTS);
+                } else if (takenEmails.contains(key(row.email()))) {
+                    written.reject(row, UserImportStatus.EMAIL_EXISTS);
+                } else {
+                    users.add(new User(0, row.username(), hashes.get(i), row.email()));
+                }
+            }
+            if (users.isEmpty()) return written;
+            long firstUserId = nextId(userRepository.getNextUserId());
+            long firstUserRoleId = nextId(userRoleRepository.getNextId());
+            userRepository.saveAll(firstUserId, users);
+            List<UserRoleAssignmentRequest> assignments = new ArrayList<>(users.size());
+            for (int i = 0; i < users.size(); i++) {
+                assignments.add(new UserRoleAssignmentRequest(firstUserId + i, DEFAULT_ROLE_ID));
+            }
+            userRoleRepository.saveAll(firstUserRoleId, assignments);
+            written.imported += users.size();
+            return written;
+        }));
+    }
+
+    private static UserImportRow normalize(final UserImportRow row) {
+        if (row.username() == null || row.email() == null || row.password() == null) return null;
+        String username = row.username().trim();
+        String email = row.email().trim();
+        if (username.isEmpty() || row.password().isBlank() || email.indexOf('@') < 1 || email.endsWith("@")) return null;
+        return new UserImportRow(row.line(), username, email, row.password());
+    }
+
+    private static String key(final String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static long nextId(final Long id) {
+        return id == null ? 1 : id;
+    }
+
+    private record Chunk(List<UserImportRow> rows, List<CompletableFuture<String>> hashes) {
+
+        List<String> join() {
+            try {
+                return hashes.stream().map(CompletableFuture::join).toList();
+            } catch (CompletionException e) {
+                cancel();
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+        }
+
+        void cancel() {
+            hashes.forEach(hash -> hash.cancel(false));
+        }
+
+    }
+
+    private static final class Progress {
+
+        private final List<UserImportError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        void reject(final UserImportRow row, final UserImportStatus status) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new UserImportError(row.line(), row.username(), row.email(), status));
+            }
+        }
+
+        void add(final Progress other) {
+            imported += other.imported;
+            failed += other.failed;
+            for (UserImportError error : other.errors) {
+                if (errors.size() == MAX_REPORTED_ERRORS) break;
+                errors.add(error);
+            }
+        }
+
+        UserImportResponse toResponse() {
+            return new UserImportResponse(imported, failed, List.copyOf(errors));
+        }
+
+    }
+
+}
@@ -5,14 +5,24 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 import pl.derleta.authorization.controller.mapper.UserRoleApiMapper;
 import pl.derleta.authorization.domain.entity.UserRoleEntity;
 import pl.derleta.authorization.domain.model.UserRole;
+import pl.derleta.authorization.domain.model.UserRoleBulkResult;
+import pl.derleta.authorization.domain.request.UserRoleAssignmentRequest;
+import pl.derleta.authorization.domain.types.UserRoleBulkStatus;
+import pl.derleta.authorization.repository.PageQueryExecutor;
 import pl.derleta.authorization.repository.impl.UserRoleRepository;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * A service class responsible for managing user-role associations.
@@ -24,12 +34,24 @@ import java.util.List;
 public class UserRoleService {
 
     private UserRoleRepository repository;
+    private PageQueryExecutor pageQueries = PageQueryExecutor.sequential();
+    private TransactionOperations transactions = TransactionOperations.withoutTransaction();
 
     @Autowired
     public void setRepository(UserRoleRepository repository) {
         this.repository = repository;
     }
 
+    @Autowired
+    public void setPageQueries(PageQueryExecutor pageQueries) {
+        this.pageQueries = pageQueries;
+    }
+
+    @Autowired
+    public void setTransactions(TransactionOperations transactions) {
+        this.transactions = transactions;
+    }
+
     /**
      * Retrieves a paginated, filtered, and sorted page of user-role data.
      *
@@ -47,11 +69,12 @@ public class UserRoleService {
         int offset = page * size;
         String sortByParam = getSortByParam(sortBy);
         String sortOrderParam = sortOrder.equalsIgnoreCase("desc") ? "DESC" : "ASC";
-        List<UserRole> collection = UserRoleApiMapper.toUserRolesList(
-                repository.getSortedPageWithFilters(offset, size, sortByParam, sortOrderParam, usernameFilter, emailFilter, roleNameFilter)
+        return pageQueries.getPage(pageable,
+                () -> UserRoleApiMapper.toUserRolesList(
+                        repository.getSortedPageWithFilters(offset, size, sortByParam, sortOrderParam, usernameFilter, emailFilter, roleNameFilter)
+                ),
+                () -> repository.getFiltersCount(usernameFilter, emailFilter, roleNameFilter)
         );
-        long filteredColSize = repository.getFiltersCount(usernameFilter, emailFilter, roleNameFilter);
-        return PageableExecutionUtils.getPage(collection, pageable, () -> filteredColSize);
     }
 
     /**
@@ -98,6 +121,122 @@ public class UserRoleService {
         return false;
     }
 
+    /**
+     * Assigns roles to users in bulk. All pairs are validated against the users, roles and existing
+     * mappings with set-based lookups, identifiers for the new mappings are reserved with a single
+     * query, and the mappings are inserted with batched statements in one transaction. When a concurrent
+     * insert takes a reserved identifier, the transaction is repeated, see {@link IdRangeTransactions}.
+     *
+     * @param assignments the user and role pairs to assign
+     * @return one result per requested pair, in request order
+     */
+    public List<UserRoleBulkResult> saveAll(final List<UserRoleAssignmentRequest> assignments) {
+        return IdRangeTransactions.execute(transactions, status -> assign(assignments));
+    }
+
+    private List<UserRoleBulkResult> assign(final List<UserRoleAssignmentRequest> assignments) {
+        UserRoleBulkStatus[] statuses = new UserRoleBulkStatus[assignments.size()];
+        Set<Long> userIds = new LinkedHashSet<>();
+        Set<Integer> roleIds = new LinkedHashSet<>();
+        markInvalidAndDuplicates(assignments, statuses, userIds, roleIds);
+
+        Map<Long, Set<Integer>> assignedRoles = userIds.isEmpty() ? Map.of() : repository.findRoleIdsByUserIds(userIds);
+        Set<Integer> existingRoles = roleIds.isEmpty() ? Set.of() : repository.findExistingRoleIds(roleIds);
+
+        List<UserRoleAssignmentRequest> toInsert = new ArrayList<>();
+        for (int i = 0; i < statuses.length; i++) {
+            if (statuses[i] != null) continue;
+            UserRoleAssignmentRequest assignment = assignments.get(i);
+            Set<Integer> roles = assignedRoles.get(assignment.userId());
+            if (roles == null) statuses[i] = UserRoleBulkStatus.USER_NOT_FOUND;
+            else if (!existingRoles.contains(assignment.roleId())) statuses[i] = UserRoleBulkStatus.ROLE_NOT_FOUND;
+            else if (roles.contains(assignment.roleId())) statuses[i] = UserRoleBulkStatus.ALREADY_ASSIGNED;
+            else {
+                statuses[i] = UserRoleBulkStatus.ASSIGNED;
+                toInsert.add(assignment);
+            }
+        }
+
+        long nextId = 0;
+        if (!toInsert.isEmpty()) {
+            Long reserved = repository.getNextId();
+            nextId = reserved == null ? 1 : reserved;
+            repository.saveAll(nextId, toInsert);
+        }
+
+        List<UserRoleBulkResult> results = new ArrayList<>(statuses.length);
+        for (int i = 0; i < statuses.length; i++) {
+            UserRoleAssignmentRequest assignment = assignments.get(i);
+            Long userRoleId = statuses[i] == UserRoleBulkStatus.ASSIGNED ? nextId++ : null;
+            results.add(toResult(assignment, userRoleId, statuses[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Revokes roles from users in bulk. Existing mappings are looked up with set-based queries and
+     * only the pairs that are actually assigned are deleted, with batched statements in one transaction.
+     *
+     * @param assignments the user and role pairs to revoke
+     * @return one result per requested pair, in request order
+     */
+    @Transactional
+    public List<UserRoleBulkResult> deleteAll(final List<UserRoleAssignmentRequest> assignments) {
+        UserRoleBulkStatus[] statuses = new UserRoleBulkStatus[assignments.size()];
+        Set<Long> userIds = new LinkedHashSet<>();
+        markInvalidAndDuplicates(assignments, statuses, userIds, new HashSet<>());
+
+        Map<Long, Set<Integer>> assignedRoles = userIds.isEmpty() ? Map.of() : repository.findRoleIdsByUserIds(userIds);
+
+        List<UserRoleAssignmentRequest> toDelete = new ArrayList<>();
+        for (int i = 0; i < statuses.length; i++) {
+            if (statuses[i] != null) continue;
+            UserRoleAssignmentRequest assignment = assignments.get(i);
+            Set<Integer> roles = assignedRoles.getOrDefault(assignment.userId(), Set.of());
+            if (roles.contains(assignment.roleId())) {
+                statuses[i] = UserRoleBulkStatus.REVOKED;
+                toDelete.add(assignment);
+            } else {
+                statuses[i] = UserRoleBulkStatus.NOT_ASSIGNED;
+            }
+        }
+        if (!toDelete.isEmpty()) {
+            repository.deleteAll(toDelete);
+        }
+
+        List<UserRoleBulkResult> results = new ArrayList<>(statuses.length);
+        for (int i = 0; i < statuses.length; i++) {
+            results.add(toResult(assignments.get(i), null, statuses[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Marks pairs with missing identifiers as invalid and repeated pairs as duplicates of their first
+     * occurrence, collecting the user and role IDs of the remaining pairs.
+     */
+    private static void markInvalidAndDuplicates(final List<UserRoleAssignmentRequest> assignments, final UserRoleBulkStatus[] statuses,
+                                                 final Set<Long> userIds, final Set<Integer> roleIds) {
+        Set<UserRoleAssignmentRequest> seen = new HashSet<>();
+        for (int i = 0; i < statuses.length; i++) {
+            UserRoleAssignmentRequest assignment = assignments.get(i);
+            if (assignment == null || assignment.userId() == null || assignment.roleId() == null) {
+                statuses[i] = UserRoleBulkStatus.INVALID;
+            } else if (!seen.add(assignment)) {
+                statuses[i] = UserRoleBulkStatus.DUPLICATE;
+            } else {
+                userIds.add(assignment.userId());
+                roleIds.add(assignment.roleId());
+            }
+        }
+    }
+
+    private static UserRoleBulkResult toResult(final UserRoleAssignmentRequest assignment, final Long userRoleId, final UserRoleBulkStatus status) {
+        return assignment == null
+                ? new UserRoleBulkResult(null, null, null, status)
+                : new UserRoleBulkResult(assignment.userId(), assignment.roleId(), userRoleId, status);
+    }
+
     /**
      * Returns the corresponding database column name for a given sort parameter.
      *
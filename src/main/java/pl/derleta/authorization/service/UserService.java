@@ -5,14 +5,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import pl.derleta.authorization.config.security.jwt.TokenRevocationRegistry;
 import pl.derleta.authorization.controller.mapper.UserApiMapper;
 import pl.derleta.authorization.domain.entity.UserEntity;
 import pl.derleta.authorization.domain.model.User;
+import pl.derleta.authorization.repository.PageQueryExecutor;
 import pl.derleta.authorization.repository.impl.UserRepository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service class for managing user-related operations.
@@ -23,12 +28,24 @@ import java.util.List;
 public class UserService {
 
     private UserRepository repository;
+    private TokenRevocationRegistry revocations;
+    private PageQueryExecutor pageQueries = PageQueryExecutor.sequential();
 
     @Autowired
     public void setRepository(UserRepository repository) {
         this.repository = repository;
     }
 
+    @Autowired
+    public void setRevocations(TokenRevocationRegistry revocations) {
+        this.revocations = revocations;
+    }
+
+    @Autowired
+    public void setPageQueries(PageQueryExecutor pageQueries) {
+        this.pageQueries = pageQueries;
+    }
+
     /**
      * Retrieves a paginated and optionally filtered list of users.
      * The method applies sorting and filtering criteria to fetch the required subset of users.
@@ -46,11 +63,12 @@ public class UserService {
         int offset = page * size;
         String sortByParam = getSortByParam(sortBy);
         String sortOrderParam = sortOrder.equalsIgnoreCase("desc") ? "DESC" : "ASC";
-        List<User> collection = UserApiMapper.toUsers(
-                repository.getSortedPageWithFilters(offset, size, sortByParam, sortOrderParam, usernameFilter, emailFilter)
+        return pageQueries.getPage(pageable,
+                () -> UserApiMapper.toUsers(
+                        repository.getSortedPageWithFilters(offset, size, sortByParam, sortOrderParam, usernameFilter, emailFilter)
+                ),
+                () -> repository.getFiltersCount(usernameFilter, emailFilter)
         );
-        long filteredColSize = repository.getFiltersCount(usernameFilter, emailFilter);
-        return PageableExecutionUtils.getPage(collection, pageable, () -> filteredColSize);
     }
 
     /**
@@ -67,6 +85,33 @@ public class UserService {
         return UserApiMapper.toUser(entity);
     }
 
+    /**
+     * Retrieves the users matching any of the given IDs or email addresses in one repository call.
+     * Duplicate and null values are ignored.
+     *
+     * @param userIds the IDs of the users to retrieve; may be null
+     * @param emails  the email addresses of the users to retrieve; may be null
+     * @return the matching users, each at most once
+     */
+    public List<User> getAll(final Collection<Long> userIds, final Collection<String> emails) {
+        Set<Long> distinctIds = distinct(userIds);
+        Set<String> distinctEmails = distinct(emails);
+        if (distinctIds.isEmpty() && distinctEmails.isEmpty()) {
+            return List.of();
+        }
+        return repository.findByIdsOrEmails(distinctIds, distinctEmails).stream()
+                .map(UserApiMapper::toUser)
+                .toList();
+    }
+
+    private static <T> Set<T> distinct(final Collection<T> values) {
+        Set<T> result = new LinkedHashSet<>();
+        if (values != null) {
+            for (T value : values) if (value != null) result.add(value);
+        }
+        return result;
+    }
+
     /**
      * Saves a user to the repository and retrieves the saved user.
      * This method assigns a new unique ID to the user, persists the user in the repository,
@@ -115,6 +160,21 @@ public class UserService {
         return false;
     }
 
+    /**
+     * Revokes every access and refresh token issued to the user with the specified ID so far.
+     * Tokens issued before the returned instant are rejected on authentication and on refresh.
+     *
+     * @param userId the ID of the user whose tokens are revoked
+     * @return the instant before which the user's tokens are revoked, or null if the user was not found
+     */
+    public Instant revokeTokens(final long userId) {
+        UserEntity entity = repository.findById(userId);
+        if (entity != null && entity.getUserId() > 0) {
+            return revocations.revokeAll(userId);
+        }
+        return null;
+    }
+
     /**
      * Determines the appropriate parameter for sorting based on the provided sort key.
      * If the provided sort key matches "username" or "email" (case-insensitive),
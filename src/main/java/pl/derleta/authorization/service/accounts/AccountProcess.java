@@ -9,7 +9,9 @@ import pl.derleta.authorization.domain.request.Request;
  * Interface defining the process for account-related operations, allowing
  * various implementations for different use cases. It provides methods to
  * check, update, and save account requests, with default behavior for update
- * and save operations that are unsupported unless overridden.
+ * and save operations that are unsupported unless overridden. The variants taking
+ * an {@link AccountWorkflowContext} let the steps of one operation share the account
+ * loaded by the check.
  */
 @Service
 public interface AccountProcess {
@@ -24,4 +26,38 @@ public interface AccountProcess {
         throw new UnsupportedOperationException("Save operation not supported");
     }
 
+    /**
+     * Checks the request as part of an account operation whose steps share the given context.
+     * Processes that read the account override it to keep the loaded account in the context.
+     *
+     * @param request the request to check
+     * @param context the context of the account operation
+     * @return the result of the check
+     */
+    default AccountResponse check(Request request, AccountWorkflowContext context) {
+        return check(request);
+    }
+
+    /**
+     * Updates the account as part of an account operation whose steps share the given context.
+     *
+     * @param request the request describing the update
+     * @param context the context of the account operation
+     * @return the result of the update
+     */
+    default AccountResponse update(Request request, AccountWorkflowContext context) {
+        return update(request);
+    }
+
+    /**
+     * Saves the request as part of an account operation whose steps share the given context.
+     *
+     * @param request the request to save
+     * @param context the context of the account operation
+     * @return the saved user entity
+     */
+    default UserEntity save(Request request, AccountWorkflowContext context) {
+        return save(request);
+    }
+
 }
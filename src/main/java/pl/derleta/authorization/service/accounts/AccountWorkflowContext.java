@@ -0,0 +1,39 @@
+package pl.derleta.authorization.service.accounts;
+
+import pl.derleta.authorization.domain.entity.AccountSnapshot;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-request state of a single account operation, passed from the check step of an {@link AccountProcess}
+ * to the save, update and mail steps of the same operation.
+ * <p>
+ * It carries the {@link AccountSnapshot} of the affected user, so the user row is read once per operation instead
+ * of once per step. A context belongs to one operation and one thread; it must not be shared or reused.
+ */
+public final class AccountWorkflowContext {
+
+    private AccountSnapshot account;
+
+    /**
+     * Retrieves the account snapshot loaded for this operation, loading it with the given loader on first use.
+     * A missing account is not remembered, so a later step may retry the lookup.
+     *
+     * @param loader the lookup of the account, returning {@code null} if the account does not exist
+     * @return the account snapshot, or {@code null} if the account does not exist
+     */
+    public AccountSnapshot account(final Supplier<AccountSnapshot> loader) {
+        if (account == null) account = loader.get();
+        return account;
+    }
+
+    /**
+     * Retrieves the account snapshot loaded for this operation.
+     *
+     * @return the account snapshot, or {@code null} if no account has been loaded yet
+     */
+    public AccountSnapshot account() {
+        return account;
+    }
+
+}
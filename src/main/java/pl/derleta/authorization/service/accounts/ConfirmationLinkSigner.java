@@ -0,0 +1,174 @@
+package pl.derleta.authorization.service.accounts;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pl.derleta.authorization.domain.entity.UserEntity;
+import pl.derleta.authorization.domain.entity.token.ConfirmationTokenEntity;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Issuer and verifier of stateless, HMAC-signed confirmation links.
+ * <p>
+ * A signed token carries the user id, the purpose of the link, its expiry and the user's security stamp at the
+ * time of issue, followed by an HMAC-SHA256 of these claims under the server key
+ * ({@code app.accounts.confirmation.signing-key}, Base64 encoded). Nothing is stored in the
+ * {@code confirmation_tokens} table: confirming a signed link only verifies the signature and applies an update
+ * conditional on the security stamp, so a link is used up once the stamp changes.
+ * <p>
+ * Signed links are issued instead of table tokens when {@code app.accounts.confirmation.mode} is {@code signed}.
+ * They are verified whenever a key is configured, so links already sent stay valid when the mode is switched back.
+ */
+@Component
+public class ConfirmationLinkSigner {
+
+    public static final Duration LINK_VALIDITY = Duration.ofHours(1);
+
+    private static final String VERSION_PREFIX = "s1.";
+    private static final String PURPOSE = "confirm-account";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final boolean issuing;
+    private final Clock clock;
+
+    /**
+     * Signed claims of a verified confirmation link.
+     *
+     * @param userId        the unique identifier of the user to confirm
+     * @param securityStamp the security stamp of the user when the link was issued
+     * @param expiresAt     the instant after which the link is no longer valid
+     */
+    public record Claims(long userId, long securityStamp, Instant expiresAt) {
+    }
+
+    @Autowired
+    public ConfirmationLinkSigner(@Value("${app.accounts.confirmation.mode:table}") String mode,
+                                  @Value("${app.accounts.confirmation.signing-key:}") String signingKey) {
+        this(signingKey == null || signingKey.isBlank() ? null : Base64.getDecoder().decode(signingKey.trim()),
+                isSignedMode(mode), Clock.systemUTC());
+    }
+
+    ConfirmationLinkSigner(byte[] key, boolean issuing, Clock clock) {
+        if (issuing && key == null) throw new IllegalStateException("Signed confirmation links require a signing key");
+        if (key != null && key.length < 32) throw new IllegalArgumentException("Signing key must have at least 256 bits");
+        this.key = key == null ? null : new SecretKeySpec(key, ALGORITHM);
+        this.issuing = issuing;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a signer that neither issues nor verifies signed links. Processes use it until the shared signer is bound.
+     *
+     * @return the disabled signer
+     */
+    public static ConfirmationLinkSigner disabled() {
+        return new ConfirmationLinkSigner(null, false, Clock.systemUTC());
+    }
+
+    /**
+     * Indicates whether confirmation links are issued as signed tokens instead of rows of the token table.
+     *
+     * @return {@code true} if signed links are issued
+     */
+    public boolean isIssuing() {
+        return issuing;
+    }
+
+    /**
+     * Indicates whether the token is a signed link this signer can verify.
+     *
+     * @param token the token value presented by the user
+     * @return {@code true} if a key is configured and the token has the format of a signed link
+     */
+    public boolean isSigned(String token) {
+        return key != null && token != null && token.startsWith(VERSION_PREFIX);
+    }
+
+    /**
+     * Issues a signed confirmation link for the user. The returned entity carries the user id as its token id,
+     * so verification mails render it like a table token.
+     *
+     * @param user          the user to confirm
+     * @param securityStamp the current security stamp of the user
+     * @return the signed confirmation token, not stored in the database
+     */
+    public ConfirmationTokenEntity sign(UserEntity user, long securityStamp) {
+        if (key == null) throw new IllegalStateException("Signing key is not configured");
+        Instant expiresAt = clock.instant().plus(LINK_VALIDITY);
+        String claims = PURPOSE + ":" + user.getUserId() + ":" + securityStamp + ":" + expiresAt.getEpochSecond();
+        String unsigned = VERSION_PREFIX + ENCODER.encodeToString(claims.getBytes(StandardCharsets.US_ASCII));
+        String token = unsigned + "." + ENCODER.encodeToString(mac(unsigned));
+        return new ConfirmationTokenEntity(user.getUserId(), user, token, Timestamp.from(expiresAt));
+    }
+
+    /**
+     * Verifies the signature and purpose of a signed link issued for the given id. Expiry is reported through
+     * {@link Claims#expiresAt()} and checked by {@link #isExpired(Claims)}.
+     *
+     * @param tokenId the token id of the link, which is the id of the user
+     * @param token   the signed token
+     * @return an {@code Optional} containing the claims, or an empty {@code Optional} if the token is malformed,
+     * its signature does not match or it was issued for another user or purpose
+     */
+    public Optional<Claims> verify(long tokenId, String token) {
+        if (!isSigned(token)) return Optional.empty();
+        int separator = token.lastIndexOf('.');
+        if (separator <= VERSION_PREFIX.length()) return Optional.empty();
+        String unsigned = token.substring(0, separator);
+        try {
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(mac(unsigned), signature)) return Optional.empty();
+            String[] parts = new String(DECODER.decode(unsigned.substring(VERSION_PREFIX.length())), StandardCharsets.US_ASCII).split(":");
+            if (parts.length != 4 || !PURPOSE.equals(parts[0])) return Optional.empty();
+            long userId = Long.parseLong(parts[1]);
+            if (userId != tokenId) return Optional.empty();
+            return Optional.of(new Claims(userId, Long.parseLong(parts[2]), Instant.ofEpochSecond(Long.parseLong(parts[3]))));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Indicates whether the link with the given claims has expired.
+     *
+     * @param claims the verified claims
+     * @return {@code true} if the expiry has passed
+     */
+    public boolean isExpired(Claims claims) {
+        return !clock.instant().isBefore(claims.expiresAt());
+    }
+
+    private static boolean isSignedMode(String mode) {
+        return switch (mode == null ? "table" : mode.trim().toLowerCase(Locale.ROOT)) {
+            case "signed" -> true;
+            case "table" -> false;
+            default -> throw new IllegalArgumentException("Unknown confirmation mode: " + mode);
+        };
+    }
+
+    private byte[] mac(String value) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(value.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign confirmation link", e);
+        }
+    }
+
+}
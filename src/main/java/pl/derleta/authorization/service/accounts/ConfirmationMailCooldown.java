@@ -0,0 +1,92 @@
+package pl.derleta.authorization.service.accounts;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user cooldown of verification mails.
+ * <p>
+ * A user is sent at most one verification mail within the cooldown window
+ * ({@code app.accounts.confirmation.mail-cooldown-ms}); further requests within the window are acknowledged
+ * without sending, as the user already holds a valid link. Only the time of the last mail per user is kept,
+ * and entries older than the window are swept once many users are tracked.
+ */
+@Component
+public class ConfirmationMailCooldown {
+
+    public static final long DEFAULT_COOLDOWN_MILLIS = 60_000;
+    private static final int SWEEP_THRESHOLD = 1_024;
+
+    private final Map<Long, Long> lastSentNanos = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final long windowNanos;
+
+    @Autowired
+    public ConfirmationMailCooldown(@Value("${app.accounts.confirmation.mail-cooldown-ms:" + DEFAULT_COOLDOWN_MILLIS + "}") long cooldownMillis) {
+        this(cooldownMillis, System::nanoTime);
+    }
+
+    ConfirmationMailCooldown(long cooldownMillis, LongSupplier nanoClock) {
+        if (cooldownMillis < 0) throw new IllegalArgumentException("Cooldown must not be negative");
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(cooldownMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Creates a cooldown that never suppresses a mail. Processes use it until the shared cooldown is bound.
+     *
+     * @return the cooldown allowing every mail
+     */
+    public static ConfirmationMailCooldown none() {
+        return new ConfirmationMailCooldown(0, System::nanoTime);
+    }
+
+    /**
+     * Records a mail to the given user unless the user was sent one within the cooldown window.
+     *
+     * @param userId the unique identifier of the user
+     * @return {@code true} if the mail should be sent, {@code false} if it falls within the cooldown window
+     */
+    public boolean tryAcquire(long userId) {
+        if (windowNanos == 0) return true;
+        long now = nanoClock.getAsLong();
+        boolean[] acquired = new boolean[1];
+        lastSentNanos.compute(userId, (id, sentAt) -> {
+            if (sentAt != null && now - sentAt < windowNanos) return sentAt;
+            acquired[0] = true;
+            return now;
+        });
+        if (acquired[0] && lastSentNanos.size() > SWEEP_THRESHOLD) sweep(now);
+        return acquired[0];
+    }
+
+    /**
+     * Forgets the last mail to the given user, so the next request is not suppressed.
+     * Used when the mail acquired by {@link #tryAcquire(long)} could not be sent.
+     *
+     * @param userId the unique identifier of the user
+     */
+    public void release(long userId) {
+        lastSentNanos.remove(userId);
+    }
+
+    /**
+     * Retrieves the number of tracked users, including expired entries not yet swept.
+     *
+     * @return the number of tracked users
+     */
+    public int size() {
+        return lastSentNanos.size();
+    }
+
+    private void sweep(long now) {
+        lastSentNanos.values().removeIf(sentAt -> now - sentAt >= windowNanos);
+    }
+
+}
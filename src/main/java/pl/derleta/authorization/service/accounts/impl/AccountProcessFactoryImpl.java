@@ -2,13 +2,17 @@ package pl.derleta.authorization.service.accounts.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import pl.derleta.authorization.config.mail.EmailService;
 import pl.derleta.authorization.repository.RepositoryClass;
 import pl.derleta.authorization.service.accounts.AccountProcess;
 import pl.derleta.authorization.service.accounts.AccountProcessFactory;
+import pl.derleta.authorization.service.accounts.ConfirmationLinkSigner;
+import pl.derleta.authorization.service.accounts.ConfirmationMailCooldown;
 import pl.derleta.authorization.domain.types.AccountProcessType;
 import pl.derleta.authorization.service.accounts.process.*;
+import pl.derleta.authorization.utils.MailGenerator;
 
 import java.util.Set;
 
@@ -41,6 +45,30 @@ public class AccountProcessFactoryImpl implements AccountProcessFactory {
         this.applicationContext = applicationContext;
     }
 
+    private MailGenerator mailGenerator;
+    private PasswordEncoder passwordEncoder;
+    private ConfirmationMailCooldown mailCooldown;
+    private ConfirmationLinkSigner linkSigner;
+
+    @Autowired
+    public void setMailGenerator(MailGenerator mailGenerator) {
+        this.mailGenerator = mailGenerator;
+    }
+
+    @Autowired
+    public void setMailCooldown(ConfirmationMailCooldown mailCooldown) {
+        this.mailCooldown = mailCooldown;
+    }
+
+    @Autowired
+    public void setLinkSigner(ConfirmationLinkSigner linkSigner) {
+        this.linkSigner = linkSigner;
+    }
+
+    @Autowired
+    public void setPasswordEncoder(PasswordEncoder passwordEncoder) {
+        this.passwordEncoder = passwordEncoder;
+    }
 
     /**
      * Creates a new instance of a specific {@link AccountProcess} based on the provided {@link AccountProcessType}.
@@ -63,13 +91,76 @@ public class AccountProcessFactoryImpl implements AccountProcessFactory {
     @Override
     public AccountProcess create(AccountProcessType process, Set<RepositoryClass> repositoryList, EmailService emailService) {
         return switch (process) {
-            case CONFIRMATION_TOKEN -> new ConfirmationTokenProcess(repositoryList);
-            case USER_REGISTRATION -> new UserRegistrationProcess(repositoryList, emailService);
-            case UNLOCK_ACCOUNT -> new UnlockAccountProcess(repositoryList, emailService);
-            case RESET_PASSWORD -> new ResetPasswordProcess(repositoryList, emailService);
+            case CONFIRMATION_TOKEN -> withLinkSigner(new ConfirmationTokenProcess(repositoryList));
+            case USER_REGISTRATION -> withLinkSigner(withMailCooldown(withMailGenerator(new UserRegistrationProcess(repositoryList, emailService))));
+            case UNLOCK_ACCOUNT -> withLinkSigner(withMailCooldown(withMailGenerator(new UnlockAccountProcess(repositoryList, emailService))));
+            case RESET_PASSWORD -> withPasswordEncoder(withMailGenerator(new ResetPasswordProcess(repositoryList, emailService)));
             case CHANGE_PASSWORD ->
                     applicationContext.getBean(ChangePasswordProcess.class, repositoryList, emailService);
         };
     }
 
+    /**
+     * Binds the application's configured {@link MailGenerator} to a process created outside the application context,
+     * so the process renders mails with the configured templates and confirmation URL.
+     *
+     * @param process the newly created process
+     * @param <T>     the process type
+     * @return the same process instance
+     */
+    private <T> T withMailGenerator(T process) {
+        if (mailGenerator == null) return process;
+        switch (process) {
+            case CreateConfirmationProcess instance -> instance.setMailGenerator(mailGenerator);
+            case PasswordProcess instance -> instance.setMailGenerator(mailGenerator);
+            default -> {
+            }
+        }
+        return process;
+    }
+
+    /**
+     * Binds the application's shared {@link ConfirmationMailCooldown} to a confirmation process created outside
+     * the application context, so the cooldown applies across requests.
+     *
+     * @param process the newly created process
+     * @param <T>     the process type
+     * @return the same process instance
+     */
+    private <T extends CreateConfirmationProcess> T withMailCooldown(T process) {
+        if (mailCooldown != null) process.setMailCooldown(mailCooldown);
+        return process;
+    }
+
+    /**
+     * Binds the application's {@link ConfirmationLinkSigner} to a process created outside the application context,
+     * so the process issues or verifies signed confirmation links according to the configured mode.
+     *
+     * @param process the newly created process
+     * @param <T>     the process type
+     * @return the same process instance
+     */
+    private <T> T withLinkSigner(T process) {
+        if (linkSigner == null) return process;
+        switch (process) {
+            case CreateConfirmationProcess instance -> instance.setLinkSigner(linkSigner);
+            case ConfirmationTokenProcess instance -> instance.setLinkSigner(linkSigner);
+            default -> {
+            }
+        }
+        return process;
+    }
+
+    /**
+     * Binds the application's configured {@link PasswordEncoder} to a reset password process created
+     * outside the application context.
+     *
+     * @param process the newly created process
+     * @return the same process instance
+     */
+    private ResetPasswordProcess withPasswordEncoder(ResetPasswordProcess process) {
+        if (passwordEncoder != null) process.setPasswordEncoder(passwordEncoder);
+        return process;
+    }
+
 }
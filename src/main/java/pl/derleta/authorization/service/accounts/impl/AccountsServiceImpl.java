@@ -2,6 +2,9 @@ package pl.derleta.authorization.service.accounts.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.derleta.authorization.config.audit.AuditEventType;
+import pl.derleta.authorization.config.audit.AuditLog;
 import pl.derleta.authorization.config.mail.EmailService;
 import pl.derleta.authorization.controller.mapper.UserRolesApiMapper;
 import pl.derleta.authorization.domain.entity.UserRoleEntity;
@@ -20,6 +23,7 @@ import pl.derleta.authorization.repository.impl.UserRoleRepository;
 import pl.derleta.authorization.repository.impl.UserRolesRepository;
 import pl.derleta.authorization.service.accounts.*;
 import pl.derleta.authorization.service.accounts.process.ChangePasswordProcess;
+import pl.derleta.authorization.service.accounts.process.ConfirmationTokenProcess;
 import pl.derleta.authorization.service.accounts.process.CreateConfirmationProcess;
 import pl.derleta.authorization.service.accounts.process.ResetPasswordProcess;
 
@@ -34,6 +38,10 @@ import java.util.Set;
  * account confirmation, user role retrieval, account unlocking, password reset,
  * and password update. Dependencies are injected into this class using the `@Autowired`
  * annotation to follow the dependency injection pattern.
+ * <p>
+ * Unlocking, password reset and password change pass one {@link AccountWorkflowContext} through all steps
+ * of the operation, so the user row is read once per operation. Account confirmations, password resets and
+ * password changes are recorded in the {@link AuditLog}.
  */
 @Service
 public class AccountsServiceImpl implements AccountsService {
@@ -52,6 +60,13 @@ public class AccountsServiceImpl implements AccountsService {
         this.emailService = emailService;
     }
 
+    private AuditLog auditLog = AuditLog.disabled();
+
+    @Autowired
+    public void setAuditLog(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
     private UserRepository userRepository;
 
     @Autowired
@@ -119,17 +134,29 @@ public class AccountsServiceImpl implements AccountsService {
 
     /**
      * Confirms the user based on the provided confirmation request.
+     * The token is validated and consumed and the user unlocked within one transaction.
      *
      * @param request the user confirmation request containing necessary data for the confirmation process
      * @return the response of the account confirmation process, including success status and additional details
      */
     @Override
+    @Transactional
     public AccountResponse confirm(final UserConfirmationRequest request) {
         final Set<RepositoryClass> repositories = new HashSet<>(Set.of(userRepository, userRoleRepository, confirmationTokenRepository));
         AccountProcess accountProcess = accountProcessFactory.create(AccountProcessType.CONFIRMATION_TOKEN, repositories, emailService);
-        AccountResponse status = accountProcess.check(request);
-        if (!status.isSuccess()) return status;
-        return accountProcess.update(request);
+        AccountResponse response;
+        long userId = 0;
+        if (accountProcess instanceof ConfirmationTokenProcess instance) {
+            ConfirmationTokenProcess.Confirmation confirmation = instance.confirmAccount(request);
+            response = confirmation.response();
+            userId = confirmation.userId();
+        } else {
+            AccountResponse status = accountProcess.check(request);
+            if (!status.isSuccess()) return status;
+            response = accountProcess.update(request);
+        }
+        if (response.isSuccess()) auditLog.record(AuditEventType.ACCOUNT_UNLOCKED, userId, "token:" + request.tokenId());
+        return response;
     }
 
     /**
@@ -142,10 +169,11 @@ public class AccountsServiceImpl implements AccountsService {
     public AccountResponse unlock(final UserUnlockRequest request) {
         final Set<RepositoryClass> repositories = new HashSet<>(Set.of(userRepository, userRoleRepository, confirmationTokenRepository));
         AccountProcess accountProcess = accountProcessFactory.create(AccountProcessType.UNLOCK_ACCOUNT, repositories, emailService);
-        AccountResponse status = accountProcess.check(request);
+        AccountWorkflowContext context = new AccountWorkflowContext();
+        AccountResponse status = accountProcess.check(request, context);
         if (!status.isSuccess()) return status;
         if (accountProcess instanceof CreateConfirmationProcess instance) {
-            UserEntity userEntity = accountProcess.save(request);
+            UserEntity userEntity = accountProcess.save(request, context);
             ConfirmationTokenEntity confirmationTokenEntity = instance.getToken(userEntity);
             return instance.sendEmail(userEntity, confirmationTokenEntity);
         }
@@ -169,10 +197,12 @@ public class AccountsServiceImpl implements AccountsService {
     public AccountResponse resetPassword(final ResetPasswordRequest request) {
         final Set<RepositoryClass> repositories = new HashSet<>(Set.of(userRepository, userRoleRepository, confirmationTokenRepository));
         AccountProcess accountProcess = accountProcessFactory.create(AccountProcessType.RESET_PASSWORD, repositories, emailService);
-        AccountResponse status = accountProcess.check(request);
+        AccountWorkflowContext context = new AccountWorkflowContext();
+        AccountResponse status = accountProcess.check(request, context);
         if (!status.isSuccess()) return status;
         if (accountProcess instanceof ResetPasswordProcess instance) {
-            UserEntity userEntity = instance.save(request);
+            UserEntity userEntity = instance.save(request, context);
+            if (userEntity != null) auditLog.record(AuditEventType.PASSWORD_RESET, userEntity.getUserId(), request.email());
             if (userEntity instanceof UserEntityDecrypted decrypted) return instance.sendMail(decrypted);
             else return new AccountResponse(false, AccountResponseType.BAD_USER_ENTITY_INSTANCE);
         }
@@ -190,11 +220,13 @@ public class AccountsServiceImpl implements AccountsService {
     public AccountResponse updatePassword(final ChangePasswordRequest request) {
         final Set<RepositoryClass> repositories = new HashSet<>(Set.of(userRepository));
         AccountProcess accountProcess = accountProcessFactory.create(AccountProcessType.CHANGE_PASSWORD, repositories, emailService);
-        AccountResponse status = accountProcess.check(request);
+        AccountWorkflowContext context = new AccountWorkflowContext();
+        AccountResponse status = accountProcess.check(request, context);
         if (!status.isSuccess()) return status;
         if (accountProcess instanceof ChangePasswordProcess instance) {
-            var result = instance.update(request);
+            var result = instance.update(request, context);
             if (result.isSuccess()) {
+                auditLog.record(AuditEventType.PASSWORD_CHANGED, request.userId(), request.email());
                 var mailResult = instance.sendMail(request.email());
                 if (mailResult.isSuccess()) return result;
             }
@@ -5,13 +5,15 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import pl.derleta.authorization.config.mail.EmailService;
-import pl.derleta.authorization.domain.entity.UserEntity;
+import pl.derleta.authorization.config.mail.template.MailTemplateVariant;
+import pl.derleta.authorization.config.mail.template.RenderedMail;
+import pl.derleta.authorization.domain.entity.AccountSnapshot;
 import pl.derleta.authorization.domain.request.ChangePasswordRequest;
 import pl.derleta.authorization.domain.request.Request;
 import pl.derleta.authorization.domain.response.AccountResponse;
 import pl.derleta.authorization.domain.types.AccountResponseType;
 import pl.derleta.authorization.repository.RepositoryClass;
-import pl.derleta.authorization.utils.MailGenerator;
+import pl.derleta.authorization.service.accounts.AccountWorkflowContext;
 
 import java.util.Set;
 
@@ -61,14 +63,27 @@ public final class ChangePasswordProcess extends PasswordProcess {
      */
     @Override
     public AccountResponse check(final Request request) {
+        return check(request, new AccountWorkflowContext());
+    }
+
+    /**
+     * Evaluates a password change request like {@link #check(Request)}, reading the account snapshot
+     * with a single query and keeping it in the context for the following {@link #update(Request, AccountWorkflowContext)}.
+     *
+     * @param request the request to be evaluated, typically an instance of ChangePasswordRequest
+     * @param context the context of the password change operation
+     * @return an AccountResponse indicating the result of the check
+     */
+    @Override
+    public AccountResponse check(final Request request, final AccountWorkflowContext context) {
         if (request instanceof ChangePasswordRequest instance) {
             final String email = instance.email();
-            UserEntity entity = userRepository.findByEmail(email);
-            if (entity == null || !entity.getEmail().equalsIgnoreCase(email))
+            AccountSnapshot account = context.account(() -> userRepository.findAccountByEmail(email));
+            if (account == null || !account.email().equalsIgnoreCase(email))
                 return new AccountResponse(false, AccountResponseType.EMAIL_NOT_EXIST_CHANGE_PASSWD);
-            if (userRepository.isBlocked(entity.getUserId()))
+            if (account.blocked())
                 return new AccountResponse(false, AccountResponseType.ACCOUNT_IS_BLOCKED_CHANGE_PASSWD);
-            if (!encoder.matches(instance.actualPassword(), entity.getPassword()))
+            if (!encoder.matches(instance.actualPassword(), account.password()))
                 return new AccountResponse(false, AccountResponseType.BAD_ACTUAL_PASSWORD_CHANGE_PASSWD);
             else return new AccountResponse(true, AccountResponseType.PASSWORD_CAN_BE_CHANGED);
         }
@@ -89,12 +104,26 @@ public final class ChangePasswordProcess extends PasswordProcess {
      */
     @Override
     public AccountResponse update(final Request request) {
+        return update(request, new AccountWorkflowContext());
+    }
+
+    /**
+     * Updates the password like {@link #update(Request)}, using the account snapshot kept in the context
+     * by the preceding check instead of reading the user again.
+     *
+     * @param request the request containing the new password information, must be an instance
+     *                of ChangePasswordRequest
+     * @param context the context of the password change operation
+     * @return an AccountResponse indicating the result of the update operation
+     */
+    @Override
+    public AccountResponse update(final Request request, final AccountWorkflowContext context) {
         if (request instanceof ChangePasswordRequest instance) {
             final String email = instance.email();
-            UserEntity entity = userRepository.findByEmail(email);
-            final long userId = entity.getUserId();
+            AccountSnapshot account = context.account(() -> userRepository.findAccountByEmail(email));
+            if (account == null) return new AccountResponse(false, AccountResponseType.PASSWORD_NOT_CHANGED);
             String encrypted = encoder.encode(instance.newPassword());
-            userRepository.updatePassword(userId, encrypted);
+            userRepository.updatePassword(account.userId(), encrypted);
             return new AccountResponse(true, AccountResponseType.PASSWORD_CHANGED);
         }
         return new AccountResponse(false, AccountResponseType.PASSWORD_NOT_CHANGED);
@@ -108,10 +137,8 @@ public final class ChangePasswordProcess extends PasswordProcess {
      * with the type set to AccountResponseType.MAIL_NEW_PASSWD_SENT
      */
     public AccountResponse sendMail(final String emailAddress) {
-        MailGenerator mailGenerator = new MailGenerator();
-        String text = mailGenerator.generateChangePasswdInfoMailText();
-        String subject = MailGenerator.getPasswordSubject();
-        emailService.sendEmail(emailAddress, subject, text);
+        RenderedMail mail = mailGenerator().renderChangePasswdInfoMail(MailTemplateVariant.TEXT);
+        emailService.sendEmail(emailAddress, mail.subject(), mail.body());
         return new AccountResponse(true, AccountResponseType.MAIL_NEW_PASSWD_SENT);
     }
 
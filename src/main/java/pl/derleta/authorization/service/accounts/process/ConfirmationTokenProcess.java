@@ -12,6 +12,7 @@ import pl.derleta.authorization.repository.impl.token.ConfirmationTokenRepositor
 import pl.derleta.authorization.repository.RepositoryClass;
 import pl.derleta.authorization.repository.impl.UserRepository;
 import pl.derleta.authorization.service.accounts.AccountProcess;
+import pl.derleta.authorization.service.accounts.ConfirmationLinkSigner;
 
 import java.sql.Timestamp;
 import java.util.Optional;
@@ -27,6 +28,7 @@ public final class ConfirmationTokenProcess implements AccountProcess {
 
     private ConfirmationTokenRepository confirmationTokenRepository;
     private UserRepository userRepository;
+    private ConfirmationLinkSigner linkSigner = ConfirmationLinkSigner.disabled();
 
     /**
      * Constructor for the {@code ConfirmationTokenProcess} class.
@@ -44,6 +46,11 @@ public final class ConfirmationTokenProcess implements AccountProcess {
         }
     }
 
+    @Autowired
+    public void setLinkSigner(ConfirmationLinkSigner linkSigner) {
+        this.linkSigner = linkSigner;
+    }
+
     /**
      * Validates a user confirmation request by checking the provided token's existence, value, and expiration status.
      * Returns an appropriate response indicating whether the token is valid or describes the issue encountered.
@@ -95,6 +102,66 @@ public final class ConfirmationTokenProcess implements AccountProcess {
         return new AccountResponse(false, AccountResponseType.BAD_CONFIRMATION_REQUEST_TYPE);
     }
 
+    /**
+     * Confirms the account: a conditional update validates and consumes the token at once, then the token's user
+     * is resolved by the token's primary key and unlocked. Callers run these statements in one transaction.
+     * The token is loaded only when it cannot be consumed, to report why; a repeated request for an already
+     * consumed token therefore does no work beyond that lookup and is reported as {@link AccountResponseType#TOKEN_EXPIRED}.
+     * <p>
+     * Signed links issued by the {@link ConfirmationLinkSigner} do not touch the token table: after the signature
+     * is verified, the user is unlocked by one update conditional on the security stamp signed into the link.
+     *
+     * @param request the request object containing the token ID and value.
+     *                Must be an instance of {@link UserConfirmationRequest}.
+     * @return an {@link AccountResponse} with {@link AccountResponseType#ACCOUNT_CONFIRMED} if the account was confirmed,
+     * otherwise a failure response describing why the token was rejected or that the request type is invalid
+     */
+    public AccountResponse confirm(Request request) {
+        return confirmAccount(request).response();
+    }
+
+    /**
+     * Confirms the account as {@link #confirm(Request)} does, and also reports which user was confirmed.
+     *
+     * @param request the request object containing the token ID and value.
+     *                Must be an instance of {@link UserConfirmationRequest}.
+     * @return the response together with the id of the confirmed user
+     */
+    public Confirmation confirmAccount(Request request) {
+        if (request instanceof UserConfirmationRequest(Long tokenId, String token)) {
+            if (tokenId == null) return Confirmation.rejected(AccountResponseType.TOKEN_NOT_FOUND);
+            if (linkSigner.isSigned(token)) return confirmSigned(tokenId, token);
+            if (confirmationTokenRepository.consume(tokenId, token) > 0) {
+                Long userId = confirmationTokenRepository.findUserId(tokenId);
+                if (userId == null) return Confirmation.rejected(AccountResponseType.TOKEN_NOT_FOUND);
+                userRepository.unlock(userId);
+                return new Confirmation(new AccountResponse(true, AccountResponseType.ACCOUNT_CONFIRMED), userId);
+            }
+            AccountResponse status = check(request);
+            return status.isSuccess() ? Confirmation.rejected(AccountResponseType.TOKEN_EXPIRED) : new Confirmation(status, 0);
+        }
+        return Confirmation.rejected(AccountResponseType.BAD_CONFIRMATION_REQUEST_TYPE);
+    }
+
+    /**
+     * Confirms the account with a signed link: verifies the signature and expiry of the link and unlocks the user
+     * only if the security stamp is still the one signed into the link. Unlocking changes the stamp, so a link
+     * is used at most once.
+     *
+     * @param tokenId the token id of the link, which is the id of the user
+     * @param token   the signed token
+     * @return the confirmation indicating whether the account was confirmed
+     */
+    private Confirmation confirmSigned(long tokenId, String token) {
+        Optional<ConfirmationLinkSigner.Claims> claims = linkSigner.verify(tokenId, token);
+        if (claims.isEmpty()) return Confirmation.rejected(AccountResponseType.INVALID_TOKEN_VALUE);
+        if (linkSigner.isExpired(claims.get())) return Confirmation.rejected(AccountResponseType.TOKEN_EXPIRED);
+        long userId = claims.get().userId();
+        if (userRepository.unlockIfSecurityStamp(userId, claims.get().securityStamp()) == 0)
+            return Confirmation.rejected(AccountResponseType.TOKEN_EXPIRED);
+        return new Confirmation(new AccountResponse(true, AccountResponseType.ACCOUNT_CONFIRMED), userId);
+    }
+
     /**
      * Retrieves a confirmation token entity by its unique identifier.
      *
@@ -111,4 +178,18 @@ public final class ConfirmationTokenProcess implements AccountProcess {
 
     }
 
+    /**
+     * Result of an account confirmation.
+     *
+     * @param response the response returned to the client
+     * @param userId   the id of the confirmed user, or 0 if no account was confirmed
+     */
+    public record Confirmation(AccountResponse response, long userId) {
+
+        static Confirmation rejected(AccountResponseType type) {
+            return new Confirmation(new AccountResponse(false, type), 0);
+        }
+
+    }
+
 }
@@ -3,25 +3,35 @@ package pl.derleta.authorization.service.accounts.process;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import pl.derleta.authorization.config.mail.EmailService;
+import pl.derleta.authorization.config.mail.template.MailTemplateVariant;
+import pl.derleta.authorization.config.mail.template.RenderedMail;
 import pl.derleta.authorization.domain.entity.token.ConfirmationTokenEntity;
 import pl.derleta.authorization.domain.entity.UserEntity;
 import pl.derleta.authorization.domain.entity.token.TokenEntity;
 import pl.derleta.authorization.domain.response.AccountResponse;
 import pl.derleta.authorization.domain.types.AccountResponseType;
 import pl.derleta.authorization.repository.impl.token.ConfirmationTokenRepository;
+import pl.derleta.authorization.service.accounts.ConfirmationLinkSigner;
+import pl.derleta.authorization.service.accounts.ConfirmationMailCooldown;
 import pl.derleta.authorization.utils.ConfigurationTokenGenerator;
 import pl.derleta.authorization.utils.MailGenerator;
 
+import java.time.Duration;
 import java.util.Optional;
 
 /**
  * Abstract class representing a process for creating confirmation tokens and sending emails.
  * This class is sealed and allows specific implementations to handle different types
  * of confirmation processes such as UnlockAccountProcess and UserRegistrationProcess.
+ * <p>
+ * A user's outstanding token is sent again instead of issuing a new one while it remains valid for at least
+ * {@link #REUSE_MIN_VALIDITY}, and repeated mails to the same user are suppressed by the {@link ConfirmationMailCooldown}.
  */
 @Service
 public abstract sealed class CreateConfirmationProcess permits UnlockAccountProcess, UserRegistrationProcess {
 
+    public static final Duration REUSE_MIN_VALIDITY = Duration.ofMinutes(15);
+
     private EmailService emailService;
 
     @Autowired
@@ -29,6 +39,27 @@ public abstract sealed class CreateConfirmationProcess permits UnlockAccountProc
         this.emailService = emailService;
     }
 
+    private MailGenerator mailGenerator;
+
+    @Autowired
+    public void setMailGenerator(MailGenerator mailGenerator) {
+        this.mailGenerator = mailGenerator;
+    }
+
+    private ConfirmationMailCooldown mailCooldown = ConfirmationMailCooldown.none();
+
+    @Autowired
+    public void setMailCooldown(ConfirmationMailCooldown mailCooldown) {
+        this.mailCooldown = mailCooldown;
+    }
+
+    private ConfirmationLinkSigner linkSigner = ConfirmationLinkSigner.disabled();
+
+    @Autowired
+    public void setLinkSigner(ConfirmationLinkSigner linkSigner) {
+        this.linkSigner = linkSigner;
+    }
+
     private ConfirmationTokenRepository confirmationTokenRepository;
 
     @Autowired
@@ -37,18 +68,28 @@ public abstract sealed class CreateConfirmationProcess permits UnlockAccountProc
     }
 
     /**
-     * Generates and retrieves a confirmation token entity for a specified user.
+     * Retrieves a confirmation token entity for a specified user. The user's outstanding token is reused
+     * if it remains valid for at least {@link #REUSE_MIN_VALIDITY}; otherwise a new token is generated.
+     * When the {@link ConfirmationLinkSigner} issues signed links, a signed token bound to the user's current
+     * security stamp is returned instead and the token table is not used.
      *
-     * @param userEntity the user entity for which the confirmation token is generated
-     * @return the generated ConfirmationTokenEntity or null if the token cannot be found
+     * @param userEntity the user entity for which the confirmation token is retrieved or generated
+     * @return the reused or generated ConfirmationTokenEntity or null if the token cannot be found
      */
     public ConfirmationTokenEntity getToken(UserEntity userEntity) {
-        String token = ConfigurationTokenGenerator.getToken();
-        long tokenId = confirmationTokenRepository.getNextId();
-        if (userEntity == null || tokenId < 0) return null;
-        confirmationTokenRepository.save(tokenId, userEntity.getUserId(), token);
-
-        Optional<TokenEntity> tokenEntity = confirmationTokenRepository.findById(tokenId);
+        if (userEntity == null) return null;
+        if (linkSigner.isIssuing()) {
+            Long securityStamp = findSecurityStamp(userEntity.getUserId());
+            return securityStamp != null ? linkSigner.sign(userEntity, securityStamp) : null;
+        }
+        Optional<TokenEntity> tokenEntity = confirmationTokenRepository.findOutstanding(userEntity.getUserId(), REUSE_MIN_VALIDITY);
+        if (tokenEntity.isEmpty()) {
+            String token = ConfigurationTokenGenerator.getToken();
+            long tokenId = confirmationTokenRepository.getNextId();
+            if (tokenId < 0) return null;
+            confirmationTokenRepository.save(tokenId, userEntity.getUserId(), token);
+            tokenEntity = confirmationTokenRepository.findById(tokenId);
+        }
 
         return tokenEntity
                 .filter(ConfirmationTokenEntity.class::isInstance)
@@ -56,18 +97,32 @@ public abstract sealed class CreateConfirmationProcess permits UnlockAccountProc
                 .orElse(null);
     }
 
+    /**
+     * Retrieves the current security stamp of the user, which signed confirmation links are bound to.
+     *
+     * @param userId the unique identifier of the user
+     * @return the security stamp, or null if the user does not exist
+     */
+    abstract Long findSecurityStamp(long userId);
+
     /**
      * Sends a verification email to the specified user using the provided confirmation token.
+     * The email is skipped if the user was sent one within the cooldown window; the response is the same
+     * in both cases.
      *
      * @param userEntity              the user entity containing user details such as email
      * @param confirmationTokenEntity the confirmation token entity containing token details
      * @return an AccountResponse indicating the result of the email sending process
      */
     public AccountResponse sendEmail(UserEntity userEntity, ConfirmationTokenEntity confirmationTokenEntity) {
-        MailGenerator mailGenerator = new MailGenerator();
-        String text = mailGenerator.generateVerificationMailText(userEntity, confirmationTokenEntity);
-        String subject = MailGenerator.getVerificationSubject();
-        emailService.sendEmail(userEntity.getEmail(), subject, text);
+        if (!mailCooldown.tryAcquire(userEntity.getUserId())) return getResponse(this);
+        try {
+            RenderedMail mail = mailGenerator().renderVerificationMail(userEntity, confirmationTokenEntity, MailTemplateVariant.TEXT);
+            emailService.sendEmail(userEntity.getEmail(), mail.subject(), mail.body());
+        } catch (RuntimeException e) {
+            mailCooldown.release(userEntity.getUserId());
+            throw e;
+        }
         return getResponse(this);
     }
 
@@ -86,4 +141,9 @@ public abstract sealed class CreateConfirmationProcess permits UnlockAccountProc
         };
     }
 
+    private MailGenerator mailGenerator() {
+        if (mailGenerator == null) throw new IllegalStateException("No MailGenerator configured for " + getClass().getSimpleName());
+        return mailGenerator;
+    }
+
 }
@@ -8,6 +8,7 @@ import pl.derleta.authorization.domain.response.AccountResponse;
 import pl.derleta.authorization.repository.RepositoryClass;
 import pl.derleta.authorization.repository.impl.UserRepository;
 import pl.derleta.authorization.service.accounts.AccountProcess;
+import pl.derleta.authorization.utils.MailGenerator;
 
 import java.util.Set;
 
@@ -34,6 +35,13 @@ public abstract sealed class PasswordProcess implements AccountProcess permits C
         this.emailService = emailService;
     }
 
+    private MailGenerator mailGenerator;
+
+    @Autowired
+    public void setMailGenerator(MailGenerator mailGenerator) {
+        this.mailGenerator = mailGenerator;
+    }
+
     protected UserRepository userRepository;
 
     @Autowired
@@ -74,4 +82,15 @@ public abstract sealed class PasswordProcess implements AccountProcess permits C
         throw new UnsupportedOperationException("Update operation not supported");
     }
 
+    /**
+     * Retrieves the generator rendering the mails of the process.
+     *
+     * @return the configured mail generator
+     * @throws IllegalStateException if no mail generator has been set
+     */
+    protected MailGenerator mailGenerator() {
+        if (mailGenerator == null) throw new IllegalStateException("No MailGenerator configured for " + getClass().getSimpleName());
+        return mailGenerator;
+    }
+
 }
@@ -2,8 +2,12 @@ package pl.derleta.authorization.service.accounts.process;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import pl.derleta.authorization.config.mail.EmailService;
+import pl.derleta.authorization.config.mail.template.MailTemplateVariant;
+import pl.derleta.authorization.config.mail.template.RenderedMail;
+import pl.derleta.authorization.domain.entity.AccountSnapshot;
 import pl.derleta.authorization.domain.entity.UserEntity;
 import pl.derleta.authorization.domain.entity.UserEntityDecrypted;
 import pl.derleta.authorization.domain.request.ResetPasswordRequest;
@@ -11,7 +15,7 @@ import pl.derleta.authorization.domain.response.AccountResponse;
 import pl.derleta.authorization.domain.request.Request;
 import pl.derleta.authorization.domain.types.AccountResponseType;
 import pl.derleta.authorization.repository.RepositoryClass;
-import pl.derleta.authorization.utils.MailGenerator;
+import pl.derleta.authorization.service.accounts.AccountWorkflowContext;
 import pl.derleta.authorization.utils.PasswordGenerator;
 
 import java.util.Set;
@@ -25,6 +29,15 @@ import java.util.Set;
 @Service
 public final class ResetPasswordProcess extends PasswordProcess {
 
+    private static final PasswordEncoder DEFAULT_ENCODER = new BCryptPasswordEncoder();
+
+    private PasswordEncoder passwordEncoder = DEFAULT_ENCODER;
+
+    @Autowired
+    public void setPasswordEncoder(PasswordEncoder passwordEncoder) {
+        this.passwordEncoder = passwordEncoder;
+    }
+
     /**
      * Constructs a new ResetPasswordProcess instance with the specified components for handling operations
      * related to password reset workflows. This constructor initializes the required repositories and
@@ -41,7 +54,8 @@ public final class ResetPasswordProcess extends PasswordProcess {
     /**
      * Sends an email to the specified user with a message containing their password.
      * The email includes a subject and a message body generated using the user's information
-     * and decrypted password.
+     * and decrypted password. The user entity returned by {@link #save(Request, AccountWorkflowContext)}
+     * already carries the username and email, so the user is not read again.
      *
      * @param userEntityDecrypted a `UserEntityDecrypted` object containing the user's information
      *                            and decrypted password to be included in the email.
@@ -49,12 +63,9 @@ public final class ResetPasswordProcess extends PasswordProcess {
      * along with the response type `MAIL_NEW_PASSWD_SENT`.
      */
     public AccountResponse sendMail(final UserEntityDecrypted userEntityDecrypted) {
-        UserEntity entity = userRepository.findById(userEntityDecrypted.getUserId());
-        MailGenerator mailGenerator = new MailGenerator();
         String password = userEntityDecrypted.getDecryptedPassword();
-        String text = mailGenerator.generatePasswordMailText(entity, password);
-        String subject = MailGenerator.getPasswordSubject();
-        emailService.sendEmail(entity.getEmail(), subject, text);
+        RenderedMail mail = mailGenerator().renderPasswordMail(userEntityDecrypted, password, MailTemplateVariant.TEXT);
+        emailService.sendEmail(userEntityDecrypted.getEmail(), mail.subject(), mail.body());
         return new AccountResponse(true, AccountResponseType.MAIL_NEW_PASSWD_SENT);
     }
 
@@ -70,13 +81,27 @@ public final class ResetPasswordProcess extends PasswordProcess {
      */
     @Override
     public AccountResponse check(Request request) {
+        return check(request, new AccountWorkflowContext());
+    }
+
+    /**
+     * Validates the given reset password request like {@link #check(Request)}, reading the account snapshot
+     * with a single query and keeping it in the context for the following {@link #save(Request, AccountWorkflowContext)}.
+     *
+     * @param request the request object to validate, expected to be an instance of ResetPasswordRequest
+     * @param context the context of the reset password operation
+     * @return an AccountResponse indicating the success or failure of the validation, along with the corresponding
+     * account-related response type.
+     */
+    @Override
+    public AccountResponse check(Request request, AccountWorkflowContext context) {
         if (request instanceof ResetPasswordRequest(String email)) {
-            UserEntity entity = userRepository.findByEmail(email);
-            if (entity == null || !entity.getEmail().equalsIgnoreCase(email))
+            AccountSnapshot account = context.account(() -> userRepository.findAccountByEmail(email));
+            if (account == null || !account.email().equalsIgnoreCase(email))
                 return new AccountResponse(false, AccountResponseType.ACCOUNT_NOT_EXIST_RESET_PASSWD);
-            if (userRepository.isBlocked(entity.getUserId()))
+            if (account.blocked())
                 return new AccountResponse(false, AccountResponseType.ACCOUNT_IS_BLOCKED_RESET_PASSWD);
-            if (!userRepository.isVerified(entity.getUserId()))
+            if (!account.verified())
                 return new AccountResponse(false, AccountResponseType.ACCOUNT_IS_NOT_VERIFIED);
             else return new AccountResponse(true, AccountResponseType.PASSWORD_CAN_BE_GENERATED);
         }
@@ -96,13 +121,27 @@ public final class ResetPasswordProcess extends PasswordProcess {
      */
     @Override
     public UserEntity save(Request request) {
+        return save(request, new AccountWorkflowContext());
+    }
+
+    /**
+     * Resets the user's password like {@link #save(Request)}, using the account snapshot kept in the context
+     * by the preceding check instead of reading the user again.
+     *
+     * @param request the request object, expected to be an instance of ResetPasswordRequest
+     * @param context the context of the reset password operation
+     * @return a UserEntity object containing the updated user details, including the decrypted new password,
+     * or null if the request type is not supported or the account does not exist.
+     */
+    @Override
+    public UserEntity save(Request request, AccountWorkflowContext context) {
         if (request instanceof ResetPasswordRequest(String email)) {
-            UserEntity entity = userRepository.findByEmail(email);
-            final long userId = entity.getUserId();
+            AccountSnapshot account = context.account(() -> userRepository.findAccountByEmail(email));
+            if (account == null) return null;
             String newPassword = PasswordGenerator.generateStrongPassword();
-            String encrypted = new BCryptPasswordEncoder().encode(newPassword);
-            userRepository.updatePassword(userId, encrypted);
-            UserEntity userEntity = userRepository.findById(userId);
+            String encrypted = passwordEncoder.encode(newPassword);
+            userRepository.updatePassword(account.userId(), encrypted);
+            UserEntity userEntity = new UserEntity(account.userId(), account.username(), account.email(), encrypted);
             return new UserEntityDecrypted(userEntity, newPassword);
         }
         return null;
@@ -3,6 +3,7 @@ package pl.derleta.authorization.service.accounts.process;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import pl.derleta.authorization.config.mail.EmailService;
+import pl.derleta.authorization.domain.entity.AccountSnapshot;
 import pl.derleta.authorization.domain.entity.UserEntity;
 import pl.derleta.authorization.domain.response.AccountResponse;
 import pl.derleta.authorization.domain.request.Request;
@@ -12,6 +13,7 @@ import pl.derleta.authorization.repository.RepositoryClass;
 import pl.derleta.authorization.repository.impl.token.ConfirmationTokenRepository;
 import pl.derleta.authorization.repository.impl.UserRepository;
 import pl.derleta.authorization.service.accounts.AccountProcess;
+import pl.derleta.authorization.service.accounts.AccountWorkflowContext;
 
 import java.util.Set;
 
@@ -60,13 +62,25 @@ public final class UnlockAccountProcess extends CreateConfirmationProcess implem
      */
     @Override
     public AccountResponse check(final Request request) {
+        return check(request, new AccountWorkflowContext());
+    }
+
+    /**
+     * Validates a user account unlock request like {@link #check(Request)}, reading the account snapshot
+     * with a single query and keeping it in the context for the following {@link #save(Request, AccountWorkflowContext)}.
+     *
+     * @param request the request object, must be an instance of UserUnlockRequest
+     * @param context the context of the unlock operation
+     * @return an AccountResponse encapsulating the result of the check and the
+     * corresponding AccountResponseType to indicate the status
+     */
+    @Override
+    public AccountResponse check(final Request request, final AccountWorkflowContext context) {
         if (request instanceof UserUnlockRequest(Long userId)) {
-            UserEntity entity = userRepository.findById(userId);
-            if (entity == null || entity.getUserId() != userId)
+            AccountSnapshot account = context.account(() -> userRepository.findAccountById(userId));
+            if (account == null || account.userId() != userId)
                 return new AccountResponse(false, AccountResponseType.ACCOUNT_NOT_EXIST_UNLOCK_ACCOUNT);
-            boolean isVerified = userRepository.isVerified(userId);
-            boolean isBlocked = userRepository.isBlocked(userId);
-            if (isVerified && !isBlocked) {
+            if (account.verified() && !account.blocked()) {
                 return new AccountResponse(false, AccountResponseType.ACCOUNT_VERIFIED_AND_NOT_BLOCKED);
             } else return new AccountResponse(true, AccountResponseType.ACCOUNT_CAN_BE_UNLOCKED);
         }
@@ -84,11 +98,31 @@ public final class UnlockAccountProcess extends CreateConfirmationProcess implem
      */
     @Override
     public UserEntity save(final Request request) {
+        return save(request, new AccountWorkflowContext());
+    }
+
+    /**
+     * Updates the status of a user like {@link #save(Request)}. The returned user entity is built from the
+     * account snapshot kept in the context by the preceding check, as the status update does not change it.
+     *
+     * @param request the request object, must be an instance of UserUnlockRequest
+     * @param context the context of the unlock operation
+     * @return the corresponding UserEntity object after the update if the request is valid and the user exists,
+     * otherwise null
+     */
+    @Override
+    public UserEntity save(final Request request, final AccountWorkflowContext context) {
         if (request instanceof UserUnlockRequest(Long userId)) {
             userRepository.updateStatus(userId, false, false);
-            return userRepository.findById(userId);
+            AccountSnapshot account = context.account(() -> userRepository.findAccountById(userId));
+            return account != null ? account.toUserEntity() : null;
         }
         return null;
     }
 
+    @Override
+    Long findSecurityStamp(final long userId) {
+        return userRepository.findSecurityStamp(userId);
+    }
+
 }
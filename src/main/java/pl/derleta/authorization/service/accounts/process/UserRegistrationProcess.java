@@ -108,4 +108,9 @@ public final class UserRegistrationProcess extends CreateConfirmationProcess imp
         userRoleRepository.save(pk, userId, USER_ROLE_ID);
     }
 
+    @Override
+    Long findSecurityStamp(final long userId) {
+        return userRepository.findSecurityStamp(userId);
+    }
+
 }
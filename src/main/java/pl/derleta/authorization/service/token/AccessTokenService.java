@@ -5,15 +5,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import pl.derleta.authorization.controller.mapper.TokenApiMapper;
 import pl.derleta.authorization.domain.entity.token.TokenEntity;
 import pl.derleta.authorization.domain.model.AccessToken;
+import pl.derleta.authorization.repository.PageQueryExecutor;
 import pl.derleta.authorization.repository.impl.UserRepository;
 import pl.derleta.authorization.repository.impl.token.AccessTokenRepository;
 
-import java.util.List;
 import java.util.Optional;
 
 
@@ -27,6 +26,7 @@ public class AccessTokenService {
 
     private AccessTokenRepository repository;
     private UserRepository userRepository;
+    private PageQueryExecutor pageQueries = PageQueryExecutor.sequential();
 
     @Autowired
     public void setRepository(AccessTokenRepository repository) {
@@ -38,6 +38,11 @@ public class AccessTokenService {
         this.userRepository = userRepository;
     }
 
+    @Autowired
+    public void setPageQueries(PageQueryExecutor pageQueries) {
+        this.pageQueries = pageQueries;
+    }
+
     /**
      * Retrieves a paginated and sorted list of AccessToken objects filtered by specified criteria.
      *
@@ -54,11 +59,12 @@ public class AccessTokenService {
         int offset = page * size;
         String sortByParam = getSortByParam(sortBy);
         String sortOrderParam = sortOrder.equalsIgnoreCase("desc") ? "DESC" : "ASC";
-        List<AccessToken> collection = TokenApiMapper.toAccessTokens(
-                repository.getSortedPageWithFilters(offset, size, sortByParam, sortOrderParam, usernameFilter, emailFilter)
+        return pageQueries.getPage(pageable,
+                () -> TokenApiMapper.toAccessTokens(
+                        repository.getSortedPageWithFilters(offset, size, sortByParam, sortOrderParam, usernameFilter, emailFilter)
+                ),
+                () -> repository.getFiltersCount(usernameFilter, emailFilter)
         );
-        long filteredColSize = repository.getFiltersCount(usernameFilter, emailFilter);
-        return PageableExecutionUtils.getPage(collection, pageable, () -> filteredColSize);
     }
 
     /**
@@ -75,11 +81,12 @@ public class AccessTokenService {
         int offset = page * size;
         String sortByParam = getSortByParam(sortBy);
         String sortOrderParam = sortOrder.equalsIgnoreCase("desc") ? "DESC" : "ASC";
-        List<AccessToken> collection = TokenApiMapper.toAccessTokens(
-                repository.findValid(offset, size, sortByParam, sortOrderParam)
+        return pageQueries.getPage(pageable,
+                () -> TokenApiMapper.toAccessTokens(
+                        repository.findValid(offset, size, sortByParam, sortOrderParam)
+                ),
+                () -> repository.getValidCount()
         );
-        long filteredColSize = repository.getValidCount();
-        return PageableExecutionUtils.getPage(collection, pageable, () -> filteredColSize);
     }
 
     /**
@@ -5,15 +5,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import pl.derleta.authorization.controller.mapper.TokenApiMapper;
 import pl.derleta.authorization.domain.entity.token.TokenEntity;
 import pl.derleta.authorization.domain.model.ConfirmationToken;
+import pl.derleta.authorization.repository.PageQueryExecutor;
 import pl.derleta.authorization.repository.impl.UserRepository;
 import pl.derleta.authorization.repository.impl.token.ConfirmationTokenRepository;
 
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -26,6 +25,7 @@ public class ConfirmationTokenService {
 
     private ConfirmationTokenRepository repository;
     private UserRepository userRepository;
+    private PageQueryExecutor pageQueries = PageQueryExecutor.sequential();
 
     @Autowired
     public void setRepository(ConfirmationTokenRepository repository) {
@@ -37,6 +37,11 @@ public class ConfirmationTokenService {
         this.userRepository = userRepository;
     }
 
+    @Autowired
+    public void setPageQueries(PageQueryExecutor pageQueries) {
+        this.pageQueries = pageQueries;
+    }
+
     /**
      * Retrieves a paginated list of ConfirmationTokens based on the specified filters and sorting options.
      *
@@ -53,11 +58,12 @@ public class ConfirmationTokenService {
         int offset = page * size;
         String sortByParam = getSortByParam(sortBy);
         String sortOrderParam = sortOrder.equalsIgnoreCase("desc") ? "DESC" : "ASC";
-        List<ConfirmationToken> collection = TokenApiMapper.toConfirmationTokens(
-                repository.getSortedPageWithFilters(offset, size, sortByParam, sortOrderParam, usernameFilter, emailFilter)
+        return pageQueries.getPage(pageable,
+                () -> TokenApiMapper.toConfirmationTokens(
+                        repository.getSortedPageWithFilters(offset, size, sortByParam, sortOrderParam, usernameFilter, emailFilter)
+                ),
+                () -> repository.getFiltersCount(usernameFilter, emailFilter)
         );
-        long filteredColSize = repository.getFiltersCount(usernameFilter, emailFilter);
-        return PageableExecutionUtils.getPage(collection, pageable, () -> filteredColSize);
     }
 
     /**
@@ -74,11 +80,12 @@ public class ConfirmationTokenService {
         int offset = page * size;
         String sortByParam = getSortByParam(sortBy);
         String sortOrderParam = sortOrder.equalsIgnoreCase("desc") ? "DESC" : "ASC";
-        List<ConfirmationToken> collection = TokenApiMapper.toConfirmationTokens(
-                repository.findValid(offset, size, sortByParam, sortOrderParam)
+        return pageQueries.getPage(pageable,
+                () -> TokenApiMapper.toConfirmationTokens(
+                        repository.findValid(offset, size, sortByParam, sortOrderParam)
+                ),
+                () -> repository.getValidCount()
         );
-        long filteredColSize = repository.getValidCount();
-        return PageableExecutionUtils.getPage(collection, pageable, () -> filteredColSize);
     }
 
     /**
@@ -5,15 +5,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import pl.derleta.authorization.controller.mapper.TokenApiMapper;
 import pl.derleta.authorization.domain.entity.token.TokenEntity;
 import pl.derleta.authorization.domain.model.RefreshToken;
+import pl.derleta.authorization.repository.PageQueryExecutor;
 import pl.derleta.authorization.repository.impl.UserRepository;
 import pl.derleta.authorization.repository.impl.token.RefreshTokenRepository;
 
-import java.util.List;
 import java.util.Optional;
 
 
@@ -31,6 +30,7 @@ public class RefreshTokenService {
 
     private RefreshTokenRepository repository;
     private UserRepository userRepository;
+    private PageQueryExecutor pageQueries = PageQueryExecutor.sequential();
 
     @Autowired
     public void setRepository(RefreshTokenRepository repository) {
@@ -42,6 +42,11 @@ public class RefreshTokenService {
         this.userRepository = userRepository;
     }
 
+    @Autowired
+    public void setPageQueries(PageQueryExecutor pageQueries) {
+        this.pageQueries = pageQueries;
+    }
+
     /**
      * Retrieves a paginated and sorted collection of RefreshToken objects using the specified filters.
      *
@@ -58,11 +63,12 @@ public class RefreshTokenService {
         int offset = page * size;
         String sortByParam = getSortByParam(sortBy);
         String sortOrderParam = sortOrder.equalsIgnoreCase("desc") ? "DESC" : "ASC";
-        List<RefreshToken> collection = TokenApiMapper.toRefreshTokens(
-                repository.getSortedPageWithFilters(offset, size, sortByParam, sortOrderParam, usernameFilter, emailFilter)
+        return pageQueries.getPage(pageable,
+                () -> TokenApiMapper.toRefreshTokens(
+                        repository.getSortedPageWithFilters(offset, size, sortByParam, sortOrderParam, usernameFilter, emailFilter)
+                ),
+                () -> repository.getFiltersCount(usernameFilter, emailFilter)
         );
-        long filteredColSize = repository.getFiltersCount(usernameFilter, emailFilter);
-        return PageableExecutionUtils.getPage(collection, pageable, () -> filteredColSize);
     }
 
     /**
@@ -79,11 +85,12 @@ public class RefreshTokenService {
         int offset = page * size;
         String sortByParam = getSortByParam(sortBy);
         String sortOrderParam = sortOrder.equalsIgnoreCase("desc") ? "DESC" : "ASC";
-        List<RefreshToken> collection = TokenApiMapper.toRefreshTokens(
-                repository.findValid(offset, size, sortByParam, sortOrderParam)
+        return pageQueries.getPage(pageable,
+                () -> TokenApiMapper.toRefreshTokens(
+                        repository.findValid(offset, size, sortByParam, sortOrderParam)
+                ),
+                () -> repository.getValidCount()
         );
-        long filteredColSize = repository.getValidCount();
-        return PageableExecutionUtils.getPage(collection, pageable, () -> filteredColSize);
     }
 
     /**
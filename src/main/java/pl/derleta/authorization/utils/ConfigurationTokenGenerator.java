@@ -1,18 +1,15 @@
 package pl.derleta.authorization.utils;
 
-import java.security.SecureRandom;
-
 /**
  * Utility class for generating random alphanumeric tokens.
  * The tokens can be generated with a default length or a specified length.
- * This class provides methods for secure random token generation to ensure high entropy.
+ * This class provides methods for secure random token generation to ensure high entropy,
+ * drawing buffered random bytes from {@link SecureTokenGenerator}.
  * This class is designed to be non-instantiable.
  */
 public final class ConfigurationTokenGenerator {
 
     private static final int DEFAULT_SIZE = 100;
-    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
-    private static final SecureRandom random = new SecureRandom();
 
     /**
      * Generates a random alphanumeric token using the default length.
@@ -30,16 +27,7 @@ public final class ConfigurationTokenGenerator {
      * @return a randomly generated alphanumeric token of the specified length
      */
     public static String getToken(int length) {
-        if(length < 1) {
-            throw new IllegalArgumentException("Token length must be greater than 0");
-        }
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            int randomIndex = random.nextInt(ALPHANUMERIC.length());
-            char randomChar = ALPHANUMERIC.charAt(randomIndex);
-            sb.append(randomChar);
-        }
-        return sb.toString();
+        return SecureTokenGenerator.generate(SecureTokenGenerator.BASE62, length);
     }
 
 }
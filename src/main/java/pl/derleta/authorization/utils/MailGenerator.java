@@ -1,23 +1,57 @@
 package pl.derleta.authorization.utils;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Component;
+import pl.derleta.authorization.config.mail.template.MailTemplateEngine;
+import pl.derleta.authorization.config.mail.template.MailTemplateVariant;
+import pl.derleta.authorization.config.mail.template.RenderedMail;
 import pl.derleta.authorization.domain.entity.token.ConfirmationTokenEntity;
 import pl.derleta.authorization.domain.entity.UserEntity;
 
+import java.util.Locale;
+import java.util.Map;
+
 /**
- * A utility class responsible for generating email content for various use cases such as
- * account verification, password resets, and informational notifications. It also provides
- * methods to retrieve appropriate email subject lines.
+ * A component responsible for generating email content for various use cases such as
+ * account verification, password resets, and informational notifications. The content is rendered
+ * from precompiled, localized templates provided by {@link MailTemplateEngine}. The locale is taken
+ * from the current {@link LocaleContextHolder} context, falling back to the engine's default locale.
  */
 @Component
 public final class MailGenerator {
 
-    private static String NEBULA_CONFIRMATION_MAIL_URL;
+    private static final String VERIFICATION_TEMPLATE = "verification";
+    private static final String NEW_PASSWORD_TEMPLATE = "new-password";
+    private static final String PASSWORD_CHANGED_TEMPLATE = "password-changed";
+
+    private final MailTemplateEngine templateEngine;
+
+    private String confirmationMailUrl = "";
+
+    /**
+     * Constructs a MailGenerator backed by the shared classpath template engine. Intended for usage
+     * outside the application context.
+     */
+    public MailGenerator() {
+        this(MailTemplateEngine.classpath());
+    }
+
+    /**
+     * Constructs a MailGenerator backed by the provided template engine.
+     *
+     * @param templateEngine the engine used to render mail templates
+     */
+    @Autowired
+    public MailGenerator(MailTemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
+    }
 
     @Value("${nebula.confirmation.mail.url}")
     public void setNEBULA_FRONT_APP_URL_CONFIRMATION(String value) {
-        NEBULA_CONFIRMATION_MAIL_URL = value;
+        this.confirmationMailUrl = value == null ? "" : value;
     }
 
     /**
@@ -30,10 +64,26 @@ public final class MailGenerator {
      * @return a string containing the text of the verification email
      */
     public String generateVerificationMailText(UserEntity userEntity, ConfirmationTokenEntity confirmationTokenEntity) {
-        String link = NEBULA_CONFIRMATION_MAIL_URL + confirmationTokenEntity.getTokenId() + "/" + confirmationTokenEntity.getToken();
-        return "Dear " + userEntity.getUsername() + ",\n" +
-                "to complete please enter to link:\n" +
-                link;
+        return renderVerificationMail(userEntity, confirmationTokenEntity, MailTemplateVariant.TEXT).body();
+    }
+
+    /**
+     * Renders the subject and content of a verification email in the requested variant.
+     *
+     * @param userEntity              the user entity containing the user's username to personalize the email
+     * @param confirmationTokenEntity the confirmation token entity containing token details
+     *                                for constructing the verification link
+     * @param variant                 the content variant to render
+     * @return the rendered verification email
+     */
+    public RenderedMail renderVerificationMail(UserEntity userEntity, ConfirmationTokenEntity confirmationTokenEntity,
+                                               MailTemplateVariant variant) {
+        return render(VERIFICATION_TEMPLATE, variant, Map.of(
+                "username", userEntity.getUsername(),
+                "confirmationUrl", confirmationMailUrl,
+                "tokenId", confirmationTokenEntity.getTokenId(),
+                "token", confirmationTokenEntity.getToken()
+        ));
     }
 
     /**
@@ -46,9 +96,22 @@ public final class MailGenerator {
      * @return a string containing the text of the password notification email
      */
     public String generatePasswordMailText(final UserEntity user, final String password) {
-        return "Dear " + user.getUsername() + ",\n" +
-                "your new password is:\n" +
-                password + " \n Please change your password after login, as soon as possible.";
+        return renderPasswordMail(user, password, MailTemplateVariant.TEXT).body();
+    }
+
+    /**
+     * Renders the subject and content of an email providing a user with a new password.
+     *
+     * @param user     the user entity containing the username to personalize the email
+     * @param password the newly generated password to be included in the email content
+     * @param variant  the content variant to render
+     * @return the rendered password notification email
+     */
+    public RenderedMail renderPasswordMail(final UserEntity user, final String password, MailTemplateVariant variant) {
+        return render(NEW_PASSWORD_TEMPLATE, variant, Map.of(
+                "username", user.getUsername(),
+                "password", password
+        ));
     }
 
     /**
@@ -59,28 +122,23 @@ public final class MailGenerator {
      * @return a string containing the text of the password change notification email
      */
     public String generateChangePasswdInfoMailText() {
-        return """
-                Hello,\s
-                this is information mail only,
-                password was changed if it wasn't you, please restore your password in nebula immediately.""";
+        return renderChangePasswdInfoMail(MailTemplateVariant.TEXT).body();
     }
 
     /**
-     * Retrieves the subject line for an email used for verification purposes.
+     * Renders the subject and content of an informational email regarding a password change.
      *
-     * @return a string representing the subject of the verification email
+     * @param variant the content variant to render
+     * @return the rendered password change notification email
      */
-    public static String getVerificationSubject() {
-        return "Confirmation message";
+    public RenderedMail renderChangePasswdInfoMail(MailTemplateVariant variant) {
+        return render(PASSWORD_CHANGED_TEMPLATE, variant, Map.of());
     }
 
-    /**
-     * Retrieves the subject line for an email related to password reset or generation.
-     *
-     * @return a string representing the subject of the password-related email
-     */
-    public static String getPasswordSubject() {
-        return "New password message";
+    private RenderedMail render(String template, MailTemplateVariant variant, Map<String, ?> values) {
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        Locale locale = localeContext == null ? null : localeContext.getLocale();
+        return templateEngine.render(template, locale, variant, values);
     }
 
 }
@@ -0,0 +1,192 @@
+package pl.derleta.authorization.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * High-throughput source of secure random tokens and indexes, shared by {@link ConfigurationTokenGenerator}
+ * and {@link PasswordGenerator}.
+ * <p>
+ * Random bytes are drawn from {@link SecureRandom} in bulk into buffers instead of one RNG call per character.
+ * Characters are encoded by rejection sampling, so every character of the alphabet is equally likely: a byte
+ * is used only if it falls below the largest multiple of the alphabet size, and is mapped by its remainder.
+ * <p>
+ * The buffers are striped by thread id rather than held in thread locals, since requests may run on virtual
+ * threads that would each seed a generator of their own. Each stripe is guarded by a {@link ReentrantLock},
+ * which does not pin virtual threads. This class is designed to be non-instantiable.
+ */
+public final class SecureTokenGenerator {
+
+    /**
+     * Upper- and lowercase letters and digits, in the order used by confirmation tokens.
+     */
+    public static final Alphabet BASE62 = Alphabet.of("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789");
+
+    private static final int POOL_SIZE = 512;
+    private static final int SCRATCH_SIZE = 256;
+    private static final Stripe[] STRIPES = createStripes();
+
+    private SecureTokenGenerator() {
+    }
+
+    /**
+     * Set of characters tokens are generated from, with its rejection sampling bound precomputed.
+     */
+    public static final class Alphabet {
+
+        private final byte[] characters;
+        private final int limit;
+
+        private Alphabet(byte[] characters) {
+            this.characters = characters;
+            this.limit = 256 - 256 % characters.length;
+        }
+
+        /**
+         * Creates an alphabet of the given characters.
+         *
+         * @param characters between 2 and 256 distinct ISO-8859-1 characters
+         * @return the alphabet
+         */
+        public static Alphabet of(String characters) {
+            if (characters.length() < 2 || characters.length() > 256)
+                throw new IllegalArgumentException("Alphabet must have between 2 and 256 characters");
+            if (characters.chars().distinct().count() != characters.length() || characters.chars().anyMatch(c -> c > 0xFF))
+                throw new IllegalArgumentException("Alphabet must consist of distinct ISO-8859-1 characters");
+            return new Alphabet(characters.getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        public int size() {
+            return characters.length;
+        }
+
+    }
+
+    /**
+     * Generates a random string of the given length over the alphabet.
+     *
+     * @param alphabet the characters to draw from
+     * @param length   the length of the string
+     * @return the random string
+     */
+    public static String generate(final Alphabet alphabet, final int length) {
+        if (length < 1) throw new IllegalArgumentException("Token length must be greater than 0");
+        Stripe stripe = stripe();
+        stripe.lock.lock();
+        try {
+            byte[] target = length <= SCRATCH_SIZE ? stripe.scratch : new byte[length];
+            stripe.fill(alphabet, target, 0, length);
+            return new String(target, 0, length, StandardCharsets.ISO_8859_1);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Fills the given range of the array with random characters of the alphabet.
+     *
+     * @param alphabet the characters to draw from
+     * @param target   the array to fill
+     * @param from     the first index to fill, inclusive
+     * @param to       the last index to fill, exclusive
+     */
+    public static void fill(final Alphabet alphabet, final char[] target, final int from, final int to) {
+        Stripe stripe = stripe();
+        stripe.lock.lock();
+        try {
+            for (int i = from; i < to; i++) target[i] = (char) (stripe.nextCharacter(alphabet) & 0xFF);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a uniformly distributed random index.
+     *
+     * @param bound the exclusive upper bound; must be positive
+     * @return a random value between 0 (inclusive) and {@code bound} (exclusive)
+     */
+    public static int nextIndex(final int bound) {
+        if (bound < 1) throw new IllegalArgumentException("Bound must be positive");
+        Stripe stripe = stripe();
+        stripe.lock.lock();
+        try {
+            return stripe.nextIndex(bound);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Shuffles the array in place with the Fisher–Yates algorithm.
+     *
+     * @param values the array to shuffle
+     */
+    public static void shuffle(final char[] values) {
+        Stripe stripe = stripe();
+        stripe.lock.lock();
+        try {
+            for (int i = values.length - 1; i > 0; i--) {
+                int j = stripe.nextIndex(i + 1);
+                char value = values[i];
+                values[i] = values[j];
+                values[j] = value;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private static Stripe stripe() {
+        return STRIPES[(int) (Thread.currentThread().threadId() & (STRIPES.length - 1))];
+    }
+
+    private static Stripe[] createStripes() {
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        Stripe[] stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) stripes[i] = new Stripe();
+        return stripes;
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final SecureRandom random = new SecureRandom();
+        private final byte[] pool = new byte[POOL_SIZE];
+        private final byte[] scratch = new byte[SCRATCH_SIZE];
+        private int position = POOL_SIZE;
+
+        private void fill(Alphabet alphabet, byte[] target, int from, int to) {
+            for (int i = from; i < to; i++) target[i] = nextCharacter(alphabet);
+        }
+
+        private byte nextCharacter(Alphabet alphabet) {
+            int value;
+            do {
+                value = nextByte();
+            } while (value >= alphabet.limit);
+            return alphabet.characters[value % alphabet.characters.length];
+        }
+
+        private int nextIndex(int bound) {
+            long range = 1L << 32;
+            long limit = range - range % bound;
+            long value;
+            do {
+                value = (long) nextByte() << 24 | nextByte() << 16 | nextByte() << 8 | nextByte();
+            } while (value >= limit);
+            return (int) (value % bound);
+        }
+
+        private int nextByte() {
+            if (position == POOL_SIZE) {
+                random.nextBytes(pool);
+                position = 0;
+            }
+            return pool[position++] & 0xFF;
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+package pl.derleta.authorization.config.audit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the cost of recording an authentication event on the request thread, with the writer thread
+ * appending to memory-mapped segments in a temporary directory, on one and on eight threads. Run with
+ * {@link AuditLogBenchmarkHarness}, which adds the GC profiler to confirm that recording does not allocate
+ * ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditLogBenchmark {
+
+    private Path directory;
+    private AuditLog auditLog;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("audit-benchmark");
+        auditLog = new AuditLog(true, directory, 65536, 64L * 1024 * 1024, Duration.ofDays(1), 512L * 1024 * 1024,
+                Duration.ofSeconds(1), Clock.systemUTC());
+        auditLog.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        auditLog.stop();
+        System.out.println("Dropped events: " + auditLog.dropped());
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public boolean record() {
+        return auditLog.record(AuditEventType.LOGIN_SUCCEEDED, 42, "benchmark.user");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean recordContended() {
+        return auditLog.record(AuditEventType.LOGIN_SUCCEEDED, 42, "benchmark.user");
+    }
+
+}
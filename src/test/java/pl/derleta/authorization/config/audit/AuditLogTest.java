@@ -0,0 +1,89 @@
+package pl.derleta.authorization.config.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void stop_afterRecordedEvents_shouldHaveWrittenAllOfThem() throws IOException {
+        // Arrange
+        AuditLog auditLog = new AuditLog(true, directory, 1024, 1024 * 1024, Duration.ofDays(1), Long.MAX_VALUE,
+                Duration.ofMillis(100), Clock.systemUTC());
+        auditLog.start();
+
+        // Act
+        for (int i = 1; i <= 500; i++) assertTrue(auditLog.record(AuditEventType.LOGIN_SUCCEEDED, i, "user" + i));
+        auditLog.record(AuditEventType.LOGIN_FAILED, 0, "mallory");
+        auditLog.stop();
+
+        // Assert
+        List<AuditRecord> records = new ArrayList<>();
+        for (Path segment : AuditSegmentWriter.segments(directory)) records.addAll(AuditSegmentReader.read(segment));
+        assertEquals(501, records.size());
+        assertEquals("user500", records.get(499).subject());
+        assertEquals(AuditEventType.LOGIN_FAILED, records.get(500).type());
+        assertEquals(0, auditLog.dropped());
+    }
+
+    @Test
+    void record_whenDisabled_shouldNotBufferTheEvent() throws IOException {
+        // Arrange
+        AuditLog auditLog = AuditLog.disabled();
+        auditLog.start();
+
+        // Act
+        boolean recorded = auditLog.record(AuditEventType.LOGIN_SUCCEEDED, 1, "alice");
+        auditLog.stop();
+
+        // Assert
+        assertFalse(recorded);
+    }
+
+    @Test
+    void start_withRelativeDirectory_shouldDisableTheLog() {
+        // Arrange
+        AuditLog auditLog = new AuditLog(true, Path.of("audit"), 1024, 1024 * 1024, Duration.ofDays(1), Long.MAX_VALUE,
+                Duration.ofMillis(100), Clock.systemUTC());
+
+        // Act
+        auditLog.start();
+        boolean recorded = auditLog.record(AuditEventType.LOGIN_SUCCEEDED, 1, "alice");
+        auditLog.stop();
+
+        // Assert
+        assertFalse(auditLog.isEnabled());
+        assertFalse(recorded);
+    }
+
+    @Test
+    void start_withUnwritableDirectory_shouldDisableTheLog() throws IOException {
+        // Arrange
+        Path file = Files.createFile(directory.resolve("not-a-directory"));
+        AuditLog auditLog = new AuditLog(true, file.resolve("audit"), 1024, 1024 * 1024, Duration.ofDays(1), Long.MAX_VALUE,
+                Duration.ofMillis(100), Clock.systemUTC());
+
+        // Act
+        auditLog.start();
+        boolean recorded = auditLog.record(AuditEventType.LOGIN_SUCCEEDED, 1, "alice");
+        auditLog.stop();
+
+        // Assert
+        assertFalse(auditLog.isEnabled());
+        assertFalse(recorded);
+    }
+
+}
@@ -0,0 +1,120 @@
+package pl.derleta.authorization.config.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void drain_withOfferedEvents_shouldPassRecordsInOrder() {
+        // Arrange
+        AuditRingBuffer buffer = new AuditRingBuffer(8);
+        buffer.offer(AuditEventType.LOGIN_SUCCEEDED, 1_000, 7, "alice");
+        buffer.offer(AuditEventType.LOGIN_FAILED, 2_000, 0, "bob");
+
+        // Act
+        List<AuditRecord> records = drainAll(buffer);
+
+        // Assert
+        assertEquals(2, records.size());
+        assertEquals(1, records.get(0).sequence());
+        assertEquals(AuditEventType.LOGIN_SUCCEEDED, records.get(0).type());
+        assertEquals(7, records.get(0).userId());
+        assertEquals("alice", records.get(0).subject());
+        assertEquals(2_000, records.get(1).timestamp().toEpochMilli());
+        assertEquals("bob", records.get(1).subject());
+    }
+
+    @Test
+    void offer_whenFull_shouldDropAndCountTheEvent() {
+        // Arrange
+        AuditRingBuffer buffer = new AuditRingBuffer(2);
+        buffer.offer(AuditEventType.LOGIN_FAILED, 1, 0, "a");
+        buffer.offer(AuditEventType.LOGIN_FAILED, 2, 0, "b");
+
+        // Act
+        boolean offered = buffer.offer(AuditEventType.LOGIN_FAILED, 3, 0, "c");
+        drainAll(buffer);
+        boolean offeredAfterDrain = buffer.offer(AuditEventType.LOGIN_FAILED, 4, 0, "d");
+
+        // Assert
+        assertFalse(offered);
+        assertTrue(offeredAfterDrain);
+        assertEquals(1, buffer.dropped());
+    }
+
+    @Test
+    void offer_withLongOrNonAsciiSubject_shouldTruncateAtCharacterBoundary() {
+        // Arrange
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        String polish = "żółw".repeat(10);
+
+        // Act
+        buffer.offer(AuditEventType.PASSWORD_RESET, 1, 1, polish);
+        buffer.offer(AuditEventType.PASSWORD_RESET, 1, 1, "short");
+        List<AuditRecord> records = drainAll(buffer);
+
+        // Assert
+        assertTrue(polish.startsWith(records.get(0).subject()));
+        assertEquals(21, records.get(0).subject().length());
+        assertEquals("short", records.get(1).subject());
+    }
+
+    @Test
+    void offer_fromManyThreads_shouldDeliverEveryEventOnce() throws InterruptedException {
+        // Arrange
+        AuditRingBuffer buffer = new AuditRingBuffer(1024);
+        int threads = 4;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        Set<Long> userIds = new HashSet<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            long base = t * 1_000_000L;
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    while (!buffer.offer(AuditEventType.ACCESS_REFRESHED, 1, base + i, null)) Thread.onSpinWait();
+                }
+                done.countDown();
+            });
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (userIds.size() < threads * perThread && System.nanoTime() < deadline) {
+            if (buffer.drain((bytes, offset) -> userIds.add(AuditRecord.read(ByteBuffer.wrap(bytes), offset).userId()), 256) == 0) {
+                Thread.onSpinWait();
+            }
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(threads * perThread, userIds.size());
+    }
+
+    @Test
+    void constructor_withCapacityNotPowerOfTwo_shouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(100));
+    }
+
+    private static List<AuditRecord> drainAll(AuditRingBuffer buffer) {
+        List<AuditRecord> records = new ArrayList<>();
+        buffer.drain((bytes, offset) -> records.add(AuditRecord.read(ByteBuffer.wrap(bytes), offset)), Integer.MAX_VALUE);
+        return records;
+    }
+
+}
@@ -0,0 +1,108 @@
+package pl.derleta.authorization.config.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditSegmentWriterTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-15T10:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_thenClose_shouldBeReadBackInOrder() throws IOException {
+        // Arrange
+        AuditSegmentWriter writer = new AuditSegmentWriter(directory, 4096, Duration.ofDays(1), Long.MAX_VALUE, CLOCK);
+
+        // Act
+        writer.append(record(1, AuditEventType.LOGIN_SUCCEEDED, 5), 0);
+        writer.append(record(2, AuditEventType.PASSWORD_CHANGED, 5), 0);
+        writer.close();
+
+        // Assert
+        List<Path> segments = AuditSegmentWriter.segments(directory);
+        assertEquals(1, segments.size());
+        assertEquals(3L * AuditRecord.SIZE, Files.size(segments.get(0)));
+        List<AuditRecord> records = AuditSegmentReader.read(segments.get(0));
+        assertEquals(List.of(1L, 2L), records.stream().map(AuditRecord::sequence).toList());
+        assertEquals(AuditEventType.PASSWORD_CHANGED, records.get(1).type());
+    }
+
+    @Test
+    void append_beyondSegmentSize_shouldRotateToNextSegment() throws IOException {
+        // Arrange
+        AuditSegmentWriter writer = new AuditSegmentWriter(directory, 3L * AuditRecord.SIZE, Duration.ofDays(1), Long.MAX_VALUE, CLOCK);
+
+        // Act
+        for (int i = 1; i <= 5; i++) writer.append(record(i, AuditEventType.LOGIN_FAILED, 0), 0);
+        writer.close();
+
+        // Assert
+        List<Path> segments = AuditSegmentWriter.segments(directory);
+        assertEquals(3, segments.size());
+        assertEquals(List.of(5L), AuditSegmentReader.read(segments.get(2)).stream().map(AuditRecord::sequence).toList());
+    }
+
+    @Test
+    void constructor_withOldAndExcessSegments_shouldApplyRetention() throws IOException {
+        // Arrange
+        Path expired = Files.write(directory.resolve("audit-0000000000000000001.seg"), new byte[AuditRecord.SIZE]);
+        Files.setLastModifiedTime(expired, FileTime.from(NOW.minus(Duration.ofDays(31))));
+        Path oldest = Files.write(directory.resolve("audit-0000000000000000002.seg"), new byte[1024]);
+        Path newest = Files.write(directory.resolve("audit-0000000000000000003.seg"), new byte[1024]);
+        Files.setLastModifiedTime(oldest, FileTime.from(NOW));
+        Files.setLastModifiedTime(newest, FileTime.from(NOW));
+
+        // Act
+        new AuditSegmentWriter(directory, 1024, Duration.ofDays(30), 2048, CLOCK).close();
+
+        // Assert
+        List<Path> segments = AuditSegmentWriter.segments(directory);
+        assertEquals(List.of(newest, directory.resolve("audit-0000000000000000004.seg")), segments);
+    }
+
+    @Test
+    void read_withFileOfOtherFormat_shouldThrow() throws IOException {
+        // Arrange
+        Path file = Files.write(directory.resolve("audit-0000000000000000001.seg"), new byte[AuditRecord.SIZE]);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> AuditSegmentReader.read(file));
+    }
+
+    @Test
+    void toJson_withSpecialCharacters_shouldEscapeThem() {
+        // Arrange
+        AuditRecord record = new AuditRecord(3, NOW, AuditEventType.LOGIN_FAILED, 0, "a\"b\\c\n");
+
+        // Act
+        String json = record.toJson();
+
+        // Assert
+        assertEquals("{\"sequence\":3,\"timestamp\":\"2025-01-15T10:00:00Z\",\"type\":\"LOGIN_FAILED\","
+                + "\"userId\":0,\"subject\":\"a\\\"b\\\\c\\n\"}", json);
+    }
+
+    private static byte[] record(long sequence, AuditEventType type, long userId) {
+        ByteBuffer buffer = ByteBuffer.allocate(AuditRecord.SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(0, sequence).putLong(8, NOW.toEpochMilli()).putLong(16, userId).put(24, type.code());
+        return buffer.array();
+    }
+
+}
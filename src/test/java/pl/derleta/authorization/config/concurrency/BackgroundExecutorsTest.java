@@ -0,0 +1,58 @@
+package pl.derleta.authorization.config.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackgroundExecutorsTest {
+
+    @Test
+    void create_withVirtualThreadsEnabled_shouldRunTasksOnVirtualThreads() throws Exception {
+        // Arrange
+        BackgroundExecutors executors = new BackgroundExecutors(true);
+        ExecutorService executor = executors.create("test-background", 2);
+
+        // Act
+        Future<Boolean> virtual = executor.submit(() -> Thread.currentThread().isVirtual());
+        Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+
+        // Assert
+        assertTrue(virtual.get());
+        assertTrue(name.get().startsWith("test-background-"));
+        executors.shutdown();
+    }
+
+    @Test
+    void create_withVirtualThreadsDisabled_shouldRunTasksOnPlatformThreads() throws Exception {
+        // Arrange
+        BackgroundExecutors executors = new BackgroundExecutors(false);
+        ExecutorService executor = executors.create("test-background", 2);
+
+        // Act
+        Future<Boolean> virtual = executor.submit(() -> Thread.currentThread().isVirtual());
+
+        // Assert
+        assertFalse(virtual.get());
+        executors.shutdown();
+    }
+
+    @Test
+    void shutdown_withCreatedExecutors_shouldTerminateAll() {
+        // Arrange
+        BackgroundExecutors executors = new BackgroundExecutors(false);
+        ExecutorService first = executors.create("first", 1);
+        ExecutorService second = executors.create("second", 1);
+
+        // Act
+        executors.shutdown();
+
+        // Assert
+        assertTrue(first.isTerminated());
+        assertTrue(second.isTerminated());
+    }
+
+}
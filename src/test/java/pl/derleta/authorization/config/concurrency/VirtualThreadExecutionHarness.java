@@ -0,0 +1,144 @@
+package pl.derleta.authorization.config.concurrency;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import pl.derleta.authorization.config.security.OffloadingPasswordEncoder;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Open-loop harness comparing the platform-thread and virtual-thread request execution modes.
+ * <p>
+ * Each simulated request waits on a remote call (mail server, upstream service), then borrows a
+ * connection from a pool of {@code harness.pool.size} permits with the Hikari default acquire timeout
+ * and holds it for the simulated query time; a share of requests additionally verifies a BCrypt hash
+ * through {@link OffloadingPasswordEncoder}. The platform mode runs requests on a fixed pool sized like
+ * the default Tomcat connector ({@code harness.platform.threads}), the virtual mode starts a virtual
+ * thread per request, as Tomcat does with {@code spring.threads.virtual.enabled=true}.
+ * <p>
+ * The harness is excluded from the default build and runs with {@code mvn test -Pbenchmark}.
+ * It can be tuned with system properties, e.g.
+ * {@code -Dharness.rate=2000 -Dharness.remote.latency=200 -Dharness.db.latency=5 -Dharness.hash.ratio=0.01}.
+ */
+@Tag("benchmark")
+class VirtualThreadExecutionHarness {
+
+    private static final int RATE = Integer.getInteger("harness.rate", 1500);
+    private static final int DURATION_SECONDS = Integer.getInteger("harness.duration", 5);
+    private static final int PLATFORM_THREADS = Integer.getInteger("harness.platform.threads", 200);
+    private static final int POOL_SIZE = Integer.getInteger("harness.pool.size", 20);
+    private static final long POOL_TIMEOUT_MS = Long.getLong("harness.pool.timeout", 5_000L);
+    private static final long REMOTE_LATENCY_MS = Long.getLong("harness.remote.latency", 200L);
+    private static final long DB_LATENCY_MS = Long.getLong("harness.db.latency", 2L);
+    private static final double HASH_RATIO = Double.parseDouble(System.getProperty("harness.hash.ratio", "0.002"));
+    private static final int BCRYPT_STRENGTH = Integer.getInteger("harness.bcrypt.strength", 10);
+
+    @Test
+    void requestPath_inBothExecutionModes_shouldReportThroughputAndLatency() throws InterruptedException {
+        // Arrange
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(BCRYPT_STRENGTH);
+        String hash = bcrypt.encode("password");
+        ExecutorService hashingExecutor = new ExecutionConfig().passwordHashingExecutor(0);
+        PasswordEncoder encoder = new OffloadingPasswordEncoder(bcrypt, hashingExecutor);
+
+        // Act
+        Result platform = run("platform", Executors.newFixedThreadPool(PLATFORM_THREADS, Thread.ofPlatform().name("http-nio-", 0).factory()), encoder, hash);
+        Result virtual = run("virtual", Executors.newVirtualThreadPerTaskExecutor(), encoder, hash);
+        hashingExecutor.shutdown();
+
+        // Assert
+        System.out.printf(Locale.ROOT, "%nRequest path: target %d req/s for %d s, remote %d ms, db %d ms on %d connections, bcrypt(%d) for %.1f%% of requests%n",
+                RATE, DURATION_SECONDS, REMOTE_LATENCY_MS, DB_LATENCY_MS, POOL_SIZE, BCRYPT_STRENGTH, HASH_RATIO * 100);
+        System.out.printf(Locale.ROOT, "%-10s %8s %10s %8s %10s %10s %10s %10s%n",
+                "mode", "count", "req/s", "timeouts", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        System.out.println(platform);
+        System.out.println(virtual);
+        assertEquals(platform.issued, platform.latencies.length, "Every platform request should complete");
+        assertEquals(virtual.issued, virtual.latencies.length, "Every virtual request should complete");
+        assertTrue(virtual.throughput() > 0);
+    }
+
+    private static Result run(String mode, ExecutorService executor, PasswordEncoder encoder, String hash) throws InterruptedException {
+        Semaphore connections = new Semaphore(POOL_SIZE, true);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        int total = RATE * DURATION_SECONDS;
+        long[] latencies = new long[total];
+        AtomicInteger completed = new AtomicInteger();
+        AtomicLong timeouts = new AtomicLong();
+        int hashEvery = HASH_RATIO <= 0 ? Integer.MAX_VALUE : (int) Math.max(1, Math.round(1 / HASH_RATIO));
+        long start = System.nanoTime();
+        try (executor) {
+            for (int i = 0; i < total; i++) {
+                long scheduled = start + i * intervalNanos;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+                boolean verifyPassword = i % hashEvery == 0;
+                int index = i;
+                executor.execute(() -> {
+                    try {
+                        sleep(REMOTE_LATENCY_MS);
+                        if (verifyPassword) encoder.matches("password", hash);
+                        if (!connections.tryAcquire(POOL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                            timeouts.incrementAndGet();
+                            return;
+                        }
+                        try {
+                            sleep(DB_LATENCY_MS);
+                        } finally {
+                            connections.release();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        latencies[index] = System.nanoTime() - scheduled;
+                        completed.incrementAndGet();
+                    }
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return new Result(mode, total, Arrays.copyOf(latencies, completed.get()), timeouts.get(), elapsedSeconds);
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+        if (millis > 0) Thread.sleep(millis);
+    }
+
+    private record Result(String mode, int issued, long[] latencies, long timeouts, double elapsedSeconds) {
+
+        double throughput() {
+            return latencies.length / elapsedSeconds;
+        }
+
+        @Override
+        public String toString() {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return String.format(Locale.ROOT, "%-10s %8d %10.1f %8d %10.2f %10.2f %10.2f %10.2f",
+                    mode, sorted.length, throughput(), timeouts,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) return 0.0;
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+
+    }
+
+}
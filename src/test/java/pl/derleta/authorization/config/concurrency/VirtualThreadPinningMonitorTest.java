@@ -0,0 +1,45 @@
+package pl.derleta.authorization.config.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadPinningMonitorTest {
+
+    private VirtualThreadPinningMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        if (monitor != null) monitor.stop();
+    }
+
+    @Test
+    void onPinned_withVirtualThreadBlockedInsideSynchronized_shouldCountPinningSite() throws InterruptedException {
+        // Arrange
+        monitor = new VirtualThreadPinningMonitor(1);
+        monitor.start();
+        Object lock = new Object();
+
+        // Act
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (monitor.getPinnedCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }).join();
+            Thread.sleep(200);
+        }
+
+        // Assert
+        assertTrue(monitor.getPinnedCount() > 0, "Pinning event should be reported");
+        assertTrue(monitor.getPinnedSites().keySet().stream()
+                .anyMatch(site -> site.startsWith(VirtualThreadPinningMonitorTest.class.getName())));
+    }
+
+}
@@ -0,0 +1,417 @@
+package pl.derleta.authorization.config.mail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal in-process SMTP server used as a test fixture for the mail path. It accepts every
+ * sender, recipient and credential, captures delivered messages in memory and supports latency
+ * and failure injection, so account flows can be exercised and load-tested without an external SMTP host.
+ * <p>
+ * The server advertises {@code AUTH PLAIN LOGIN} without {@code STARTTLS}, which matches the
+ * {@code JavaMailSender} configured by {@link EmailSenderConfig} when pointed at {@code localhost}.
+ * Injected failures are reported with a transient {@code 451} reply after the message data,
+ * which surfaces as a {@code MailSendException} on the client side.
+ * <p>
+ * Connections are served by platform threads on purpose: JavaMail connects inside synchronized methods,
+ * so virtual-thread clients stay pinned to their carriers while waiting for the greeting, and a server
+ * running on the same carriers could never answer them.
+ */
+public final class EmbeddedSmtpServer implements AutoCloseable {
+
+    private static final String CRLF = "\r\n";
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(Thread.ofPlatform().daemon().name("embedded-smtp-", 0).factory());
+    private final Thread acceptor;
+    private final Queue<CapturedMessage> messages = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger delivered = new AtomicInteger();
+    private final AtomicInteger failNext = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration latencyJitter = Duration.ZERO;
+    private volatile double failureRate;
+    private volatile boolean running = true;
+
+    private EmbeddedSmtpServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+        this.acceptor = Thread.ofPlatform().daemon().name("embedded-smtp-acceptor").start(this::acceptLoop);
+    }
+
+    /**
+     * Starts a server listening on an ephemeral loopback port.
+     *
+     * @return the running server
+     */
+    public static EmbeddedSmtpServer start() {
+        return start(0);
+    }
+
+    /**
+     * Starts a server listening on the given loopback port.
+     *
+     * @param port the port to listen on, or 0 to pick an ephemeral port
+     * @return the running server
+     */
+    public static EmbeddedSmtpServer start(int port) {
+        try {
+            return new EmbeddedSmtpServer(new ServerSocket(port, 200, InetAddress.getLoopbackAddress()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start embedded SMTP server", e);
+        }
+    }
+
+    /**
+     * Retrieves the port the server is listening on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Creates a mail sender connected to this server, configured with the same SMTP properties
+     * as the one provided by {@link EmailSenderConfig} apart from protocol debugging.
+     *
+     * @return the mail sender
+     */
+    public JavaMailSenderImpl createMailSender() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+        mailSender.setPort(getPort());
+        mailSender.setUsername("sender@localhost.test");
+        mailSender.setPassword("password");
+
+        Properties props = mailSender.getJavaMailProperties();
+        props.put("mail.transport.protocol", "smtp");
+        props.put("mail.smtp.auth", "true");
+        props.put("mail.smtp.starttls.enable", "true");
+        return mailSender;
+    }
+
+    /**
+     * Sets a fixed delay applied before each message is acknowledged.
+     *
+     * @param latency the delay, or {@link Duration#ZERO} to disable
+     * @return this server
+     */
+    public EmbeddedSmtpServer withLatency(Duration latency) {
+        return withLatency(latency, Duration.ZERO);
+    }
+
+    /**
+     * Sets a delay applied before each message is acknowledged, extended by a uniformly distributed jitter.
+     *
+     * @param latency the base delay
+     * @param jitter  the maximum additional random delay
+     * @return this server
+     */
+    public EmbeddedSmtpServer withLatency(Duration latency, Duration jitter) {
+        this.latency = latency;
+        this.latencyJitter = jitter;
+        return this;
+    }
+
+    /**
+     * Sets the probability of rejecting a message with a transient failure.
+     *
+     * @param failureRate the probability in range 0.0 - 1.0
+     * @return this server
+     */
+    public EmbeddedSmtpServer withFailureRate(double failureRate) {
+        if (failureRate < 0.0 || failureRate > 1.0)
+            throw new IllegalArgumentException("Failure rate must be in range 0.0 - 1.0");
+        this.failureRate = failureRate;
+        return this;
+    }
+
+    /**
+     * Rejects the next given number of messages regardless of the configured failure rate.
+     *
+     * @param count the number of messages to reject
+     * @return this server
+     */
+    public EmbeddedSmtpServer failNext(int count) {
+        failNext.addAndGet(count);
+        return this;
+    }
+
+    /**
+     * Retrieves a snapshot of all captured messages in delivery order.
+     *
+     * @return the captured messages
+     */
+    public List<CapturedMessage> getMessages() {
+        return List.copyOf(messages);
+    }
+
+    /**
+     * Retrieves the number of messages accepted since the last reset.
+     *
+     * @return the delivered message count
+     */
+    public int getDeliveredCount() {
+        return delivered.get();
+    }
+
+    /**
+     * Retrieves the number of messages rejected by failure injection.
+     *
+     * @return the rejected message count
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Waits until at least the given number of messages has been captured.
+     *
+     * @param count   the expected number of messages
+     * @param timeout the maximum time to wait
+     * @return true if the messages arrived before the timeout
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public boolean awaitMessages(int count, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (delivered.get() < count) {
+            if (System.nanoTime() >= deadline) return false;
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    /**
+     * Clears captured messages, counters and injected behaviour.
+     */
+    public void reset() {
+        messages.clear();
+        delivered.set(0);
+        rejected.set(0);
+        failNext.set(0);
+        failureRate = 0.0;
+        latency = Duration.ZERO;
+        latencyJitter = Duration.ZERO;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // already closed
+        }
+        connections.shutdownNow();
+        try {
+            acceptor.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> handle(socket));
+            } catch (SocketException e) {
+                if (running) throw new UncheckedIOException(e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 localhost ESMTP embedded test server");
+            String from = null;
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() < 4 ? line.toUpperCase(Locale.ROOT) : line.substring(0, 4).toUpperCase(Locale.ROOT);
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost" + CRLF + "250-AUTH PLAIN LOGIN" + CRLF + "250-8BITMIME" + CRLF + "250 OK");
+                    case "HELO" -> reply(out, "250 localhost");
+                    case "AUTH" -> authenticate(line, in, out);
+                    case "MAIL" -> {
+                        from = address(line);
+                        recipients.clear();
+                        reply(out, "250 2.1.0 OK");
+                    }
+                    case "RCPT" -> {
+                        recipients.add(address(line));
+                        reply(out, "250 2.1.5 OK");
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        byte[] data = readData(in);
+                        deliver(out, new CapturedMessage(from, List.copyOf(recipients), data));
+                        from = null;
+                        recipients.clear();
+                    }
+                    case "RSET" -> {
+                        from = null;
+                        recipients.clear();
+                        reply(out, "250 2.0.0 OK");
+                    }
+                    case "NOOP" -> reply(out, "250 2.0.0 OK");
+                    case "QUIT" -> {
+                        reply(out, "221 2.0.0 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 5.5.2 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // client disconnected
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void authenticate(String line, BufferedReader in, OutputStream out) throws IOException {
+        String[] parts = line.trim().split("\\s+");
+        String mechanism = parts.length > 1 ? parts[1].toUpperCase(Locale.ROOT) : "";
+        if (mechanism.equals("LOGIN")) {
+            if (parts.length < 3) {
+                reply(out, "334 VXNlcm5hbWU6");
+                in.readLine();
+            }
+            reply(out, "334 UGFzc3dvcmQ6");
+            in.readLine();
+        } else if (mechanism.equals("PLAIN") && parts.length < 3) {
+            reply(out, "334 ");
+            in.readLine();
+        }
+        reply(out, "235 2.7.0 Authentication successful");
+    }
+
+    private void deliver(OutputStream out, CapturedMessage message) throws IOException, InterruptedException {
+        Duration delay = latency;
+        Duration jitter = latencyJitter;
+        long delayNanos = delay.toNanos();
+        if (!jitter.isZero()) delayNanos += ThreadLocalRandom.current().nextLong(jitter.toNanos() + 1);
+        if (delayNanos > 0) Thread.sleep(Duration.ofNanos(delayNanos));
+
+        if (shouldFail()) {
+            rejected.incrementAndGet();
+            reply(out, "451 4.3.0 Injected failure");
+            return;
+        }
+        messages.add(message);
+        delivered.incrementAndGet();
+        reply(out, "250 2.0.0 OK queued");
+    }
+
+    private boolean shouldFail() {
+        if (failNext.getAndUpdate(value -> value > 0 ? value - 1 : 0) > 0) return true;
+        double rate = failureRate;
+        return rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private static byte[] readData(BufferedReader in) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            if (line.startsWith("..")) line = line.substring(1);
+            data.append(line).append(CRLF);
+        }
+        return data.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static String address(String line) {
+        int start = line.indexOf('<');
+        int end = line.indexOf('>', start + 1);
+        if (start >= 0 && end > start) return line.substring(start + 1, end);
+        int colon = line.indexOf(':');
+        return colon < 0 ? "" : line.substring(colon + 1).trim();
+    }
+
+    private static void reply(OutputStream out, String response) throws IOException {
+        out.write((response + CRLF).getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    /**
+     * A message accepted by the server.
+     *
+     * @param from       the envelope sender
+     * @param recipients the envelope recipients
+     * @param data       the raw message data as transmitted by the client
+     */
+    public record CapturedMessage(String from, List<String> recipients, byte[] data) {
+
+        /**
+         * Parses the raw message data as a MIME message.
+         *
+         * @return the parsed message
+         */
+        public MimeMessage toMimeMessage() {
+            try {
+                return new MimeMessage(Session.getInstance(new Properties()), new ByteArrayInputStream(data));
+            } catch (MessagingException e) {
+                throw new IllegalStateException("Captured message is not a valid MIME message", e);
+            }
+        }
+
+        /**
+         * Retrieves the decoded subject of the message.
+         *
+         * @return the subject
+         */
+        public String subject() {
+            try {
+                return toMimeMessage().getSubject();
+            } catch (MessagingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Retrieves the decoded plain text content of the message.
+         *
+         * @return the text content
+         */
+        public String text() {
+            try {
+                Object content = toMimeMessage().getContent();
+                return content instanceof String text ? text.replace(CRLF, "\n") : String.valueOf(content);
+            } catch (MessagingException | IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package pl.derleta.authorization.config.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmbeddedSmtpServerTest {
+
+    private EmbeddedSmtpServer server;
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        server = EmbeddedSmtpServer.start();
+        emailService = new EmailService(server.createMailSender());
+        ReflectionTestUtils.setField(emailService, "username", "sender@localhost.test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void sendEmail_withRunningServer_shouldCaptureMessage() {
+        // Act
+        emailService.sendEmail("recipient@example.com", "Test Subject", "Dear tester,\nline two");
+
+        // Assert
+        List<EmbeddedSmtpServer.CapturedMessage> messages = server.getMessages();
+        assertEquals(1, messages.size());
+        assertEquals("sender@localhost.test", messages.getFirst().from());
+        assertEquals(List.of("recipient@example.com"), messages.getFirst().recipients());
+        assertEquals("Test Subject", messages.getFirst().subject());
+        assertEquals("Dear tester,\nline two", messages.getFirst().text().stripTrailing());
+    }
+
+    @Test
+    void sendEmail_withNonAsciiContent_shouldCaptureDecodedMessage() {
+        // Act
+        emailService.sendEmail("recipient@example.com", "Wiadomość", "Zmień hasło");
+
+        // Assert
+        assertEquals("Wiadomość", server.getMessages().getFirst().subject());
+        assertEquals("Zmień hasło", server.getMessages().getFirst().text().stripTrailing());
+    }
+
+    @Test
+    void sendEmail_withInjectedFailure_shouldThrowMailSendException() {
+        // Arrange
+        server.failNext(1);
+
+        // Act & Assert
+        assertThrows(MailSendException.class,
+                () -> emailService.sendEmail("recipient@example.com", "Test Subject", "Body"));
+        assertEquals(1, server.getRejectedCount());
+        assertEquals(0, server.getDeliveredCount());
+    }
+
+    @Test
+    void sendEmail_withFullFailureRate_shouldRejectEveryMessage() {
+        // Arrange
+        server.withFailureRate(1.0);
+
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertThrows(MailSendException.class,
+                    () -> emailService.sendEmail("recipient@example.com", "Test Subject", "Body"));
+        }
+        assertEquals(3, server.getRejectedCount());
+    }
+
+    @Test
+    void sendEmail_withInjectedLatency_shouldDelayAcknowledgement() {
+        // Arrange
+        server.withLatency(Duration.ofMillis(150));
+
+        // Act
+        long start = System.nanoTime();
+        emailService.sendEmail("recipient@example.com", "Test Subject", "Body");
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Assert
+        assertTrue(elapsedMillis >= 150, "Send should take at least the injected latency");
+        assertEquals(1, server.getDeliveredCount());
+    }
+
+    @Test
+    void withFailureRate_withOutOfRangeValue_shouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> server.withFailureRate(1.5));
+    }
+
+}
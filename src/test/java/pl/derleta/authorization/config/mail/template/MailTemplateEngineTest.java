@@ -0,0 +1,135 @@
+package pl.derleta.authorization.config.mail.template;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MailTemplateEngineTest {
+
+    private static final Map<String, Object> VERIFICATION_VALUES = Map.of(
+            "username", "tester",
+            "confirmationUrl", "https://localhost/confirm/",
+            "tokenId", 7L,
+            "token", "abc"
+    );
+
+    @Test
+    void render_withClasspathTemplate_shouldRenderDefaultText() {
+        // Arrange
+        MailTemplateEngine engine = new MailTemplateEngine("", false, "en");
+
+        // Act
+        RenderedMail mail = engine.render("verification", null, MailTemplateVariant.TEXT, VERIFICATION_VALUES);
+
+        // Assert
+        assertEquals("Confirmation message", mail.subject());
+        assertEquals("Dear tester,\nto complete please enter to link:\nhttps://localhost/confirm/7/abc", mail.body());
+    }
+
+    @Test
+    void render_withCountryLocale_shouldFallBackToLanguageTemplate() {
+        // Arrange
+        MailTemplateEngine engine = new MailTemplateEngine("", false, "en");
+
+        // Act
+        RenderedMail mail = engine.render("verification", Locale.forLanguageTag("pl-PL"), MailTemplateVariant.TEXT, VERIFICATION_VALUES);
+
+        // Assert
+        assertTrue(mail.body().startsWith("Witaj tester,"));
+    }
+
+    @Test
+    void render_withUnknownLocale_shouldFallBackToDefaultTemplate() {
+        // Arrange
+        MailTemplateEngine engine = new MailTemplateEngine("", false, "en");
+
+        // Act
+        RenderedMail mail = engine.render("verification", Locale.JAPANESE, MailTemplateVariant.TEXT, VERIFICATION_VALUES);
+
+        // Assert
+        assertTrue(mail.body().startsWith("Dear tester,"));
+    }
+
+    @Test
+    void find_withManyUnknownLocales_shouldNotGrowTheCache() {
+        // Arrange
+        MailTemplateEngine engine = new MailTemplateEngine("", false, "en");
+        engine.find("verification", Locale.JAPANESE, MailTemplateVariant.TEXT);
+        int cached = engine.cachedLookups();
+
+        // Act
+        for (int i = 0; i < 26 * 26; i++) {
+            String language = "q" + (char) ('a' + i / 26) + (char) ('a' + i % 26);
+            Locale locale = new Locale.Builder().setLanguage(language).setRegion("AA").build();
+            engine.find("verification", locale, MailTemplateVariant.TEXT);
+        }
+
+        // Assert
+        assertEquals(cached, engine.cachedLookups());
+    }
+
+    @Test
+    void render_withHtmlVariant_shouldUseHtmlTemplate() {
+        // Arrange
+        MailTemplateEngine engine = new MailTemplateEngine("", false, "en");
+
+        // Act
+        RenderedMail mail = engine.render("verification", Locale.ENGLISH, MailTemplateVariant.HTML, VERIFICATION_VALUES);
+
+        // Assert
+        assertTrue(mail.body().contains("<a href=\"https://localhost/confirm/7/abc\">"));
+    }
+
+    @Test
+    void render_withUnknownTemplate_shouldThrowIllegalStateException() {
+        // Arrange
+        MailTemplateEngine engine = new MailTemplateEngine("", false, "en");
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> engine.render("unknown", null, MailTemplateVariant.TEXT, Map.of()));
+    }
+
+    @Test
+    void render_withDirectoryTemplate_shouldOverrideClasspathTemplate(@TempDir Path directory) throws IOException {
+        // Arrange
+        Files.writeString(directory.resolve("password-changed.txt"), "Subject: Custom\n\nCustom body\n");
+        MailTemplateEngine engine = new MailTemplateEngine(directory.toString(), false, "en");
+
+        // Act
+        RenderedMail mail = engine.render("password-changed", null, MailTemplateVariant.TEXT, Map.of());
+
+        // Assert
+        assertEquals("Custom", mail.subject());
+        assertEquals("Custom body", mail.body());
+    }
+
+    @Test
+    void render_withHotReloadAndModifiedTemplate_shouldRenderNewContent(@TempDir Path directory) throws Exception {
+        // Arrange
+        Path file = directory.resolve("password-changed.txt");
+        Files.writeString(file, "Subject: Custom\n\nFirst body\n");
+        MailTemplateEngine engine = new MailTemplateEngine(directory.toString(), true, "en");
+        assertEquals("First body", engine.render("password-changed", null, MailTemplateVariant.TEXT, Map.of()).body());
+
+        // Act
+        Files.writeString(file, "Subject: Custom\n\nSecond body\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+        Thread.sleep(1100);
+        RenderedMail mail = engine.render("password-changed", null, MailTemplateVariant.TEXT, Map.of());
+
+        // Assert
+        assertEquals("Second body", mail.body());
+    }
+
+}
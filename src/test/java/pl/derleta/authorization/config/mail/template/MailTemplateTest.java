@@ -0,0 +1,70 @@
+package pl.derleta.authorization.config.mail.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MailTemplateTest {
+
+    @Test
+    void render_withPlaceholders_shouldReplaceValuesInSubjectAndBody() {
+        // Arrange
+        MailTemplate template = MailTemplate.compile("Subject: Hello ${name}\n\nDear ${name},\nyour id is ${id}.\n", MailTemplateVariant.TEXT);
+
+        // Act
+        RenderedMail mail = template.render(Map.of("name", "tester", "id", 15L));
+
+        // Assert
+        assertEquals("Hello tester", mail.subject());
+        assertEquals("Dear tester,\nyour id is 15.", mail.body());
+    }
+
+    @Test
+    void render_withHtmlVariant_shouldEscapePlaceholderValuesOnly() {
+        // Arrange
+        MailTemplate template = MailTemplate.compile("Subject: Info\n\n<p>${name}</p>", MailTemplateVariant.HTML);
+
+        // Act
+        RenderedMail mail = template.render(Map.of("name", "<b>tester</b>"));
+
+        // Assert
+        assertEquals("<p>&lt;b&gt;tester&lt;/b&gt;</p>", mail.body());
+    }
+
+    @Test
+    void render_withWindowsLineEndings_shouldNormalizeBody() {
+        // Arrange
+        MailTemplate template = MailTemplate.compile("Subject: Info\r\n\r\nfirst\r\nsecond\r\n", MailTemplateVariant.TEXT);
+
+        // Act
+        RenderedMail mail = template.render(Map.of());
+
+        // Assert
+        assertEquals("first\nsecond", mail.body());
+    }
+
+    @Test
+    void render_withMissingValue_shouldThrowIllegalArgumentException() {
+        // Arrange
+        MailTemplate template = MailTemplate.compile("Subject: Info\n\n${missing}", MailTemplateVariant.TEXT);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> template.render(Map.of()));
+    }
+
+    @Test
+    void compile_withoutSubjectHeader_shouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> MailTemplate.compile("Body only", MailTemplateVariant.TEXT));
+    }
+
+    @Test
+    void compile_withUnterminatedPlaceholder_shouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> MailTemplate.compile("Subject: Info\n\n${name", MailTemplateVariant.TEXT));
+    }
+
+}
@@ -0,0 +1,90 @@
+package pl.derleta.authorization.config.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import pl.derleta.authorization.config.mail.EmailService;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class AuthMetricsTest {
+
+    @Test
+    void constructor_shouldRegisterTaggedTimersWithHistograms() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // Act
+        AuthMetrics metrics = new AuthMetrics(registry);
+        metrics.loginStage(AuthMetrics.LoginStage.PASSWORD_VERIFY).record(5, TimeUnit.MILLISECONDS);
+
+        // Assert
+        Timer timer = registry.get("auth.login.stage").tag("stage", "password_verify").timer();
+        assertSame(metrics.loginStage(AuthMetrics.LoginStage.PASSWORD_VERIFY), timer);
+        assertEquals(1, timer.count());
+        assertEquals(AuthMetrics.LoginStage.values().length, registry.get("auth.login.stage").timers().size());
+        assertEquals(AuthMetrics.VerificationOutcome.values().length, registry.get("auth.jwt.verification").timers().size());
+        assertNotNull(registry.get("auth.login").tag("outcome", "failure").timer());
+        assertNotNull(registry.get("auth.access_token.update").tag("outcome", "error").timer());
+        assertNotNull(registry.get("mail.send").tag("outcome", "success").timer());
+    }
+
+    @Test
+    void scrape_shouldExposePercentileHistogramBuckets() {
+        // Arrange
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        AuthMetrics metrics = new AuthMetrics(registry);
+
+        // Act
+        metrics.verification(AuthMetrics.VerificationOutcome.AUTHENTICATED).record(200, TimeUnit.MICROSECONDS);
+        String scrape = registry.scrape();
+
+        // Assert
+        assertTrue(scrape.contains("auth_jwt_verification_seconds_bucket{outcome=\"authenticated\",le=\"+Inf\",} 1.0"));
+        assertTrue(scrape.contains("auth_login_stage_seconds_bucket{stage=\"user_lookup\""));
+    }
+
+    @Test
+    void noop_shouldRecordNothing() {
+        // Arrange
+        AuthMetrics metrics = AuthMetrics.noop();
+
+        // Act
+        metrics.login(AuthMetrics.Outcome.SUCCESS).record(5, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertEquals(0, metrics.login(AuthMetrics.Outcome.SUCCESS).count());
+    }
+
+    @Test
+    void sendEmail_shouldRecordTheOutcome() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AuthMetrics metrics = new AuthMetrics(registry);
+        JavaMailSender sender = mock(JavaMailSender.class);
+        EmailService emailService = new EmailService(sender);
+        emailService.setMetrics(metrics);
+
+        // Act
+        emailService.sendEmail("recipient@example.com", "Subject", "Body");
+        assertThrows(IllegalArgumentException.class, () -> emailService.sendEmail("invalid-email", "Subject", "Body"));
+        doThrow(new MailSendException("down")).when(sender).send(any(SimpleMailMessage.class));
+        assertThrows(MailSendException.class, () -> emailService.sendEmail("recipient@example.com", "Subject", "Body"));
+
+        // Assert
+        assertEquals(1, metrics.mail(AuthMetrics.Outcome.SUCCESS).count());
+        assertEquals(1, metrics.mail(AuthMetrics.Outcome.FAILURE).count());
+        assertEquals(1, metrics.mail(AuthMetrics.Outcome.ERROR).count());
+    }
+
+}
@@ -9,6 +9,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class UserSecurityTest {
@@ -59,4 +61,34 @@ class UserSecurityTest {
         assertTrue(authorities.contains(new SimpleGrantedAuthority("ROLE_USER")));
     }
 
+    @Test
+    void getAuthorities_calledRepeatedly_shouldReturnSameImmutableList() {
+        // Arrange
+        UserSecurity userSecurity = new UserSecurity(1L, "John", "john@example.com", "password", Set.of(new RoleSecurity(1, "ROLE_ADMIN")));
+
+        // Act
+        Collection<? extends GrantedAuthority> first = userSecurity.getAuthorities();
+        Collection<? extends GrantedAuthority> second = userSecurity.getAuthorities();
+
+        // Assert
+        assertSame(first, second);
+        assertThrows(UnsupportedOperationException.class, () -> first.clear());
+    }
+
+    @Test
+    void getAuthorities_afterAddRole_shouldIncludeNewRole() {
+        // Arrange
+        UserSecurity userSecurity = new UserSecurity();
+        userSecurity.addRole(new RoleSecurity(1, "ROLE_USER"));
+        assertEquals(1, userSecurity.getAuthorities().size());
+
+        // Act
+        userSecurity.addRole(new RoleSecurity(2, "ROLE_ADMIN"));
+        Collection<? extends GrantedAuthority> authorities = userSecurity.getAuthorities();
+
+        // Assert
+        assertEquals(2, authorities.size());
+        assertTrue(authorities.contains(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+
 }
@@ -0,0 +1,85 @@
+package pl.derleta.authorization.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import pl.derleta.authorization.config.model.RoleSecurity;
+import pl.derleta.authorization.config.model.UserSecurity;
+import pl.derleta.authorization.config.security.jwt.JwtTokenUtil;
+
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Serves the actuator on the application port, as a WAR deployed to an external container does.
+ */
+@SpringBootTest(properties = "management.server.port=")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Test
+    void health_withoutToken_shouldBePermitted() throws Exception {
+        // Act
+        int status = mockMvc.perform(request("/actuator/health")).andReturn().getResponse().getStatus();
+
+        // Assert
+        assertNotEquals(401, status);
+        assertNotEquals(403, status);
+        assertNotEquals(404, status);
+    }
+
+    @Test
+    void prometheus_withoutToken_shouldBeUnauthorized() throws Exception {
+        // Act & Assert
+        mockMvc.perform(request("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_withUserRole_shouldBeForbidden() throws Exception {
+        // Arrange
+        String token = tokenWithRole("ROLE_USER");
+
+        // Act & Assert
+        mockMvc.perform(request("/actuator/prometheus").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void prometheus_withAdminRole_shouldReturnMetrics() throws Exception {
+        // Arrange
+        String token = tokenWithRole("ROLE_ADMIN");
+
+        // Act & Assert
+        mockMvc.perform(request("/actuator/prometheus").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("app_filter_requests_total{application=\"nebula_rest_api\"")));
+    }
+
+    private MockHttpServletRequestBuilder request(String url) {
+        return get(url).header("X-Requesting-App", "nebula_rest_api");
+    }
+
+    private String tokenWithRole(String role) {
+        UserSecurity user = new UserSecurity(1L, "Admin User", "admin@example.com", "password123",
+                Set.of(new RoleSecurity(1, role)));
+        return jwtTokenUtil.generateAccessToken(user);
+    }
+
+}
@@ -0,0 +1,117 @@
+package pl.derleta.authorization.config.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffloadingPasswordEncoderTest {
+
+    private ExecutorService hashingExecutor;
+
+    @BeforeEach
+    void setUp() {
+        hashingExecutor = Executors.newFixedThreadPool(1, Thread.ofPlatform().name("test-hash-", 0).factory());
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    @Test
+    void encode_fromPlatformThread_shouldRunInline() {
+        // Arrange
+        RecordingEncoder delegate = new RecordingEncoder();
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(delegate, hashingExecutor);
+
+        // Act
+        String encoded = encoder.encode("password");
+
+        // Assert
+        assertEquals("encoded:password", encoded);
+        assertEquals(Thread.currentThread().getName(), delegate.lastThreadName);
+    }
+
+    @Test
+    void encode_fromVirtualThread_shouldRunOnHashingPool() throws InterruptedException {
+        // Arrange
+        RecordingEncoder delegate = new RecordingEncoder();
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(delegate, hashingExecutor);
+        String[] result = new String[1];
+
+        // Act
+        Thread.ofVirtual().start(() -> result[0] = encoder.encode("password")).join();
+
+        // Assert
+        assertEquals("encoded:password", result[0]);
+        assertTrue(delegate.lastThreadName.startsWith("test-hash-"));
+        assertFalse(delegate.lastThreadVirtual);
+    }
+
+    @Test
+    void matches_fromVirtualThread_shouldReturnDelegateResult() throws InterruptedException {
+        // Arrange
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(new RecordingEncoder(), hashingExecutor);
+        AtomicBoolean matches = new AtomicBoolean();
+        AtomicBoolean mismatches = new AtomicBoolean(true);
+
+        // Act
+        Thread.ofVirtual().start(() -> {
+            matches.set(encoder.matches("password", "encoded:password"));
+            mismatches.set(encoder.matches("other", "encoded:password"));
+        }).join();
+
+        // Assert
+        assertTrue(matches.get());
+        assertFalse(mismatches.get());
+    }
+
+    @Test
+    void encode_fromVirtualThreadWithFailingDelegate_shouldRethrowOriginalException() throws InterruptedException {
+        // Arrange
+        PasswordEncoder failing = new RecordingEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                throw new IllegalArgumentException("bad password");
+            }
+        };
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(failing, hashingExecutor);
+        Throwable[] thrown = new Throwable[1];
+
+        // Act
+        Thread.ofVirtual().start(() -> thrown[0] = assertThrows(IllegalArgumentException.class, () -> encoder.encode("x"))).join();
+
+        // Assert
+        assertEquals("bad password", thrown[0].getMessage());
+    }
+
+    private static class RecordingEncoder implements PasswordEncoder {
+
+        private volatile String lastThreadName;
+        private volatile boolean lastThreadVirtual;
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            lastThreadName = Thread.currentThread().getName();
+            lastThreadVirtual = Thread.currentThread().isVirtual();
+            return "encoded:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return ("encoded:" + rawPassword).equals(encodedPassword);
+        }
+
+    }
+
+}
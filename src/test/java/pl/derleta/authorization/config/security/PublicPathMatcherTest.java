@@ -0,0 +1,53 @@
+package pl.derleta.authorization.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicPathMatcherTest {
+
+    private final PublicPathMatcher matcher = new PublicPathMatcher();
+
+    @Test
+    void matches_withPublicPaths_shouldReturnTrue() {
+        // Act & Assert
+        assertTrue(matcher.matches("/api/v1/public/account/register"));
+        assertTrue(matcher.matches("/api/v1/public"));
+        assertTrue(matcher.matches("/api/v1/auth/login"));
+        assertTrue(matcher.matches("/api/v1/auth/login-form"));
+        assertTrue(matcher.matches("/auth/email"));
+        assertTrue(matcher.matches("/api/v1/auth/refresh-access"));
+    }
+
+    @Test
+    void matches_withProtectedPaths_shouldReturnFalse() {
+        // Act & Assert
+        assertFalse(matcher.matches("/api/v1/table/users"));
+        assertFalse(matcher.matches("/api/v1/publicity"));
+        assertFalse(matcher.matches("/api/v1/auth/login/admin"));
+        assertFalse(matcher.matches("/api/v1/account/change-password"));
+        assertFalse(matcher.matches("/api/v3/auth/login-form"));
+    }
+
+    @Test
+    void matches_withContextPath_shouldMatchPathWithinApplication() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth-server/api/v1/auth/login");
+        request.setContextPath("/auth-server");
+
+        // Act
+        boolean result = matcher.matches(request);
+
+        // Assert
+        assertTrue(result);
+    }
+
+    @Test
+    void constructor_withUnsupportedPattern_shouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new PublicPathMatcher("/api/*/public/**"));
+        assertThrows(IllegalArgumentException.class, () -> new PublicPathMatcher("/api/v1/users/{id}"));
+    }
+
+}
@@ -0,0 +1,99 @@
+package pl.derleta.authorization.config.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import pl.derleta.authorization.config.model.RoleSecurity;
+import pl.derleta.authorization.domain.entity.RoleEntity;
+import pl.derleta.authorization.repository.TableVersions;
+import pl.derleta.authorization.repository.impl.RoleRepository;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoleSecurityRegistryTest {
+
+    private final RoleRepository repository = mock(RoleRepository.class);
+    private final TableVersions tableVersions = mock(TableVersions.class);
+    private final AtomicLong rolesVersion = new AtomicLong();
+    private final RoleSecurityRegistry registry = new RoleSecurityRegistry(repository, tableVersions);
+
+    @BeforeEach
+    void setUp() {
+        when(tableVersions.version(TableVersions.Table.ROLES)).thenAnswer(invocation -> rolesVersion.get());
+    }
+
+    @Test
+    void intern_withKnownRole_shouldReturnSameInstanceWithoutReloading() {
+        // Arrange
+        when(repository.findAll("")).thenReturn(List.of(new RoleEntity(1, "ROLE_ADMIN"), new RoleEntity(2, "ROLE_USER")));
+
+        // Act
+        RoleSecurity first = registry.intern(1, "ROLE_ADMIN");
+        RoleSecurity second = registry.intern(1, "ROLE_ADMIN");
+
+        // Assert
+        assertSame(first, second);
+        assertSame(first.authority(), second.authority());
+        assertEquals(2, registry.size());
+        verify(repository, times(1)).findAll("");
+    }
+
+    @Test
+    void intern_withUnknownOrRenamedRole_shouldReturnNewInstance() {
+        // Arrange
+        when(repository.findAll("")).thenReturn(List.of(new RoleEntity(1, "ROLE_ADMIN")));
+
+        // Act
+        RoleSecurity renamed = registry.intern(1, "ROLE_OLD_ADMIN");
+        RoleSecurity unknown = registry.intern(9, "ROLE_GHOST");
+
+        // Assert
+        assertEquals(new RoleSecurity(1, "ROLE_OLD_ADMIN"), renamed);
+        assertEquals(new RoleSecurity(9, "ROLE_GHOST"), unknown);
+        assertNotSame(renamed, registry.intern(1, "ROLE_OLD_ADMIN"));
+    }
+
+    @Test
+    void intern_afterRolesWrite_shouldReloadAndKeepUnchangedInstances() {
+        // Arrange
+        when(repository.findAll(""))
+                .thenReturn(List.of(new RoleEntity(1, "ROLE_ADMIN"), new RoleEntity(2, "ROLE_USER")))
+                .thenReturn(List.of(new RoleEntity(1, "ROLE_ADMIN"), new RoleEntity(2, "ROLE_MEMBER")));
+        RoleSecurity admin = registry.intern(1, "ROLE_ADMIN");
+        RoleSecurity user = registry.intern(2, "ROLE_USER");
+
+        // Act
+        rolesVersion.incrementAndGet();
+        RoleSecurity adminAfter = registry.intern(1, "ROLE_ADMIN");
+        RoleSecurity member = registry.intern(2, "ROLE_MEMBER");
+
+        // Assert
+        assertSame(admin, adminAfter);
+        assertSame(member, registry.intern(2, "ROLE_MEMBER"));
+        assertNotSame(user, registry.intern(2, "ROLE_USER"));
+        verify(repository, times(2)).findAll("");
+    }
+
+    @Test
+    void intern_withUnavailableDatabase_shouldKeepPreviousRoles() {
+        // Arrange
+        when(repository.findAll(""))
+                .thenReturn(List.of(new RoleEntity(1, "ROLE_ADMIN")))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        RoleSecurity admin = registry.intern(1, "ROLE_ADMIN");
+        rolesVersion.incrementAndGet();
+
+        // Act
+        RoleSecurity adminAfter = registry.intern(1, "ROLE_ADMIN");
+
+        // Assert
+        assertSame(admin, adminAfter);
+        assertSame(admin, registry.intern(1, "ROLE_ADMIN"));
+        verify(repository, times(2)).findAll("");
+    }
+
+}
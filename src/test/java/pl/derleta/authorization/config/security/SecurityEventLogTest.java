@@ -0,0 +1,73 @@
+package pl.derleta.authorization.config.security;
+
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityEventLogTest {
+
+    @Test
+    void record_overSampleLimit_shouldCountEveryEventButLogOnlySample() {
+        // Arrange
+        SecurityEventLog log = new SecurityEventLog(2, () -> 0L);
+        int logged = 0;
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            if (log.record(SecurityEventLog.Category.MALFORMED_TOKEN, new MalformedJwtException("garbage"))) logged++;
+        }
+
+        // Assert
+        assertEquals(2, logged);
+        assertEquals(10, log.count(SecurityEventLog.Category.MALFORMED_TOKEN));
+        assertEquals(0, log.count(SecurityEventLog.Category.EXPIRED_TOKEN));
+    }
+
+    @Test
+    void record_inNextSecond_shouldLogNewSample() {
+        // Arrange
+        AtomicLong clock = new AtomicLong();
+        SecurityEventLog log = new SecurityEventLog(1, clock::get);
+        log.record(SecurityEventLog.Category.EMPTY_TOKEN, new IllegalArgumentException("empty"));
+
+        // Act
+        boolean sameSecond = log.record(SecurityEventLog.Category.EMPTY_TOKEN, new IllegalArgumentException("empty"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        boolean nextSecond = log.record(SecurityEventLog.Category.EMPTY_TOKEN, new IllegalArgumentException("empty"));
+
+        // Assert
+        assertFalse(sameSecond);
+        assertTrue(nextSecond);
+    }
+
+    @Test
+    void record_withZeroSamples_shouldOnlyCount() {
+        // Arrange
+        SecurityEventLog log = new SecurityEventLog(0, () -> 0L);
+
+        // Act
+        boolean logged = log.record(SecurityEventLog.Category.UNSUPPORTED_TOKEN, new IllegalStateException("unsupported"));
+
+        // Assert
+        assertFalse(logged);
+        assertEquals(1, log.count(SecurityEventLog.Category.UNSUPPORTED_TOKEN));
+    }
+
+    @Test
+    void summarize_shouldResetCounters() {
+        // Arrange
+        SecurityEventLog log = new SecurityEventLog(5, () -> 0L);
+        log.record(SecurityEventLog.Category.EXPIRED_TOKEN, new IllegalStateException("expired"));
+
+        // Act
+        log.summarize();
+
+        // Assert
+        assertEquals(0, log.count(SecurityEventLog.Category.EXPIRED_TOKEN));
+    }
+
+}
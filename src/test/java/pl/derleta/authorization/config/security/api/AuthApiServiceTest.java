@@ -1,5 +1,6 @@
 package pl.derleta.authorization.config.security.api;
 
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -10,6 +11,7 @@ import org.springframework.test.context.ActiveProfiles;
 import pl.derleta.authorization.config.model.UserSecurity;
 import pl.derleta.authorization.config.model.UserSecurityMapper;
 import pl.derleta.authorization.config.security.jwt.JwtTokenUtil;
+import pl.derleta.authorization.config.security.jwt.TokenRevocationRegistry;
 import pl.derleta.authorization.domain.entity.RoleEntity;
 import pl.derleta.authorization.domain.entity.UserEntity;
 import pl.derleta.authorization.repository.impl.UserRepository;
@@ -271,4 +273,92 @@ class AuthApiServiceTest {
         }
     }
 
+    @Test
+    void refreshAccessToken_withCurrentStamp_shouldMintFromClaimsWithoutReloadingUser() {
+        // Arrange
+        AuthApiService service = new AuthApiService();
+        UserRepository users = mock(UserRepository.class);
+        UserRolesRepository roles = mock(UserRolesRepository.class);
+        JwtTokenUtil jwt = mock(JwtTokenUtil.class);
+        service.setRepository(authApiRepository, jwt, users, roles);
+        service.setRevocations(mock(TokenRevocationRegistry.class));
+        Claims claims = mock(Claims.class);
+        UserSecurity tokenUser = new UserSecurity();
+        tokenUser.setId(1L);
+        tokenUser.setSecurityStamp(5L);
+        Date expiration = new Date(System.currentTimeMillis() + 1000 * 60 * 60);
+
+        when(jwt.parseClaims("refresh")).thenReturn(claims);
+        when(jwt.getUserSecurity(claims)).thenReturn(tokenUser);
+        when(jwt.getSecurityStamp(claims)).thenReturn(5L);
+        when(users.findSecurityStamp(1L)).thenReturn(5L);
+        when(jwt.generateAccessToken(tokenUser)).thenReturn("access");
+        when(jwt.getTokenExpiration("access")).thenReturn(expiration);
+        when(authApiRepository.getAccessTokenNextId()).thenReturn(42L);
+
+        // Act
+        String accessToken = service.refreshAccessToken("refresh");
+
+        // Assert
+        assertEquals("access", accessToken);
+        verify(authApiRepository).saveAccessToken(42L, 1L, "access", expiration);
+        verify(users, never()).findById(anyLong());
+        verifyNoInteractions(roles);
+    }
+
+    @Test
+    void refreshAccessToken_withStaleStamp_shouldReloadUserAndRoles() {
+        // Arrange
+        AuthApiService service = new AuthApiService();
+        UserRepository users = mock(UserRepository.class);
+        UserRolesRepository roles = mock(UserRolesRepository.class);
+        JwtTokenUtil jwt = mock(JwtTokenUtil.class);
+        service.setRepository(authApiRepository, jwt, users, roles);
+        service.setRevocations(mock(TokenRevocationRegistry.class));
+        Claims claims = mock(Claims.class);
+        UserSecurity tokenUser = new UserSecurity();
+        tokenUser.setId(1L);
+
+        when(jwt.parseClaims("refresh")).thenReturn(claims);
+        when(jwt.getUserSecurity(claims)).thenReturn(tokenUser);
+        when(jwt.getSecurityStamp(claims)).thenReturn(4L);
+        when(users.findSecurityStamp(1L)).thenReturn(5L);
+        when(users.findById(1L)).thenReturn(new UserEntity(1L, "user", "user@test.com", "password"));
+        when(roles.getRoles(1L)).thenReturn(List.of(new RoleEntity(1, "ROLE_USER")));
+        when(jwt.generateAccessToken(any())).thenReturn("access");
+        when(authApiRepository.getAccessTokenNextId()).thenReturn(42L);
+
+        // Act
+        String accessToken = service.refreshAccessToken("refresh");
+
+        // Assert
+        assertEquals("access", accessToken);
+        verify(users).findById(1L);
+        verify(roles).getRoles(1L);
+        verify(jwt).generateAccessToken(argThat(user -> user.getSecurityStamp() == 5L && user.getRoles().size() == 1));
+    }
+
+    @Test
+    void refreshAccessToken_withDeletedUser_shouldReturnNull() {
+        // Arrange
+        AuthApiService service = new AuthApiService();
+        UserRepository users = mock(UserRepository.class);
+        JwtTokenUtil jwt = mock(JwtTokenUtil.class);
+        service.setRepository(authApiRepository, jwt, users, mock(UserRolesRepository.class));
+        service.setRevocations(mock(TokenRevocationRegistry.class));
+        Claims claims = mock(Claims.class);
+        UserSecurity tokenUser = new UserSecurity();
+        tokenUser.setId(1L);
+
+        when(jwt.parseClaims("refresh")).thenReturn(claims);
+        when(jwt.getUserSecurity(claims)).thenReturn(tokenUser);
+        when(users.findSecurityStamp(1L)).thenReturn(null);
+
+        // Act
+        String accessToken = service.refreshAccessToken("refresh");
+
+        // Assert
+        assertNull(accessToken);
+        verify(jwt, never()).generateAccessToken(any());
+    }
 }
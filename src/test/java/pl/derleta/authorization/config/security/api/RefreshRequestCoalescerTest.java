@@ -0,0 +1,114 @@
+package pl.derleta.authorization.config.security.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RefreshRequestCoalescerTest {
+
+    @Test
+    void coalesce_withConcurrentRefreshes_shouldShareOneComputation() throws Exception {
+        // Arrange
+        RefreshRequestCoalescer coalescer = new RefreshRequestCoalescer(0);
+        AtomicInteger mints = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<String>> results = new ArrayList<>();
+
+        // Act
+        try {
+            results.add(executor.submit(() -> coalescer.coalesce("refresh-token", () -> {
+                started.countDown();
+                await(release);
+                return "access-" + mints.incrementAndGet();
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> coalescer.coalesce("refresh-token", () -> "access-" + mints.incrementAndGet())));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            // Assert
+            for (Future<String> result : results) {
+                assertEquals("access-1", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, mints.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void coalesce_withinAndAfterWindow_shouldReuseThenRecompute() {
+        // Arrange
+        AtomicLong clock = new AtomicLong();
+        RefreshRequestCoalescer coalescer = new RefreshRequestCoalescer(2_000, clock::get);
+        AtomicInteger mints = new AtomicInteger();
+
+        // Act
+        String first = coalescer.coalesce("refresh-token", () -> "access-" + mints.incrementAndGet());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_500));
+        String withinWindow = coalescer.coalesce("refresh-token", () -> "access-" + mints.incrementAndGet());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+        String afterWindow = coalescer.coalesce("refresh-token", () -> "access-" + mints.incrementAndGet());
+
+        // Assert
+        assertEquals("access-1", first);
+        assertEquals("access-1", withinWindow);
+        assertEquals("access-2", afterWindow);
+    }
+
+    @Test
+    void coalesce_withDifferentRefreshTokens_shouldComputeSeparately() {
+        // Arrange
+        RefreshRequestCoalescer coalescer = new RefreshRequestCoalescer(2_000, () -> 0L);
+
+        // Act
+        String first = coalescer.coalesce("refresh-token-1", () -> "access-1");
+        String second = coalescer.coalesce("refresh-token-2", () -> "access-2");
+
+        // Assert
+        assertEquals("access-1", first);
+        assertEquals("access-2", second);
+        assertEquals(2, coalescer.size());
+    }
+
+    @Test
+    void coalesce_afterFailure_shouldNotReuseFailedComputation() {
+        // Arrange
+        RefreshRequestCoalescer coalescer = new RefreshRequestCoalescer(2_000, () -> 0L);
+
+        // Act
+        assertThrows(ObjectNotSavedException.class,
+                () -> coalescer.coalesce("refresh-token", () -> {
+                    throw new ObjectNotSavedException("Token not saved in database");
+                }));
+        String retried = coalescer.coalesce("refresh-token", () -> "access-1");
+
+        // Assert
+        assertEquals("access-1", retried);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
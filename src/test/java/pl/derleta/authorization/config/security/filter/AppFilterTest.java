@@ -5,10 +5,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.PrintWriter;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 
@@ -24,8 +25,7 @@ public class AppFilterTest {
 
         when(request.getHeader("X-Requesting-App")).thenReturn("nebula-rest-api");
 
-        AppFilter appFilter = new AppFilter();
-        ReflectionTestUtils.setField(appFilter, "allowedApplications", "nebula-rest-api");
+        AppFilter appFilter = new AppFilter("nebula-rest-api", "", 0, 0, 0);
 
         // Act
         appFilter.doFilter(request, response, chain);
@@ -46,7 +46,7 @@ public class AppFilterTest {
         when(request.getHeader("X-Requesting-App")).thenReturn("UnknownApp");
         when(response.getWriter()).thenReturn(writer);
 
-        AppFilter appFilter = new AppFilter();
+        AppFilter appFilter = new AppFilter(null, "", 0, 0, 0);
 
         // Act
         appFilter.doFilter(request, response, chain);
@@ -68,7 +68,7 @@ public class AppFilterTest {
         when(request.getHeader("X-Requesting-App")).thenReturn(null);
         when(response.getWriter()).thenReturn(writer);
 
-        AppFilter appFilter = new AppFilter();
+        AppFilter appFilter = new AppFilter(null, "", 0, 0, 0);
 
         // Act
         appFilter.doFilter(request, response, chain);
@@ -90,8 +90,7 @@ public class AppFilterTest {
         when(request.getHeader("X-Requesting-App")).thenReturn("App1");
         when(response.getWriter()).thenReturn(writer);
 
-        AppFilter appFilter = new AppFilter();
-        ReflectionTestUtils.setField(appFilter, "allowedApplications", null);
+        AppFilter appFilter = new AppFilter(null, "", 0, 0, 0);
 
         // Act
         appFilter.doFilter(request, response, chain);
@@ -102,4 +101,53 @@ public class AppFilterTest {
         verify(writer, times(1)).write("Access denied for the application");
     }
 
+    @Test
+    void doFilter_withApplicationOverQuota_shouldThrottleRequest() throws Exception {
+        // Arrange
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        FilterChain chain = mock(FilterChain.class);
+        PrintWriter writer = mock(PrintWriter.class);
+
+        when(request.getHeader("X-Requesting-App")).thenReturn("nebula-rest-api");
+        when(response.getWriter()).thenReturn(writer);
+
+        AppFilter appFilter = new AppFilter("nebula-rest-api", "nebula-rest-api=1/1", 0, 0, 0);
+
+        // Act
+        appFilter.doFilter(request, response, chain);
+        appFilter.doFilter(request, response, chain);
+
+        // Assert
+        verify(chain, times(1)).doFilter(request, response);
+        verify(response, times(1)).setStatus(429);
+        verify(response, times(1)).setHeader("Retry-After", "1");
+        verify(writer, times(1)).write("Too many requests for the application");
+    }
+
+    @Test
+    void doFilter_withAllowedApplication_shouldCountRequest() throws Exception {
+        // Arrange
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        FilterChain chain = mock(FilterChain.class);
+
+        when(request.getHeader("X-Requesting-App")).thenReturn("chess-rest-api");
+
+        AppFilter appFilter = new AppFilter("nebula-rest-api,chess-rest-api", "", 0, 0, 0);
+
+        // Act
+        appFilter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(1, appFilter.getRegistry().find("chess-rest-api").statistics().requests());
+        assertEquals(0, appFilter.getRegistry().find("nebula-rest-api").statistics().requests());
+    }
+
+    @Test
+    void constructor_withMalformedLimits_shouldFailAtStartup() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new AppFilter("nebula-rest-api", "nebula-rest-api", 0, 0, 0));
+    }
+
 }
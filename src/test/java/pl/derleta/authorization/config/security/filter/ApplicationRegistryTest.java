@@ -0,0 +1,124 @@
+package pl.derleta.authorization.config.security.filter;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ApplicationRegistryTest {
+
+    @Test
+    void find_withConfiguredApplications_shouldResolveTrimmedIds() {
+        // Arrange
+        ApplicationRegistry registry = ApplicationRegistry.of(" nebula-rest-api , chess-rest-api", null, ApplicationLimits.UNLIMITED);
+
+        // Act & Assert
+        assertNotNull(registry.find("nebula-rest-api"));
+        assertNotNull(registry.find(" chess-rest-api "));
+        assertNull(registry.find("unknown-app"));
+        assertNull(registry.find(null));
+        assertEquals(2, registry.getApplications().size());
+    }
+
+    @Test
+    void of_withNullApplications_shouldCreateEmptyRegistry() {
+        // Act
+        ApplicationRegistry registry = ApplicationRegistry.of(null, null, ApplicationLimits.UNLIMITED);
+
+        // Assert
+        assertNull(registry.find("nebula-rest-api"));
+    }
+
+    @Test
+    void of_withLimitOverrides_shouldApplyOverridesAndDefaults() {
+        // Arrange
+        ApplicationLimits defaults = new ApplicationLimits(50, 0, 10);
+
+        // Act
+        ApplicationRegistry registry = ApplicationRegistry.of("nebula-rest-api,chess-rest-api", "chess-rest-api=5/10/2", defaults);
+
+        // Assert
+        assertEquals(defaults, registry.find("nebula-rest-api").getLimits());
+        assertEquals(new ApplicationLimits(5, 10, 2), registry.find("chess-rest-api").getLimits());
+    }
+
+    @Test
+    void of_withMalformedOverride_shouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> ApplicationRegistry.of("nebula-rest-api", "nebula-rest-api=fast", ApplicationLimits.UNLIMITED));
+    }
+
+    @Test
+    void tryAdmit_overRateQuota_shouldThrottleAndCount() {
+        // Arrange
+        ApplicationRegistry registry = ApplicationRegistry.of("nebula-rest-api", "nebula-rest-api=1/2", ApplicationLimits.UNLIMITED);
+        RegisteredApplication application = registry.find("nebula-rest-api");
+
+        // Act
+        RegisteredApplication.Admission first = application.tryAdmit();
+        RegisteredApplication.Admission second = application.tryAdmit();
+        RegisteredApplication.Admission third = application.tryAdmit();
+
+        // Assert
+        assertEquals(RegisteredApplication.Admission.ADMITTED, first);
+        assertEquals(RegisteredApplication.Admission.ADMITTED, second);
+        assertEquals(RegisteredApplication.Admission.THROTTLED, third);
+        ApplicationStatistics statistics = registry.statistics().getFirst();
+        assertEquals(2, statistics.requests());
+        assertEquals(1, statistics.throttled());
+    }
+
+    @Test
+    void tryAdmit_overConcurrencyCap_shouldRejectUntilReleased() {
+        // Arrange
+        RegisteredApplication application = ApplicationRegistry.of("nebula-rest-api", "nebula-rest-api=//1", ApplicationLimits.UNLIMITED)
+                .find("nebula-rest-api");
+
+        // Act
+        RegisteredApplication.Admission first = application.tryAdmit();
+        RegisteredApplication.Admission saturated = application.tryAdmit();
+        int inFlight = application.statistics().inFlight();
+        application.release(2_000_000);
+        RegisteredApplication.Admission afterRelease = application.tryAdmit();
+
+        // Assert
+        assertEquals(RegisteredApplication.Admission.ADMITTED, first);
+        assertEquals(RegisteredApplication.Admission.SATURATED, saturated);
+        assertEquals(RegisteredApplication.Admission.ADMITTED, afterRelease);
+        assertEquals(1, inFlight);
+        assertEquals(1, application.statistics().saturated());
+        assertEquals(1, application.statistics().completed());
+        assertEquals(2_000_000, application.statistics().totalLatencyNanos());
+    }
+
+    @Test
+    void bindTo_shouldPublishCountersPerApplication() {
+        // Arrange
+        ApplicationRegistry registry = ApplicationRegistry.of("nebula-rest-api,chess-rest-api", "nebula-rest-api=1/1", ApplicationLimits.UNLIMITED);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        registry.bindTo(meterRegistry);
+        RegisteredApplication application = registry.find("nebula-rest-api");
+
+        // Act
+        application.tryAdmit();
+        application.release(3_000_000);
+        application.tryAdmit();
+
+        // Assert
+        assertEquals(1, meterRegistry.get("app.filter.requests").tags("application", "nebula-rest-api", "outcome", "admitted").functionCounter().count());
+        assertEquals(1, meterRegistry.get("app.filter.requests").tags("application", "nebula-rest-api", "outcome", "throttled").functionCounter().count());
+        assertEquals(0, meterRegistry.get("app.filter.requests").tags("application", "chess-rest-api", "outcome", "admitted").functionCounter().count());
+        FunctionTimer latency = meterRegistry.get("app.filter.latency").tag("application", "nebula-rest-api").functionTimer();
+        assertEquals(1, latency.count());
+        assertEquals(3, latency.totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(0, meterRegistry.get("app.filter.in_flight").tag("application", "nebula-rest-api").gauge().value());
+    }
+
+}
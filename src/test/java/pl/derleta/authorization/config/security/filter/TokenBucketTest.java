@@ -0,0 +1,80 @@
+package pl.derleta.authorization.config.security.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    @Test
+    void tryAcquire_withinBurst_shouldAdmitAllRequests() {
+        // Arrange
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(1, 3, clock::get);
+
+        // Act & Assert
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_afterRefillInterval_shouldAdmitAgain() {
+        // Arrange
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(2, 1, clock::get);
+        bucket.tryAcquire();
+
+        // Act
+        boolean beforeRefill = bucket.tryAcquire();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        boolean afterRefill = bucket.tryAcquire();
+
+        // Assert
+        assertFalse(beforeRefill);
+        assertTrue(afterRefill);
+    }
+
+    @Test
+    void tryAcquire_afterLongIdle_shouldNotExceedBurst() {
+        // Arrange
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(100, 2, clock::get);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        // Act
+        int admitted = 0;
+        while (bucket.tryAcquire()) admitted++;
+
+        // Assert
+        assertEquals(2, admitted);
+    }
+
+    @Test
+    void secondsUntilNextToken_withEmptySlowBucket_shouldRoundUp() {
+        // Arrange
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(0.25, 1, clock::get);
+        bucket.tryAcquire();
+
+        // Act
+        long retryAfter = bucket.secondsUntilNextToken();
+
+        // Assert
+        assertEquals(4, retryAfter);
+    }
+
+    @Test
+    void constructor_withNonPositiveRate_shouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+    }
+
+}
@@ -0,0 +1,88 @@
+package pl.derleta.authorization.config.security.jwt;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import pl.derleta.authorization.config.model.UserSecurity;
+import pl.derleta.authorization.config.security.PublicPathMatcher;
+import pl.derleta.authorization.config.security.SecurityEventLog;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link JwtTokenFilter} on login and registration requests carrying an expired access token in the
+ * {@code Authorization} header, as sent by clients with a stale session: full token verification, as before public
+ * paths were excluded ({@code verifyStaleToken}), against the {@link PublicPathMatcher} bypass ({@code skipPublicPath}).
+ * Sampled logging of the expired token is switched off, so the gain excludes log output. Run with
+ * {@link JwtTokenFilterBenchmarkHarness}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> {
+    };
+
+    @Param({"/api/v1/auth/login", "/api/v1/public/account/register"})
+    public String path;
+
+    private JwtTokenFilter verifyingFilter;
+    private JwtTokenFilter bypassingFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(SecurityEventLog.class)).setLevel(Level.OFF);
+        JwtTokenUtil jwtUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", Base64.getEncoder().encodeToString(new byte[64]));
+        jwtUtil.JWT_ACCESS_EXPIRATION = -60_000;
+        UserSecurity user = new UserSecurity();
+        user.setId(1L);
+        user.setEmail("user@example.com");
+        String expiredToken = jwtUtil.generateAccessToken(user);
+        verifyingFilter = filter(jwtUtil, new PublicPathMatcher(new String[0]));
+        bypassingFilter = filter(jwtUtil, new PublicPathMatcher());
+        request = new MockHttpServletRequest("POST", path);
+        request.addHeader("Authorization", "Bearer " + expiredToken);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void verifyStaleToken() throws Exception {
+        verifyingFilter.doFilter(request, response, CHAIN);
+    }
+
+    @Benchmark
+    public void skipPublicPath() throws Exception {
+        bypassingFilter.doFilter(request, response, CHAIN);
+    }
+
+    private static JwtTokenFilter filter(JwtTokenUtil jwtUtil, PublicPathMatcher publicPaths) {
+        JwtTokenFilter filter = new JwtTokenFilter();
+        filter.setJwtUtil(jwtUtil);
+        filter.setPublicPaths(publicPaths);
+        return filter;
+    }
+
+}
@@ -0,0 +1,38 @@
+package pl.derleta.authorization.config.security.jwt;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the JMH {@link JwtTokenFilterBenchmark} from the test class path.
+ * <p>
+ * The harness is excluded from the default build and runs with
+ * {@code mvn test -Pbenchmark -Dtest=JwtTokenFilterBenchmarkHarness}.
+ */
+@Tag("benchmark")
+class JwtTokenFilterBenchmarkHarness {
+
+    @Test
+    void jwtTokenFilter_shouldReportThroughputPerPath() throws RunnerException {
+        // Arrange
+        Options options = new OptionsBuilder()
+                .include(JwtTokenFilterBenchmark.class.getName())
+                .build();
+
+        // Act
+        Collection<RunResult> results = new Runner(options).run();
+
+        // Assert
+        assertFalse(results.isEmpty(), "Benchmarks should be found on the test class path");
+    }
+
+}
@@ -247,4 +247,23 @@ public class JwtTokenUtilTest {
         assertEquals(userId, extractedUserId);
     }
 
+    @Test
+    public void getUserSecurity_withGeneratedRefreshToken_shouldRestoreIdEmailRolesAndStamp() {
+        // Arrange
+        UserSecurity user = new UserSecurity(7L, "user", "user@test.com", "password",
+                new HashSet<>(Set.of(new RoleSecurity(1, "ROLE_USER"), new RoleSecurity(4, "ROLE_ADMIN"))));
+        user.setSecurityStamp(42L);
+        String refreshToken = jwtTokenUtil.generateRefreshToken(user);
+
+        // Act
+        Claims claims = jwtTokenUtil.parseClaims(refreshToken);
+        UserSecurity restored = jwtTokenUtil.getUserSecurity(claims);
+
+        // Assert
+        assertEquals(7L, restored.getId());
+        assertEquals("user@test.com", restored.getEmail());
+        assertEquals(user.getRoles(), restored.getRoles());
+        assertEquals(42L, restored.getSecurityStamp());
+        assertEquals(42L, jwtTokenUtil.getSecurityStamp(claims));
+    }
 }
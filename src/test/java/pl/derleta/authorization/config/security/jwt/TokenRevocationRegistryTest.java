@@ -0,0 +1,136 @@
+package pl.derleta.authorization.config.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import pl.derleta.authorization.repository.impl.token.TokenRevocationRepository;
+
+import javax.crypto.SecretKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationRegistryTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00.500Z");
+    private static final Instant REVOCATION_SECOND = Instant.parse("2026-10-18T12:00:00Z");
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    private final TokenRevocationRepository repository = mock(TokenRevocationRepository.class);
+    private final TokenRevocationRegistry registry = new TokenRevocationRegistry(repository, RETENTION, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void isRevoked_withoutWatermark_shouldAcceptToken() {
+        // Act
+        boolean revoked = registry.isRevoked(1L, claimsIssuedAt(NOW.minusSeconds(60)));
+
+        // Assert
+        assertFalse(revoked);
+    }
+
+    @Test
+    void revokeAll_withTokensIssuedBeforeAndAfter_shouldRejectOnlyOlderTokens() {
+        // Arrange
+        when(repository.revokeAll(1L, REVOCATION_SECOND)).thenReturn(REVOCATION_SECOND);
+
+        // Act
+        registry.revokeAll(1L);
+
+        // Assert
+        verify(repository).revokeAll(1L, REVOCATION_SECOND);
+        assertTrue(registry.isRevoked(1L, claimsIssuedAt(NOW.minusSeconds(60))));
+        assertTrue(registry.isRevoked(1L, claimsIssuedAt(NOW.minusSeconds(1))));
+        assertFalse(registry.isRevoked(1L, claimsIssuedAt(NOW.plusSeconds(1))));
+        assertFalse(registry.isRevoked(2L, claimsIssuedAt(NOW.minusSeconds(60))));
+    }
+
+    @Test
+    void isRevoked_withTokenIssuedInRevocationSecond_shouldAcceptToken() {
+        // Arrange
+        when(repository.revokeAll(1L, REVOCATION_SECOND)).thenReturn(REVOCATION_SECOND);
+        registry.revokeAll(1L);
+        SecretKey key = Jwts.SIG.HS256.key().build();
+        String token = Jwts.builder().subject("1").issuedAt(Date.from(NOW.plusMillis(200))).signWith(key).compact();
+
+        // Act
+        boolean revoked = registry.isRevoked(1L, Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload());
+
+        // Assert
+        assertFalse(revoked);
+    }
+
+    @Test
+    void poll_withMillisecondWatermark_shouldCompareAtSecondPrecision() {
+        // Arrange
+        when(repository.findChangedSince(any())).thenReturn(Map.of(1L, NOW));
+
+        // Act
+        registry.poll();
+
+        // Assert
+        assertFalse(registry.isRevoked(1L, claimsIssuedAt(NOW)));
+        assertTrue(registry.isRevoked(1L, claimsIssuedAt(NOW.minusSeconds(1))));
+    }
+
+    @Test
+    void poll_withWatermarksFromOtherInstances_shouldLoadThemAndAdvanceCursor() {
+        // Arrange
+        Instant watermark = NOW.minusSeconds(10);
+        when(repository.findChangedSince(NOW.minus(RETENTION))).thenReturn(Map.of(1L, watermark));
+        when(repository.findChangedSince(watermark.minusSeconds(5))).thenReturn(Map.of(1L, watermark));
+
+        // Act
+        registry.poll();
+        registry.poll();
+
+        // Assert
+        assertTrue(registry.isRevoked(1L, claimsIssuedAt(watermark.minusSeconds(1))));
+        assertEquals(1, registry.size());
+        verify(repository).findChangedSince(NOW.minus(RETENTION));
+        verify(repository).findChangedSince(watermark.minusSeconds(5));
+    }
+
+    @Test
+    void poll_withWatermarkOlderThanRetention_shouldDropIt() {
+        // Arrange
+        when(repository.revokeAll(eq(1L), any())).thenReturn(NOW.minus(RETENTION).minusSeconds(1));
+        when(repository.findChangedSince(any())).thenReturn(Map.of());
+        registry.revokeAll(1L);
+
+        // Act
+        registry.poll();
+
+        // Assert
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void poll_withUnavailableDatabase_shouldKeepKnownWatermarks() {
+        // Arrange
+        when(repository.revokeAll(1L, REVOCATION_SECOND)).thenReturn(REVOCATION_SECOND);
+        when(repository.findChangedSince(any())).thenThrow(new DataAccessResourceFailureException("down"));
+        registry.revokeAll(1L);
+
+        // Act
+        registry.poll();
+
+        // Assert
+        assertTrue(registry.isRevoked(1L, claimsIssuedAt(NOW.minusSeconds(60))));
+    }
+
+    private static Claims claimsIssuedAt(Instant issuedAt) {
+        Claims claims = mock(Claims.class);
+        when(claims.getIssuedAt()).thenReturn(Date.from(Instant.ofEpochSecond(issuedAt.getEpochSecond())));
+        return claims;
+    }
+
+}
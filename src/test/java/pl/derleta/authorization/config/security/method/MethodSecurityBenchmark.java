@@ -0,0 +1,109 @@
+package pl.derleta.authorization.config.security.method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.util.SimpleMethodInvocation;
+import pl.derleta.authorization.config.model.RoleSecurity;
+import pl.derleta.authorization.config.model.UserSecurity;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the method security overhead of one granted call: the {@code @PreAuthorize} interceptor evaluating the
+ * SpEL expressions previously used by the controllers ({@code preAuthorize}) against the {@link RequireRoles}
+ * interceptor with the {@link RoleMaskAuthorizationManager} ({@code roleMask}). The principal holds only
+ * {@code ROLE_USER}, the last role checked by the widest expression. Run with {@link MethodSecurityBenchmarkHarness}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodSecurityBenchmark {
+
+    @Param({"single", "any"})
+    public String check;
+
+    private AuthorizationManagerBeforeMethodInterceptor preAuthorize;
+    private AuthorizationManagerBeforeMethodInterceptor roleMask;
+    private SimpleMethodInvocation preAuthorizeInvocation;
+    private SimpleMethodInvocation roleMaskInvocation;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        UserSecurity user = new UserSecurity();
+        user.setId(1L);
+        user.addRole(new RoleSecurity(4, "single".equals(check) ? "ROLE_ADMIN" : "ROLE_USER"));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        preAuthorize = AuthorizationManagerBeforeMethodInterceptor.preAuthorize();
+        RoleMaskAuthorizationManager manager = new RoleMaskAuthorizationManager();
+        roleMask = new AuthorizationManagerBeforeMethodInterceptor(manager.pointcut(), manager);
+        Endpoints endpoints = new Endpoints();
+        preAuthorizeInvocation = invocation(endpoints, method("preAuthorize"));
+        roleMaskInvocation = invocation(endpoints, method("roleMask"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object preAuthorize() throws Throwable {
+        return preAuthorize.invoke(preAuthorizeInvocation);
+    }
+
+    @Benchmark
+    public Object roleMask() throws Throwable {
+        return roleMask.invoke(roleMaskInvocation);
+    }
+
+    private static SimpleMethodInvocation invocation(Endpoints endpoints, Method method) {
+        return new SimpleMethodInvocation(endpoints, method) {
+            @Override
+            public Object proceed() {
+                return null;
+            }
+        };
+    }
+
+    private Method method(String prefix) throws NoSuchMethodException {
+        return Endpoints.class.getMethod(prefix + ("single".equals(check) ? "Single" : "Any"));
+    }
+
+    public static class Endpoints {
+
+        @PreAuthorize("hasRole('ROLE_ADMIN')")
+        public void preAuthorizeSingle() {
+        }
+
+        @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_TESTER') or hasRole('ROLE_MODERATOR') or hasRole('ROLE_USER')")
+        public void preAuthorizeAny() {
+        }
+
+        @RequireRoles(AppRole.ADMIN)
+        public void roleMaskSingle() {
+        }
+
+        @RequireRoles({AppRole.ADMIN, AppRole.MODERATOR, AppRole.TESTER, AppRole.USER})
+        public void roleMaskAny() {
+        }
+    }
+
+}
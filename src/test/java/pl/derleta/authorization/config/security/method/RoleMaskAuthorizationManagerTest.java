@@ -0,0 +1,129 @@
+package pl.derleta.authorization.config.security.method;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.util.SimpleMethodInvocation;
+import pl.derleta.authorization.config.model.RoleSecurity;
+import pl.derleta.authorization.config.model.UserSecurity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleMaskAuthorizationManagerTest {
+
+    private final RoleMaskAuthorizationManager manager = new RoleMaskAuthorizationManager();
+
+    @Test
+    void check_withAnyRequiredRole_shouldGrantAccess() throws Exception {
+        // Arrange
+        Authentication authentication = authenticationOf("ROLE_TESTER");
+
+        // Act
+        AuthorizationDecision decision = manager.check(() -> authentication, invocation("adminOrTester"));
+
+        // Assert
+        assertTrue(decision.isGranted());
+    }
+
+    @Test
+    void check_withoutRequiredRole_shouldDenyAccess() throws Exception {
+        // Arrange
+        Authentication authentication = authenticationOf("ROLE_USER", "ROLE_MODERATOR");
+
+        // Act
+        AuthorizationDecision decision = manager.check(() -> authentication, invocation("adminOrTester"));
+
+        // Assert
+        assertFalse(decision.isGranted());
+    }
+
+    @Test
+    void check_withClassLevelAnnotation_shouldApplyClassRoles() throws Exception {
+        // Arrange
+        Authentication authentication = authenticationOf("ROLE_ADMIN");
+
+        // Act
+        AuthorizationDecision granted = manager.check(() -> authentication, new SimpleMethodInvocation(new AdminOnly(), AdminOnly.class.getMethod("inherit")));
+        AuthorizationDecision denied = manager.check(() -> authenticationOf("ROLE_USER"), new SimpleMethodInvocation(new AdminOnly(), AdminOnly.class.getMethod("inherit")));
+
+        // Assert
+        assertTrue(granted.isGranted());
+        assertFalse(denied.isGranted());
+    }
+
+    @Test
+    void check_withEmptyRoles_shouldDenyAccess() throws Exception {
+        // Arrange
+        Authentication authentication = authenticationOf("ROLE_ADMIN", "ROLE_MODERATOR", "ROLE_TESTER", "ROLE_USER");
+
+        // Act
+        AuthorizationDecision decision = manager.check(() -> authentication, invocation("nobody"));
+
+        // Assert
+        assertFalse(decision.isGranted());
+    }
+
+    @Test
+    void check_withNonUserSecurityPrincipal_shouldUseAuthorities() throws Exception {
+        // Arrange
+        Authentication authentication = new TestingAuthenticationToken("service", null, "ROLE_ADMIN");
+
+        // Act
+        AuthorizationDecision decision = manager.check(() -> authentication, invocation("adminOrTester"));
+
+        // Assert
+        assertTrue(decision.isGranted());
+    }
+
+    @Test
+    void check_withoutAuthentication_shouldDenyAccess() throws Exception {
+        // Act
+        AuthorizationDecision decision = manager.check(() -> null, invocation("adminOrTester"));
+
+        // Assert
+        assertFalse(decision.isGranted());
+    }
+
+    @Test
+    void pointcut_shouldMatchOnlyAnnotatedMethods() throws Exception {
+        // Act & Assert
+        assertTrue(manager.pointcut().getMethodMatcher().matches(Endpoints.class.getMethod("adminOrTester"), Endpoints.class));
+        assertFalse(manager.pointcut().getMethodMatcher().matches(Endpoints.class.getMethod("open"), Endpoints.class));
+        assertTrue(manager.pointcut().getMethodMatcher().matches(AdminOnly.class.getMethod("inherit"), AdminOnly.class));
+    }
+
+    private static SimpleMethodInvocation invocation(String method) throws NoSuchMethodException {
+        return new SimpleMethodInvocation(new Endpoints(), Endpoints.class.getMethod(method));
+    }
+
+    private static Authentication authenticationOf(String... roles) {
+        UserSecurity user = new UserSecurity();
+        user.setId(1L);
+        for (int i = 0; i < roles.length; i++) user.addRole(new RoleSecurity(i + 1, roles[i]));
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+
+    static class Endpoints {
+
+        @RequireRoles({AppRole.ADMIN, AppRole.TESTER})
+        public void adminOrTester() {
+        }
+
+        @RequireRoles({})
+        public void nobody() {
+        }
+
+        public void open() {
+        }
+    }
+
+    @RequireRoles(AppRole.ADMIN)
+    static class AdminOnly {
+
+        public void inherit() {
+        }
+    }
+
+}
@@ -301,8 +301,7 @@ public class AuthControllerTest {
         HttpServletResponse mockResponse = mock(HttpServletResponse.class);
         String accessToken = "new-access-token";
         when(jwtUtil.validateJWTToken(token)).thenReturn(true);
-        when(jwtUtil.getUserId(token)).thenReturn(1L);
-        when(authApiService.updateAccessToken(1L)).thenReturn(accessToken);
+        when(authApiService.refreshAccessToken(token)).thenReturn(accessToken);
         AccessResponse expectedResponse = new AccessResponse(true, AccessResponseType.ACCESS_REFRESHED);
 
         // Act
@@ -317,4 +316,20 @@ public class AuthControllerTest {
         verify(mockResponse, times(2)).addCookie(any());
     }
 
+    @Test
+    void refreshAccess_validTokenOfDeletedUser_shouldReturnUnauthorized() {
+        // Arrange
+        String token = "valid-token";
+        HttpServletResponse mockResponse = mock(HttpServletResponse.class);
+        when(jwtUtil.validateJWTToken(token)).thenReturn(true);
+        when(authApiService.refreshAccessToken(token)).thenReturn(null);
+
+        // Act
+        ResponseEntity<?> response = authController.refreshAccess(token, mockResponse);
+
+        // Assert
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        assertEquals(new AccessResponse(false, AccessResponseType.ACCESS_NOT_REFRESHED), response.getBody());
+        verify(mockResponse, times(0)).addCookie(any());
+    }
 }
@@ -19,6 +19,7 @@ import pl.derleta.authorization.config.model.UserSecurity;
 import pl.derleta.authorization.config.security.jwt.JwtTokenUtil;
 import pl.derleta.authorization.controller.assembler.RoleModelAssembler;
 import pl.derleta.authorization.domain.model.Role;
+import pl.derleta.authorization.repository.TableVersions;
 import pl.derleta.authorization.service.RoleService;
 
 import java.util.Comparator;
@@ -29,10 +30,12 @@ import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -52,6 +55,9 @@ class RoleControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockBean
+    private TableVersions tableVersions;
+
     @MockBean
     private RoleService service;
 
@@ -68,6 +74,7 @@ class RoleControllerTest {
     @BeforeEach
     void setUp() {
         controller = new RoleController(service, roleModelAssembler, pagedResourcesAssembler);
+        when(tableVersions.etag(TableVersions.Table.ROLES)).thenReturn("\"3\"");
 
         when(service.getList(anyString()))
                 .thenAnswer(invocation -> {
@@ -261,6 +268,50 @@ class RoleControllerTest {
         resultActions.andExpect(status().isOk());
     }
 
+    @Test
+    void getList_withMatchingIfNoneMatch_shouldReturnNotModifiedWithoutQuery() throws Exception {
+        // Arrange
+        UserSecurity user = createUserWithRoles(Set.of(
+                new RoleSecurity(1, "ROLE_ADMIN")
+        ));
+
+        String token = generateTokenForUser(user);
+        String etag = "\"3\"";
+
+        // Act
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/table/roles/list")
+                .header("Authorization", "Bearer " + token)
+                .header("X-Requesting-App", "nebula_rest_api")
+                .header("If-None-Match", etag));
+
+        // Assert
+        resultActions.andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        verify(service, never()).getList(anyString());
+    }
+
+    @Test
+    void getList_afterRolesWrite_shouldReturnFullResponseWithNewEtag() throws Exception {
+        // Arrange
+        UserSecurity user = createUserWithRoles(Set.of(
+                new RoleSecurity(1, "ROLE_ADMIN")
+        ));
+
+        String token = generateTokenForUser(user);
+        String staleEtag = "\"3\"";
+        when(tableVersions.etag(TableVersions.Table.ROLES)).thenReturn("\"4\"");
+
+        // Act
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/table/roles/list")
+                .header("Authorization", "Bearer " + token)
+                .header("X-Requesting-App", "nebula_rest_api")
+                .header("If-None-Match", staleEtag));
+
+        // Assert
+        resultActions.andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
     @Test
     void getList_withUnknownHeader_shouldReturnForbidden() throws Exception {
         // Arrange
@@ -22,10 +22,13 @@ import pl.derleta.authorization.controller.assembler.UserModelAssembler;
 import pl.derleta.authorization.domain.model.User;
 import pl.derleta.authorization.service.UserService;
 
+import java.time.Instant;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.verify;
@@ -642,4 +645,100 @@ class UserControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void revokeTokens_withJwtTokenAndAdminRole_shouldReturnNoContent() throws Exception {
+        // Arrange
+        String token = generateTokenForUser(createUserWithRoles(Set.of(new RoleSecurity(1, "ROLE_ADMIN"))));
+        long userId = 10;
+        when(service.revokeTokens(userId)).thenReturn(Instant.now());
+
+        // Act
+        performRevokeTokensRequest(token, userId)
+                // Assert
+                .andExpect(status().isNoContent());
+        verify(service).revokeTokens(userId);
+    }
+
+    @Test
+    void revokeTokens_withJwtTokenAndWithoutAdminRole_shouldReturnForbidden() throws Exception {
+        // Arrange
+        String token = generateTokenForUser(createUserWithRoles(Set.of(new RoleSecurity(3, "ROLE_MODERATOR"))));
+
+        // Act
+        performRevokeTokensRequest(token, 10L)
+                // Assert
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void revokeTokens_withJwtTokenAndNonExistingUserId_shouldReturnNotFound() throws Exception {
+        // Arrange
+        String token = generateTokenForUser(createUserWithRoles(Set.of(new RoleSecurity(1, "ROLE_ADMIN"))));
+        when(service.revokeTokens(10L)).thenReturn(null);
+
+        // Act
+        performRevokeTokensRequest(token, 10L)
+                // Assert
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void lookup_withIdsAndEmails_shouldReturnCompactMap() throws Exception {
+        // Arrange
+        String token = generateTokenForUser(createUserWithRoles(Set.of(new RoleSecurity(2, "ROLE_USER"))));
+        when(service.getAll(anyList(), anyList())).thenReturn(List.of(
+                new User(1, "user1", "password1", "user1@example.com"),
+                new User(2, "moderator", "password2", "moderator@example.com")
+        ));
+
+        // Act
+        performLookupRequest(token, "{\"ids\":[1,48],\"emails\":[\"moderator@example.com\",\"nobody@example.com\"]}")
+                // Assert
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users['1'].username").value("user1"))
+                .andExpect(jsonPath("$.users['1'].password").doesNotExist())
+                .andExpect(jsonPath("$.users['1']._links").doesNotExist())
+                .andExpect(jsonPath("$.emails['moderator@example.com']").value(2))
+                .andExpect(jsonPath("$.missingIds[0]").value(48))
+                .andExpect(jsonPath("$.missingEmails[0]").value("nobody@example.com"));
+    }
+
+    @Test
+    void lookup_withEmptyRequest_shouldReturnBadRequest() throws Exception {
+        // Arrange
+        String token = generateTokenForUser(createUserWithRoles(Set.of(new RoleSecurity(2, "ROLE_USER"))));
+
+        // Act
+        performLookupRequest(token, "{\"ids\":[]}")
+                // Assert
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void lookup_withTooManyValues_shouldReturnPayloadTooLarge() throws Exception {
+        // Arrange
+        String token = generateTokenForUser(createUserWithRoles(Set.of(new RoleSecurity(2, "ROLE_USER"))));
+        String ids = IntStream.rangeClosed(1, UserController.DEFAULT_MAX_LOOKUP_SIZE + 1)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        // Act
+        performLookupRequest(token, "{\"ids\":[" + ids + "]}")
+                // Assert
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    private ResultActions performLookupRequest(String token, String body) throws Exception {
+        return mockMvc.perform(post("/api/v1/table/users/lookup")
+                .header("Authorization", "Bearer " + token)
+                .header("X-Requesting-App", "nebula_rest_api")
+                .content(body)
+                .contentType(MediaType.APPLICATION_JSON)).andDo(print());
+    }
+
+    private ResultActions performRevokeTokensRequest(String token, Long userId) throws Exception {
+        return mockMvc.perform(post("/api/v1/table/users/" + userId + "/revoke-tokens")
+                .header("Authorization", "Bearer " + token)
+                .header("X-Requesting-App", "nebula_rest_api"));
+    }
 }
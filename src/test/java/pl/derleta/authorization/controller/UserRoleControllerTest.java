@@ -21,6 +21,8 @@ import pl.derleta.authorization.controller.assembler.UserRoleModelAssembler;
 import pl.derleta.authorization.domain.model.Role;
 import pl.derleta.authorization.domain.model.User;
 import pl.derleta.authorization.domain.model.UserRole;
+import pl.derleta.authorization.domain.model.UserRoleBulkResult;
+import pl.derleta.authorization.domain.types.UserRoleBulkStatus;
 import pl.derleta.authorization.service.UserRoleService;
 
 import java.util.Comparator;
@@ -33,6 +35,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -174,6 +177,14 @@ class UserRoleControllerTest {
         return mockMvc.perform(request).andDo(print());
     }
 
+    private ResultActions performBulkRequest(MockHttpServletRequestBuilder request, String token, String body) throws Exception {
+        return mockMvc.perform(request
+                .header("Authorization", "Bearer " + token)
+                .header("X-Requesting-App", "nebula_rest_api")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)).andDo(print());
+    }
+
     private ResultActions performDeleteRequest(String token, String requestingAppHeader, Long userId, Integer roleId) throws Exception {
         String url = "/api/v1/table/user-role/" + userId + "/" + roleId;
 
@@ -617,4 +628,62 @@ class UserRoleControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void addAll_withJwtTokenAndAdminRole_shouldReturnPerItemResults() throws Exception {
+        // Arrange
+        String token = generateTokenForUser(createUserWithRoles(Set.of(new RoleSecurity(1, "ROLE_ADMIN"))));
+        when(service.saveAll(anyList())).thenReturn(List.of(
+                new UserRoleBulkResult(1L, 2, 100L, UserRoleBulkStatus.ASSIGNED),
+                new UserRoleBulkResult(48L, 2, null, UserRoleBulkStatus.USER_NOT_FOUND)
+        ));
+
+        // Act
+        performBulkRequest(post("/api/v1/table/user-role/bulk"), token,
+                "[{\"userId\":1,\"roleId\":2},{\"userId\":48,\"roleId\":2}]")
+                // Assert
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1))
+                .andExpect(jsonPath("$.skipped").value(1))
+                .andExpect(jsonPath("$.results[0].userRoleId").value(100))
+                .andExpect(jsonPath("$.results[1].status").value("USER_NOT_FOUND"));
+    }
+
+    @Test
+    void addAll_withJwtTokenAndWithoutAdminRole_shouldReturnForbidden() throws Exception {
+        // Arrange
+        String token = generateTokenForUser(createUserWithRoles(Set.of(new RoleSecurity(2, "ROLE_USER"))));
+
+        // Act
+        performBulkRequest(post("/api/v1/table/user-role/bulk"), token, "[{\"userId\":1,\"roleId\":2}]")
+                // Assert
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void addAll_withEmptyList_shouldReturnBadRequest() throws Exception {
+        // Arrange
+        String token = generateTokenForUser(createUserWithRoles(Set.of(new RoleSecurity(1, "ROLE_ADMIN"))));
+
+        // Act
+        performBulkRequest(post("/api/v1/table/user-role/bulk"), token, "[]")
+                // Assert
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deleteAll_withJwtTokenAndAdminRole_shouldReturnPerItemResults() throws Exception {
+        // Arrange
+        String token = generateTokenForUser(createUserWithRoles(Set.of(new RoleSecurity(1, "ROLE_ADMIN"))));
+        when(service.deleteAll(anyList())).thenReturn(List.of(
+                new UserRoleBulkResult(1L, 2, null, UserRoleBulkStatus.REVOKED)
+        ));
+
+        // Act
+        performBulkRequest(delete("/api/v1/table/user-role/bulk"), token, "[{\"userId\":1,\"roleId\":2}]")
+                // Assert
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("REVOKED"));
+    }
+
 }
@@ -17,15 +17,19 @@ import pl.derleta.authorization.domain.model.Role;
 import pl.derleta.authorization.domain.model.User;
 import pl.derleta.authorization.domain.model.UserRoles;
 import pl.derleta.authorization.service.UserRolesService;
+import pl.derleta.authorization.repository.TableVersions;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -41,6 +45,9 @@ class UserRolesControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockBean
+    private TableVersions tableVersions;
+
     @MockBean
     private UserRolesService service;
 
@@ -78,6 +85,7 @@ class UserRolesControllerTest {
     @BeforeEach
     void setUp() {
         controller = new UserRolesController(service, modelAssembler);
+        when(tableVersions.userEtag(anyLong())).thenAnswer(invocation -> "\"u1-" + invocation.getArgument(0) + "\"");
 
         when(service.get(anyLong(), anyString(), anyString(), anyString()))
                 .thenAnswer(invocation -> {
@@ -240,4 +248,44 @@ class UserRolesControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void get_withMatchingIfNoneMatch_shouldReturnNotModifiedWithoutQuery() throws Exception {
+        // Arrange
+        UserSecurity user = createUserWithRoles(Set.of(
+                new RoleSecurity(1, "ROLE_ADMIN")
+        ));
+
+        String token = generateTokenForUser(user);
+        String etag = "\"u1-4\"";
+
+        // Act
+        mockMvc.perform(get("/api/v1/table/user-roles/4")
+                        .header("Authorization", "Bearer " + token)
+                        .header("X-Requesting-App", "nebula_rest_api")
+                        .header("If-None-Match", etag))
+                // Assert
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        verify(service, never()).get(anyLong(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void get_withEtagOfAnotherUser_shouldReturnFullResponse() throws Exception {
+        // Arrange
+        UserSecurity user = createUserWithRoles(Set.of(
+                new RoleSecurity(1, "ROLE_ADMIN")
+        ));
+
+        String token = generateTokenForUser(user);
+
+        // Act
+        mockMvc.perform(get("/api/v1/table/user-roles/1")
+                        .header("Authorization", "Bearer " + token)
+                        .header("X-Requesting-App", "nebula_rest_api")
+                        .header("If-None-Match", "\"u1-4\""))
+                // Assert
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"u1-1\""));
+    }
+
 }
@@ -0,0 +1,39 @@
+package pl.derleta.authorization.controller.assembler;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import pl.derleta.authorization.controller.AccessTokenController;
+import pl.derleta.authorization.controller.mapper.UserApiMapper;
+import pl.derleta.authorization.domain.model.AccessToken;
+import pl.derleta.authorization.domain.model.User;
+import pl.derleta.authorization.domain.response.AccessTokenResponse;
+
+import java.sql.Timestamp;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+public class AccessTokenModelAssemblerBenchmark extends ModelAssemblerBenchmarkSupport<AccessToken, AccessTokenResponse> {
+
+    private static final Timestamp EXPIRATION = Timestamp.valueOf("2030-01-01 00:00:00");
+
+    @Override
+    protected AccessToken entity(int index) {
+        User user = new User(index, "user" + index, "hash", "user" + index + "@example.com");
+        return new AccessToken(index, "token-" + index, user, EXPIRATION);
+    }
+
+    @Override
+    protected RepresentationModelAssembler<AccessToken, AccessTokenResponse> assembler() {
+        return new AccessTokenModelAssembler();
+    }
+
+    @Override
+    protected AccessTokenResponse reflective(AccessToken entity) {
+        AccessTokenResponse model = new AccessTokenResponse();
+        BeanUtils.copyProperties(entity, model);
+        model.setUser(UserApiMapper.toUserResponse(entity.user()));
+        model.add(linkTo(AccessTokenController.class).slash(AccessTokenController.DEFAULT_PATH).slash(model.getTokenId()).withSelfRel());
+        return model;
+    }
+
+}
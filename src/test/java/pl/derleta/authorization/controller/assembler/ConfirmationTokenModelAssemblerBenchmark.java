@@ -0,0 +1,39 @@
+package pl.derleta.authorization.controller.assembler;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import pl.derleta.authorization.controller.ConfirmationTokenController;
+import pl.derleta.authorization.controller.mapper.UserApiMapper;
+import pl.derleta.authorization.domain.model.ConfirmationToken;
+import pl.derleta.authorization.domain.model.User;
+import pl.derleta.authorization.domain.response.ConfirmationTokenResponse;
+
+import java.sql.Timestamp;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+public class ConfirmationTokenModelAssemblerBenchmark extends ModelAssemblerBenchmarkSupport<ConfirmationToken, ConfirmationTokenResponse> {
+
+    private static final Timestamp EXPIRATION = Timestamp.valueOf("2030-01-01 00:00:00");
+
+    @Override
+    protected ConfirmationToken entity(int index) {
+        User user = new User(index, "user" + index, "hash", "user" + index + "@example.com");
+        return new ConfirmationToken(index, "token-" + index, user, EXPIRATION);
+    }
+
+    @Override
+    protected RepresentationModelAssembler<ConfirmationToken, ConfirmationTokenResponse> assembler() {
+        return new ConfirmationTokenModelAssembler();
+    }
+
+    @Override
+    protected ConfirmationTokenResponse reflective(ConfirmationToken entity) {
+        ConfirmationTokenResponse model = new ConfirmationTokenResponse();
+        BeanUtils.copyProperties(entity, model);
+        model.setUser(UserApiMapper.toUserResponse(entity.user()));
+        model.add(linkTo(ConfirmationTokenController.class).slash(ConfirmationTokenController.DEFAULT_PATH).slash(model.getTokenId()).withSelfRel());
+        return model;
+    }
+
+}
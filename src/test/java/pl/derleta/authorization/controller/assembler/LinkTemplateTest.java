@@ -0,0 +1,69 @@
+package pl.derleta.authorization.controller.assembler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import pl.derleta.authorization.controller.UserController;
+import pl.derleta.authorization.controller.UserRolesController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+class LinkTemplateTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void self_withoutRequest_shouldMatchLinkBuilder() {
+        // Arrange
+        LinkTemplate template = LinkTemplate.of(UserController.class, UserController.DEFAULT_PATH);
+
+        // Act
+        Link link = template.self(42L);
+
+        // Assert
+        assertThat(link).isEqualTo(linkTo(UserController.class).slash(UserController.DEFAULT_PATH).slash(42L).withSelfRel());
+    }
+
+    @Test
+    void self_withinRequest_shouldMatchLinkBuilder() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/auth/api/v1/table/users");
+        request.setScheme("https");
+        request.setServerName("auth.example.com");
+        request.setServerPort(8443);
+        request.setContextPath("/auth");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        LinkTemplate template = LinkTemplate.of(UserRolesController.class, UserRolesController.DEFAULT_PATH);
+
+        // Act
+        Link link = template.self(7L);
+
+        // Assert
+        assertThat(link.getHref()).isEqualTo("https://auth.example.com:8443/auth/api/v1/" + UserRolesController.DEFAULT_PATH + "/7");
+        assertThat(link).isEqualTo(linkTo(UserRolesController.class).slash(UserRolesController.DEFAULT_PATH).slash(7L).withSelfRel());
+    }
+
+    @Test
+    void currentBaseUri_withinRequest_shouldResolveOncePerRequest() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/table/users");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // Act
+        String first = LinkTemplate.currentBaseUri();
+        request.setServerName("changed.example.com");
+        String second = LinkTemplate.currentBaseUri();
+
+        // Assert
+        assertThat(first).isEqualTo("http://localhost");
+        assertThat(second).isSameAs(first);
+    }
+
+}
@@ -0,0 +1,40 @@
+package pl.derleta.authorization.controller.assembler;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the JMH model assembler benchmarks ({@code *ModelAssemblerBenchmark}) from the test class path.
+ * <p>
+ * The harness is excluded from the default build and runs with {@code mvn test -Pbenchmark}.
+ * A subset can be selected with {@code -Dharness.jmh.include=UserModelAssemblerBenchmark}.
+ */
+@Tag("benchmark")
+class ModelAssemblerBenchmarkHarness {
+
+    private static final String INCLUDE = System.getProperty("harness.jmh.include", "ModelAssemblerBenchmark");
+
+    @Test
+    void modelAssemblers_shouldReportAverageTimePerPage() throws RunnerException {
+        // Arrange
+        Options options = new OptionsBuilder()
+                .include(ModelAssemblerBenchmarkHarness.class.getPackageName() + ".*" + INCLUDE)
+                .build();
+
+        // Act
+        Collection<RunResult> results = new Runner(options).run();
+
+        // Assert
+        assertFalse(results.isEmpty(), "Benchmarks should be found on the test class path");
+    }
+
+}
@@ -0,0 +1,101 @@
+package pl.derleta.authorization.controller.assembler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Common JMH setup for the model assembler benchmarks.
+ * <p>
+ * Every benchmark assembles a page of {@code pageSize} entities within a bound HTTP request, comparing
+ * the previous reflective mapping with {@code linkTo} links ({@code reflective}) against the assembler
+ * ({@code direct}), and the assembler wrapped by {@link PagedResourcesAssembler} ({@code paged}).
+ * Run with {@link ModelAssemblerBenchmarkHarness}.
+ *
+ * @param <E> the domain entity type
+ * @param <M> the response model type
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class ModelAssemblerBenchmarkSupport<E, M extends RepresentationModel<M>> {
+
+    @Param({"20", "200"})
+    public int pageSize;
+
+    private List<E> entities;
+    private PagedResourcesAssembler<E> pagedResourcesAssembler;
+    private RepresentationModelAssembler<E, M> assembler;
+
+    @Setup
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/table");
+        request.setServerName("auth.example.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        entities = IntStream.range(0, pageSize).mapToObj(this::entity).toList();
+        pagedResourcesAssembler = new PagedResourcesAssembler<>(null, null);
+        assembler = assembler();
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public void reflective(Blackhole blackhole) {
+        for (E entity : entities) blackhole.consume(reflective(entity));
+    }
+
+    @Benchmark
+    public void direct(Blackhole blackhole) {
+        for (E entity : entities) blackhole.consume(assembler.toModel(entity));
+    }
+
+    @Benchmark
+    public PagedModel<M> paged() {
+        return pagedResourcesAssembler.toModel(new PageImpl<>(entities, PageRequest.of(0, pageSize), 10_000), assembler);
+    }
+
+    /**
+     * Creates the entity at the given position of the page.
+     */
+    protected abstract E entity(int index);
+
+    /**
+     * Creates the assembler under test.
+     */
+    protected abstract RepresentationModelAssembler<E, M> assembler();
+
+    /**
+     * Assembles the model the way the assembler did before, with {@code BeanUtils.copyProperties} and {@code linkTo}.
+     */
+    protected abstract M reflective(E entity);
+
+}
@@ -0,0 +1,39 @@
+package pl.derleta.authorization.controller.assembler;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import pl.derleta.authorization.controller.RefreshTokenController;
+import pl.derleta.authorization.controller.mapper.UserApiMapper;
+import pl.derleta.authorization.domain.model.RefreshToken;
+import pl.derleta.authorization.domain.model.User;
+import pl.derleta.authorization.domain.response.RefreshTokenResponse;
+
+import java.sql.Timestamp;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+public class RefreshTokenModelAssemblerBenchmark extends ModelAssemblerBenchmarkSupport<RefreshToken, RefreshTokenResponse> {
+
+    private static final Timestamp EXPIRATION = Timestamp.valueOf("2030-01-01 00:00:00");
+
+    @Override
+    protected RefreshToken entity(int index) {
+        User user = new User(index, "user" + index, "hash", "user" + index + "@example.com");
+        return new RefreshToken(index, "token-" + index, user, EXPIRATION);
+    }
+
+    @Override
+    protected RepresentationModelAssembler<RefreshToken, RefreshTokenResponse> assembler() {
+        return new RefreshTokenModelAssembler();
+    }
+
+    @Override
+    protected RefreshTokenResponse reflective(RefreshToken entity) {
+        RefreshTokenResponse model = new RefreshTokenResponse();
+        BeanUtils.copyProperties(entity, model);
+        model.setUser(UserApiMapper.toUserResponse(entity.user()));
+        model.add(linkTo(RefreshTokenController.class).slash(RefreshTokenController.DEFAULT_PATH).slash(model.getTokenId()).withSelfRel());
+        return model;
+    }
+
+}
@@ -0,0 +1,35 @@
+package pl.derleta.authorization.controller.assembler;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import pl.derleta.authorization.controller.RoleController;
+import pl.derleta.authorization.domain.model.Role;
+import pl.derleta.authorization.domain.response.RoleResponse;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+public class RoleModelAssemblerBenchmark extends ModelAssemblerBenchmarkSupport<Role, RoleResponse> {
+
+    @Override
+    protected Role entity(int index) {
+        return new Role(index, "ROLE_" + index);
+    }
+
+    @Override
+    protected RepresentationModelAssembler<Role, RoleResponse> assembler() {
+        return new RoleModelAssembler();
+    }
+
+    @Override
+    protected RoleResponse reflective(Role entity) {
+        return reflectiveRole(entity);
+    }
+
+    static RoleResponse reflectiveRole(Role entity) {
+        RoleResponse model = new RoleResponse();
+        BeanUtils.copyProperties(entity, model);
+        model.add(linkTo(RoleController.class).slash(RoleController.DEFAULT_PATH).slash(model.getRoleId()).withSelfRel());
+        return model;
+    }
+
+}
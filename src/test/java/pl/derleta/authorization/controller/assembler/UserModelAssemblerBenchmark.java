@@ -0,0 +1,35 @@
+package pl.derleta.authorization.controller.assembler;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import pl.derleta.authorization.controller.UserController;
+import pl.derleta.authorization.domain.model.User;
+import pl.derleta.authorization.domain.response.UserResponse;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+public class UserModelAssemblerBenchmark extends ModelAssemblerBenchmarkSupport<User, UserResponse> {
+
+    @Override
+    protected User entity(int index) {
+        return new User(index, "user" + index, "hash", "user" + index + "@example.com");
+    }
+
+    @Override
+    protected RepresentationModelAssembler<User, UserResponse> assembler() {
+        return new UserModelAssembler();
+    }
+
+    @Override
+    protected UserResponse reflective(User entity) {
+        return reflectiveUser(entity);
+    }
+
+    static UserResponse reflectiveUser(User entity) {
+        UserResponse model = new UserResponse();
+        BeanUtils.copyProperties(entity, model);
+        model.add(linkTo(UserController.class).slash(UserController.DEFAULT_PATH).slash(model.getUserId()).withSelfRel());
+        return model;
+    }
+
+}
@@ -0,0 +1,36 @@
+package pl.derleta.authorization.controller.assembler;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import pl.derleta.authorization.controller.UserRoleController;
+import pl.derleta.authorization.domain.model.Role;
+import pl.derleta.authorization.domain.model.User;
+import pl.derleta.authorization.domain.model.UserRole;
+import pl.derleta.authorization.domain.response.UserRoleResponse;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+public class UserRoleModelAssemblerBenchmark extends ModelAssemblerBenchmarkSupport<UserRole, UserRoleResponse> {
+
+    @Override
+    protected UserRole entity(int index) {
+        User user = new User(index, "user" + index, "hash", "user" + index + "@example.com");
+        return new UserRole(index, user, new Role(index % 4 + 1, "ROLE_" + index % 4));
+    }
+
+    @Override
+    protected RepresentationModelAssembler<UserRole, UserRoleResponse> assembler() {
+        return new UserRoleModelAssembler(new UserModelAssembler(), new RoleModelAssembler());
+    }
+
+    @Override
+    protected UserRoleResponse reflective(UserRole entity) {
+        UserRoleResponse model = new UserRoleResponse();
+        BeanUtils.copyProperties(entity, model);
+        model.setUser(UserModelAssemblerBenchmark.reflectiveUser(entity.user()));
+        model.setRole(RoleModelAssemblerBenchmark.reflectiveRole(entity.role()));
+        model.add(linkTo(UserRoleController.class).slash(UserRoleController.DEFAULT_PATH).slash(model.getUserRoleId()).withSelfRel());
+        return model;
+    }
+
+}
@@ -0,0 +1,43 @@
+package pl.derleta.authorization.controller.assembler;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import pl.derleta.authorization.controller.UserRolesController;
+import pl.derleta.authorization.domain.model.Role;
+import pl.derleta.authorization.domain.model.User;
+import pl.derleta.authorization.domain.model.UserRoles;
+import pl.derleta.authorization.domain.response.RoleResponse;
+import pl.derleta.authorization.domain.response.UserRolesResponse;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+public class UserRolesModelAssemblerBenchmark extends ModelAssemblerBenchmarkSupport<UserRoles, UserRolesResponse> {
+
+    private static final Set<Role> ROLES = Set.of(new Role(1, "ROLE_USER"), new Role(2, "ROLE_TESTER"), new Role(3, "ROLE_MODERATOR"));
+
+    @Override
+    protected UserRoles entity(int index) {
+        return new UserRoles(new User(index, "user" + index, "hash", "user" + index + "@example.com"), ROLES);
+    }
+
+    @Override
+    protected RepresentationModelAssembler<UserRoles, UserRolesResponse> assembler() {
+        return new UserRolesModelAssembler(new UserModelAssembler(), new RoleModelAssembler());
+    }
+
+    @Override
+    protected UserRolesResponse reflective(UserRoles entity) {
+        UserRolesResponse model = new UserRolesResponse();
+        BeanUtils.copyProperties(entity, model);
+        model.setUser(UserModelAssemblerBenchmark.reflectiveUser(entity.user()));
+        Set<RoleResponse> roles = new HashSet<>();
+        for (Role role : entity.roles()) roles.add(RoleModelAssemblerBenchmark.reflectiveRole(role));
+        model.setRoles(roles);
+        model.add(linkTo(UserRolesController.class).slash(UserRolesController.DEFAULT_PATH).slash(model.getUser().getUserId()).withSelfRel());
+        return model;
+    }
+
+}
@@ -0,0 +1,82 @@
+package pl.derleta.authorization.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JdbcLookupsTest {
+
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private final ResultSet resultSet = mock(ResultSet.class);
+    private final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void findFirst_withMatchingRows_shouldMapOnlyFirstRowAndLimitQuery() throws SQLException {
+        // Arrange
+        when(resultSet.next()).thenReturn(true, true);
+        when(resultSet.getString(1)).thenReturn("first", "second");
+
+        // Act
+        Optional<String> result = JdbcLookups.findFirst(jdbcTemplate, "SELECT name FROM t WHERE id = ?",
+                (rs, rowNum) -> rs.getString(1), 7L);
+
+        // Assert
+        assertEquals(Optional.of("first"), result);
+        verify(statement).setMaxRows(1);
+        verify(statement).setObject(1, 7L);
+        verify(resultSet, times(1)).next();
+    }
+
+    @Test
+    void findFirst_withoutRows_shouldReturnEmpty() throws SQLException {
+        // Arrange
+        when(resultSet.next()).thenReturn(false);
+
+        // Act
+        Optional<Long> result = JdbcLookups.findFirst(jdbcTemplate, "SELECT id FROM t WHERE id = ?", Long.class, 7L);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(statement).setMaxRows(1);
+    }
+
+    @Test
+    void findFirst_withNullColumnValue_shouldReturnEmpty() throws SQLException {
+        // Arrange
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(resultSet.wasNull()).thenReturn(true);
+
+        // Act
+        Optional<Boolean> result = JdbcLookups.findFirst(jdbcTemplate, "SELECT blocked FROM t WHERE id = ?", Boolean.class, 7L);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+}
@@ -0,0 +1,138 @@
+package pl.derleta.authorization.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageQueryExecutorTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getPage_withBothQueries_shouldRunThemConcurrently() {
+        // Arrange
+        PageQueryExecutor pageQueries = new PageQueryExecutor(executor, Duration.ofSeconds(5));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        // Act
+        Page<String> page = pageQueries.getPage(PageRequest.of(1, 2),
+                () -> {
+                    awaitOther(bothStarted);
+                    return List.of("c", "d");
+                },
+                () -> {
+                    awaitOther(bothStarted);
+                    return 10L;
+                });
+
+        // Assert
+        assertEquals(List.of("c", "d"), page.getContent());
+        assertEquals(10L, page.getTotalElements());
+        assertEquals(5, page.getTotalPages());
+    }
+
+    @Test
+    void getPage_withQueryExceedingDeadline_shouldThrowAndCancelIt() throws InterruptedException {
+        // Arrange
+        PageQueryExecutor pageQueries = new PageQueryExecutor(executor, Duration.ofMillis(50));
+        CountDownLatch countStarted = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, () -> pageQueries.getPage(PageRequest.of(0, 2),
+                () -> {
+                    awaitQuietly(countStarted);
+                    return List.of("a");
+                },
+                () -> {
+                    countStarted.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return 1L;
+                }));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void getPage_withFailingQuery_shouldRethrowItsExceptionAndCancelTheOther() throws InterruptedException {
+        // Arrange
+        PageQueryExecutor pageQueries = new PageQueryExecutor(executor, Duration.ofSeconds(5));
+        DataAccessResourceFailureException failure = new DataAccessResourceFailureException("down");
+        CountDownLatch countStarted = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        // Act
+        DataAccessResourceFailureException thrown = assertThrows(DataAccessResourceFailureException.class,
+                () -> pageQueries.getPage(PageRequest.of(0, 2),
+                        () -> {
+                            awaitQuietly(countStarted);
+                            throw failure;
+                        },
+                        () -> {
+                            countStarted.countDown();
+                            try {
+                                Thread.sleep(10_000);
+                            } catch (InterruptedException e) {
+                                interrupted.countDown();
+                            }
+                            return 1L;
+                        }));
+
+        // Assert
+        assertSame(failure, thrown);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void sequential_withBothQueries_shouldRunThemOnCallingThread() {
+        // Arrange
+        Thread caller = Thread.currentThread();
+
+        // Act
+        Page<Thread> page = PageQueryExecutor.sequential().getPage(PageRequest.of(0, 5),
+                () -> List.of(Thread.currentThread()),
+                () -> Thread.currentThread() == caller ? 1L : -1L);
+
+        // Assert
+        assertSame(caller, page.getContent().get(0));
+        assertEquals(1L, page.getTotalElements());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitOther(CountDownLatch bothStarted) {
+        bothStarted.countDown();
+        try {
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) throw new IllegalStateException("Queries did not overlap");
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
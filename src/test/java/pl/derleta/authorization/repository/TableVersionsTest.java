@@ -0,0 +1,146 @@
+package pl.derleta.authorization.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TableVersionsTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void etag_withoutWrites_shouldBeStable() {
+        // Arrange
+        TableVersions versions = new TableVersions(sharedDatabase(new AtomicLong(3)));
+
+        // Act
+        String first = versions.etag(TableVersions.Table.ROLES);
+        String second = versions.etag(TableVersions.Table.ROLES);
+
+        // Assert
+        assertEquals("\"3\"", first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void bump_shouldIncrementSharedVersionInDatabase() {
+        // Arrange
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        TableVersions versions = new TableVersions(jdbcTemplate);
+
+        // Act
+        versions.bump(TableVersions.Table.ROLES);
+
+        // Assert
+        verify(jdbcTemplate).update(contains("version = version + 1"), eq("roles"));
+    }
+
+    @Test
+    void bump_throughAnotherInstance_shouldChangeEtag() {
+        // Arrange
+        AtomicLong sharedVersion = new AtomicLong();
+        TableVersions writer = new TableVersions(sharedDatabase(sharedVersion));
+        TableVersions reader = new TableVersions(sharedDatabase(sharedVersion));
+        String before = reader.etag(TableVersions.Table.ROLES);
+
+        // Act
+        writer.bump(TableVersions.Table.ROLES);
+
+        // Assert
+        assertNotEquals(before, reader.etag(TableVersions.Table.ROLES));
+        assertEquals(0, reader.version(TableVersions.Table.ROLES));
+    }
+
+    @Test
+    void bump_insideTransaction_shouldBumpLocalVersionAgainAfterCompletion() {
+        // Arrange
+        TableVersions versions = new TableVersions(mock(JdbcTemplate.class));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        versions.bump(TableVersions.Table.ROLES);
+        long duringTransaction = versions.version(TableVersions.Table.ROLES);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Assert
+        assertEquals(1, duringTransaction);
+        assertEquals(2, versions.version(TableVersions.Table.ROLES));
+    }
+
+    @Test
+    void userEtag_withChangedSecurityStamp_shouldChange() throws Exception {
+        // Arrange
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getTimestamp("created_at")).thenReturn(Timestamp.valueOf("2026-10-18 12:00:00"));
+        when(resultSet.getLong("security_stamp")).thenReturn(4L, 5L);
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(ResultSetExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResultSetExtractor<?>>getArgument(2).extractData(resultSet));
+        TableVersions versions = new TableVersions(jdbcTemplate);
+
+        // Act
+        String before = versions.userEtag(7L);
+        String after = versions.userEtag(7L);
+
+        // Assert
+        assertTrue(before.startsWith("\"u") && before.endsWith("-4\""));
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void userEtag_withUnknownUser_shouldReturnNull() throws Exception {
+        // Arrange
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(ResultSetExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResultSetExtractor<?>>getArgument(2).extractData(resultSet));
+        TableVersions versions = new TableVersions(jdbcTemplate);
+
+        // Act & Assert
+        assertNull(versions.userEtag(7L));
+    }
+
+    /**
+     * Mocks a connection to a database holding a single "table_versions" row for the roles table.
+     */
+    private static JdbcTemplate sharedDatabase(AtomicLong rolesVersion) {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.update(contains("table_versions"), eq("roles")))
+                .thenAnswer(invocation -> {
+                    rolesVersion.incrementAndGet();
+                    return 1;
+                });
+        doAnswer(invocation -> {
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.getString("table_name")).thenReturn("roles");
+            when(resultSet.getLong("version")).thenReturn(rolesVersion.get());
+            invocation.<RowCallbackHandler>getArgument(1).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(contains("table_versions"), any(RowCallbackHandler.class), any(Object[].class));
+        return jdbcTemplate;
+    }
+
+}
@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import pl.derleta.authorization.domain.entity.AccountSnapshot;
 import pl.derleta.authorization.domain.entity.UserEntity;
 import pl.derleta.authorization.domain.model.User;
 
@@ -87,6 +88,29 @@ public class UserRepositoryTest {
         assertEquals(expectedUser, user);
     }
 
+    @Test
+    void findByIdsOrEmails_withIdsAndEmails_shouldReturnMatchingUsersOnce() {
+        // Act
+        List<UserEntity> users = repository.findByIdsOrEmails(List.of(1L, 2L, 999_999L), List.of("non_existed@gmail.com", "missing@example.com"));
+
+        // Assert
+        assertThat(users).extracting(UserEntity::getUserId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void findSecurityStamp_afterPasswordUpdate_shouldBeIncremented() {
+        // Arrange
+        Long before = repository.findSecurityStamp(1L);
+
+        // Act
+        repository.updatePassword(1L, "$2a$10$changedPasswordHash");
+
+        // Assert
+        assertNotNull(before);
+        assertEquals(before + 1, repository.findSecurityStamp(1L));
+        assertNull(repository.findSecurityStamp(999_999L));
+    }
+
     @Test
     void findByEmail_withNullEmail_shouldReturnNull() {
         // Arrange
@@ -98,6 +122,30 @@ public class UserRepositoryTest {
         assertNull(user);
     }
 
+    @Test
+    void findAccountByEmail_withValidEmail_shouldReturnIdentityAndStatus() {
+        // Act
+        AccountSnapshot account = repository.findAccountByEmail("non_existed@gmail.com");
+
+        // Assert
+        assertNotNull(account);
+        assertEquals(2L, account.userId());
+        assertEquals("carlos", account.username());
+        assertEquals(repository.isVerified(2L), account.verified());
+        assertEquals(repository.isBlocked(2L), account.blocked());
+    }
+
+    @Test
+    void findAccountById_withBlockedUser_shouldReturnBlockedSnapshot() {
+        // Act
+        AccountSnapshot account = repository.findAccountById(8);
+
+        // Assert
+        assertNotNull(account);
+        assertTrue(account.blocked());
+        assertNull(repository.findAccountById(999_999L));
+    }
+
     @Test
     void isBlocked_withExistentUser_shouldReturnTrue() {
         // Arrange
@@ -6,6 +6,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import pl.derleta.authorization.domain.request.UserRoleAssignmentRequest;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -80,6 +83,19 @@ class UserRoleRepositoryTest {
         assertThat(result.getRoleEntity()).isNotNull();
     }
 
+    @Test
+    public void findById_withNonExistingId_shouldReturnNull() {
+        // Arrange
+        long userRoleId = 999_999L;
+
+        // Act
+        var result = repository.findById(userRoleId);
+
+        // Assert
+        assertThat(result).isNull();
+        assertThat(repository.findByIds(999_999L, 1)).isNull();
+    }
+
 
     @Test
     public void saveUserRole_withValidParameters_shouldSucceed() {
@@ -127,6 +143,37 @@ class UserRoleRepositoryTest {
         assertThat(deletedUserRoleCount).isEqualTo(0);
     }
 
+    @Test
+    public void saveAll_withValidPairs_shouldInsertConsecutiveIds() {
+        // Arrange
+        long firstUserRoleId = repository.getNextId();
+        List<UserRoleAssignmentRequest> assignments = List.of(
+                new UserRoleAssignmentRequest(2L, 3),
+                new UserRoleAssignmentRequest(2L, 4)
+        );
+        repository.deleteAll(assignments);
+
+        // Act
+        int inserted = repository.saveAll(firstUserRoleId, assignments);
+
+        // Assert
+        assertThat(inserted).isEqualTo(2);
+        assertThat(repository.findById(firstUserRoleId).getRoleEntity().getRoleId()).isEqualTo(3);
+        assertThat(repository.findById(firstUserRoleId + 1).getRoleEntity().getRoleId()).isEqualTo(4);
+        assertThat(repository.findRoleIdsByUserIds(List.of(2L)).get(2L)).contains(3, 4);
+    }
+
+    @Test
+    public void findRoleIdsByUserIds_withUnknownUser_shouldOmitIt() {
+        // Act
+        var result = repository.findRoleIdsByUserIds(List.of(1L, 999_999L));
+
+        // Assert
+        assertThat(result).containsKey(1L);
+        assertThat(result).doesNotContainKey(999_999L);
+        assertThat(repository.findExistingRoleIds(List.of(1, 999_999))).containsExactly(1);
+    }
+
     @Test
     public void getSortedPageWithFilters_withValidParameters_shouldReturnFilteredAndSortedPage() {
         // Arrange
@@ -10,6 +10,7 @@ import pl.derleta.authorization.domain.entity.token.ConfirmationTokenEntity;
 import pl.derleta.authorization.domain.entity.token.TokenEntity;
 
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
@@ -512,4 +513,46 @@ class ConfirmationTokenRepositoryTest {
         assertNull(shouldBeExpired);
     }
 
+    @Test
+    void consume_withValidToken_shouldSucceedOnlyOnce() {
+        // Arrange
+        final int tokenId = 790;
+        final long userId = 3L;
+        final String token = "token_value_to_consume";
+        repository.save(tokenId, userId, token);
+
+        // Act
+        int wrongValueResult = repository.consume(tokenId, "other_token_value");
+        int firstResult = repository.consume(tokenId, token);
+        int secondResult = repository.consume(tokenId, token);
+
+        // Assert
+        assertEquals(0, wrongValueResult);
+        assertEquals(1, firstResult);
+        assertEquals(0, secondResult);
+        repository.deleteById(tokenId, userId);
+    }
+
+    @Test
+    void findOutstanding_withFreshToken_shouldReturnItUntilConsumed() {
+        // Arrange
+        final int tokenId = 791;
+        final long userId = 3L;
+        final String token = "token_value_to_reuse";
+        repository.save(tokenId, userId, token);
+
+        // Act
+        Optional<TokenEntity> outstanding = repository.findOutstanding(userId, Duration.ofMinutes(15));
+        Optional<TokenEntity> tooShortLived = repository.findOutstanding(userId, Duration.ofHours(2));
+        repository.consume(tokenId, token);
+        Optional<TokenEntity> afterConsume = repository.findOutstanding(userId, Duration.ofMinutes(15));
+
+        // Assert
+        assertTrue(outstanding.isPresent());
+        assertEquals(tokenId, outstanding.get().getTokenId());
+        assertTrue(tooShortLived.isEmpty());
+        assertTrue(afterConsume.isEmpty() || afterConsume.get().getTokenId() != tokenId);
+        repository.deleteById(tokenId, userId);
+    }
+
 }
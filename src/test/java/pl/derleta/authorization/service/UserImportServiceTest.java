@@ -0,0 +1,192 @@
+package pl.derleta.authorization.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import pl.derleta.authorization.domain.model.User;
+import pl.derleta.authorization.domain.model.UserImportError;
+import pl.derleta.authorization.domain.request.UserRoleAssignmentRequest;
+import pl.derleta.authorization.domain.response.UserImportResponse;
+import pl.derleta.authorization.domain.types.UserImportStatus;
+import pl.derleta.authorization.repository.impl.UserRepository;
+import pl.derleta.authorization.repository.impl.UserRoleRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceTest {
+
+    private final ExecutorService executor = new ForkJoinPool(2);
+    private UserRepository userRepository;
+    private UserRoleRepository userRoleRepository;
+    private UserImportService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userRoleRepository = mock(UserRoleRepository.class);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of());
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        when(userRepository.getNextUserId()).thenReturn(10L);
+        when(userRoleRepository.getNextId()).thenReturn(100L);
+
+        service = new UserImportService();
+        service.setUserRepository(userRepository);
+        service.setUserRoleRepository(userRoleRepository);
+        service.setPasswordEncoder(passwordEncoder);
+        service.setHashingExecutor(executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importUsers_withCsvAndHeader_shouldSaveHashedUsersWithDefaultRole() throws IOException {
+        // Arrange
+        String csv = """
+                username,email,password
+                alice,alice@example.com,secret1
+                "bob, jr",bob@example.com,"pa""ss"
+                """;
+        ArgumentCaptor<List<User>> users = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<UserRoleAssignmentRequest>> roles = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        UserImportResponse response = service.importUsers(reader(csv), UserImportFormat.CSV);
+
+        // Assert
+        assertEquals(2, response.getImported());
+        assertEquals(0, response.getFailed());
+        verify(userRepository).saveAll(eq(10L), users.capture());
+        assertEquals(List.of(new User(0, "alice", "hash:secret1", "alice@example.com"),
+                new User(0, "bob, jr", "hash:pa\"ss", "bob@example.com")), users.getValue());
+        verify(userRoleRepository).saveAll(eq(100L), roles.capture());
+        assertEquals(List.of(new UserRoleAssignmentRequest(10L, 1), new UserRoleAssignmentRequest(11L, 1)), roles.getValue());
+    }
+
+    @Test
+    void importUsers_withInvalidRows_shouldReportThemAndImportTheRest() throws IOException {
+        // Arrange
+        String ndjson = """
+                {"username":"alice","email":"alice@example.com","password":"secret"}
+                not json
+
+                {"username":"bob","email":"no-at-sign","password":"secret"}
+                {"username":"ALICE","email":"other@example.com","password":"secret"}
+                """;
+
+        // Act
+        UserImportResponse response = service.importUsers(reader(ndjson), UserImportFormat.NDJSON);
+
+        // Assert
+        assertEquals(1, response.getImported());
+        assertEquals(3, response.getFailed());
+        assertEquals(List.of(
+                new UserImportError(2, null, null, UserImportStatus.MALFORMED),
+                new UserImportError(4, "bob", "no-at-sign", UserImportStatus.INVALID),
+                new UserImportError(5, "ALICE", "other@example.com", UserImportStatus.DUPLICATE)
+        ), response.getErrors());
+    }
+
+    @Test
+    void importUsers_withTakenUsernameAndEmail_shouldRejectThoseRows() throws IOException {
+        // Arrange
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of("alice"));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("bob@example.com"));
+        String csv = """
+                Alice,alice@example.com,secret
+                bob,BOB@example.com,secret
+                carol,carol@example.com,secret
+                """;
+
+        // Act
+        UserImportResponse response = service.importUsers(reader(csv), UserImportFormat.CSV);
+
+        // Assert
+        assertEquals(1, response.getImported());
+        assertEquals(List.of(UserImportStatus.USERNAME_EXISTS, UserImportStatus.EMAIL_EXISTS),
+                response.getErrors().stream().map(UserImportError::status).toList());
+        verify(userRepository).saveAll(10L, List.of(new User(0, "carol", "hash:secret", "carol@example.com")));
+    }
+
+    @Test
+    void importUsers_withMoreRowsThanChunkSize_shouldWriteEveryChunkWithOwnBatch() throws IOException {
+        // Arrange
+        service.setChunkSize(2);
+        when(userRepository.getNextUserId()).thenReturn(10L, 12L, 14L);
+        when(userRoleRepository.getNextId()).thenReturn(100L, 102L, 104L);
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 5; i++) csv.append("user").append(i).append(",user").append(i).append("@example.com,secret\n");
+
+        // Act
+        UserImportResponse response = service.importUsers(reader(csv.toString()), UserImportFormat.CSV);
+
+        // Assert
+        assertEquals(5, response.getImported());
+        verify(userRepository, times(3)).saveAll(anyLong(), anyList());
+        verify(userRepository).saveAll(14L, List.of(new User(0, "user4", "hash:secret", "user4@example.com")));
+        verify(userRoleRepository).saveAll(104L, List.of(new UserRoleAssignmentRequest(14L, 1)));
+    }
+
+    @Test
+    void importUsers_withReservedIdsTakenConcurrently_shouldRewriteTheChunkWithFreshRange() throws IOException {
+        // Arrange
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of(), Set.of("bob"));
+        when(userRepository.getNextUserId()).thenReturn(10L, 12L);
+        when(userRoleRepository.getNextId()).thenReturn(100L, 102L);
+        when(userRepository.saveAll(anyLong(), anyList()))
+                .thenThrow(new DuplicateKeyException("Duplicate entry '11' for key 'PRIMARY'"))
+                .thenReturn(1);
+        String csv = """
+                alice,alice@example.com,secret
+                bob,bob@example.com,secret
+                """;
+
+        // Act
+        UserImportResponse response = service.importUsers(reader(csv), UserImportFormat.CSV);
+
+        // Assert
+        assertEquals(1, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals(List.of(new UserImportError(2, "bob", "bob@example.com", UserImportStatus.USERNAME_EXISTS)), response.getErrors());
+        verify(userRepository).saveAll(12L, List.of(new User(0, "alice", "hash:secret", "alice@example.com")));
+        verify(userRoleRepository).saveAll(102L, List.of(new UserRoleAssignmentRequest(12L, 1)));
+    }
+
+    @Test
+    void importUsers_withFailingWrite_shouldPropagateTheFailure() {
+        // Arrange
+        service.setChunkSize(1);
+        when(userRepository.saveAll(anyLong(), anyList())).thenThrow(new IllegalStateException("down"));
+        String csv = """
+                alice,alice@example.com,secret
+                bob,bob@example.com,secret
+                """;
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> service.importUsers(reader(csv), UserImportFormat.CSV));
+        verify(userRepository, times(1)).saveAll(anyLong(), anyList());
+    }
+
+    private static BufferedReader reader(String content) {
+        return new BufferedReader(new StringReader(content));
+    }
+
+}
@@ -4,14 +4,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import pl.derleta.authorization.domain.entity.RoleEntity;
 import pl.derleta.authorization.domain.entity.UserEntity;
 import pl.derleta.authorization.domain.entity.UserRoleEntity;
 import pl.derleta.authorization.domain.model.UserRole;
+import pl.derleta.authorization.domain.model.UserRoleBulkResult;
+import pl.derleta.authorization.domain.request.UserRoleAssignmentRequest;
+import pl.derleta.authorization.domain.types.UserRoleBulkStatus;
 import pl.derleta.authorization.repository.impl.UserRoleRepository;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -221,4 +227,93 @@ public class UserRoleServiceTest {
         verify(userRoleRepository, times(0)).deleteById(userId, roleId);
     }
 
+    @Test
+    public void saveAll_withMixedPairs_shouldInsertOnlyValidPairsInOneBatch() {
+        // Arrange
+        List<UserRoleAssignmentRequest> assignments = List.of(
+                new UserRoleAssignmentRequest(1L, 2),
+                new UserRoleAssignmentRequest(1L, 1),
+                new UserRoleAssignmentRequest(2L, 2),
+                new UserRoleAssignmentRequest(1L, 2),
+                new UserRoleAssignmentRequest(48L, 2),
+                new UserRoleAssignmentRequest(2L, 48),
+                new UserRoleAssignmentRequest(null, 2)
+        );
+        when(userRoleRepository.findRoleIdsByUserIds(anyCollection())).thenReturn(Map.of(1L, Set.of(1), 2L, Set.of()));
+        when(userRoleRepository.findExistingRoleIds(anyCollection())).thenReturn(Set.of(1, 2));
+        when(userRoleRepository.getNextId()).thenReturn(100L);
+
+        // Act
+        List<UserRoleBulkResult> results = userRoleService.saveAll(assignments);
+
+        // Assert
+        assertEquals(List.of(
+                new UserRoleBulkResult(1L, 2, 100L, UserRoleBulkStatus.ASSIGNED),
+                new UserRoleBulkResult(1L, 1, null, UserRoleBulkStatus.ALREADY_ASSIGNED),
+                new UserRoleBulkResult(2L, 2, 101L, UserRoleBulkStatus.ASSIGNED),
+                new UserRoleBulkResult(1L, 2, null, UserRoleBulkStatus.DUPLICATE),
+                new UserRoleBulkResult(48L, 2, null, UserRoleBulkStatus.USER_NOT_FOUND),
+                new UserRoleBulkResult(2L, 48, null, UserRoleBulkStatus.ROLE_NOT_FOUND),
+                new UserRoleBulkResult(null, 2, null, UserRoleBulkStatus.INVALID)
+        ), results);
+
+        // Verify interactions
+        verify(userRoleRepository, times(1)).getNextId();
+        verify(userRoleRepository, times(1)).saveAll(100L, List.of(
+                new UserRoleAssignmentRequest(1L, 2),
+                new UserRoleAssignmentRequest(2L, 2)
+        ));
+    }
+
+    @Test
+    public void saveAll_withReservedIdsTakenConcurrently_shouldRetryWithFreshRange() {
+        // Arrange
+        List<UserRoleAssignmentRequest> assignments = List.of(
+                new UserRoleAssignmentRequest(1L, 2),
+                new UserRoleAssignmentRequest(2L, 2)
+        );
+        when(userRoleRepository.findRoleIdsByUserIds(anyCollection())).thenReturn(Map.of(1L, Set.of(), 2L, Set.of()));
+        when(userRoleRepository.findExistingRoleIds(anyCollection())).thenReturn(Set.of(2));
+        when(userRoleRepository.getNextId()).thenReturn(100L, 101L);
+        when(userRoleRepository.saveAll(anyLong(), anyList()))
+                .thenThrow(new DuplicateKeyException("Duplicate entry '100' for key 'PRIMARY'"))
+                .thenReturn(2);
+
+        // Act
+        List<UserRoleBulkResult> results = userRoleService.saveAll(assignments);
+
+        // Assert
+        assertEquals(List.of(
+                new UserRoleBulkResult(1L, 2, 101L, UserRoleBulkStatus.ASSIGNED),
+                new UserRoleBulkResult(2L, 2, 102L, UserRoleBulkStatus.ASSIGNED)
+        ), results);
+
+        // Verify interactions
+        verify(userRoleRepository, times(2)).findRoleIdsByUserIds(anyCollection());
+        verify(userRoleRepository, times(1)).saveAll(101L, assignments);
+    }
+
+    @Test
+    public void deleteAll_withAssignedAndUnassignedPairs_shouldDeleteOnlyAssignedPairs() {
+        // Arrange
+        List<UserRoleAssignmentRequest> assignments = List.of(
+                new UserRoleAssignmentRequest(1L, 1),
+                new UserRoleAssignmentRequest(1L, 3),
+                new UserRoleAssignmentRequest(48L, 1)
+        );
+        when(userRoleRepository.findRoleIdsByUserIds(anyCollection())).thenReturn(Map.of(1L, Set.of(1, 2)));
+
+        // Act
+        List<UserRoleBulkResult> results = userRoleService.deleteAll(assignments);
+
+        // Assert
+        assertEquals(UserRoleBulkStatus.REVOKED, results.get(0).status());
+        assertEquals(UserRoleBulkStatus.NOT_ASSIGNED, results.get(1).status());
+        assertEquals(UserRoleBulkStatus.NOT_ASSIGNED, results.get(2).status());
+
+        // Verify interactions
+        verify(userRoleRepository, times(1)).deleteAll(List.of(new UserRoleAssignmentRequest(1L, 1)));
+        verify(userRoleRepository, never()).findExistingRoleIds(anyCollection());
+    }
+
 }
@@ -10,7 +10,9 @@ import pl.derleta.authorization.domain.entity.UserEntity;
 import pl.derleta.authorization.domain.model.User;
 import pl.derleta.authorization.repository.impl.UserRepository;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -316,4 +318,30 @@ class UserServiceTest {
         verify(userRepository, Mockito.times(1)).deleteById(userId);
     }
 
+    @Test
+    void getAll_withIdsAndEmails_shouldQueryDistinctValuesOnce() {
+        // Arrange
+        when(userRepository.findByIdsOrEmails(anyCollection(), anyCollection())).thenReturn(List.of(
+                new UserEntity(1L, "testUser1", "test1@example.com", "password1"),
+                new UserEntity(2L, "testUser2", "test2@example.com", "password2")
+        ));
+
+        // Act
+        List<User> result = userService.getAll(Arrays.asList(1L, 1L, null), List.of("test2@example.com"));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("testUser2", result.get(1).username());
+        verify(userRepository, times(1)).findByIdsOrEmails(Set.of(1L), Set.of("test2@example.com"));
+    }
+
+    @Test
+    void getAll_withNoValues_shouldNotQueryRepository() {
+        // Act
+        List<User> result = userService.getAll(null, List.of());
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(userRepository, never()).findByIdsOrEmails(anyCollection(), anyCollection());
+    }
 }
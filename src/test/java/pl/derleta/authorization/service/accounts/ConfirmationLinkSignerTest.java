@@ -0,0 +1,90 @@
+package pl.derleta.authorization.service.accounts;
+
+import org.junit.jupiter.api.Test;
+import pl.derleta.authorization.domain.entity.UserEntity;
+import pl.derleta.authorization.domain.entity.token.ConfirmationTokenEntity;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfirmationLinkSignerTest {
+
+    private static final byte[] KEY = new byte[32];
+    private static final Instant NOW = Instant.parse("2024-03-01T10:00:00Z");
+
+    static {
+        Arrays.fill(KEY, (byte) 7);
+    }
+
+    private final ConfirmationLinkSigner signer = new ConfirmationLinkSigner(KEY, true, Clock.fixed(NOW, ZoneOffset.UTC));
+    private final UserEntity user = new UserEntity(42L, "tester", "tester@example.com", "hash");
+
+    @Test
+    void sign_withUser_shouldIssueLinkVerifiableForSameUser() {
+        // Act
+        ConfirmationTokenEntity link = signer.sign(user, 7L);
+        Optional<ConfirmationLinkSigner.Claims> claims = signer.verify(42L, link.getToken());
+
+        // Assert
+        assertEquals(42L, link.getTokenId());
+        assertTrue(signer.isSigned(link.getToken()));
+        assertTrue(claims.isPresent());
+        assertEquals(7L, claims.get().securityStamp());
+        assertEquals(NOW.plus(ConfirmationLinkSigner.LINK_VALIDITY), claims.get().expiresAt());
+        assertFalse(signer.isExpired(claims.get()));
+    }
+
+    @Test
+    void verify_withTamperedOrForeignLink_shouldReturnEmpty() {
+        // Arrange
+        String token = signer.sign(user, 7L).getToken();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        ConfirmationLinkSigner otherKey = new ConfirmationLinkSigner(new byte[32], true, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act & Assert
+        assertTrue(signer.verify(42L, tampered).isEmpty());
+        assertTrue(signer.verify(43L, token).isEmpty());
+        assertTrue(otherKey.verify(42L, token).isEmpty());
+        assertTrue(signer.verify(42L, "s1.garbage").isEmpty());
+    }
+
+    @Test
+    void isExpired_afterLinkValidity_shouldReturnTrue() {
+        // Arrange
+        ConfirmationLinkSigner issuedEarlier = new ConfirmationLinkSigner(KEY, true,
+                Clock.fixed(NOW.minus(ConfirmationLinkSigner.LINK_VALIDITY).minusSeconds(1), ZoneOffset.UTC));
+        String token = issuedEarlier.sign(user, 7L).getToken();
+
+        // Act
+        Optional<ConfirmationLinkSigner.Claims> claims = signer.verify(42L, token);
+
+        // Assert
+        assertTrue(claims.isPresent());
+        assertTrue(signer.isExpired(claims.get()));
+    }
+
+    @Test
+    void isSigned_withTableTokenOrWithoutKey_shouldReturnFalse() {
+        // Arrange
+        String token = signer.sign(user, 7L).getToken();
+
+        // Act & Assert
+        assertFalse(signer.isSigned("dwIL4Fba1caNYbTbtsmIcRmy7YPwboBRAxH8kan4EUO9"));
+        assertFalse(ConfirmationLinkSigner.disabled().isSigned(token));
+        assertFalse(ConfirmationLinkSigner.disabled().isIssuing());
+    }
+
+    @Test
+    void constructor_withSignedModeWithoutKey_shouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new ConfirmationLinkSigner("signed", ""));
+        assertThrows(IllegalArgumentException.class, () -> new ConfirmationLinkSigner("other", ""));
+        assertFalse(new ConfirmationLinkSigner("table", "").isIssuing());
+    }
+
+}
@@ -0,0 +1,84 @@
+package pl.derleta.authorization.service.accounts;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfirmationMailCooldownTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void tryAcquire_withinWindow_shouldSuppressRepeatedMailToSameUser() {
+        // Arrange
+        ConfirmationMailCooldown cooldown = new ConfirmationMailCooldown(60_000, now::get);
+
+        // Act
+        boolean first = cooldown.tryAcquire(1L);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        boolean repeated = cooldown.tryAcquire(1L);
+        boolean otherUser = cooldown.tryAcquire(2L);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(repeated);
+        assertTrue(otherUser);
+    }
+
+    @Test
+    void tryAcquire_afterWindow_shouldAllowNextMail() {
+        // Arrange
+        ConfirmationMailCooldown cooldown = new ConfirmationMailCooldown(60_000, now::get);
+        cooldown.tryAcquire(1L);
+
+        // Act
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        boolean result = cooldown.tryAcquire(1L);
+
+        // Assert
+        assertTrue(result);
+    }
+
+    @Test
+    void release_afterFailedMail_shouldAllowImmediateRetry() {
+        // Arrange
+        ConfirmationMailCooldown cooldown = new ConfirmationMailCooldown(60_000, now::get);
+        cooldown.tryAcquire(1L);
+
+        // Act
+        cooldown.release(1L);
+
+        // Assert
+        assertTrue(cooldown.tryAcquire(1L));
+    }
+
+    @Test
+    void tryAcquire_withManyTrackedUsers_shouldSweepExpiredEntries() {
+        // Arrange
+        ConfirmationMailCooldown cooldown = new ConfirmationMailCooldown(1_000, now::get);
+        for (long userId = 0; userId < 1_024; userId++) cooldown.tryAcquire(userId);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        // Act
+        cooldown.tryAcquire(5_000L);
+        cooldown.tryAcquire(5_001L);
+
+        // Assert
+        assertTrue(cooldown.size() <= 2);
+    }
+
+    @Test
+    void none_shouldNeverSuppressMail() {
+        // Arrange
+        ConfirmationMailCooldown cooldown = ConfirmationMailCooldown.none();
+
+        // Act & Assert
+        assertTrue(cooldown.tryAcquire(1L));
+        assertTrue(cooldown.tryAcquire(1L));
+        assertEquals(0, cooldown.size());
+    }
+
+}
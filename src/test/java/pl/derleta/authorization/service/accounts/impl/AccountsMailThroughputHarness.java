@@ -0,0 +1,320 @@
+package pl.derleta.authorization.service.accounts.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import pl.derleta.authorization.config.mail.EmailService;
+import pl.derleta.authorization.config.mail.EmbeddedSmtpServer;
+import pl.derleta.authorization.domain.entity.AccountSnapshot;
+import pl.derleta.authorization.domain.entity.UserEntity;
+import pl.derleta.authorization.domain.entity.token.ConfirmationTokenEntity;
+import pl.derleta.authorization.domain.request.ResetPasswordRequest;
+import pl.derleta.authorization.domain.request.UserRegistrationRequest;
+import pl.derleta.authorization.domain.request.UserUnlockRequest;
+import pl.derleta.authorization.domain.response.AccountResponse;
+import pl.derleta.authorization.repository.impl.UserRepository;
+import pl.derleta.authorization.repository.impl.UserRoleRepository;
+import pl.derleta.authorization.repository.impl.UserRolesRepository;
+import pl.derleta.authorization.repository.impl.token.ConfirmationTokenRepository;
+import pl.derleta.authorization.utils.MailGenerator;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Open-loop load harness for the account mail path. It drives {@link AccountsServiceImpl#register},
+ * {@link AccountsServiceImpl#unlock} and {@link AccountsServiceImpl#resetPassword} at a fixed target rate
+ * against an {@link EmbeddedSmtpServer}, with in-memory repository stubs in place of the database,
+ * and reports end-to-end and mail-path latency percentiles per operation.
+ * <p>
+ * Latencies are measured from the scheduled start of each operation, so queueing delay caused by
+ * a saturated mail path is included rather than hidden by the load generator.
+ * <p>
+ * The harness is excluded from the default build and runs with {@code mvn test -Pbenchmark}.
+ * It can be tuned with system properties, e.g.
+ * {@code -Dharness.rate=100 -Dharness.duration=30 -Dharness.smtp.latency=25 -Dharness.smtp.failureRate=0.01}.
+ * Operations run on platform threads unless {@code -Dharness.virtualThreads=true} is set; note that JavaMail
+ * pins virtual threads while connecting, which caps mail-path concurrency at the number of carrier threads.
+ */
+@Tag("benchmark")
+class AccountsMailThroughputHarness {
+
+    private static final int RATE = Integer.getInteger("harness.rate", 50);
+    private static final int DURATION_SECONDS = Integer.getInteger("harness.duration", 10);
+    private static final int WARMUP_SECONDS = Integer.getInteger("harness.warmup", 2);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("harness.maxInFlight", 500);
+    private static final long SMTP_LATENCY_MS = Long.getLong("harness.smtp.latency", 0L);
+    private static final long SMTP_JITTER_MS = Long.getLong("harness.smtp.jitter", 0L);
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("harness.virtualThreads");
+    private static final double SMTP_FAILURE_RATE = Double.parseDouble(System.getProperty("harness.smtp.failureRate", "0.0"));
+
+    private static final ThreadLocal<Operation> CURRENT_OPERATION = new ThreadLocal<>();
+
+    private EmbeddedSmtpServer server;
+    private AccountsServiceImpl accountsService;
+    private Map<Operation, LatencyRecorder> operationLatency;
+    private Map<Operation, LatencyRecorder> mailLatency;
+    private AtomicLong failures;
+    private AtomicLong dropped;
+
+    @BeforeEach
+    void setUp() {
+        server = EmbeddedSmtpServer.start()
+                .withLatency(Duration.ofMillis(SMTP_LATENCY_MS), Duration.ofMillis(SMTP_JITTER_MS))
+                .withFailureRate(SMTP_FAILURE_RATE);
+        operationLatency = recorders();
+        mailLatency = recorders();
+        failures = new AtomicLong();
+        dropped = new AtomicLong();
+        accountsService = createAccountsService(new TimedEmailService(server.createMailSender(), mailLatency));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void accountMailFlows_atTargetRate_shouldReportLatencyPercentiles() throws InterruptedException {
+        // Arrange
+        if (WARMUP_SECONDS > 0) {
+            drive(WARMUP_SECONDS);
+            operationLatency.values().forEach(LatencyRecorder::reset);
+            mailLatency.values().forEach(LatencyRecorder::reset);
+            failures.set(0);
+            dropped.set(0);
+            server.reset();
+            server.withLatency(Duration.ofMillis(SMTP_LATENCY_MS), Duration.ofMillis(SMTP_JITTER_MS))
+                    .withFailureRate(SMTP_FAILURE_RATE);
+        }
+
+        // Act
+        long started = System.nanoTime();
+        long issued = drive(DURATION_SECONDS);
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        // Assert
+        printReport(issued, elapsedSeconds);
+        long completed = operationLatency.values().stream().mapToLong(LatencyRecorder::count).sum();
+        assertEquals(issued - dropped.get(), completed, "Every admitted operation should complete");
+        assertEquals(server.getRejectedCount(), failures.get(), "Only injected SMTP failures should fail operations");
+        assertTrue(server.getDeliveredCount() > 0, "Mails should be delivered to the embedded server");
+    }
+
+    private long drive(int seconds) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long total = (long) RATE * seconds;
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        Operation[] operations = Operation.values();
+        try (ExecutorService executor = VIRTUAL_THREADS
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newThreadPerTaskExecutor(Thread.ofPlatform().name("harness-", 0).factory())) {
+            long start = System.nanoTime();
+            for (long i = 0; i < total; i++) {
+                long scheduled = start + i * intervalNanos;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+                if (!inFlight.tryAcquire()) {
+                    dropped.incrementAndGet();
+                    continue;
+                }
+                Operation operation = operations[(int) (i % operations.length)];
+                long sequence = i;
+                executor.execute(() -> {
+                    try {
+                        execute(operation, sequence, scheduled);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return total;
+    }
+
+    private void execute(Operation operation, long sequence, long scheduled) {
+        CURRENT_OPERATION.set(operation);
+        try {
+            AccountResponse response = switch (operation) {
+                case REGISTER -> accountsService.register(new UserRegistrationRequest("user" + sequence, "password", "user" + sequence + "@example.com"));
+                case UNLOCK -> accountsService.unlock(new UserUnlockRequest(sequence * 2 + 1));
+                case RESET_PASSWORD -> accountsService.resetPassword(new ResetPasswordRequest("user" + sequence * 2 + "@example.com"));
+            };
+            if (!response.isSuccess()) failures.incrementAndGet();
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+        } finally {
+            operationLatency.get(operation).record(System.nanoTime() - scheduled);
+            CURRENT_OPERATION.remove();
+        }
+    }
+
+    private void printReport(long issued, double elapsedSeconds) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%nAccount mail path: target %d ops/s, issued %d in %.1f s (%.1f ops/s), dropped %d, failed %d%n",
+                RATE, issued, elapsedSeconds, issued / elapsedSeconds, dropped.get(), failures.get()));
+        report.append(String.format(Locale.ROOT, "Threads: %s, max in flight %d%n", VIRTUAL_THREADS ? "virtual" : "platform", MAX_IN_FLIGHT));
+        report.append(String.format(Locale.ROOT, "SMTP: latency %d ms, jitter %d ms, failure rate %.3f, delivered %d, rejected %d%n",
+                SMTP_LATENCY_MS, SMTP_JITTER_MS, SMTP_FAILURE_RATE, server.getDeliveredCount(), server.getRejectedCount()));
+        report.append(String.format(Locale.ROOT, "%-16s %-10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "stage", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Operation operation : Operation.values()) {
+            report.append(operationLatency.get(operation).format(operation.name(), "total"));
+            report.append(mailLatency.get(operation).format(operation.name(), "mail"));
+        }
+        System.out.println(report);
+    }
+
+    private static Map<Operation, LatencyRecorder> recorders() {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) recorders.put(operation, new LatencyRecorder());
+        return recorders;
+    }
+
+    private static AccountsServiceImpl createAccountsService(EmailService emailService) {
+        AtomicLong userIds = new AtomicLong(1_000_000);
+        AtomicLong userRoleIds = new AtomicLong();
+        AtomicLong tokenIds = new AtomicLong();
+
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.isEmailExist(anyString())).thenReturn(false);
+        when(userRepository.isLoginExist(anyString())).thenReturn(false);
+        when(userRepository.getNextUserId()).thenAnswer(invocation -> userIds.incrementAndGet());
+        when(userRepository.findById(anyLong())).thenAnswer(invocation -> user(invocation.getArgument(0)));
+        when(userRepository.findByEmail(anyString())).thenAnswer(invocation -> {
+            String email = invocation.getArgument(0);
+            return user(Long.parseLong(email.substring(4, email.indexOf('@'))));
+        });
+        when(userRepository.isVerified(anyLong())).thenReturn(true);
+        when(userRepository.isBlocked(anyLong())).thenAnswer(invocation -> (long) invocation.getArgument(0) % 2 == 1);
+        when(userRepository.findAccountById(anyLong())).thenAnswer(invocation -> account(invocation.getArgument(0)));
+        when(userRepository.findAccountByEmail(anyString())).thenAnswer(invocation -> {
+            String email = invocation.getArgument(0);
+            return account(Long.parseLong(email.substring(4, email.indexOf('@'))));
+        });
+
+        UserRoleRepository userRoleRepository = mock(UserRoleRepository.class, withSettings().stubOnly());
+        when(userRoleRepository.getNextId()).thenAnswer(invocation -> userRoleIds.incrementAndGet());
+
+        ConfirmationTokenRepository confirmationTokenRepository = mock(ConfirmationTokenRepository.class, withSettings().stubOnly());
+        when(confirmationTokenRepository.getNextId()).thenAnswer(invocation -> tokenIds.incrementAndGet());
+        when(confirmationTokenRepository.findById(anyLong())).thenAnswer(invocation -> {
+            long tokenId = invocation.getArgument(0);
+            return Optional.of(new ConfirmationTokenEntity(tokenId, user(tokenId), "token" + tokenId,
+                    new Timestamp(System.currentTimeMillis() + 3_600_000)));
+        });
+
+        AccountProcessFactoryImpl factory = new AccountProcessFactoryImpl(mock(ApplicationContext.class));
+        MailGenerator mailGenerator = new MailGenerator();
+        mailGenerator.setNEBULA_FRONT_APP_URL_CONFIRMATION("https://localhost/confirm/");
+        factory.setMailGenerator(mailGenerator);
+
+        AccountsServiceImpl service = new AccountsServiceImpl(factory);
+        service.setEmailService(emailService);
+        service.setUserRepository(userRepository);
+        service.setUserRoleRepository(userRoleRepository);
+        service.setUserRolesRepository(mock(UserRolesRepository.class, withSettings().stubOnly()));
+        service.setConfirmationTokenRepository(confirmationTokenRepository);
+        return service;
+    }
+
+    private static UserEntity user(long userId) {
+        return new UserEntity(userId, "user" + userId, "user" + userId + "@example.com", "hash");
+    }
+
+    private static AccountSnapshot account(long userId) {
+        return new AccountSnapshot(userId, "user" + userId, "user" + userId + "@example.com", "hash", true, userId % 2 == 1);
+    }
+
+    private enum Operation {
+        REGISTER, UNLOCK, RESET_PASSWORD
+    }
+
+    /**
+     * EmailService recording the duration of every send against the operation running on the current thread.
+     */
+    private static final class TimedEmailService extends EmailService {
+
+        private final Map<Operation, LatencyRecorder> recorders;
+
+        private TimedEmailService(JavaMailSender javaMailSender, Map<Operation, LatencyRecorder> recorders) {
+            super(javaMailSender);
+            this.recorders = recorders;
+            ReflectionTestUtils.setField(this, EmailService.class, "username", "sender@localhost.test", String.class);
+        }
+
+        @Override
+        public void sendEmail(String to, String subject, String text) {
+            long start = System.nanoTime();
+            try {
+                super.sendEmail(to, subject, text);
+            } finally {
+                Operation operation = CURRENT_OPERATION.get();
+                if (operation != null) recorders.get(operation).record(System.nanoTime() - start);
+            }
+        }
+
+    }
+
+    /**
+     * Thread-safe collector of latency samples with exact percentile calculation.
+     */
+    private static final class LatencyRecorder {
+
+        private final List<Long> samples = new ArrayList<>();
+
+        synchronized void record(long nanos) {
+            samples.add(nanos);
+        }
+
+        synchronized void reset() {
+            samples.clear();
+        }
+
+        synchronized long count() {
+            return samples.size();
+        }
+
+        synchronized String format(String operation, String stage) {
+            long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return String.format(Locale.ROOT, "%-16s %-10s %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    operation, stage, sorted.length,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) return 0.0;
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+
+    }
+
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import pl.derleta.authorization.config.audit.AuditEventType;
+import pl.derleta.authorization.config.audit.AuditLog;
 import pl.derleta.authorization.config.mail.EmailService;
 import pl.derleta.authorization.controller.mapper.UserRolesApiMapper;
 import pl.derleta.authorization.domain.entity.RoleEntity;
@@ -23,7 +25,9 @@ import pl.derleta.authorization.repository.impl.UserRolesRepository;
 import pl.derleta.authorization.repository.impl.token.ConfirmationTokenRepository;
 import pl.derleta.authorization.service.accounts.AccountProcess;
 import pl.derleta.authorization.service.accounts.AccountProcessFactory;
+import pl.derleta.authorization.service.accounts.AccountWorkflowContext;
 import pl.derleta.authorization.service.accounts.process.ChangePasswordProcess;
+import pl.derleta.authorization.service.accounts.process.ConfirmationTokenProcess;
 import pl.derleta.authorization.service.accounts.process.ResetPasswordProcess;
 import pl.derleta.authorization.service.accounts.process.UnlockAccountProcess;
 import pl.derleta.authorization.service.accounts.process.UserRegistrationProcess;
@@ -143,6 +147,27 @@ class AccountsServiceImplTest {
         verify(confirmationProcess, times(1)).update(request);
     }
 
+    @Test
+    void confirmUser_withConfirmationTokenProcess_shouldAuditUnlockedUser() {
+        // Arrange
+        UserConfirmationRequest request = new UserConfirmationRequest(123L, "confirmationToken");
+        ConfirmationTokenProcess confirmationProcess = mock(ConfirmationTokenProcess.class);
+        AuditLog auditLog = mock(AuditLog.class);
+        accountsService.setAuditLog(auditLog);
+
+        when(accountProcessFactory.create(eq(AccountProcessType.CONFIRMATION_TOKEN), anySet(), eq(emailService)))
+                .thenReturn(confirmationProcess);
+        when(confirmationProcess.confirmAccount(request)).thenReturn(new ConfirmationTokenProcess.Confirmation(
+                new AccountResponse(true, AccountResponseType.ACCOUNT_CONFIRMED), 42L));
+
+        // Act
+        AccountResponse result = accountsService.confirm(request);
+
+        // Assert
+        assertTrue(result.isSuccess(), "The account confirmation process should succeed");
+        verify(auditLog, times(1)).record(AuditEventType.ACCOUNT_UNLOCKED, 42L, "token:123");
+    }
+
     @Test
     void confirmUser_withInvalidToken_shouldFail() {
         // Arrange
@@ -165,6 +190,27 @@ class AccountsServiceImplTest {
         verify(confirmationProcess, never()).update(request);
     }
 
+    @Test
+    void confirmUser_withConfirmationTokenProcess_shouldConfirmInSingleStep() {
+        // Arrange
+        UserConfirmationRequest request = new UserConfirmationRequest(123L, "confirmationToken");
+        ConfirmationTokenProcess confirmationProcess = mock(ConfirmationTokenProcess.class);
+
+        when(accountProcessFactory.create(eq(AccountProcessType.CONFIRMATION_TOKEN), anySet(), eq(emailService)))
+                .thenReturn(confirmationProcess);
+        when(confirmationProcess.confirmAccount(request)).thenReturn(new ConfirmationTokenProcess.Confirmation(
+                new AccountResponse(true, AccountResponseType.ACCOUNT_CONFIRMED), 1L));
+
+        // Act
+        AccountResponse result = accountsService.confirm(request);
+
+        // Assert
+        assertTrue(result.isSuccess(), "The account confirmation process should succeed");
+        verify(confirmationProcess, times(1)).confirmAccount(request);
+        verify(confirmationProcess, never()).check(request);
+        verify(confirmationProcess, never()).update(request);
+    }
+
     @Test
     void unlockAccount_withValidRequest_shouldSucceed() {
         // Arrange
@@ -176,8 +222,8 @@ class AccountsServiceImplTest {
 
         when(accountProcessFactory.create(eq(AccountProcessType.UNLOCK_ACCOUNT), anySet(), eq(emailService)))
                 .thenReturn(process);
-        when(process.check(request)).thenReturn(successResponse);
-        when(process.save(request)).thenReturn(userEntity);
+        when(process.check(eq(request), any(AccountWorkflowContext.class))).thenReturn(successResponse);
+        when(process.save(eq(request), any(AccountWorkflowContext.class))).thenReturn(userEntity);
         when(process.getToken(userEntity)).thenReturn(token);
         when(process.sendEmail(userEntity, token)).thenReturn(successResponse);
 
@@ -188,8 +234,8 @@ class AccountsServiceImplTest {
         assertTrue(result.isSuccess(), "Unlock account should succeed");
         assertEquals(AccountResponseType.VERIFICATION_MAIL_FROM_UNLOCK, result.getType(),
                 "Response type should indicate verification mail sent for unlock");
-        verify(process, times(1)).check(request);
-        verify(process, times(1)).save(request);
+        verify(process, times(1)).check(eq(request), any(AccountWorkflowContext.class));
+        verify(process, times(1)).save(eq(request), any(AccountWorkflowContext.class));
         verify(process, times(1)).getToken(userEntity);
         verify(process, times(1)).sendEmail(userEntity, token);
     }
@@ -203,7 +249,7 @@ class AccountsServiceImplTest {
 
         when(accountProcessFactory.create(eq(AccountProcessType.UNLOCK_ACCOUNT), anySet(), eq(emailService)))
                 .thenReturn(process);
-        when(process.check(request)).thenReturn(failedResponse);
+        when(process.check(eq(request), any(AccountWorkflowContext.class))).thenReturn(failedResponse);
 
         // Act
         AccountResponse result = accountsService.unlock(request);
@@ -212,8 +258,8 @@ class AccountsServiceImplTest {
         assertFalse(result.isSuccess(), "Unlock account should fail for invalid request");
         assertEquals(AccountResponseType.BAD_UNLOCK_REQUEST_TYPE, result.getType(),
                 "Response type should indicate a bad unlock account request");
-        verify(process, times(1)).check(request);
-        verify(process, never()).save(any());
+        verify(process, times(1)).check(eq(request), any(AccountWorkflowContext.class));
+        verify(process, never()).save(any(), any());
         verify(process, never()).sendEmail(any(), any());
     }
 
@@ -227,8 +273,8 @@ class AccountsServiceImplTest {
 
         when(accountProcessFactory.create(eq(AccountProcessType.RESET_PASSWORD), anySet(), eq(emailService)))
                 .thenReturn(resetPasswordProcess);
-        when(resetPasswordProcess.check(request)).thenReturn(successResponse);
-        when(resetPasswordProcess.save(request)).thenReturn(decryptedUser);
+        when(resetPasswordProcess.check(eq(request), any(AccountWorkflowContext.class))).thenReturn(successResponse);
+        when(resetPasswordProcess.save(eq(request), any(AccountWorkflowContext.class))).thenReturn(decryptedUser);
         when(resetPasswordProcess.sendMail(decryptedUser)).thenReturn(successResponse);
 
         // Act
@@ -238,8 +284,8 @@ class AccountsServiceImplTest {
         assertTrue(result.isSuccess(), "Result should be successful");
         assertEquals(AccountResponseType.ACCOUNT_IS_BLOCKED_RESET_PASSWD, result.getType(),
                 "Response type should indicate password reset due to account being blocked");
-        verify(resetPasswordProcess, times(1)).check(request);
-        verify(resetPasswordProcess, times(1)).save(request);
+        verify(resetPasswordProcess, times(1)).check(eq(request), any(AccountWorkflowContext.class));
+        verify(resetPasswordProcess, times(1)).save(eq(request), any(AccountWorkflowContext.class));
         verify(resetPasswordProcess, times(1)).sendMail(decryptedUser);
     }
 
@@ -252,7 +298,7 @@ class AccountsServiceImplTest {
 
         when(accountProcessFactory.create(eq(AccountProcessType.RESET_PASSWORD), anySet(), eq(emailService)))
                 .thenReturn(resetPasswordProcess);
-        when(resetPasswordProcess.check(request)).thenReturn(failedResponse);
+        when(resetPasswordProcess.check(eq(request), any(AccountWorkflowContext.class))).thenReturn(failedResponse);
 
         // Act
         AccountResponse result = accountsService.resetPassword(request);
@@ -261,8 +307,8 @@ class AccountsServiceImplTest {
         assertFalse(result.isSuccess(), "Result should not be successful");
         assertEquals(AccountResponseType.BAD_RESET_PASSWD_REQUEST_TYPE, result.getType(),
                 "Response type should indicate invalid password reset request");
-        verify(resetPasswordProcess, times(1)).check(request);
-        verify(resetPasswordProcess, never()).save(any());
+        verify(resetPasswordProcess, times(1)).check(eq(request), any(AccountWorkflowContext.class));
+        verify(resetPasswordProcess, never()).save(any(), any());
         verify(resetPasswordProcess, never()).sendMail(any());
     }
 
@@ -275,8 +321,8 @@ class AccountsServiceImplTest {
 
         when(accountProcessFactory.create(eq(AccountProcessType.CHANGE_PASSWORD), anySet(), eq(emailService)))
                 .thenReturn(changePasswordProcess);
-        when(changePasswordProcess.check(request)).thenReturn(successResponse);
-        when(changePasswordProcess.update(request)).thenReturn(successResponse);
+        when(changePasswordProcess.check(eq(request), any(AccountWorkflowContext.class))).thenReturn(successResponse);
+        when(changePasswordProcess.update(eq(request), any(AccountWorkflowContext.class))).thenReturn(successResponse);
         when(changePasswordProcess.sendMail(request.email())).thenReturn(successResponse);
 
         // Act
@@ -285,8 +331,8 @@ class AccountsServiceImplTest {
         // Assert
         assertTrue(result.isSuccess());
         assertEquals(AccountResponseType.PASSWORD_CHANGED, result.getType());
-        verify(changePasswordProcess, times(1)).check(request);
-        verify(changePasswordProcess, times(1)).update(request);
+        verify(changePasswordProcess, times(1)).check(eq(request), any(AccountWorkflowContext.class));
+        verify(changePasswordProcess, times(1)).update(eq(request), any(AccountWorkflowContext.class));
         verify(changePasswordProcess, times(1)).sendMail(request.email());
     }
 
@@ -299,7 +345,7 @@ class AccountsServiceImplTest {
 
         when(accountProcessFactory.create(eq(AccountProcessType.CHANGE_PASSWORD), anySet(), eq(emailService)))
                 .thenReturn(changePasswordProcess);
-        when(changePasswordProcess.check(request)).thenReturn(failedResponse);
+        when(changePasswordProcess.check(eq(request), any(AccountWorkflowContext.class))).thenReturn(failedResponse);
 
         // Act
         AccountResponse result = accountsService.updatePassword(request);
@@ -307,8 +353,8 @@ class AccountsServiceImplTest {
         // Assert
         assertFalse(result.isSuccess());
         assertEquals(AccountResponseType.PASSWORD_NOT_CHANGED, result.getType());
-        verify(changePasswordProcess, times(1)).check(request);
-        verify(changePasswordProcess, never()).update(any());
+        verify(changePasswordProcess, times(1)).check(eq(request), any(AccountWorkflowContext.class));
+        verify(changePasswordProcess, never()).update(any(), any());
         verify(changePasswordProcess, never()).sendMail(any());
     }
 
@@ -6,13 +6,15 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import pl.derleta.authorization.config.mail.EmailService;
-import pl.derleta.authorization.domain.entity.UserEntity;
+import pl.derleta.authorization.domain.entity.AccountSnapshot;
 import pl.derleta.authorization.domain.request.ChangePasswordRequest;
 import pl.derleta.authorization.domain.request.Request;
 import pl.derleta.authorization.domain.response.AccountResponse;
 import pl.derleta.authorization.domain.types.AccountResponseType;
 import pl.derleta.authorization.repository.RepositoryClass;
 import pl.derleta.authorization.repository.impl.UserRepository;
+import pl.derleta.authorization.service.accounts.AccountWorkflowContext;
+import pl.derleta.authorization.utils.MailGenerator;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -41,6 +43,7 @@ public class ChangePasswordProcessTest {
         repositoryList.add(userRepository);
 
         changePasswordProcess = new ChangePasswordProcess(repositoryList, emailService, encoder);
+        changePasswordProcess.setMailGenerator(new MailGenerator());
     }
 
     @Test
@@ -49,7 +52,7 @@ public class ChangePasswordProcessTest {
         String email = "nonexistent@example.com";
         ChangePasswordRequest request = new ChangePasswordRequest(1L, email, "actualPassword", "newPassword");
 
-        when(userRepository.findByEmail(email)).thenReturn(null);
+        when(userRepository.findAccountByEmail(email)).thenReturn(null);
 
         // act
         AccountResponse response = changePasswordProcess.check(request);
@@ -65,14 +68,11 @@ public class ChangePasswordProcessTest {
     void check_withBlockedAccount_shouldReturnAccountBlocked() {
         // arrange
         String email = "blocked@example.com";
-        UserEntity entity = new UserEntity();
-        entity.setUserId(1L);
-        entity.setEmail(email);
+        AccountSnapshot account = new AccountSnapshot(1L, "user", email, "encodedPassword", true, true);
 
         ChangePasswordRequest request = new ChangePasswordRequest(1L, email, "actualPassword", "newPassword");
 
-        when(userRepository.findByEmail(email)).thenReturn(entity);
-        when(userRepository.isBlocked(entity.getUserId())).thenReturn(true);
+        when(userRepository.findAccountByEmail(email)).thenReturn(account);
 
         // act
         AccountResponse response = changePasswordProcess.check(request);
@@ -88,16 +88,12 @@ public class ChangePasswordProcessTest {
     void check_withMismatchedPasswords_shouldReturnBadActualPassword() {
         // arrange
         String email = "user@example.com";
-        UserEntity entity = new UserEntity();
-        entity.setUserId(1L);
-        entity.setEmail(email);
-        entity.setPassword("encodedPassword");
+        AccountSnapshot account = new AccountSnapshot(1L, "user", email, "encodedPassword", true, false);
 
         ChangePasswordRequest request = new ChangePasswordRequest(1L, email, "wrongPassword", "newPassword");
 
-        when(userRepository.findByEmail(email)).thenReturn(entity);
-        when(userRepository.isBlocked(entity.getUserId())).thenReturn(false);
-        when(encoder.matches(request.actualPassword(), entity.getPassword())).thenReturn(false);
+        when(userRepository.findAccountByEmail(email)).thenReturn(account);
+        when(encoder.matches(request.actualPassword(), account.password())).thenReturn(false);
 
         // act
         AccountResponse response = changePasswordProcess.check(request);
@@ -113,15 +109,11 @@ public class ChangePasswordProcessTest {
     void check_withValidConditions_shouldReturnPasswordCanBeChanged() {
         // arrange
         String email = "user@example.com";
-        UserEntity entity = new UserEntity();
-        entity.setUserId(1L);
-        entity.setEmail(email);
-        entity.setPassword("encodedPassword");
+        AccountSnapshot account = new AccountSnapshot(1L, "user", email, "encodedPassword", true, false);
 
         ChangePasswordRequest request = new ChangePasswordRequest(1L, email, "actualPassword", "newPassword");
-        when(userRepository.findByEmail(email)).thenReturn(entity);
-        when(userRepository.isBlocked(entity.getUserId())).thenReturn(false);
-        when(encoder.matches(request.actualPassword(), entity.getPassword())).thenReturn(true);
+        when(userRepository.findAccountByEmail(email)).thenReturn(account);
+        when(encoder.matches(request.actualPassword(), account.password())).thenReturn(true);
 
         // act
         AccountResponse response = changePasswordProcess.check(request);
@@ -161,11 +153,9 @@ public class ChangePasswordProcessTest {
                 newPassword
         );
 
-        UserEntity entity = new UserEntity();
-        entity.setUserId(1L);
-        entity.setEmail(email);
+        AccountSnapshot account = new AccountSnapshot(1L, "user", email, "encodedPassword", true, false);
 
-        when(userRepository.findByEmail(email)).thenReturn(entity);
+        when(userRepository.findAccountByEmail(email)).thenReturn(account);
         when(encoder.encode(newPassword)).thenReturn(hashedPassword);
 
         // act
@@ -177,12 +167,36 @@ public class ChangePasswordProcessTest {
         assertEquals(AccountResponseType.PASSWORD_CHANGED, response.getType(),
                 "Response type should be PASSWORD_CHANGED");
 
-        verify(userRepository).findByEmail(email);
+        verify(userRepository).findAccountByEmail(email);
         verify(encoder).encode(newPassword);
         verify(userRepository).updatePassword(1L, hashedPassword);
         verifyNoMoreInteractions(userRepository, encoder);
     }
 
+    @Test
+    void checkAndUpdate_withSharedContext_shouldReadAccountOnce() {
+        // arrange
+        String email = "user@example.com";
+        ChangePasswordRequest request = new ChangePasswordRequest(1L, email, "actualPassword", "newPassword");
+        AccountSnapshot account = new AccountSnapshot(1L, "user", email, "encodedPassword", true, false);
+        AccountWorkflowContext context = new AccountWorkflowContext();
+
+        when(userRepository.findAccountByEmail(email)).thenReturn(account);
+        when(encoder.matches(request.actualPassword(), account.password())).thenReturn(true);
+        when(encoder.encode(request.newPassword())).thenReturn("hashedPassword");
+
+        // act
+        AccountResponse checked = changePasswordProcess.check(request, context);
+        AccountResponse updated = changePasswordProcess.update(request, context);
+
+        // assert
+        assertEquals(AccountResponseType.PASSWORD_CAN_BE_CHANGED, checked.getType());
+        assertEquals(AccountResponseType.PASSWORD_CHANGED, updated.getType());
+        verify(userRepository, times(1)).findAccountByEmail(email);
+        verify(userRepository).updatePassword(1L, "hashedPassword");
+        verifyNoMoreInteractions(userRepository);
+    }
+
     @Test
     void update_withInvalidRequest_shouldReturnPasswordNotChanged() {
         // arrange
@@ -13,8 +13,10 @@ import pl.derleta.authorization.domain.types.AccountResponseType;
 import pl.derleta.authorization.repository.RepositoryClass;
 import pl.derleta.authorization.repository.impl.UserRepository;
 import pl.derleta.authorization.repository.impl.token.ConfirmationTokenRepository;
+import pl.derleta.authorization.service.accounts.ConfirmationLinkSigner;
 
 import java.sql.Timestamp;
+import java.util.Base64;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -199,4 +201,158 @@ public class ConfirmationTokenProcessTest {
         verifyNoInteractions(confirmationTokenRepository);
     }
 
+    @Test
+    void confirm_withValidToken_shouldConsumeTokenAndUnlockUserWithoutLoadingIt() {
+        // arrange
+        long tokenId = 1L;
+        String token = "validTokenValue";
+
+        when(confirmationTokenRepository.consume(tokenId, token)).thenReturn(1);
+        when(confirmationTokenRepository.findUserId(tokenId)).thenReturn(42L);
+
+        // act
+        ConfirmationTokenProcess.Confirmation confirmation = process.confirmAccount(new UserConfirmationRequest(tokenId, token));
+        AccountResponse response = confirmation.response();
+
+        // assert
+        assertTrue(response.isSuccess(), "Response success flag should be true");
+        assertEquals(AccountResponseType.ACCOUNT_CONFIRMED, response.getType(),
+                "Response type should be ACCOUNT_CONFIRMED");
+        assertEquals(42L, confirmation.userId(), "Confirmation should report the unlocked user");
+
+        verify(userRepository).unlock(42L);
+        verify(confirmationTokenRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void confirm_withAlreadyConsumedToken_shouldReturnTokenExpiredAndNotUnlockAgain() {
+        // arrange
+        long tokenId = 1L;
+        String token = "validTokenValue";
+        ConfirmationTokenEntity tokenEntity = new ConfirmationTokenEntity();
+        tokenEntity.setToken(token);
+        tokenEntity.setExpirationDate(new Timestamp(System.currentTimeMillis() + 1000)); // consumed within the same second
+
+        when(confirmationTokenRepository.consume(tokenId, token)).thenReturn(0);
+        when(confirmationTokenRepository.findById(tokenId)).thenReturn(Optional.of(tokenEntity));
+
+        // act
+        AccountResponse response = process.confirm(new UserConfirmationRequest(tokenId, token));
+
+        // assert
+        assertFalse(response.isSuccess(), "Response success flag should be false");
+        assertEquals(AccountResponseType.TOKEN_EXPIRED, response.getType(), "Response type should be TOKEN_EXPIRED");
+
+        verify(userRepository, never()).unlock(anyLong());
+    }
+
+    @Test
+    void confirm_withNonExistentToken_shouldReturnTokenNotFound() {
+        // arrange
+        long tokenId = 1L;
+        String token = "someTokenValue";
+
+        when(confirmationTokenRepository.consume(tokenId, token)).thenReturn(0);
+        when(confirmationTokenRepository.findById(tokenId)).thenReturn(Optional.empty());
+
+        // act
+        AccountResponse response = process.confirm(new UserConfirmationRequest(tokenId, token));
+
+        // assert
+        assertFalse(response.isSuccess(), "Response success flag should be false");
+        assertEquals(AccountResponseType.TOKEN_NOT_FOUND, response.getType(), "Response type should be TOKEN_NOT_FOUND");
+
+        verify(userRepository, never()).unlock(anyLong());
+    }
+
+    @Test
+    void confirm_withInvalidTokenValue_shouldReturnInvalidToken() {
+        // arrange
+        long tokenId = 1L;
+        String invalidToken = "invalidTokenValue";
+        ConfirmationTokenEntity tokenEntity = new ConfirmationTokenEntity();
+        tokenEntity.setToken("validTokenValue");
+
+        when(confirmationTokenRepository.consume(tokenId, invalidToken)).thenReturn(0);
+        when(confirmationTokenRepository.findById(tokenId)).thenReturn(Optional.of(tokenEntity));
+
+        // act
+        AccountResponse response = process.confirm(new UserConfirmationRequest(tokenId, invalidToken));
+
+        // assert
+        assertFalse(response.isSuccess(), "Response success flag should be false");
+        assertEquals(AccountResponseType.INVALID_TOKEN_VALUE, response.getType(), "Response type should be INVALID_TOKEN_VALUE");
+
+        verify(userRepository, never()).unlock(anyLong());
+    }
+
+    @Test
+    void confirm_withoutTokenId_shouldReturnTokenNotFound() {
+        // act
+        AccountResponse response = process.confirm(new UserConfirmationRequest(null, "someTokenValue"));
+
+        // assert
+        assertFalse(response.isSuccess(), "Response success flag should be false");
+        assertEquals(AccountResponseType.TOKEN_NOT_FOUND, response.getType(), "Response type should be TOKEN_NOT_FOUND");
+
+        verifyNoInteractions(confirmationTokenRepository);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void confirm_withInvalidRequestType_shouldReturnBadConfirmationRequestType() {
+        // arrange
+        Request invalidRequest = mock(Request.class);
+
+        // act
+        AccountResponse response = process.confirm(invalidRequest);
+
+        // assert
+        assertFalse(response.isSuccess(), "Response success flag should be false");
+        assertEquals(AccountResponseType.BAD_CONFIRMATION_REQUEST_TYPE, response.getType(),
+                "Response type should be BAD_CONFIRMATION_REQUEST_TYPE");
+
+        verifyNoInteractions(userRepository);
+        verifyNoInteractions(confirmationTokenRepository);
+    }
+
+    @Test
+    void confirm_withSignedLink_shouldUnlockBySecurityStampWithoutTokenTable() {
+        // arrange
+        ConfirmationLinkSigner signer = new ConfirmationLinkSigner("signed", Base64.getEncoder().encodeToString(new byte[32]));
+        process.setLinkSigner(signer);
+        String token = signer.sign(new UserEntity(100L, "tester", "tester@example.com", "hash"), 3L).getToken();
+
+        when(userRepository.unlockIfSecurityStamp(100L, 3L)).thenReturn(1);
+
+        // act
+        AccountResponse response = process.confirm(new UserConfirmationRequest(100L, token));
+
+        // assert
+        assertTrue(response.isSuccess(), "Response success flag should be true");
+        assertEquals(AccountResponseType.ACCOUNT_CONFIRMED, response.getType(),
+                "Response type should be ACCOUNT_CONFIRMED");
+        verifyNoInteractions(confirmationTokenRepository);
+    }
+
+    @Test
+    void confirm_withUsedOrTamperedSignedLink_shouldNotConfirm() {
+        // arrange
+        ConfirmationLinkSigner signer = new ConfirmationLinkSigner("signed", Base64.getEncoder().encodeToString(new byte[32]));
+        process.setLinkSigner(signer);
+        String token = signer.sign(new UserEntity(100L, "tester", "tester@example.com", "hash"), 3L).getToken();
+
+        when(userRepository.unlockIfSecurityStamp(100L, 3L)).thenReturn(0);
+
+        // act
+        AccountResponse used = process.confirm(new UserConfirmationRequest(100L, token));
+        AccountResponse foreign = process.confirm(new UserConfirmationRequest(101L, token));
+
+        // assert
+        assertEquals(AccountResponseType.TOKEN_EXPIRED, used.getType(), "Response type should be TOKEN_EXPIRED");
+        assertEquals(AccountResponseType.INVALID_TOKEN_VALUE, foreign.getType(), "Response type should be INVALID_TOKEN_VALUE");
+        verify(userRepository, never()).unlockIfSecurityStamp(eq(101L), anyLong());
+        verifyNoInteractions(confirmationTokenRepository);
+    }
+
 }
@@ -6,6 +6,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
 import pl.derleta.authorization.config.mail.EmailService;
+import pl.derleta.authorization.domain.entity.AccountSnapshot;
 import pl.derleta.authorization.domain.entity.UserEntity;
 import pl.derleta.authorization.domain.entity.UserEntityDecrypted;
 import pl.derleta.authorization.domain.request.Request;
@@ -14,11 +15,13 @@ import pl.derleta.authorization.domain.response.AccountResponse;
 import pl.derleta.authorization.domain.types.AccountResponseType;
 import pl.derleta.authorization.repository.RepositoryClass;
 import pl.derleta.authorization.repository.impl.UserRepository;
+import pl.derleta.authorization.utils.MailGenerator;
 
 import java.util.HashSet;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -42,6 +45,7 @@ class ResetPasswordProcessTest {
         repositoryList.add(userRepository);
 
         process = new ResetPasswordProcess(repositoryList, emailService);
+        process.setMailGenerator(new MailGenerator());
     }
 
     @Test
@@ -54,7 +58,6 @@ class ResetPasswordProcessTest {
         UserEntity userEntity = new UserEntity(userId, "TestUser", email, "hashedPassword");
         UserEntityDecrypted userEntityDecrypted = new UserEntityDecrypted(userEntity, decryptedPassword);
 
-        when(userRepository.findById(eq(userId))).thenReturn(userEntity);
         doNothing().when(emailService).sendEmail(eq(email), anyString(), anyString());
 
         // act
@@ -64,12 +67,11 @@ class ResetPasswordProcessTest {
         assertTrue(response.isSuccess());
         assertEquals(AccountResponseType.MAIL_NEW_PASSWD_SENT, response.getType());
 
-        verify(userRepository, times(1)).findById(eq(userId));
         verify(emailService, times(1)).sendEmail(eq(email), anyString(), anyString());
     }
 
     @Test
-    void sendMail_withNonExistentUserEntity_shouldNotSendEmail() {
+    void sendMail_withDecryptedUserEntity_shouldNotReadUserAgain() {
         // arrange
         long userId = 1L;
         String decryptedPassword = "plaintextPassword";
@@ -78,17 +80,12 @@ class ResetPasswordProcessTest {
                 new UserEntity(userId, "TestUser", "test@example.com", "hashedPassword"),
                 decryptedPassword);
 
-        when(userRepository.findById(eq(userId))).thenReturn(null);
-
-        // act & assert
-        try {
-            process.sendMail(userEntityDecrypted);
-        } catch (NullPointerException ignored) {
-            // Ignored exception
-        }
+        // act
+        process.sendMail(userEntityDecrypted);
 
-        verify(userRepository, times(1)).findById(eq(userId));
-        verify(emailService, times(0)).sendEmail(anyString(), anyString(), anyString());
+        // assert
+        verifyNoInteractions(userRepository);
+        verify(emailService, times(1)).sendEmail(eq("test@example.com"), anyString(), contains(decryptedPassword));
     }
 
     @Test
@@ -101,7 +98,6 @@ class ResetPasswordProcessTest {
         UserEntity userEntity = new UserEntity(userId, "TestUser", email, "hashedPassword");
         UserEntityDecrypted userEntityDecrypted = new UserEntityDecrypted(userEntity, decryptedPassword);
 
-        when(userRepository.findById(eq(userId))).thenReturn(userEntity);
         doThrow(new RuntimeException("Email service failure")).when(emailService).sendEmail(eq(email), anyString(), anyString());
 
         // act & assert
@@ -111,17 +107,29 @@ class ResetPasswordProcessTest {
             assertEquals("Email service failure", exception.getMessage());
         }
 
-        verify(userRepository, times(1)).findById(eq(userId));
         verify(emailService, times(1)).sendEmail(eq(email), anyString(), anyString());
     }
 
+    @Test
+    void sendMail_withoutMailGenerator_shouldFailWithoutSendingEmail() {
+        // arrange
+        ResetPasswordProcess unconfigured = new ResetPasswordProcess(Set.of(userRepository), emailService);
+        UserEntity userEntity = new UserEntity(1L, "TestUser", "test@example.com", "hashedPassword");
+        UserEntityDecrypted userEntityDecrypted = new UserEntityDecrypted(userEntity, "plaintextPassword");
+
+        // act & assert
+        assertThrows(IllegalStateException.class, () -> unconfigured.sendMail(userEntityDecrypted));
+
+        verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+    }
+
     @Test
     void check_withNonExistentAccount_shouldReturn_ACCOUNT_NOT_EXIST_RESET_PASSWD() {
         // arrange
         String email = "test@example.com";
         ResetPasswordRequest request = new ResetPasswordRequest(email);
 
-        when(userRepository.findByEmail(eq(email))).thenReturn(null);
+        when(userRepository.findAccountByEmail(eq(email))).thenReturn(null);
 
         // act
         AccountResponse response = process.check(request);
@@ -130,7 +138,7 @@ class ResetPasswordProcessTest {
         assertFalse(response.isSuccess());
         assertEquals(AccountResponseType.ACCOUNT_NOT_EXIST_RESET_PASSWD, response.getType());
 
-        verify(userRepository, times(1)).findByEmail(eq(email));
+        verify(userRepository, times(1)).findAccountByEmail(eq(email));
     }
 
     @Test
@@ -139,11 +147,10 @@ class ResetPasswordProcessTest {
         String email = "blocked@example.com";
         long userId = 2L;
 
-        UserEntity userEntity = new UserEntity(userId, "BlockedUser", email, "hashedPassword");
+        AccountSnapshot account = new AccountSnapshot(userId, "BlockedUser", email, "hashedPassword", true, true);
         ResetPasswordRequest request = new ResetPasswordRequest(email);
 
-        when(userRepository.findByEmail(eq(email))).thenReturn(userEntity);
-        when(userRepository.isBlocked(userId)).thenReturn(true);
+        when(userRepository.findAccountByEmail(eq(email))).thenReturn(account);
 
         // act
         AccountResponse response = process.check(request);
@@ -152,8 +159,8 @@ class ResetPasswordProcessTest {
         assertFalse(response.isSuccess());
         assertEquals(AccountResponseType.ACCOUNT_IS_BLOCKED_RESET_PASSWD, response.getType());
 
-        verify(userRepository, times(1)).findByEmail(eq(email));
-        verify(userRepository, times(1)).isBlocked(userId);
+        verify(userRepository, times(1)).findAccountByEmail(eq(email));
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
@@ -162,12 +169,10 @@ class ResetPasswordProcessTest {
         String email = "notverified@example.com";
         long userId = 3L;
 
-        UserEntity userEntity = new UserEntity(userId, "NotVerifiedUser", email, "hashedPassword");
+        AccountSnapshot account = new AccountSnapshot(userId, "NotVerifiedUser", email, "hashedPassword", false, false);
         ResetPasswordRequest request = new ResetPasswordRequest(email);
 
-        when(userRepository.findByEmail(eq(email))).thenReturn(userEntity);
-        when(userRepository.isBlocked(userId)).thenReturn(false);
-        when(userRepository.isVerified(userId)).thenReturn(false);
+        when(userRepository.findAccountByEmail(eq(email))).thenReturn(account);
 
         // act
         AccountResponse response = process.check(request);
@@ -176,9 +181,8 @@ class ResetPasswordProcessTest {
         assertFalse(response.isSuccess());
         assertEquals(AccountResponseType.ACCOUNT_IS_NOT_VERIFIED, response.getType());
 
-        verify(userRepository, times(1)).findByEmail(eq(email));
-        verify(userRepository, times(1)).isBlocked(userId);
-        verify(userRepository, times(1)).isVerified(userId);
+        verify(userRepository, times(1)).findAccountByEmail(eq(email));
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
@@ -187,12 +191,10 @@ class ResetPasswordProcessTest {
         String email = "test@example.com";
         long userId = 4L;
 
-        UserEntity userEntity = new UserEntity(userId, "ValidUser", email, "hashedPassword");
+        AccountSnapshot account = new AccountSnapshot(userId, "ValidUser", email, "hashedPassword", true, false);
         ResetPasswordRequest request = new ResetPasswordRequest(email);
 
-        when(userRepository.findByEmail(eq(email))).thenReturn(userEntity);
-        when(userRepository.isBlocked(userId)).thenReturn(false);
-        when(userRepository.isVerified(userId)).thenReturn(true);
+        when(userRepository.findAccountByEmail(eq(email))).thenReturn(account);
 
         // act
         AccountResponse response = process.check(request);
@@ -201,9 +203,8 @@ class ResetPasswordProcessTest {
         assertTrue(response.isSuccess());
         assertEquals(AccountResponseType.PASSWORD_CAN_BE_GENERATED, response.getType());
 
-        verify(userRepository, times(1)).findByEmail(eq(email));
-        verify(userRepository, times(1)).isBlocked(userId);
-        verify(userRepository, times(1)).isVerified(userId);
+        verify(userRepository, times(1)).findAccountByEmail(eq(email));
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
@@ -227,10 +228,9 @@ class ResetPasswordProcessTest {
         long userId = 5L;
 
         ResetPasswordRequest request = new ResetPasswordRequest(email);
-        UserEntity userEntity = new UserEntity(userId, "ValidUser", email, "oldHashedPassword");
+        AccountSnapshot account = new AccountSnapshot(userId, "ValidUser", email, "oldHashedPassword", true, false);
 
-        when(userRepository.findByEmail(eq(email))).thenReturn(userEntity);
-        when(userRepository.findById(eq(userId))).thenReturn(userEntity);
+        when(userRepository.findAccountByEmail(eq(email))).thenReturn(account);
         doAnswer(invocation -> null).when(userRepository).updatePassword(eq(userId), anyString());
 
         // act
@@ -258,9 +258,11 @@ class ResetPasswordProcessTest {
                 "Password must contain at least one special character from the set: " + SPECIAL_CHARACTERS
         );
 
-        verify(userRepository, times(1)).findByEmail(eq(email));
+        assertEquals("ValidUser", result.getUsername());
+        assertEquals(email, result.getEmail());
+        verify(userRepository, times(1)).findAccountByEmail(eq(email));
         verify(userRepository, times(1)).updatePassword(eq(userId), anyString());
-        verify(userRepository, times(1)).findById(eq(userId));
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
@@ -281,7 +283,7 @@ class ResetPasswordProcessTest {
         String email = "exception@example.com";
         ResetPasswordRequest request = new ResetPasswordRequest(email);
 
-        when(userRepository.findByEmail(eq(email))).thenThrow(new RuntimeException("Repository failure"));
+        when(userRepository.findAccountByEmail(eq(email))).thenThrow(new RuntimeException("Repository failure"));
 
         // act & assert
         RuntimeException exception = assertThrows(
@@ -292,7 +294,7 @@ class ResetPasswordProcessTest {
 
         assertEquals("Repository failure", exception.getMessage(), "Exception message should match expected message");
 
-        verify(userRepository, times(1)).findByEmail(eq(email));
+        verify(userRepository, times(1)).findAccountByEmail(eq(email));
     }
 
 }
@@ -5,18 +5,29 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import pl.derleta.authorization.config.mail.EmailService;
+import pl.derleta.authorization.config.mail.template.RenderedMail;
+import pl.derleta.authorization.domain.entity.AccountSnapshot;
 import pl.derleta.authorization.domain.entity.UserEntity;
+import pl.derleta.authorization.domain.entity.token.ConfirmationTokenEntity;
 import pl.derleta.authorization.domain.request.Request;
 import pl.derleta.authorization.domain.request.UserUnlockRequest;
 import pl.derleta.authorization.domain.response.AccountResponse;
 import pl.derleta.authorization.domain.types.AccountResponseType;
 import pl.derleta.authorization.repository.RepositoryClass;
 import pl.derleta.authorization.repository.impl.UserRepository;
+import pl.derleta.authorization.repository.impl.token.ConfirmationTokenRepository;
+import pl.derleta.authorization.service.accounts.AccountWorkflowContext;
+import pl.derleta.authorization.service.accounts.ConfirmationLinkSigner;
+import pl.derleta.authorization.service.accounts.ConfirmationMailCooldown;
+import pl.derleta.authorization.utils.MailGenerator;
 
+import java.util.Base64;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class UnlockAccountProcessTest {
@@ -27,6 +38,12 @@ class UnlockAccountProcessTest {
     @Mock
     EmailService emailService;
 
+    @Mock
+    ConfirmationTokenRepository confirmationTokenRepository;
+
+    @Mock
+    MailGenerator mailGenerator;
+
     private UnlockAccountProcess process;
 
     @BeforeEach
@@ -35,8 +52,10 @@ class UnlockAccountProcessTest {
 
         Set<RepositoryClass> repositoryList = new HashSet<>();
         repositoryList.add(userRepository);
+        repositoryList.add(confirmationTokenRepository);
 
         process = new UnlockAccountProcess(repositoryList, emailService);
+        process.setMailGenerator(mailGenerator);
     }
 
     @Test
@@ -44,7 +63,7 @@ class UnlockAccountProcessTest {
         // arrange
         long userId = 1L;
         UserUnlockRequest request = new UserUnlockRequest(userId);
-        when(userRepository.findById(userId)).thenReturn(null);
+        when(userRepository.findAccountById(userId)).thenReturn(null);
 
         // act
         AccountResponse response = process.check(request);
@@ -52,7 +71,7 @@ class UnlockAccountProcessTest {
         // assert
         assertFalse(response.isSuccess());
         assertEquals(AccountResponseType.ACCOUNT_NOT_EXIST_UNLOCK_ACCOUNT, response.getType());
-        verify(userRepository, times(1)).findById(userId);
+        verify(userRepository, times(1)).findAccountById(userId);
     }
 
     @Test
@@ -60,9 +79,8 @@ class UnlockAccountProcessTest {
         // arrange
         long userId = 1L;
         UserUnlockRequest request = new UserUnlockRequest(userId);
-        UserEntity entity = new UserEntity();
-        entity.setUserId(2L);
-        when(userRepository.findById(userId)).thenReturn(entity);
+        AccountSnapshot account = new AccountSnapshot(2L, "user", "user@example.com", "hash", true, false);
+        when(userRepository.findAccountById(userId)).thenReturn(account);
 
         // act
         AccountResponse response = process.check(request);
@@ -70,7 +88,7 @@ class UnlockAccountProcessTest {
         // assert
         assertFalse(response.isSuccess());
         assertEquals(AccountResponseType.ACCOUNT_NOT_EXIST_UNLOCK_ACCOUNT, response.getType());
-        verify(userRepository, times(1)).findById(userId);
+        verify(userRepository, times(1)).findAccountById(userId);
     }
 
     @Test
@@ -78,11 +96,8 @@ class UnlockAccountProcessTest {
         // arrange
         long userId = 1L;
         UserUnlockRequest request = new UserUnlockRequest(userId);
-        UserEntity entity = new UserEntity();
-        entity.setUserId(userId);
-        when(userRepository.findById(userId)).thenReturn(entity);
-        when(userRepository.isVerified(userId)).thenReturn(true);
-        when(userRepository.isBlocked(userId)).thenReturn(false);
+        AccountSnapshot account = new AccountSnapshot(userId, "user", "user@example.com", "hash", true, false);
+        when(userRepository.findAccountById(userId)).thenReturn(account);
 
         // act
         AccountResponse response = process.check(request);
@@ -90,9 +105,8 @@ class UnlockAccountProcessTest {
         // assert
         assertFalse(response.isSuccess());
         assertEquals(AccountResponseType.ACCOUNT_VERIFIED_AND_NOT_BLOCKED, response.getType());
-        verify(userRepository, times(1)).findById(userId);
-        verify(userRepository, times(1)).isVerified(userId);
-        verify(userRepository, times(1)).isBlocked(userId);
+        verify(userRepository, times(1)).findAccountById(userId);
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
@@ -100,11 +114,8 @@ class UnlockAccountProcessTest {
         // arrange
         long userId = 1L;
         UserUnlockRequest request = new UserUnlockRequest(userId);
-        UserEntity entity = new UserEntity();
-        entity.setUserId(userId);
-        when(userRepository.findById(userId)).thenReturn(entity);
-        when(userRepository.isVerified(userId)).thenReturn(false);
-        when(userRepository.isBlocked(userId)).thenReturn(true);
+        AccountSnapshot account = new AccountSnapshot(userId, "user", "user@example.com", "hash", false, true);
+        when(userRepository.findAccountById(userId)).thenReturn(account);
 
         // act
         AccountResponse response = process.check(request);
@@ -112,9 +123,8 @@ class UnlockAccountProcessTest {
         // assert
         assertTrue(response.isSuccess());
         assertEquals(AccountResponseType.ACCOUNT_CAN_BE_UNLOCKED, response.getType());
-        verify(userRepository, times(1)).findById(userId);
-        verify(userRepository, times(1)).isVerified(userId);
-        verify(userRepository, times(1)).isBlocked(userId);
+        verify(userRepository, times(1)).findAccountById(userId);
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
@@ -136,9 +146,8 @@ class UnlockAccountProcessTest {
         // arrange
         long userId = 1L;
         UserUnlockRequest request = new UserUnlockRequest(userId);
-        UserEntity updatedEntity = new UserEntity();
-        updatedEntity.setUserId(userId);
-        when(userRepository.findById(userId)).thenReturn(updatedEntity);
+        AccountSnapshot account = new AccountSnapshot(userId, "user", "user@example.com", "hash", true, false);
+        when(userRepository.findAccountById(userId)).thenReturn(account);
 
         // act
         UserEntity result = process.save(request);
@@ -147,7 +156,28 @@ class UnlockAccountProcessTest {
         assertNotNull(result);
         assertEquals(userId, result.getUserId());
         verify(userRepository, times(1)).updateStatus(userId, false, false);
-        verify(userRepository, times(1)).findById(userId);
+        verify(userRepository, times(1)).findAccountById(userId);
+    }
+
+    @Test
+    void checkAndSave_withSharedContext_shouldReadAccountOnce() {
+        // arrange
+        long userId = 1L;
+        UserUnlockRequest request = new UserUnlockRequest(userId);
+        AccountSnapshot account = new AccountSnapshot(userId, "user", "user@example.com", "hash", false, true);
+        AccountWorkflowContext context = new AccountWorkflowContext();
+        when(userRepository.findAccountById(userId)).thenReturn(account);
+
+        // act
+        AccountResponse response = process.check(request, context);
+        UserEntity result = process.save(request, context);
+
+        // assert
+        assertTrue(response.isSuccess());
+        assertEquals("user@example.com", result.getEmail());
+        verify(userRepository, times(1)).findAccountById(userId);
+        verify(userRepository, times(1)).updateStatus(userId, false, false);
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
@@ -163,4 +193,77 @@ class UnlockAccountProcessTest {
         verifyNoInteractions(userRepository);
     }
 
+    @Test
+    void getToken_withOutstandingToken_shouldReuseItWithoutSavingNewOne() {
+        // arrange
+        UserEntity user = new UserEntity(1L, "user", "user@example.com", "hash");
+        ConfirmationTokenEntity outstanding = new ConfirmationTokenEntity();
+        outstanding.setTokenId(5L);
+        outstanding.setUser(user);
+        when(confirmationTokenRepository.findOutstanding(1L, CreateConfirmationProcess.REUSE_MIN_VALIDITY))
+                .thenReturn(Optional.of(outstanding));
+
+        // act
+        ConfirmationTokenEntity result = process.getToken(user);
+
+        // assert
+        assertSame(outstanding, result);
+        verify(confirmationTokenRepository, never()).getNextId();
+        verify(confirmationTokenRepository, never()).save(anyLong(), anyLong(), anyString());
+    }
+
+    @Test
+    void getToken_withoutOutstandingToken_shouldSaveNewOne() {
+        // arrange
+        UserEntity user = new UserEntity(1L, "user", "user@example.com", "hash");
+        ConfirmationTokenEntity created = new ConfirmationTokenEntity();
+        created.setTokenId(6L);
+        when(confirmationTokenRepository.findOutstanding(1L, CreateConfirmationProcess.REUSE_MIN_VALIDITY))
+                .thenReturn(Optional.empty());
+        when(confirmationTokenRepository.getNextId()).thenReturn(6L);
+        when(confirmationTokenRepository.findById(6L)).thenReturn(Optional.of(created));
+
+        // act
+        ConfirmationTokenEntity result = process.getToken(user);
+
+        // assert
+        assertSame(created, result);
+        verify(confirmationTokenRepository, times(1)).save(eq(6L), eq(1L), anyString());
+    }
+
+    @Test
+    void sendEmail_withinCooldown_shouldSendOnlyFirstMail() {
+        // arrange
+        UserEntity user = new UserEntity(1L, "user", "user@example.com", "hash");
+        ConfirmationTokenEntity token = new ConfirmationTokenEntity();
+        process.setMailCooldown(new ConfirmationMailCooldown(ConfirmationMailCooldown.DEFAULT_COOLDOWN_MILLIS));
+        when(mailGenerator.renderVerificationMail(any(), any(), any())).thenReturn(new RenderedMail("subject", "body"));
+
+        // act
+        AccountResponse first = process.sendEmail(user, token);
+        AccountResponse second = process.sendEmail(user, token);
+
+        // assert
+        assertEquals(AccountResponseType.VERIFICATION_MAIL_FROM_UNLOCK, first.getType());
+        assertEquals(AccountResponseType.VERIFICATION_MAIL_FROM_UNLOCK, second.getType());
+        verify(emailService, times(1)).sendEmail("user@example.com", "subject", "body");
+    }
+
+    @Test
+    void getToken_withSignedLinks_shouldSignCurrentSecurityStampWithoutTokenTable() {
+        // arrange
+        UserEntity user = new UserEntity(1L, "user", "user@example.com", "hash");
+        ConfirmationLinkSigner signer = new ConfirmationLinkSigner("signed", Base64.getEncoder().encodeToString(new byte[32]));
+        process.setLinkSigner(signer);
+        when(userRepository.findSecurityStamp(1L)).thenReturn(4L);
+
+        // act
+        ConfirmationTokenEntity result = process.getToken(user);
+
+        // assert
+        assertEquals(1L, result.getTokenId());
+        assertEquals(4L, signer.verify(1L, result.getToken()).orElseThrow().securityStamp());
+        verifyNoInteractions(confirmationTokenRepository);
+    }
+
 }
@@ -14,6 +14,7 @@ import pl.derleta.authorization.domain.types.AccountResponseType;
 import pl.derleta.authorization.repository.RepositoryClass;
 import pl.derleta.authorization.repository.impl.UserRepository;
 import pl.derleta.authorization.repository.impl.UserRoleRepository;
+import pl.derleta.authorization.utils.MailGenerator;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -43,6 +44,7 @@ class UserRegistrationProcessTest {
         repositoryList.add(userRoleRepository);
 
         process = new UserRegistrationProcess(repositoryList, emailService);
+        process.setMailGenerator(new MailGenerator());
     }
 
     @Test
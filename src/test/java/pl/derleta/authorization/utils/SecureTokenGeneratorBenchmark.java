@@ -0,0 +1,70 @@
+package pl.derleta.authorization.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generation of 100-character confirmation tokens: one shared {@link SecureRandom} call per character,
+ * as {@link ConfigurationTokenGenerator} did before ({@code perCharacter}), against buffered, rejection-sampled
+ * base62 encoding by {@link SecureTokenGenerator} ({@code buffered}), on one and on eight threads, plus generation
+ * of default-length passwords. Run with {@link SecureTokenGeneratorBenchmarkHarness}, which adds the GC profiler
+ * to report the allocation per token ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecureTokenGeneratorBenchmark {
+
+    private static final int TOKEN_LENGTH = 100;
+    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Benchmark
+    public String perCharacter() {
+        return perCharacterToken();
+    }
+
+    @Benchmark
+    public String buffered() {
+        return ConfigurationTokenGenerator.getToken(TOKEN_LENGTH);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String perCharacterContended() {
+        return perCharacterToken();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String bufferedContended() {
+        return ConfigurationTokenGenerator.getToken(TOKEN_LENGTH);
+    }
+
+    @Benchmark
+    public String password() {
+        return PasswordGenerator.generateStrongPassword();
+    }
+
+    private String perCharacterToken() {
+        StringBuilder sb = new StringBuilder(TOKEN_LENGTH);
+        for (int i = 0; i < TOKEN_LENGTH; i++) sb.append(ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length())));
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,41 @@
+package pl.derleta.authorization.utils;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the JMH {@link SecureTokenGeneratorBenchmark} from the test class path, with the GC profiler reporting
+ * the allocation per token.
+ * <p>
+ * The harness is excluded from the default build and runs with
+ * {@code mvn test -Pbenchmark -Dtest=SecureTokenGeneratorBenchmarkHarness}.
+ */
+@Tag("benchmark")
+class SecureTokenGeneratorBenchmarkHarness {
+
+    @Test
+    void secureTokenGenerator_shouldReportTokensPerSecondAndAllocation() throws RunnerException {
+        // Arrange
+        Options options = new OptionsBuilder()
+                .include(SecureTokenGeneratorBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        // Act
+        Collection<RunResult> results = new Runner(options).run();
+
+        // Assert
+        assertFalse(results.isEmpty(), "Benchmarks should be found on the test class path");
+    }
+
+}
@@ -0,0 +1,89 @@
+package pl.derleta.authorization.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecureTokenGeneratorTest {
+
+    @Test
+    void generate_withBase62_shouldReturnAlphanumericTokenOfGivenLength() {
+        // Act
+        String shortToken = SecureTokenGenerator.generate(SecureTokenGenerator.BASE62, 100);
+        String longToken = SecureTokenGenerator.generate(SecureTokenGenerator.BASE62, 1000);
+
+        // Assert
+        assertEquals(100, shortToken.length());
+        assertEquals(1000, longToken.length());
+        assertTrue(shortToken.matches("[A-Za-z0-9]+"));
+        assertTrue(longToken.matches("[A-Za-z0-9]+"));
+    }
+
+    @Test
+    void generate_withManyCharacters_shouldUseEveryCharacterAboutEqually() {
+        // Arrange
+        int samples = 62_000;
+        int[] counts = new int[128];
+
+        // Act
+        String token = SecureTokenGenerator.generate(SecureTokenGenerator.BASE62, samples);
+        token.chars().forEach(c -> counts[c]++);
+
+        // Assert
+        int[] used = Arrays.stream(counts).filter(count -> count > 0).toArray();
+        assertEquals(62, used.length);
+        for (int count : used) assertTrue(count > 800 && count < 1200, "Character frequency out of range: " + count);
+    }
+
+    @Test
+    void fill_withRange_shouldFillOnlyThatRange() {
+        // Arrange
+        char[] target = new char[10];
+        SecureTokenGenerator.Alphabet digits = SecureTokenGenerator.Alphabet.of("0123456789");
+
+        // Act
+        SecureTokenGenerator.fill(digits, target, 2, 8);
+
+        // Assert
+        assertEquals(0, target[0]);
+        assertEquals(0, target[9]);
+        assertTrue(new String(target, 2, 6).matches("[0-9]{6}"));
+    }
+
+    @Test
+    void nextIndex_withBound_shouldStayWithinBound() {
+        // Act & Assert
+        for (int i = 0; i < 1000; i++) {
+            int index = SecureTokenGenerator.nextIndex(7);
+            assertTrue(index >= 0 && index < 7);
+        }
+        assertEquals(0, SecureTokenGenerator.nextIndex(1));
+        assertThrows(IllegalArgumentException.class, () -> SecureTokenGenerator.nextIndex(0));
+    }
+
+    @Test
+    void shuffle_withCharacters_shouldKeepSameCharacters() {
+        // Arrange
+        char[] values = "abcdefghij".toCharArray();
+
+        // Act
+        SecureTokenGenerator.shuffle(values);
+
+        // Assert
+        char[] sorted = values.clone();
+        Arrays.sort(sorted);
+        assertEquals("abcdefghij", new String(sorted));
+    }
+
+    @Test
+    void alphabetOf_withInvalidCharacters_shouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> SecureTokenGenerator.Alphabet.of("a"));
+        assertThrows(IllegalArgumentException.class, () -> SecureTokenGenerator.Alphabet.of("aab"));
+        assertThrows(IllegalArgumentException.class, () -> SecureTokenGenerator.Alphabet.of("ab€"));
+        assertThrows(IllegalArgumentException.class, () -> SecureTokenGenerator.generate(SecureTokenGenerator.BASE62, 0));
+    }
+
+}